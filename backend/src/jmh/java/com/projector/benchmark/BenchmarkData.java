@@ -0,0 +1,58 @@
+package com.projector.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.task.model.Task;
+
+/**
+ * Deterministic entity fixtures shared by benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Task> tasks(int count) {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder()
+                    .id(1_000L + i)
+                    .featureId(100L + i % 50)
+                    .roadmapId(10L + i % 5)
+                    .summary("Implement endpoint #" + i)
+                    .description("Create REST API endpoint number " + i + " with validation and tests")
+                    .createDate(now.plusMinutes(i))
+                    .updateDate(now.plusMinutes(i + 1L))
+                    .authorId(1L + i % 20)
+                    .build());
+        }
+        return tasks;
+    }
+
+    static List<Feature> features(int count) {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Quarter[] quarters = Quarter.values();
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            features.add(Feature.builder()
+                    .id(1_000L + i)
+                    .year(2025L)
+                    .quarter(quarters[i % quarters.length])
+                    .createDate(now.plusMinutes(i))
+                    .updateDate(now.plusMinutes(i + 1L))
+                    .authorId(1L + i % 20)
+                    .sprint((long) (i % 12))
+                    .release("v1." + (i % 10) + ".0")
+                    .summary("Feature #" + i)
+                    .description("Detailed description of feature number " + i)
+                    .functionalAreaIds(List.of(1L + i % 7, 200L + i % 3))
+                    .build());
+        }
+        return features;
+    }
+}
@@ -0,0 +1,98 @@
+package com.projector.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+
+/**
+ * Driver-independent {@link Row} used to feed row mappers in benchmarks.
+ */
+final class InMemoryRow implements Row, RowMetadata {
+
+    private final List<String> names;
+    private final Object[] values;
+    private final List<ColumnMetadata> columns;
+
+    private InMemoryRow(List<String> names, Object[] values) {
+        this.names = names;
+        this.values = values;
+        this.columns = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            columns.add(new Column(names.get(i), values[i] != null ? values[i].getClass() : Object.class));
+        }
+    }
+
+    static InMemoryRow of(Map<String, Object> columns) {
+        Map<String, Object> ordered = new LinkedHashMap<>(columns);
+        return new InMemoryRow(List.copyOf(ordered.keySet()), ordered.values().toArray());
+    }
+
+    @Override
+    public RowMetadata getMetadata() {
+        return this;
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        Object value = values[index];
+        return type.cast(value);
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return get(indexOf(name), type);
+    }
+
+    @Override
+    public ColumnMetadata getColumnMetadata(int index) {
+        return columns.get(index);
+    }
+
+    @Override
+    public ColumnMetadata getColumnMetadata(String columnName) {
+        return columns.get(indexOf(columnName));
+    }
+
+    @Override
+    public List<? extends ColumnMetadata> getColumnMetadatas() {
+        return columns;
+    }
+
+    @Override
+    public boolean contains(String columnName) {
+        return names.contains(columnName);
+    }
+
+    private int indexOf(String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new NoSuchElementException("Unknown column " + name);
+        }
+        return index;
+    }
+
+    private record Column(String name, Class<?> javaType) implements ColumnMetadata, Type {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Type getType() {
+            return this;
+        }
+
+        @Override
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.projector.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.projector.core.component.JsonCodecs;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+
+/**
+ * JSON encode/decode throughput of list responses: an ad-hoc {@link ObjectMapper} over entities
+ * against the shared Blackbird-enabled mapper with cached writers/readers over response DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonBenchmark {
+
+    private static final TypeReference<List<Task>> TASK_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Feature>> FEATURE_LIST = new TypeReference<>() {
+    };
+
+    @Param("10000")
+    private int size;
+
+    private ObjectMapper adHocMapper;
+    private JsonCodecs jsonCodecs;
+    private JavaType taskResponseList;
+    private JavaType featureResponseList;
+
+    private List<Task> tasks;
+    private List<TaskResponse> taskResponses;
+    private List<Feature> features;
+    private List<FeatureResponse> featureResponses;
+    private byte[] tasksJson;
+    private byte[] featuresJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        adHocMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ObjectMapper sharedMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new JavaTimeModule(), new BlackbirdModule())
+                .build();
+        jsonCodecs = new JsonCodecs(sharedMapper);
+        taskResponseList = sharedMapper.getTypeFactory().constructCollectionType(List.class, TaskResponse.class);
+        featureResponseList = sharedMapper.getTypeFactory().constructCollectionType(List.class, FeatureResponse.class);
+
+        tasks = BenchmarkData.tasks(size);
+        taskResponses = tasks.stream().map(TaskResponse::from).toList();
+        features = BenchmarkData.features(size);
+        featureResponses = features.stream().map(FeatureResponse::from).toList();
+
+        tasksJson = jsonCodecs.writerFor(taskResponseList).writeValueAsBytes(taskResponses);
+        featuresJson = jsonCodecs.writerFor(featureResponseList).writeValueAsBytes(featureResponses);
+    }
+
+    @Benchmark
+    public byte[] encodeTasksAdHoc() throws IOException {
+        return adHocMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] encodeTasksShared() throws IOException {
+        return jsonCodecs.writerFor(taskResponseList).writeValueAsBytes(taskResponses);
+    }
+
+    @Benchmark
+    public List<Task> decodeTasksAdHoc() throws IOException {
+        return adHocMapper.readValue(tasksJson, TASK_LIST);
+    }
+
+    @Benchmark
+    public List<TaskResponse> decodeTasksShared() throws IOException {
+        return jsonCodecs.readerFor(taskResponseList).readValue(tasksJson);
+    }
+
+    @Benchmark
+    public byte[] encodeFeaturesAdHoc() throws IOException {
+        return adHocMapper.writeValueAsBytes(features);
+    }
+
+    @Benchmark
+    public byte[] encodeFeaturesShared() throws IOException {
+        return jsonCodecs.writerFor(featureResponseList).writeValueAsBytes(featureResponses);
+    }
+
+    @Benchmark
+    public List<Feature> decodeFeaturesAdHoc() throws IOException {
+        return adHocMapper.readValue(featuresJson, FEATURE_LIST);
+    }
+
+    @Benchmark
+    public List<FeatureResponse> decodeFeaturesShared() throws IOException {
+        return jsonCodecs.readerFor(featureResponseList).readValue(featuresJson);
+    }
+}
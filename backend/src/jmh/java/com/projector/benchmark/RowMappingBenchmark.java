@@ -0,0 +1,92 @@
+package com.projector.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+import com.projector.feature.model.Feature;
+import com.projector.feature.repository.FeatureRowMapper;
+import com.projector.task.model.Task;
+import com.projector.task.repository.TaskRowMapper;
+
+/**
+ * Compares the reflective {@link MappingR2dbcConverter} with the hand-written row mappers
+ * used by the read repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RowMappingBenchmark {
+
+    private MappingR2dbcConverter converter;
+    private InMemoryRow taskRow;
+    private InMemoryRow featureRow;
+
+    @Setup
+    public void setUp() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingR2dbcConverter(mappingContext, conversions);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("id", 1_000L);
+        task.put("feature_id", 2_000L);
+        task.put("roadmap_id", 3_000L);
+        task.put("summary", "Implement login endpoint");
+        task.put("description", "Create REST API endpoint for user login");
+        task.put("create_date", now);
+        task.put("update_date", now);
+        task.put("author_id", 1L);
+        taskRow = InMemoryRow.of(task);
+
+        Map<String, Object> feature = new LinkedHashMap<>();
+        feature.put("id", 1_000L);
+        feature.put("year", 2025L);
+        feature.put("quarter", "Q2");
+        feature.put("create_date", now);
+        feature.put("update_date", now);
+        feature.put("author_id", 1L);
+        feature.put("sprint", 4L);
+        feature.put("release", "v1.0.0");
+        feature.put("summary", "User authentication feature");
+        feature.put("description", "Detailed description of the feature");
+        feature.put("functional_area_ids", new Long[] {1_001L, 1_002L, 1_003L, 1_004L});
+        featureRow = InMemoryRow.of(feature);
+    }
+
+    @Benchmark
+    public Task taskReflective() {
+        return converter.read(Task.class, taskRow, taskRow);
+    }
+
+    @Benchmark
+    public Task taskRowMapper() {
+        return TaskRowMapper.INSTANCE.apply(taskRow, taskRow);
+    }
+
+    @Benchmark
+    public Feature featureReflective() {
+        return converter.read(Feature.class, featureRow, featureRow);
+    }
+
+    @Benchmark
+    public Feature featureRowMapper() {
+        return FeatureRowMapper.INSTANCE.apply(featureRow, featureRow);
+    }
+}
@@ -0,0 +1,124 @@
+package com.projector.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.task.model.TaskResponse;
+
+/**
+ * Encode/decode throughput and payload size of list responses per wire format.
+ * The encode benchmarks also report {@code bytes}, the encoded bytes per second; divided by
+ * the score it is the payload size of one list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "msgpack"})
+    private String format;
+
+    @Param("10000")
+    private int size;
+
+    private ObjectWriter taskWriter;
+    private ObjectReader taskReader;
+    private ObjectWriter featureWriter;
+    private ObjectReader featureReader;
+
+    private List<TaskResponse> tasks;
+    private List<FeatureResponse> features;
+    private byte[] tasksPayload;
+    private byte[] featuresPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .modulesToInstall(new JavaTimeModule(), new BlackbirdModule())
+                .build();
+        JavaType taskList = mapper.getTypeFactory().constructCollectionType(List.class, TaskResponse.class);
+        JavaType featureList = mapper.getTypeFactory().constructCollectionType(List.class, FeatureResponse.class);
+        taskWriter = mapper.writerFor(taskList);
+        taskReader = mapper.readerFor(taskList);
+        featureWriter = mapper.writerFor(featureList);
+        featureReader = mapper.readerFor(featureList);
+
+        tasks = BenchmarkData.tasks(size).stream().map(TaskResponse::from).toList();
+        features = BenchmarkData.features(size).stream().map(FeatureResponse::from).toList();
+        tasksPayload = taskWriter.writeValueAsBytes(tasks);
+        featuresPayload = featureWriter.writeValueAsBytes(features);
+    }
+
+    @Benchmark
+    public byte[] encodeTasks(EncodedBytes encoded) throws IOException {
+        byte[] payload = taskWriter.writeValueAsBytes(tasks);
+        encoded.bytes += payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public List<TaskResponse> decodeTasks() throws IOException {
+        return taskReader.readValue(tasksPayload);
+    }
+
+    @Benchmark
+    public byte[] encodeFeatures(EncodedBytes encoded) throws IOException {
+        byte[] payload = featureWriter.writeValueAsBytes(features);
+        encoded.bytes += payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public List<FeatureResponse> decodeFeatures() throws IOException {
+        return featureReader.readValue(featuresPayload);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            case "msgpack" -> new MessagePackFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    /**
+     * Secondary result of the encode benchmarks, normalized to time like the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EncodedBytes {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+}
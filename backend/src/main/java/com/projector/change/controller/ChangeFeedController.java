@@ -0,0 +1,63 @@
+package com.projector.change.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projector.change.model.ChangeAction;
+import com.projector.change.model.ChangeEvent;
+import com.projector.change.service.ChangeFeedService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${projector.changes.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Operation(summary = "Live change feed", description = "Server-Sent Events with the changes of roadmaps, features, tasks and functional areas the user may view. "
+            + "The stream starts with a 'ready' event; a 'resync' event means changes were missed and the data should be reloaded. "
+            + "The same feed is available over WebSocket at /ws/changes")
+    @Parameter(in = ParameterIn.QUERY, name = "roadmapId", description = "Only changes of these roadmaps; changes not tied to roadmaps are always sent", array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))
+    @ApiResponse(responseCode = "200", description = "Event stream", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = ChangeEvent.class)))
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public Flux<ServerSentEvent<ChangeEvent>> streamChanges(
+            @RequestParam(required = false) List<Long> roadmapId,
+            Authentication authentication) {
+        Set<Long> roadmapIds = roadmapId == null ? Set.of() : Set.copyOf(roadmapId);
+        Flux<ServerSentEvent<ChangeEvent>> changes = changeFeedService
+                .subscribe(roadmapIds, authentication.getAuthorities())
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getAction() == ChangeAction.RESYNC ? "resync" : "change")
+                        .build());
+        Flux<ServerSentEvent<ChangeEvent>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<ChangeEvent>builder().comment("heartbeat").build());
+        // The heartbeat stops with the changes, which complete after a buffer overflow
+        return Flux.just(ServerSentEvent.<ChangeEvent>builder().event("ready").build())
+                .concatWith(changes.publish(shared -> shared.mergeWith(heartbeats.takeUntilOther(shared.ignoreElements()))));
+    }
+}
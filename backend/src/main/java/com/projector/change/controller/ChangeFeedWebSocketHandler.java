@@ -0,0 +1,75 @@
+package com.projector.change.controller;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.projector.change.model.ChangeEvent;
+import com.projector.change.service.ChangeFeedService;
+import com.projector.core.component.JsonCodecs;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * The change feed over WebSocket at {@code /ws/changes?roadmapId=...}: one JSON text message
+ * per {@link ChangeEvent}. The server closes the session after a RESYNC caused by overflow.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeFeedWebSocketHandler implements WebSocketHandler {
+
+    public static final String PATH = "/ws/changes";
+
+    private final ChangeFeedService changeFeedService;
+    private final JsonCodecs jsonCodecs;
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        Set<Long> roadmapIds;
+        try {
+            roadmapIds = roadmapIds(session);
+        } catch (NumberFormatException e) {
+            return session.close(CloseStatus.BAD_DATA);
+        }
+        Mono<Void> output = session.getHandshakeInfo()
+                .getPrincipal()
+                .cast(Authentication.class)
+                .flatMapMany(authentication -> changeFeedService.subscribe(roadmapIds, authentication.getAuthorities()))
+                .map(event -> session.textMessage(toJson(event)))
+                .as(session::send)
+                .then(session.close());
+        // Whichever ends first ends the session; the client closing cancels the subscription
+        return Mono.firstWithSignal(output, session.receive().then());
+    }
+
+    private static Set<Long> roadmapIds(WebSocketSession session) {
+        List<String> values = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams()
+                .getOrDefault("roadmapId", List.of());
+        Set<Long> roadmapIds = new HashSet<>();
+        for (String value : values) {
+            for (String id : value.split(",")) {
+                roadmapIds.add(Long.valueOf(id.trim()));
+            }
+        }
+        return roadmapIds;
+    }
+
+    private String toJson(ChangeEvent event) {
+        try {
+            return jsonCodecs.writerFor(ChangeEvent.class).writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change event", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.projector.change.model;
+
+public enum ChangeAction {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /**
+     * Changes may have been missed (feed reconnected or client too slow), reload the data.
+     */
+    RESYNC
+}
@@ -0,0 +1,22 @@
+package com.projector.change.model;
+
+public enum ChangeEntity {
+    ROADMAP("ROADMAP_VIEW"),
+    FEATURE("FEATURE_VIEW"),
+    TASK("TASK_VIEW"),
+    FUNCTIONAL_AREA("FA_VIEW"),
+    USER("USER_VIEW");
+
+    private final String viewAuthority;
+
+    ChangeEntity(String viewAuthority) {
+        this.viewAuthority = viewAuthority;
+    }
+
+    /**
+     * Authority a client needs to receive changes of this entity.
+     */
+    public String getViewAuthority() {
+        return viewAuthority;
+    }
+}
@@ -0,0 +1,36 @@
+package com.projector.change.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Jacksonized
+@Schema(description = "Change of an entity, pushed to the live change feed")
+public class ChangeEvent {
+
+    private static final ChangeEvent RESYNC = ChangeEvent.builder().action(ChangeAction.RESYNC).build();
+
+    @Schema(description = "Changed entity type, absent for RESYNC", example = "TASK")
+    ChangeEntity entity;
+
+    @Schema(description = "What happened", example = "UPDATED")
+    ChangeAction action;
+
+    @Schema(description = "ID of the changed entity", example = "42")
+    Long id;
+
+    @Schema(description = "Roadmaps the change belongs to; absent if it is not tied to roadmaps", example = "[1]")
+    List<Long> roadmapIds;
+
+    public static ChangeEvent resync() {
+        return RESYNC;
+    }
+}
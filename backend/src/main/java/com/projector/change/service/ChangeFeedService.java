@@ -0,0 +1,154 @@
+package com.projector.change.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import com.projector.change.model.ChangeAction;
+import com.projector.change.model.ChangeEvent;
+import com.projector.core.component.JsonCodecs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Read side of the change feed: one {@code LISTEN} connection per node, outside the pool,
+ * fanned out to the subscribed clients.
+ *
+ * <p>Each client has a bounded buffer. A client that falls {@code projector.changes.buffer-size}
+ * events behind gets a RESYNC event and its stream completes, so one slow client can neither
+ * hold memory nor delay the others. All clients get RESYNC when the listen connection is
+ * re-established, notifications sent while it was down are lost.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedService implements DisposableBean {
+
+    private final Sinks.Many<ChangeEvent> hub = Sinks.many().multicast().directBestEffort();
+
+    private final R2dbcProperties r2dbcProperties;
+    private final JsonCodecs jsonCodecs;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${projector.changes.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${projector.changes.reconnect-max-backoff:30s}")
+    private Duration reconnectMaxBackoff;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listen() {
+        Gauge.builder("projector.changes.subscribers", hub, Sinks.Many::currentSubscriberCount)
+                .description("Clients subscribed to the change feed on this node")
+                .register(meterRegistry);
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcProperties.getUrl())
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword())
+                .build();
+        subscription = Flux.usingWhen(
+                        ConnectionFactories.get(options).create(),
+                        this::notifications,
+                        Connection::close)
+                .concatWith(Mono.error(new IllegalStateException("Change feed connection closed")))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(reconnectMaxBackoff)
+                        .doBeforeRetry(signal -> log.warn("Change feed connection lost: {}", signal.failure().toString())))
+                .subscribe(this::onNotification);
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Changes visible to a client with the given authorities, optionally only those of some
+     * roadmaps. Changes not tied to roadmaps (functional areas) reach every client.
+     */
+    public Flux<ChangeEvent> subscribe(Set<Long> roadmapIds, Collection<? extends GrantedAuthority> authorities) {
+        Set<String> granted = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return hub.asFlux()
+                .filter(event -> isVisible(event, granted, roadmapIds))
+                .onBackpressureBuffer(bufferSize, BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, error -> {
+                    overflows().increment();
+                    return Mono.just(ChangeEvent.resync());
+                });
+    }
+
+    private Flux<Notification> notifications(Connection connection) {
+        PostgresqlConnection postgres = (PostgresqlConnection) connection;
+        return postgres.createStatement("LISTEN " + ChangeNotifier.CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .then(Mono.fromRunnable(() -> {
+                    log.info("Listening for changes on {}", ChangeNotifier.CHANNEL);
+                    hub.tryEmitNext(ChangeEvent.resync());
+                }))
+                .thenMany(postgres.getNotifications());
+    }
+
+    private void onNotification(Notification notification) {
+        String payload = notification.getParameter();
+        if (payload == null) {
+            return;
+        }
+        try {
+            hub.tryEmitNext(jsonCodecs.readerFor(ChangeEvent.class).readValue(payload));
+        } catch (IOException e) {
+            log.warn("Ignoring malformed change notification: {}", payload);
+        }
+    }
+
+    private Counter overflows() {
+        return Counter.builder("projector.changes.overflows")
+                .description("Change feed clients disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    private static boolean isVisible(ChangeEvent event, Set<String> authorities, Set<Long> roadmapIds) {
+        if (event.getAction() == ChangeAction.RESYNC) {
+            return true;
+        }
+        if (event.getEntity() == null || !authorities.contains(event.getEntity().getViewAuthority())) {
+            return false;
+        }
+        return roadmapIds.isEmpty()
+                || event.getRoadmapIds() == null
+                || event.getRoadmapIds().stream().anyMatch(roadmapIds::contains);
+    }
+}
@@ -0,0 +1,149 @@
+package com.projector.change.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.projector.change.model.ChangeAction;
+import com.projector.change.model.ChangeEntity;
+import com.projector.change.model.ChangeEvent;
+import com.projector.core.component.JsonCodecs;
+import com.projector.task.model.Task;
+import com.projector.task.repository.TaskReadRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Write side of the change feed: publishes changes with Postgres {@code NOTIFY} in the
+ * transaction of the write, so they are delivered on commit only and in commit order.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeNotifier {
+
+    public static final String CHANNEL = "projector_changes";
+
+    private static final String NOTIFY = "SELECT pg_notify('" + CHANNEL + "', :payload)";
+    private static final String NOTIFY_ALL = "SELECT pg_notify('" + CHANNEL + "', payload) FROM unnest(:payloads::text[]) AS payload";
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final DatabaseClient databaseClient;
+    private final TaskReadRepository taskReadRepository;
+    private final JsonCodecs jsonCodecs;
+
+    public Mono<Void> roadmapChanged(ChangeAction action, Long roadmapId) {
+        return publish(ChangeEntity.ROADMAP, action, roadmapId, List.of(roadmapId));
+    }
+
+    /**
+     * @param previousRoadmapId roadmap of the task before an update, it also sees the task leave
+     */
+    public Mono<Void> taskChanged(ChangeAction action, Task task, Long previousRoadmapId) {
+        List<Long> roadmapIds = previousRoadmapId == null || previousRoadmapId.equals(task.getRoadmapId())
+                ? List.of(task.getRoadmapId())
+                : List.of(task.getRoadmapId(), previousRoadmapId);
+        return publish(ChangeEntity.TASK, action, task.getId(), roadmapIds);
+    }
+
+    /**
+     * Features belong to the roadmaps of their tasks.
+     */
+    public Mono<Void> featureChanged(ChangeAction action, Long featureId) {
+        return taskReadRepository.findRoadmapIdsByFeatureId(featureId)
+                .collectList()
+                .flatMap(roadmapIds -> publish(ChangeEntity.FEATURE, action, featureId, roadmapIds));
+    }
+
+    /**
+     * Bulk variant of {@link #taskChanged}: one statement for all tasks.
+     *
+     * @param previousRoadmapIds roadmap of each task before an update, by task id
+     */
+    public Mono<Void> tasksChanged(ChangeAction action, Collection<Task> tasks, Map<Long, Long> previousRoadmapIds) {
+        return Mono.fromCallable(() -> {
+                    List<String> payloads = new ArrayList<>(tasks.size());
+                    for (Task task : tasks) {
+                        Long previousRoadmapId = previousRoadmapIds.get(task.getId());
+                        List<Long> roadmapIds = previousRoadmapId == null || previousRoadmapId.equals(task.getRoadmapId())
+                                ? List.of(task.getRoadmapId())
+                                : List.of(task.getRoadmapId(), previousRoadmapId);
+                        payloads.add(payload(ChangeEntity.TASK, action, task.getId(), roadmapIds));
+                    }
+                    return payloads;
+                })
+                .flatMap(this::publishAll);
+    }
+
+    /**
+     * Bulk variant of {@link #featureChanged}: one statement for all features.
+     *
+     * @param roadmapIdsByFeature roadmaps of the tasks of each feature, by feature id
+     */
+    public Mono<Void> featuresChanged(ChangeAction action, Collection<Long> featureIds,
+            Map<Long, Collection<Long>> roadmapIdsByFeature) {
+        return Mono.fromCallable(() -> {
+                    List<String> payloads = new ArrayList<>(featureIds.size());
+                    for (Long featureId : featureIds) {
+                        payloads.add(payload(ChangeEntity.FEATURE, action, featureId,
+                                roadmapIdsByFeature.getOrDefault(featureId, List.of())));
+                    }
+                    return payloads;
+                })
+                .flatMap(this::publishAll);
+    }
+
+    public Mono<Void> functionalAreaChanged(ChangeAction action, Long functionalAreaId) {
+        return publish(ChangeEntity.FUNCTIONAL_AREA, action, functionalAreaId, null);
+    }
+
+    /**
+     * Tells every subscriber to reload, for changes too large to publish one by one.
+     */
+    public Mono<Void> resync() {
+        return Mono.fromCallable(() -> jsonCodecs.writerFor(ChangeEvent.class).writeValueAsString(ChangeEvent.resync()))
+                .flatMap(payload -> databaseClient.sql(NOTIFY)
+                        .bind("payload", payload)
+                        .then());
+    }
+
+    private Mono<Void> publish(ChangeEntity entity, ChangeAction action, Long id, Collection<Long> roadmapIds) {
+        return Mono.fromCallable(() -> payload(entity, action, id, roadmapIds))
+                .flatMap(payload -> databaseClient.sql(NOTIFY)
+                        .bind("payload", payload)
+                        .then());
+    }
+
+    private Mono<Void> publishAll(List<String> payloads) {
+        if (payloads.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(NOTIFY_ALL)
+                .bind("payloads", payloads.toArray(String[]::new))
+                .then();
+    }
+
+    private String payload(ChangeEntity entity, ChangeAction action, Long id, Collection<Long> roadmapIds)
+            throws JsonProcessingException {
+        ChangeEvent event = ChangeEvent.builder()
+                .entity(entity)
+                .action(action)
+                .id(id)
+                .roadmapIds(roadmapIds == null ? null : List.copyOf(roadmapIds))
+                .build();
+        String payload = jsonCodecs.writerFor(ChangeEvent.class).writeValueAsString(event);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            // Too many roadmaps to list: delivered to every subscriber instead
+            payload = jsonCodecs.writerFor(ChangeEvent.class)
+                    .writeValueAsString(event.toBuilder().roadmapIds(null).build());
+        }
+        return payload;
+    }
+}
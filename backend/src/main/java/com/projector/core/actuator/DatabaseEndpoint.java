@@ -0,0 +1,28 @@
+package com.projector.core.actuator;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.projector.core.model.DatabaseReport;
+import com.projector.core.service.DatabaseDiagnosticsService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code /actuator/database}: top statements of pg_stat_statements, index usage, sequential
+ * scans and dead tuples per table and lock waits, to diagnose latency without a database shell.
+ */
+@Component
+@Endpoint(id = "database")
+@RequiredArgsConstructor
+public class DatabaseEndpoint {
+
+    private final DatabaseDiagnosticsService diagnosticsService;
+
+    @ReadOperation
+    public Mono<DatabaseReport> report() {
+        return diagnosticsService.getReport();
+    }
+}
@@ -0,0 +1,137 @@
+package com.projector.core.actuator;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.projector.core.model.RecordingInfo;
+import com.projector.core.service.ProfilingService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code /actuator/jfr}: JFR recordings on demand. {@code POST} with {@code settings},
+ * {@code duration} and {@code maxSize} starts one, {@code POST /{id}} stops it,
+ * {@code GET /{id}} downloads the {@code .jfr} file with the data so far and {@code DELETE /{id}}
+ * discards it. Besides the JDK events the recordings hold the {@code com.projector.*} events of
+ * logins, token validations, service and repository calls and queries.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final ProfilingService profilingService;
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return profilingService.getRecordings();
+    }
+
+    @WriteOperation
+    public RecordingInfo start(@Nullable String settings, @Nullable Duration duration, @Nullable DataSize maxSize) {
+        return profilingService.start(settings, duration, maxSize);
+    }
+
+    @WriteOperation
+    public RecordingInfo stop(@Selector long id) {
+        return profilingService.stop(id);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector long id) {
+        return new TemporaryFileResource(profilingService.dump(id));
+    }
+
+    @DeleteOperation
+    public void close(@Selector long id) {
+        profilingService.close(id);
+    }
+
+    /**
+     * Deleted once written to the response; not reported as a file so it is not sent with zero-copy,
+     * which gives no notice of the end.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path file;
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        delete();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            ReadableByteChannel channel = super.readableChannel();
+            return new ReadableByteChannel() {
+
+                @Override
+                public int read(ByteBuffer destination) throws IOException {
+                    return channel.read(destination);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return channel.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        channel.close();
+                    } finally {
+                        delete();
+                    }
+                }
+            };
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.projector.core.actuator;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.projector.core.component.QueryMetrics;
+import com.projector.core.model.QueryStatistics;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/queries}: the statements with the highest total execution time, to find
+ * what to optimize first. {@code DELETE} starts a new measurement.
+ */
+@Component
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class QueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryMetrics queryMetrics;
+
+    @ReadOperation
+    public List<QueryStatistics> top(@Nullable Integer limit) {
+        return queryMetrics.top(limit == null || limit < 1 ? DEFAULT_LIMIT : limit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryMetrics.reset();
+    }
+}
@@ -0,0 +1,214 @@
+package com.projector.core.cache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projector.core.util.AfterCommit;
+import com.projector.core.util.SingleFlight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache of one entity type by id: a bounded in-process L1 in front of a shared
+ * Redis L2, both with a TTL. Both tiers hold the JSON representation of an entity, so every
+ * caller gets its own instance and may modify it, and an L1 hit returns exactly what an L2
+ * hit would. Callers sharing a load get copies of its result.
+ *
+ * <p>Writers call {@link #evict(Long)} after changing an entity, or {@link #evict(Collection)}
+ * after changing many at once. Loads that overlap an
+ * eviction are returned but not stored, so a slow read cannot put back a stale value.
+ * Concurrent misses for the same id share one Redis lookup and one database load.
+ */
+@Slf4j
+public final class EntityCache<V> {
+
+    private final String name;
+    private final EntityCacheManager manager;
+    private final Cache<Long, String> local;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<Long, V> loads = new SingleFlight<>();
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    EntityCache(String name, EntityCacheManager manager, long localMaxSize, Duration localTtl,
+            ObjectReader reader, ObjectWriter writer, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.manager = manager;
+        this.reader = reader;
+        this.writer = writer;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        this.localHits = requests(meterRegistry, "l1_hit");
+        this.redisHits = requests(meterRegistry, "l2_hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("projector.cache.l1.size", local, Cache::estimatedSize)
+                .description("Entries in the local tier of the entity cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the cached value or loads it. An empty loader result is not cached.
+     */
+    public Mono<V> get(Long id, Function<Long, Mono<V>> loader) {
+        if (id == null) {
+            return loader.apply(id);
+        }
+        if (!manager.isEnabled()) {
+            return loads.execute(id, loader).map(value -> copy(id, value));
+        }
+        return Mono.defer(() -> {
+            String cached = local.getIfPresent(id);
+            if (cached != null) {
+                V value = decode(id, cached);
+                if (value != null) {
+                    localHits.increment();
+                    return Mono.just(value);
+                }
+                local.invalidate(id);
+            }
+            return loads.execute(id, key -> load(key, loader)).map(value -> copy(id, value));
+        });
+    }
+
+    /**
+     * Drops the entry on this node, in Redis and on the other nodes. Inside a transaction the
+     * eviction is repeated after commit, so readers cannot cache the pre-commit row meanwhile.
+     */
+    public Mono<Void> evict(Long id) {
+        return evictAroundCommit(() -> {
+            invalidateLocal(id);
+            return manager.evict(name, id);
+        });
+    }
+
+    /**
+     * Same as {@link #evict(Long)} for many ids, with one Redis delete and one message to the
+     * other nodes.
+     */
+    public Mono<Void> evict(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return evictAroundCommit(() -> {
+            invalidateLocal(ids);
+            return manager.evict(name, ids);
+        });
+    }
+
+    public Mono<Void> evictAll() {
+        return evictAroundCommit(() -> {
+            invalidateLocal();
+            return manager.evictAll(name);
+        });
+    }
+
+    void invalidateLocal(Long id) {
+        generation.incrementAndGet();
+        local.invalidate(id);
+    }
+
+    void invalidateLocal(Collection<Long> ids) {
+        generation.incrementAndGet();
+        local.invalidateAll(ids);
+    }
+
+    void invalidateLocal() {
+        generation.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    private Mono<Void> evictAroundCommit(Supplier<Mono<Void>> eviction) {
+        if (!manager.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(eviction).then(AfterCommit.register(eviction)).then();
+    }
+
+    private Mono<V> load(Long id, Function<Long, Mono<V>> loader) {
+        long loadGeneration = generation.get();
+        return manager.get(EntityCacheManager.key(name, id))
+                .flatMap(json -> Mono.justOrEmpty(decode(id, json))
+                        .doOnNext(value -> {
+                            redisHits.increment();
+                            if (generation.get() == loadGeneration) {
+                                local.put(id, json);
+                            }
+                        }))
+                .switchIfEmpty(Mono.defer(() -> {
+                    misses.increment();
+                    return loader.apply(id).flatMap(value -> store(id, value, loadGeneration));
+                }));
+    }
+
+    private Mono<V> store(Long id, V value, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return Mono.just(value);
+        }
+        String json;
+        try {
+            json = writer.writeValueAsString(value);
+        } catch (IOException e) {
+            log.warn("Cannot serialize {} {} for the cache", name, id, e);
+            return Mono.just(value);
+        }
+        local.put(id, json);
+        return manager.set(EntityCacheManager.key(name, id), json).thenReturn(value);
+    }
+
+    /**
+     * Round trip through JSON; entities that cannot be serialized are returned as they are.
+     */
+    private V copy(Long id, V value) {
+        String json;
+        try {
+            json = writer.writeValueAsString(value);
+        } catch (IOException e) {
+            log.warn("Cannot copy {} {}", name, id, e);
+            return value;
+        }
+        V copy = decode(id, json);
+        return copy != null ? copy : value;
+    }
+
+    /**
+     * @return a new instance, {@code null} for entries written by an incompatible version, which are treated as misses
+     */
+    private V decode(Long id, String json) {
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            log.debug("Cannot read cached {} {}: {}", name, id, e.getMessage());
+            return null;
+        }
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("projector.cache.requests")
+                .description("Entity cache lookups by tier that answered them")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,241 @@
+package com.projector.core.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.projector.core.component.JsonCodecs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Creates {@link EntityCache} instances and owns their shared Redis side: the L2 key space,
+ * the invalidation channel between nodes and the fallback when Redis is unavailable.
+ *
+ * <p>A failed Redis call disables L2 for {@code projector.cache.redis-retry-after}, so an
+ * outage costs one timeout per window instead of one per request; reads then go straight
+ * to Postgres through the L1. Invalidations lost during an outage are bounded by the L1 TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCacheManager implements DisposableBean {
+
+    static final String KEY_PREFIX = "projector:cache:";
+    static final String CHANNEL = "projector:cache:invalidation";
+    static final String ALL = "*";
+    static final String ID_SEPARATOR = ",";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, EntityCache<?>> caches = new ConcurrentHashMap<>();
+    private final AtomicLong redisDisabledUntil = new AtomicLong(System.nanoTime());
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final JsonCodecs jsonCodecs;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${projector.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${projector.cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${projector.cache.local.ttl:60s}")
+    private Duration localTtl;
+
+    @Value("${projector.cache.redis.ttl:10m}")
+    private Duration redisTtl;
+
+    @Value("${projector.cache.redis.timeout:250ms}")
+    private Duration redisTimeout;
+
+    @Value("${projector.cache.redis-retry-after:30s}")
+    private Duration redisRetryAfter;
+
+    private Disposable subscription;
+    private ObjectMapper cacheMapper;
+
+    public <V> EntityCache<V> create(String name, Class<V> type) {
+        ObjectMapper mapper = cacheMapper();
+        EntityCache<V> cache = new EntityCache<>(name, this, localMaxSize, localTtl,
+                mapper.readerFor(type), mapper.writerFor(type), meterRegistry);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already exists: " + name);
+        }
+        return cache;
+    }
+
+    /**
+     * The application mapper, except that read-only properties such as {@code createDate}
+     * are also read back, the L2 copy must restore the whole entity.
+     */
+    private synchronized ObjectMapper cacheMapper() {
+        if (cacheMapper == null) {
+            cacheMapper = jsonCodecs.objectMapper().copy();
+            cacheMapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+                @Override
+                public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                    return JsonProperty.Access.AUTO;
+                }
+            });
+        }
+        return cacheMapper;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Subscribes to invalidations from other nodes, resubscribing with backoff while Redis
+     * is down. Local entries are dropped on every (re)subscription because messages sent in
+     * between are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        subscription = Mono.defer(() -> redisTemplate.listenToChannelLater(CHANNEL))
+                .flatMapMany(messages -> {
+                    log.debug("Subscribed to cache invalidations as node {}", nodeId);
+                    caches.values().forEach(EntityCache::invalidateLocal);
+                    return messages;
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(redisRetryAfter)
+                        .doBeforeRetry(signal -> log.debug("Cache invalidation channel unavailable: {}",
+                                signal.failure().getMessage())))
+                .subscribe(message -> onInvalidation(message.getMessage()));
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Mono<String> get(String key) {
+        if (!isRedisAvailable()) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue()
+                .get(key)
+                .timeout(redisTimeout)
+                .onErrorResume(this::onRedisError);
+    }
+
+    Mono<Void> set(String key, String value) {
+        if (!isRedisAvailable()) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue()
+                .set(key, value, redisTtl)
+                .timeout(redisTimeout)
+                .then()
+                .onErrorResume(this::onRedisError);
+    }
+
+    /**
+     * Deletes the L2 entry and tells the other nodes to drop their L1 entry.
+     */
+    Mono<Void> evict(String cacheName, Long id) {
+        return evict(cacheName, List.of(id));
+    }
+
+    /**
+     * Deletes the L2 entries with one command and sends all ids in one message.
+     */
+    Mono<Void> evict(String cacheName, Collection<Long> ids) {
+        String[] keys = ids.stream().map(id -> key(cacheName, id)).toArray(String[]::new);
+        String message = ids.stream().map(String::valueOf).collect(Collectors.joining(ID_SEPARATOR));
+        return evict(cacheName, redisTemplate.delete(keys), message);
+    }
+
+    Mono<Void> evictAll(String cacheName) {
+        ScanOptions keys = ScanOptions.scanOptions().match(KEY_PREFIX + cacheName + ":*").count(500).build();
+        return evict(cacheName, redisTemplate.delete(redisTemplate.scan(keys)), ALL);
+    }
+
+    static String key(String cacheName, Long id) {
+        return KEY_PREFIX + cacheName + ":" + id;
+    }
+
+    private Mono<Void> evict(String cacheName, Mono<Long> delete, String ids) {
+        // Not skipped while L2 is disabled: a missed delete would serve stale data until the TTL
+        return delete
+                .then(redisTemplate.convertAndSend(CHANNEL, nodeId + " " + cacheName + " " + ids))
+                .timeout(redisTimeout)
+                .then()
+                .onErrorResume(this::onRedisError);
+    }
+
+    private void onInvalidation(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        EntityCache<?> cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (ALL.equals(parts[2])) {
+            cache.invalidateLocal();
+        } else {
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (String id : parts[2].split(ID_SEPARATOR)) {
+                    ids.add(Long.valueOf(id));
+                }
+                cache.invalidateLocal(ids);
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed cache invalidation: {}", message);
+            }
+        }
+    }
+
+    private boolean isRedisAvailable() {
+        return System.nanoTime() - redisDisabledUntil.get() >= 0;
+    }
+
+    private <T> Mono<T> onRedisError(Throwable error) {
+        long now = System.nanoTime();
+        long previous = redisDisabledUntil.getAndSet(now + redisRetryAfter.toNanos());
+        if (now - previous >= 0) {
+            log.warn("Redis cache unavailable, using Postgres for {}: {}", redisRetryAfter, error.toString());
+        }
+        redisErrors().increment();
+        return Mono.empty();
+    }
+
+    private Counter redisErrors() {
+        return Counter.builder("projector.cache.redis.errors")
+                .description("Failed Redis calls of the entity caches")
+                .register(meterRegistry);
+    }
+}
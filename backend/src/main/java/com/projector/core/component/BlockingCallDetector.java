@@ -0,0 +1,59 @@
+package com.projector.core.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Installs BlockHound in the {@code diagnostics} profile: a blocking call (file or socket I/O,
+ * sleeping, waiting on a lock) on an event loop or a Reactor non-blocking thread is logged
+ * with its stack trace, or fails with {@link BlockingOperationError} if
+ * {@code projector.blockhound.fail} is set. The e2e tests install it the same way.
+ *
+ * <p>Needs the JVM flag {@code -XX:+AllowRedefinitionToAddDeleteMethods}; without it a warning
+ * is logged and nothing is detected. Reactor, Netty and Spring contribute their own allowances.
+ */
+@Slf4j
+@Component
+@Profile("diagnostics")
+public class BlockingCallDetector {
+
+    public BlockingCallDetector(@Value("${projector.blockhound.fail:false}") boolean fail) {
+        install(fail);
+    }
+
+    public static void install(boolean fail) {
+        try {
+            BlockHound.builder()
+                    .loadIntegrations(new ProjectorIntegration())
+                    .blockingMethodCallback(method -> {
+                        BlockingOperationError error = new BlockingOperationError(method);
+                        if (fail) {
+                            throw error;
+                        }
+                        log.warn("Blocking call on {}", Thread.currentThread().getName(), error);
+                    })
+                    .install();
+            log.info("BlockHound installed, blocking calls {}", fail ? "fail" : "are logged");
+        } catch (IllegalStateException e) {
+            log.warn("BlockHound not installed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Allowances for blocking that happens once per JVM rather than per request.
+     */
+    private static final class ProjectorIntegration implements BlockHoundIntegration {
+
+        @Override
+        public void applyTo(BlockHound.Builder builder) {
+            // Classes loaded on first use are read from the jars
+            builder.allowBlockingCallsInside(ClassLoader.class.getName(), "loadClass");
+        }
+    }
+}
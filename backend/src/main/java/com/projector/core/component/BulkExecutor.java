@@ -0,0 +1,58 @@
+package com.projector.core.component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.model.BulkItemStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies a stream of bulk items in chunks of {@code projector.bulk.chunk-size}, each chunk in
+ * its own transaction, and streams back one result per item in request order. Items rejected
+ * by validation do not affect the rest of their chunk; if writing a chunk fails, the chunk is
+ * rolled back and all its items are reported as failed, later chunks still run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkExecutor {
+
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${projector.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public record Item<T>(int index, T value) {
+    }
+
+    public <T, R> Flux<BulkItemResult<R>> execute(Flux<T> items, Function<List<Item<T>>, Mono<List<BulkItemResult<R>>>> chunkWriter) {
+        return items
+                .index((index, value) -> new Item<>(Math.toIntExact(index), value))
+                .buffer(chunkSize)
+                .concatMap(chunk -> transactionalOperator.transactional(Mono.defer(() -> chunkWriter.apply(chunk)))
+                        .onErrorResume(error -> {
+                            log.warn("Bulk chunk of {} items starting at {} rolled back: {}",
+                                    chunk.size(), chunk.get(0).index(), error.toString());
+                            return Mono.just(chunk.stream()
+                                    .map(item -> BulkItemResult.<R>failed(item.index(), null, BulkItemStatus.FAILED,
+                                            "Not applied, the chunk failed: " + error.getMessage()))
+                                    .toList());
+                        })
+                        .flatMapIterable(results -> {
+                            List<BulkItemResult<R>> sorted = new ArrayList<>(results);
+                            sorted.sort(Comparator.comparingInt(BulkItemResult::getIndex));
+                            return sorted;
+                        }), 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.projector.core.component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.TimeWindowMax;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Measures how late the server event loops run a task scheduled on them, per loop thread:
+ * {@code projector.event-loop.lag} is the latest probe, {@code projector.event-loop.lag.max}
+ * the maximum of the last two minutes, so stalls between scrapes are not missed. Any work
+ * that blocks or hogs a loop thread delays the probe by the same time as every request on
+ * that loop; a lag above {@code projector.event-loop.lag-warn-threshold} is logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventLoopLagMonitor implements DisposableBean {
+
+    private final ReactorResourceFactory reactorResourceFactory;
+    private final MeterRegistry meterRegistry;
+    private final List<Probe> probes = new ArrayList<>();
+
+    @Value("${projector.event-loop.lag-probe-interval:1s}")
+    private Duration interval;
+
+    @Value("${projector.event-loop.lag-warn-threshold:100ms}")
+    private Duration warnThreshold;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        EventLoopGroup group = reactorResourceFactory.getLoopResources().onServer(LoopResources.DEFAULT_NATIVE);
+        for (EventExecutor executor : group) {
+            Probe probe = new Probe(executor);
+            probes.add(probe);
+            probe.start();
+        }
+        log.info("Probing lag of {} event loops every {}", probes.size(), interval);
+    }
+
+    @Override
+    public void destroy() {
+        probes.forEach(Probe::stop);
+    }
+
+    /**
+     * Reschedules itself on its loop; the first run registers the gauges under the loop thread name.
+     */
+    private final class Probe implements Runnable {
+
+        private final EventExecutor executor;
+        private final TimeWindowMax maxLag = new TimeWindowMax(meterRegistry.config().clock(), DistributionStatisticConfig.DEFAULT);
+        private volatile long lagNanos;
+        private volatile boolean stopped;
+        private volatile ScheduledFuture<?> next;
+        private long expectedAt;
+        private boolean registered;
+
+        private Probe(EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        private void start() {
+            expectedAt = System.nanoTime();
+            executor.execute(this);
+        }
+
+        private void stop() {
+            stopped = true;
+            ScheduledFuture<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            long lag = Math.max(0, System.nanoTime() - expectedAt);
+            lagNanos = lag;
+            maxLag.record(lag, TimeUnit.NANOSECONDS);
+            if (!registered) {
+                registered = true;
+                String thread = Thread.currentThread().getName();
+                TimeGauge.builder("projector.event-loop.lag", this, TimeUnit.NANOSECONDS, probe -> probe.lagNanos)
+                        .description("Delay of a task scheduled on the event loop, the time the loop was busy or blocked")
+                        .tag("thread", thread)
+                        .register(meterRegistry);
+                TimeGauge.builder("projector.event-loop.lag.max", maxLag, TimeUnit.NANOSECONDS,
+                                max -> max.poll(TimeUnit.NANOSECONDS))
+                        .description("Largest event loop delay of the last two minutes")
+                        .tag("thread", thread)
+                        .register(meterRegistry);
+            } else if (lag > warnThreshold.toNanos()) {
+                log.warn("Event loop {} lagged {} ms", Thread.currentThread().getName(), TimeUnit.NANOSECONDS.toMillis(lag));
+            }
+            if (!stopped && !executor.isShuttingDown()) {
+                expectedAt = System.nanoTime() + interval.toNanos();
+                next = executor.schedule(this, interval.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
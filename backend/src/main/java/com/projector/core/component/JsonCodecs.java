@@ -0,0 +1,46 @@
+package com.projector.core.component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Shared {@link ObjectWriter}/{@link ObjectReader} instances per type, built once from
+ * the application {@link ObjectMapper} instead of ad-hoc mappers.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonCodecs {
+
+    private final ConcurrentHashMap<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public ObjectWriter writerFor(Class<?> type) {
+        return writerFor(objectMapper.constructType(type));
+    }
+
+    public ObjectWriter writerFor(JavaType type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    public ObjectReader readerFor(Class<?> type) {
+        return readerFor(objectMapper.constructType(type));
+    }
+
+    public ObjectReader readerFor(JavaType type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projector.core.model.UserClaims;
 import com.projector.core.service.JwtSigner;
 import com.projector.user.model.User;
@@ -25,8 +24,8 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
     private final JwtSigner jwtSigner;
+    private final JsonCodecs jsonCodecs;
 
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
@@ -38,7 +37,7 @@ public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
                             String subject = jws.getPayload().getSubject();
 
                             try {
-                                UserClaims userClaims = objectMapper.readerFor(UserClaims.class).readValue(subject);
+                                UserClaims userClaims = jsonCodecs.readerFor(UserClaims.class).readValue(subject);
                                 return authenticateUserToken(userClaims, authentication);
                             } catch (JsonProcessingException e) {
                                 log.error("Incorrect Token subject {}", e.getMessage());
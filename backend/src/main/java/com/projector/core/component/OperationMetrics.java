@@ -0,0 +1,212 @@
+package com.projector.core.component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import com.projector.core.jfr.OperationEvent;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Observes every public method of the {@code *Service} classes and of the repositories, both
+ * {@code @Repository} classes and Spring Data interfaces, as {@code projector.operation}: a
+ * timer tagged with the layer, class, method, outcome and exception type, and a span named
+ * {@code Class.method} when tracing is on. Failures are also counted as
+ * {@code projector.operation.errors}. All tags come from code, never from arguments, so the
+ * number of series is bounded by the number of methods.
+ *
+ * <p>For {@link Mono} and {@link Flux} results the observation runs from subscription to the
+ * terminal signal, which is when the work happens, and is the parent of the observations made
+ * while it runs, down to the R2DBC queries; a cancelled subscription is recorded as
+ * {@code CANCELLED}. Calls within one class are not intercepted.
+ *
+ * <p>Each call is also an {@link OperationEvent} for JFR recordings; while no recording
+ * enables it the event is not committed.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class OperationMetrics {
+
+    public static final String TIMER = "projector.operation";
+    public static final String ERRORS = "projector.operation.errors";
+
+    private static final String SERVICE = "service";
+    private static final String REPOSITORY = "repository";
+    private static final String SUCCESS = "SUCCESS";
+    private static final String ERROR = "ERROR";
+    private static final String CANCELLED = "CANCELLED";
+    private static final String NO_EXCEPTION = "none";
+
+    private record OperationKey(Class<?> type, Method method) {
+    }
+
+    private record Operation(String name, String layer, String className, String method, KeyValues keyValues, Tags tags) {
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<OperationKey, Operation> operations = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.projector..*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure(SERVICE, joinPoint);
+    }
+
+    @Around("execution(public * *(..)) && !execution(* java.lang.Object.*(..)) && "
+            + "(@within(org.springframework.stereotype.Repository) || this(org.springframework.data.repository.Repository))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure(REPOSITORY, joinPoint);
+    }
+
+    private Object measure(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Operation operation = operations.computeIfAbsent(new OperationKey(joinPoint.getThis().getClass(), method), key -> {
+            String className = className(joinPoint);
+            return new Operation(className + "." + method.getName(), layer, className, method.getName(),
+                    KeyValues.of("layer", layer, "class", className, "method", method.getName()),
+                    Tags.of("layer", layer, "class", className, "method", method.getName()));
+        });
+        Class<?> returnType = method.getReturnType();
+        if (!Mono.class.isAssignableFrom(returnType) && !Flux.class.isAssignableFrom(returnType)) {
+            Measurement measurement = new Measurement(operation, start(operation, null));
+            Observation.Scope scope = measurement.observation.openScope();
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Throwable error) {
+                scope.close();
+                measurement.stop(ERROR, error);
+                throw error;
+            }
+            scope.close();
+            measurement.stop(SUCCESS, null);
+            return result;
+        }
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable error) {
+            new Measurement(operation, start(operation, null)).stop(ERROR, error);
+            throw error;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.deferContextual(context -> {
+                Measurement measurement = new Measurement(operation, start(operation, context));
+                return mono.doOnSuccess(value -> measurement.stop(SUCCESS, null))
+                        .doOnError(error -> measurement.stop(ERROR, error))
+                        .doOnCancel(() -> measurement.stop(CANCELLED, null))
+                        .contextWrite(inner -> inner.put(ObservationThreadLocalAccessor.KEY, measurement.observation));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.deferContextual(context -> {
+                Measurement measurement = new Measurement(operation, start(operation, context));
+                return flux.doOnComplete(() -> measurement.stop(SUCCESS, null))
+                        .doOnError(error -> measurement.stop(ERROR, error))
+                        .doOnCancel(() -> measurement.stop(CANCELLED, null))
+                        .contextWrite(inner -> inner.put(ObservationThreadLocalAccessor.KEY, measurement.observation));
+            });
+        }
+        return result;
+    }
+
+    /**
+     * @param context subscriber context holding the parent observation, {@code null} to take the current one
+     */
+    private Observation start(Operation operation, ContextView context) {
+        Observation observation = Observation.createNotStarted(TIMER, observationRegistry)
+                .contextualName(operation.name())
+                .lowCardinalityKeyValues(operation.keyValues());
+        Observation parent = context == null ? null : context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+        if (parent != null) {
+            observation.parentObservation(parent);
+        }
+        return observation.start();
+    }
+
+    private void stop(Operation operation, Observation observation, OperationEvent event, String outcome, Throwable error) {
+        String exception = error == null ? NO_EXCEPTION : exceptionName(error);
+        observation.lowCardinalityKeyValue("outcome", outcome)
+                .lowCardinalityKeyValue("exception", exception);
+        if (error != null) {
+            observation.error(error);
+            Counter.builder(ERRORS)
+                    .description("Failed service and repository calls by exception type")
+                    .tags(operation.tags())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        observation.stop();
+        event.end();
+        if (event.shouldCommit()) {
+            event.layer = operation.layer();
+            event.className = operation.className();
+            event.method = operation.method();
+            event.outcome = outcome;
+            event.exception = exception;
+            event.commit();
+        }
+    }
+
+    private static String exceptionName(Throwable error) {
+        String name = error.getClass().getSimpleName();
+        return name.isEmpty() ? error.getClass().getName() : name;
+    }
+
+    /**
+     * Spring Data repositories are named by their interface, the proxy target is a generic implementation.
+     */
+    private static String className(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.projector.")) {
+                return type.getSimpleName();
+            }
+        }
+        return AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    }
+
+    /**
+     * One call or subscription; recorded once even if a cancel follows the terminal signal.
+     */
+    private final class Measurement {
+
+        private final Operation operation;
+        private final Observation observation;
+        private final OperationEvent event = new OperationEvent();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        private Measurement(Operation operation, Observation observation) {
+            this.operation = operation;
+            this.observation = observation;
+            event.begin();
+        }
+
+        private void stop(String outcome, Throwable error) {
+            if (stopped.compareAndSet(false, true)) {
+                OperationMetrics.this.stop(operation, observation, event, outcome, error);
+            }
+        }
+    }
+}
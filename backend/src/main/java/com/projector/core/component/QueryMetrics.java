@@ -0,0 +1,281 @@
+package com.projector.core.component;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projector.core.jfr.QueryEvent;
+import com.projector.core.model.QueryStatistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.Binding;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.proxy.observation.ObservationProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Wraps the application {@link ConnectionFactory} in r2dbc-proxy to measure the database side
+ * of every request:
+ *
+ * <ul>
+ * <li>{@code projector.db.connection.acquire} — time to get a connection from the pool,
+ * including the wait for a free one</li>
+ * <li>{@code projector.db.query} — statement execution time including reading the results,
+ * tagged with the statement type and outcome</li>
+ * <li>per-statement totals by normalized SQL (literals and expanded parameter lists collapsed),
+ * read by the {@code queries} actuator endpoint; at most
+ * {@code projector.db.query-statistics.max-statements} statements are tracked, the rest are
+ * added up as one</li>
+ * <li>a warning for statements slower than {@code projector.db.slow-query-threshold}, with the
+ * types of the bound parameters but not their values</li>
+ * </ul>
+ *
+ * Each query is also an {@code r2dbc.query} observation, a span under the service or repository
+ * call that issued it when tracing is on, and a {@link QueryEvent} with the table and the number
+ * of rows read for JFR recordings; bound values are not recorded. Pool gauges
+ * ({@code r2dbc.pool.*}) are bound by the Spring Boot actuator.
+ */
+@Slf4j
+@Component
+public class QueryMetrics implements BeanPostProcessor, ProxyExecutionListener {
+
+    public static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\$\\d+(?:\\s*,\\s*\\$\\d+)+");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$])\\d+(?:\\.\\d+)?");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:FROM|INTO|UPDATE|JOIN)\\s+\"?([\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final Cache<String, String> normalized = Caffeine.newBuilder().maximumSize(2000).build();
+
+    @Value("${projector.db.slow-query-threshold:500ms}")
+    private Duration slowQueryThreshold;
+
+    @Value("${projector.db.query-statistics.max-statements:1000}")
+    private int maxStatements;
+
+    @Value("${spring.r2dbc.url:}")
+    private String url;
+
+    // The registries are resolved lazily, creating them while post-processors register would skip their configuration
+    public QueryMetrics(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ConnectionFactory connectionFactory) {
+            return ProxyConnectionFactory.builder(connectionFactory)
+                    .listener(this)
+                    .listener(new ObservationProxyExecutionListener(
+                            observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP), connectionFactory, remoteAddress()))
+                    .build();
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionInfo executionInfo) {
+        if (executionInfo.getTarget() instanceof ConnectionFactory && "create".equals(executionInfo.getMethod().getName())) {
+            Timer.builder("projector.db.connection.acquire")
+                    .description("Time to obtain a database connection from the pool")
+                    .tag("outcome", executionInfo.getThrown() == null ? "SUCCESS" : "ERROR")
+                    .register(meterRegistry.getObject())
+                    .record(executionInfo.getExecuteDuration());
+        }
+    }
+
+    @Override
+    public void beforeQuery(QueryExecutionInfo executionInfo) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        executionInfo.getValueStore().put(QueryEvent.class, event);
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo executionInfo) {
+        Duration duration = executionInfo.getExecuteDuration();
+        boolean success = executionInfo.isSuccess();
+        QueryEvent event = executionInfo.getValueStore().get(QueryEvent.class, QueryEvent.class);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit() && !executionInfo.getQueries().isEmpty()) {
+                String sql = normalized.get(executionInfo.getQueries().get(0).getQuery(), QueryMetrics::normalize);
+                event.type = statementType(sql);
+                event.table = table(sql);
+                event.sql = sql;
+                event.rows = executionInfo.getCurrentResultCount();
+                event.success = success;
+                event.commit();
+            }
+        }
+        for (QueryInfo query : executionInfo.getQueries()) {
+            String sql = normalized.get(query.getQuery(), QueryMetrics::normalize);
+            Timer.builder("projector.db.query")
+                    .description("Statement execution time including reading the results")
+                    .tag("type", statementType(sql))
+                    .tag("outcome", success ? "SUCCESS" : "ERROR")
+                    .register(meterRegistry.getObject())
+                    .record(duration);
+            statisticsOf(sql).record(duration, success);
+            if (duration.compareTo(slowQueryThreshold) > 0) {
+                log.warn("Slow query ({} ms, {}): {} parameters {}", duration.toMillis(), success ? "ok" : "failed",
+                        sql, parameterShapes(query.getBindingsList()));
+            }
+        }
+    }
+
+    /**
+     * @return the statements with the highest total execution time first
+     */
+    public List<QueryStatistics> top(int limit) {
+        return statistics.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(QueryStatistics::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    private Statistics statisticsOf(String sql) {
+        Statistics existing = statistics.get(sql);
+        if (existing != null) {
+            return existing;
+        }
+        String key = statistics.size() < maxStatements ? sql : OTHER_STATEMENTS;
+        return statistics.computeIfAbsent(key, ignored -> new Statistics());
+    }
+
+    /**
+     * Host and port of the database for the spans, without the credentials the URL may hold.
+     */
+    private String remoteAddress() {
+        if (url.isEmpty()) {
+            return null;
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url);
+        Object host = options.getValue(ConnectionFactoryOptions.HOST);
+        Object port = options.getValue(ConnectionFactoryOptions.PORT);
+        return host == null ? null : port == null ? host.toString() : host + ":" + port;
+    }
+
+    public static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        // Collections bound to one named parameter expand to as many placeholders as elements
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("\\$n, ...");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return normalized.length() > MAX_SQL_LENGTH ? normalized.substring(0, MAX_SQL_LENGTH) + "..." : normalized;
+    }
+
+    private static String statementType(String sql) {
+        int end = sql.indexOf(' ');
+        String keyword = (end < 0 ? sql : sql.substring(0, end)).toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "SELECT", "INSERT", "UPDATE", "DELETE", "WITH" -> keyword;
+            default -> "OTHER";
+        };
+    }
+
+    private static String table(String sql) {
+        Matcher matcher = TABLE.matcher(sql);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Types of the bound values, with the length of strings and arrays; values may be personal data.
+     */
+    private static String parameterShapes(List<Bindings> bindingsList) {
+        if (bindingsList.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner shapes = new StringJoiner(", ", "[", "]");
+        Bindings bindings = bindingsList.get(0);
+        appendShapes(shapes, bindings.getIndexBindings());
+        appendShapes(shapes, bindings.getNamedBindings());
+        String result = shapes.toString();
+        return bindingsList.size() > 1 ? result + " x" + bindingsList.size() : result;
+    }
+
+    private static void appendShapes(StringJoiner shapes, Collection<Binding> bindings) {
+        for (Binding binding : bindings) {
+            shapes.add(binding.getKey() + "=" + shape(binding.getBoundValue()));
+        }
+    }
+
+    private static String shape(BoundValue value) {
+        if (value.isNull()) {
+            return "null(" + value.getNullType().getSimpleName() + ")";
+        }
+        Object bound = value.getValue();
+        if (bound instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (bound != null && bound.getClass().isArray()) {
+            return bound.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(bound) + "]";
+        }
+        return bound == null ? "null" : bound.getClass().getSimpleName();
+    }
+
+    private static final class Statistics {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(Duration duration, boolean success) {
+            long nanos = duration.toNanos();
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        private QueryStatistics snapshot(String sql) {
+            long count = calls.sum();
+            double totalMillis = totalNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            return new QueryStatistics(sql, count, errors.sum(), totalMillis,
+                    count == 0 ? 0 : totalMillis / count, maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
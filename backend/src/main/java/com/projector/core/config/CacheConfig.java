@@ -0,0 +1,45 @@
+package com.projector.core.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.projector.core.cache.EntityCache;
+import com.projector.core.cache.EntityCacheManager;
+import com.projector.feature.model.Feature;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.role.model.Role;
+import com.projector.user.model.User;
+
+/**
+ * Entity caches used by the get-by-id paths of the services. Cached users carry no password
+ * hash (it is not part of their JSON), the login path always reads the database.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public EntityCache<Role> roleCache(EntityCacheManager cacheManager) {
+        return cacheManager.create("roles", Role.class);
+    }
+
+    @Bean
+    public EntityCache<User> userCache(EntityCacheManager cacheManager) {
+        return cacheManager.create("users", User.class);
+    }
+
+    @Bean
+    public EntityCache<FunctionalArea> functionalAreaCache(EntityCacheManager cacheManager) {
+        return cacheManager.create("functional-areas", FunctionalArea.class);
+    }
+
+    @Bean
+    public EntityCache<Roadmap> roadmapCache(EntityCacheManager cacheManager) {
+        return cacheManager.create("roadmaps", Roadmap.class);
+    }
+
+    @Bean
+    public EntityCache<Feature> featureCache(EntityCacheManager cacheManager) {
+        return cacheManager.create("features", Feature.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.projector.core.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Binary representations of the REST API next to JSON: CBOR, Smile and MessagePack.
+ * Chosen by {@code Accept}/{@code Content-Type}; JSON stays the default because it is
+ * listed first in every controller's {@code produces}.
+ * Binary mappers are built from the same Boot builder as the JSON one, so modules and
+ * features match.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CodecConfig implements WebFluxConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(Constants.APPLICATION_SMILE_VALUE);
+    public static final MediaType APPLICATION_MSGPACK = MediaType.parseMediaType(Constants.APPLICATION_MSGPACK_VALUE);
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper smileMapper = binaryMapper(new SmileFactory());
+        configurer.defaultCodecs().jackson2SmileEncoder(new BinaryJacksonEncoder(smileMapper, APPLICATION_SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE));
+
+        ObjectMapper cborMapper = binaryMapper(new CBORFactory());
+        configurer.customCodecs().register(new BinaryJacksonEncoder(cborMapper, MediaType.APPLICATION_CBOR));
+        configurer.customCodecs().register(new BinaryJacksonDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+
+        ObjectMapper msgpackMapper = binaryMapper(new MessagePackFactory());
+        configurer.customCodecs().register(new BinaryJacksonEncoder(msgpackMapper, APPLICATION_MSGPACK));
+        configurer.customCodecs().register(new BinaryJacksonDecoder(msgpackMapper, APPLICATION_MSGPACK));
+    }
+
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        return objectMapperBuilder.getObject().factory(factory).build();
+    }
+
+    /**
+     * Writes a {@code Flux} as one array value. The base class joins the elements with the JSON
+     * text separators {@code [ , ]}, which no binary format accepts.
+     */
+    static class BinaryJacksonEncoder extends AbstractJackson2Encoder {
+
+        BinaryJacksonEncoder(ObjectMapper mapper, MimeType mimeType) {
+            super(mapper, mimeType);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            if (inputStream instanceof Mono) {
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream)
+                    .collectList()
+                    .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                    .flux();
+        }
+    }
+
+    /**
+     * Reads a {@code Flux} request body as one array: CBOR and MessagePack factories have no
+     * non-blocking parser for element-by-element tokenizing.
+     */
+    static class BinaryJacksonDecoder extends AbstractJackson2Decoder {
+
+        BinaryJacksonDecoder(ObjectMapper mapper, MimeType mimeType) {
+            super(mapper, mimeType);
+        }
+
+        @Override
+        public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return decodeToMono(input, listType, mimeType, hints)
+                    .flatMapIterable(list -> (List<?>) list);
+        }
+    }
+}
@@ -3,4 +3,7 @@ package com.projector.core.config;
 public interface Constants {
 
     String AUTH_COOKIE_NAME = "X-Auth";
+
+    String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    String APPLICATION_MSGPACK_VALUE = "application/x-msgpack";
 }
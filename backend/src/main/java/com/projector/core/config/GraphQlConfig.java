@@ -0,0 +1,66 @@
+package com.projector.core.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.web.server.ServerWebInputException;
+
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+
+/**
+ * Limits of the GraphQL endpoint, checked before a query runs.
+ *
+ * <p>Every field costs 1; the children of a list field count {@code limit} times when the
+ * argument is given, otherwise {@code projector.graphql.list-weight} times. A query for one
+ * roadmap with its tasks, features and authors stays well under the default limit, lists
+ * nested in lists do not.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    // Depth is checked first, it is cheaper and gives the clearer error for runaway nesting
+    @Bean
+    @Order(1)
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${projector.graphql.max-depth:8}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    @Order(2)
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${projector.graphql.max-complexity:5000}") int maxComplexity,
+            @Value("${projector.graphql.list-weight:10}") int listWeight) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, (environment, childComplexity) -> {
+            if (!(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList)) {
+                return 1 + childComplexity;
+            }
+            Object limit = environment.getArguments().get("limit");
+            int items = limit instanceof Integer value ? Math.max(value, 1) : listWeight;
+            return 1 + items * childComplexity;
+        });
+    }
+
+    /**
+     * Invalid arguments (filter syntax, limit range) are reported with their message.
+     */
+    @Bean
+    public DataFetcherExceptionResolver inputExceptionResolver() {
+        return DataFetcherExceptionResolver.forSingleError((error, environment) -> {
+            if (error instanceof ServerWebInputException inputError) {
+                return GraphqlErrorBuilder.newError(environment)
+                        .errorType(ErrorType.BAD_REQUEST)
+                        .message(inputError.getReason())
+                        .build();
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.projector.core.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Tuning of the single application {@link com.fasterxml.jackson.databind.ObjectMapper}.
+ * Module beans are registered by Spring Boot, the same mapper backs the WebFlux codecs
+ * and {@link com.projector.core.component.JsonCodecs}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective property access with generated lambdas.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -1,8 +1,10 @@
 package com.projector.core.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ObservationReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
@@ -14,6 +16,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import com.projector.core.component.JwtAuthenticationManager;
 import com.projector.core.component.JwtServerAuthenticationConverter;
 
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -24,10 +27,16 @@ public class SecurityConfig {
 
     private final JwtAuthenticationManager jwtAuthenticationManager;
     private final JwtServerAuthenticationConverter jwtServerAuthenticationConverter;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${projector.metrics.prometheus-anonymous:false}")
+    private boolean prometheusAnonymous;
 
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
-        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager);
+        // Observed like the authentication managers Spring Security creates itself: a timer and a span per token check
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(
+                new ObservationReactiveAuthenticationManager(observationRegistry, jwtAuthenticationManager));
         jwtFilter.setServerAuthenticationConverter(jwtServerAuthenticationConverter);
 
         return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
@@ -44,21 +53,29 @@ public class SecurityConfig {
                 .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
                 .logout(ServerHttpSecurity.LogoutSpec::disable)
-                .authorizeExchange(exchanges -> exchanges
-                        .pathMatchers(HttpMethod.OPTIONS, "/**")
-                        .permitAll()
-                        .pathMatchers("/actuator/health", "/actuator/info")
-                        .permitAll()
-                        .pathMatchers("/api/auth/**")
-                        .permitAll()
-                        .pathMatchers("/swagger-ui.html", "/swagger-ui/**")
-                        .permitAll()
-                        .pathMatchers("/v3/api-docs", "/v3/api-docs/**")
-                        .permitAll()
-                        .pathMatchers("/swagger-resources/**", "/webjars/**")
-                        .permitAll()
-                        .anyExchange()
-                        .authenticated())
+                .authorizeExchange(exchanges -> {
+                    if (prometheusAnonymous) {
+                        // Opt-in for scrapers on a private network that cannot send the token
+                        exchanges.pathMatchers("/actuator/prometheus").permitAll();
+                    }
+                    exchanges.pathMatchers(HttpMethod.OPTIONS, "/**")
+                            .permitAll()
+                            .pathMatchers("/actuator/health", "/actuator/info")
+                            .permitAll()
+                            .pathMatchers("/actuator/database/**", "/actuator/jfr/**", "/actuator/prometheus",
+                                    "/actuator/queries/**")
+                            .hasAuthority("MONITORING_VIEW")
+                            .pathMatchers("/api/auth/**")
+                            .permitAll()
+                            .pathMatchers("/swagger-ui.html", "/swagger-ui/**")
+                            .permitAll()
+                            .pathMatchers("/v3/api-docs", "/v3/api-docs/**")
+                            .permitAll()
+                            .pathMatchers("/swagger-resources/**", "/webjars/**")
+                            .permitAll()
+                            .anyExchange()
+                            .authenticated();
+                })
                 .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
                 .build();
     }
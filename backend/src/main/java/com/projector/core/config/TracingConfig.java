@@ -0,0 +1,26 @@
+package com.projector.core.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Span exporters besides OTLP, which Spring Boot configures from
+ * {@code management.otlp.tracing.endpoint}. Every {@link SpanExporter} bean receives the
+ * sampled spans.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Writes finished spans to the application log, for local runs without a collector.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "projector.tracing.log-spans", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,20 @@
+package com.projector.core.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import com.projector.change.controller.ChangeFeedWebSocketHandler;
+
+@Configuration
+public class WebSocketConfig {
+
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(ChangeFeedWebSocketHandler changeFeedWebSocketHandler) {
+        // Before the annotated controllers
+        return new SimpleUrlHandlerMapping(Map.of(ChangeFeedWebSocketHandler.PATH, changeFeedWebSocketHandler), -1);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projector.core.config.Constants;
 import com.projector.core.model.UserCredentials;
 import com.projector.core.service.AuthService;
 
@@ -26,7 +27,12 @@ import reactor.core.publisher.Mono;
 @RestController
 @RequiredArgsConstructor
 @Tag(name = "Authentication", description = "Authentication endpoints")
-@RequestMapping(value = "/api/auth", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/auth", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class AuthController {
 
     private final AuthService authService;
@@ -0,0 +1,22 @@
+package com.projector.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A login attempt, from the credentials check to the signed token.
+ */
+@Name("com.projector.Login")
+@Label("Login")
+@Category({ "Projector", "Security" })
+@Description("Password check, authority lookup and token signing of a login")
+@StackTrace(false)
+public class LoginEvent extends Event {
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,36 @@
+package com.projector.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A service or repository call, the same span as the {@code projector.operation} timer: for
+ * reactive results from subscription to the terminal signal, committed on the thread that
+ * delivered it.
+ */
+@Name("com.projector.Operation")
+@Label("Operation")
+@Category({ "Projector", "Application" })
+@Description("Service or repository call")
+@StackTrace(false)
+public class OperationEvent extends Event {
+
+    @Label("Layer")
+    public String layer;
+
+    @Label("Class")
+    public String className;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Exception")
+    public String exception;
+}
@@ -0,0 +1,37 @@
+package com.projector.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An R2DBC statement from execution to the last row read, with the normalized SQL; bound
+ * values are not recorded.
+ */
+@Name("com.projector.Query")
+@Label("Query")
+@Category({ "Projector", "Database" })
+@Description("Database statement including reading the results")
+@StackTrace(false)
+public class QueryEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Table")
+    @Description("First table the statement reads or writes, the entity type")
+    public String table;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    @Description("Rows read from the results")
+    public long rows;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,25 @@
+package com.projector.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Validation of the JWT of a request; only tokens not seen before have their signature verified.
+ */
+@Name("com.projector.TokenValidation")
+@Label("Token Validation")
+@Category({ "Projector", "Security" })
+@Description("Signature check of a request token, or a hit of the validated token cache")
+@StackTrace(false)
+public class TokenValidationEvent extends Event {
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,39 @@
+package com.projector.core.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Jacksonized
+@Schema(description = "Result of one item of a bulk request")
+public class BulkItemResult<T> {
+
+    @Schema(description = "Position of the item in the request, starting at 0", example = "0")
+    int index;
+
+    @Schema(description = "Outcome of the item", example = "OK")
+    BulkItemStatus status;
+
+    @Schema(description = "ID of the created, updated or deleted entity", example = "1")
+    Long id;
+
+    @Schema(description = "Saved entity, for creates and updates")
+    T item;
+
+    @Schema(description = "Why the item was not applied", example = "Feature with ID 7 not found")
+    String error;
+
+    public static <T> BulkItemResult<T> ok(int index, Long id, T item) {
+        return BulkItemResult.<T>builder().index(index).status(BulkItemStatus.OK).id(id).item(item).build();
+    }
+
+    public static <T> BulkItemResult<T> failed(int index, Long id, BulkItemStatus status, String error) {
+        return BulkItemResult.<T>builder().index(index).status(status).id(id).error(error).build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.projector.core.model;
+
+public enum BulkItemStatus {
+    OK,
+    INVALID,
+    NOT_FOUND,
+    FAILED
+}
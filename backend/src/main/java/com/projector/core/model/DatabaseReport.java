@@ -0,0 +1,49 @@
+package com.projector.core.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of the PostgreSQL statistics views for {@code /actuator/database}. Counters are
+ * cumulative since {@code statsReset}, so an index with no scans has not been used since then.
+ *
+ * @param statementsAvailable {@code false} if pg_stat_statements is not installed or not loaded
+ */
+public record DatabaseReport(
+        Instant collectedAt,
+        Instant statsReset,
+        boolean statementsAvailable,
+        List<Statement> topStatements,
+        List<Index> indexes,
+        List<Table> tables,
+        List<LockWait> lockWaits) {
+
+    /**
+     * A statement from pg_stat_statements, with its constants already replaced by PostgreSQL.
+     */
+    public record Statement(String query, long calls, double totalMillis, double meanMillis, double maxMillis,
+            long rows, double cacheHitRatio) {
+    }
+
+    /**
+     * @param unused no scans and not enforcing a constraint, a candidate for removal
+     */
+    public record Index(String table, String index, long scans, long tuplesRead, long sizeBytes, boolean unique,
+            boolean unused) {
+    }
+
+    /**
+     * @param deadTupleRatio share of dead row versions, an estimate of the bloat vacuum has not reclaimed
+     */
+    public record Table(String table, long seqScans, long seqTuplesRead, long indexScans, long liveTuples,
+            long deadTuples, double deadTupleRatio, long totalSizeBytes, Instant lastAutovacuum,
+            Instant lastAutoanalyze) {
+    }
+
+    /**
+     * A backend waiting for a lock, with the backends holding it.
+     */
+    public record LockWait(int pid, List<Integer> blockedBy, String lockType, String mode, String relation,
+            double waitingMillis, String query) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.projector.core.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class IdempotencyRecord {
+
+    String operation;
+
+    String requestHash;
+
+    /**
+     * JSON of the response, {@code null} while the request is in progress.
+     */
+    String response;
+}
@@ -0,0 +1,7 @@
+package com.projector.core.model;
+
+/**
+ * Execution totals of one normalized SQL statement since start or the last reset.
+ */
+public record QueryStatistics(String sql, long calls, long errors, double totalMillis, double meanMillis, double maxMillis) {
+}
@@ -0,0 +1,14 @@
+package com.projector.core.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A JFR recording started through the {@code jfr} actuator endpoint.
+ *
+ * @param state {@code RUNNING} or {@code STOPPED}, a stopped recording keeps its data until closed
+ * @param sizeBytes size of the data written to the disk repository so far
+ */
+public record RecordingInfo(long id, String name, String settings, String state, Instant startTime, Duration duration,
+        long maxSizeBytes, long sizeBytes) {
+}
@@ -0,0 +1,134 @@
+package com.projector.core.repository;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.core.component.QueryMetrics;
+import com.projector.core.model.DatabaseReport;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the PostgreSQL statistics views of the current database. The queries only read
+ * catalog counters, they do not scan application tables.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DatabaseDiagnosticsRepository {
+
+    private static final String STATS_RESET = """
+            SELECT stats_reset FROM pg_stat_database WHERE datname = current_database()
+            """;
+
+    // Requires shared_preload_libraries = 'pg_stat_statements', fails otherwise
+    private static final String TOP_STATEMENTS = """
+            SELECT left(query, 2000) AS query, calls, total_exec_time, mean_exec_time, max_exec_time, rows,
+                   COALESCE(shared_blks_hit::float8 / NULLIF(shared_blks_hit + shared_blks_read, 0), 1) AS cache_hit_ratio
+            FROM pg_stat_statements
+            WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+            ORDER BY total_exec_time DESC
+            LIMIT :limit
+            """;
+
+    private static final String INDEXES = """
+            SELECT s.relname, s.indexrelname, s.idx_scan, s.idx_tup_read,
+                   pg_relation_size(s.indexrelid) AS size_bytes, i.indisunique
+            FROM pg_stat_user_indexes s
+            JOIN pg_index i ON i.indexrelid = s.indexrelid
+            ORDER BY s.idx_scan, size_bytes DESC
+            """;
+
+    private static final String TABLES = """
+            SELECT relname, seq_scan, seq_tup_read, COALESCE(idx_scan, 0) AS idx_scan, n_live_tup, n_dead_tup,
+                   pg_total_relation_size(relid) AS total_bytes, last_autovacuum, last_autoanalyze
+            FROM pg_stat_user_tables
+            ORDER BY seq_tup_read DESC
+            """;
+
+    private static final String LOCK_WAITS = """
+            SELECT a.pid, pg_blocking_pids(a.pid) AS blocked_by, l.locktype, l.mode, l.relation::regclass::text AS relation,
+                   (EXTRACT(EPOCH FROM clock_timestamp() - a.query_start) * 1000)::float8 AS waiting_millis,
+                   a.query
+            FROM pg_stat_activity a
+            JOIN pg_locks l ON l.pid = a.pid AND NOT l.granted
+            WHERE a.datname = current_database()
+            ORDER BY a.query_start
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Optional<Instant>> findStatsReset() {
+        return databaseClient.sql(STATS_RESET)
+                .map((row, metadata) -> Optional.ofNullable(row.get("stats_reset", Instant.class)))
+                .one()
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    public Flux<DatabaseReport.Statement> findTopStatements(int limit) {
+        return databaseClient.sql(TOP_STATEMENTS)
+                .bind("limit", limit)
+                .map((row, metadata) -> new DatabaseReport.Statement(row.get("query", String.class),
+                        longValue(row, "calls"), doubleValue(row, "total_exec_time"), doubleValue(row, "mean_exec_time"),
+                        doubleValue(row, "max_exec_time"), longValue(row, "rows"), doubleValue(row, "cache_hit_ratio")))
+                .all();
+    }
+
+    public Flux<DatabaseReport.Index> findIndexes() {
+        return databaseClient.sql(INDEXES)
+                .map((row, metadata) -> {
+                    long scans = longValue(row, "idx_scan");
+                    boolean unique = Boolean.TRUE.equals(row.get("indisunique", Boolean.class));
+                    return new DatabaseReport.Index(row.get("relname", String.class), row.get("indexrelname", String.class),
+                            scans, longValue(row, "idx_tup_read"), longValue(row, "size_bytes"), unique,
+                            scans == 0 && !unique);
+                })
+                .all();
+    }
+
+    public Flux<DatabaseReport.Table> findTables() {
+        return databaseClient.sql(TABLES)
+                .map((row, metadata) -> {
+                    long live = longValue(row, "n_live_tup");
+                    long dead = longValue(row, "n_dead_tup");
+                    return new DatabaseReport.Table(row.get("relname", String.class), longValue(row, "seq_scan"),
+                            longValue(row, "seq_tup_read"), longValue(row, "idx_scan"), live, dead,
+                            live + dead == 0 ? 0 : (double) dead / (live + dead), longValue(row, "total_bytes"),
+                            row.get("last_autovacuum", Instant.class), row.get("last_autoanalyze", Instant.class));
+                })
+                .all();
+    }
+
+    /**
+     * Query texts are normalized, literals of ad-hoc statements may be personal data.
+     */
+    public Flux<DatabaseReport.LockWait> findLockWaits() {
+        return databaseClient.sql(LOCK_WAITS)
+                .map((row, metadata) -> {
+                    Integer[] blockedBy = row.get("blocked_by", Integer[].class);
+                    String query = row.get("query", String.class);
+                    return new DatabaseReport.LockWait(row.get("pid", Integer.class),
+                            blockedBy == null ? List.of() : Arrays.asList(blockedBy), row.get("locktype", String.class),
+                            row.get("mode", String.class), row.get("relation", String.class),
+                            doubleValue(row, "waiting_millis"), query == null ? null : QueryMetrics.normalize(query));
+                })
+                .all();
+    }
+
+    private static long longValue(Row row, String column) {
+        Long value = row.get(column, Long.class);
+        return value == null ? 0 : value;
+    }
+
+    private static double doubleValue(Row row, String column) {
+        Double value = row.get(column, Double.class);
+        return value == null ? 0 : value;
+    }
+}
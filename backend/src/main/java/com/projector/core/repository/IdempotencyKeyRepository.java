@@ -0,0 +1,95 @@
+package com.projector.core.repository;
+
+import java.time.Duration;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.core.model.IdempotencyRecord;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    // Inserts a new key, or takes over one whose request died without completing or releasing it
+    private static final String CLAIM = """
+            INSERT INTO idempotency_keys (user_id, idempotency_key, operation, request_hash, locked_until)
+            VALUES (:userId, :key, :operation, :requestHash, NOW() + make_interval(secs => :lockSeconds))
+            ON CONFLICT (user_id, idempotency_key) DO UPDATE SET locked_until = EXCLUDED.locked_until
+            WHERE idempotency_keys.completed_at IS NULL
+              AND idempotency_keys.locked_until < NOW()
+              AND idempotency_keys.operation = EXCLUDED.operation
+              AND idempotency_keys.request_hash = EXCLUDED.request_hash
+            RETURNING 1
+            """;
+    private static final String SELECT = """
+            SELECT operation, request_hash, response FROM idempotency_keys
+            WHERE user_id = :userId AND idempotency_key = :key
+            """;
+    private static final String COMPLETE = """
+            UPDATE idempotency_keys SET response = :response, completed_at = NOW()
+            WHERE user_id = :userId AND idempotency_key = :key
+            """;
+    private static final String RELEASE = """
+            DELETE FROM idempotency_keys
+            WHERE user_id = :userId AND idempotency_key = :key AND completed_at IS NULL
+            """;
+    private static final String PURGE = "DELETE FROM idempotency_keys WHERE created_at < NOW() - make_interval(secs => :retentionSeconds)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @return whether the caller now owns the key and must run the request
+     */
+    public Mono<Boolean> claim(Long userId, String key, String operation, String requestHash, Duration lockTimeout) {
+        return databaseClient.sql(CLAIM)
+                .bind("userId", userId)
+                .bind("key", key)
+                .bind("operation", operation)
+                .bind("requestHash", requestHash)
+                .bind("lockSeconds", (double) lockTimeout.toSeconds())
+                .map((row, metadata) -> true)
+                .one()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<IdempotencyRecord> find(Long userId, String key) {
+        return databaseClient.sql(SELECT)
+                .bind("userId", userId)
+                .bind("key", key)
+                .map((row, metadata) -> IdempotencyRecord.builder()
+                        .operation(row.get("operation", String.class))
+                        .requestHash(row.get("request_hash", String.class))
+                        .response(row.get("response", String.class))
+                        .build())
+                .one();
+    }
+
+    public Mono<Void> complete(Long userId, String key, String response) {
+        return databaseClient.sql(COMPLETE)
+                .bind("userId", userId)
+                .bind("key", key)
+                .bind("response", response)
+                .then();
+    }
+
+    /**
+     * Frees a key whose request failed, so it can be retried.
+     */
+    public Mono<Void> release(Long userId, String key) {
+        return databaseClient.sql(RELEASE)
+                .bind("userId", userId)
+                .bind("key", key)
+                .then();
+    }
+
+    public Mono<Long> purge(Duration retention) {
+        return databaseClient.sql(PURGE)
+                .bind("retentionSeconds", (double) retention.toSeconds())
+                .fetch()
+                .rowsUpdated();
+    }
+}
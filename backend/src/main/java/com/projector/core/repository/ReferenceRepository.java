@@ -0,0 +1,52 @@
+package com.projector.core.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Set-based helpers for bulk writes: one query per table instead of one per id.
+ * Table names come from code, never from a request.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReferenceRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @return the ids among {@code ids} that exist in {@code table}
+     */
+    public Mono<Set<Long>> findExistingIds(String table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return databaseClient.sql("SELECT id FROM " + table + " WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(Long[]::new))
+                .map((row, metadata) -> row.get(0, Long.class))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Reserves ids from the serial sequence of {@code table}, so rows inserted in bulk are
+     * matched to their request items by id rather than by the order of {@code RETURNING}.
+     */
+    public Mono<List<Long>> nextIds(String table, int count) {
+        if (count == 0) {
+            return Mono.just(List.of());
+        }
+        return databaseClient.sql("SELECT nextval(pg_get_serial_sequence('" + table + "', 'id')) FROM generate_series(1, :count)")
+                .bind("count", count)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .all()
+                .collectList();
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 import com.projector.core.config.Constants;
 import com.projector.core.exception.InvalidTokenException;
+import com.projector.core.jfr.LoginEvent;
 import com.projector.core.model.UserCredentials;
 import com.projector.role.repository.RoleRepository;
 import com.projector.user.model.User;
@@ -23,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 @RequiredArgsConstructor
@@ -40,9 +42,25 @@ public class AuthService {
     private long maxAge;
 
     public Mono<ResponseCookie> login(UserCredentials userCredentials) {
+        return Mono.defer(() -> {
+            LoginEvent event = new LoginEvent();
+            event.begin();
+            return authenticate(userCredentials)
+                    .doOnEach(signal -> {
+                        if (signal.isOnNext() || signal.isOnError()) {
+                            event.success = signal.isOnNext();
+                            event.commit();
+                        }
+                    });
+        });
+    }
+
+    private Mono<ResponseCookie> authenticate(UserCredentials userCredentials) {
         return userService
                 .getUser(userCredentials.getEmail(), userCredentials.getPassword())
+                // RSA signing seeds its blinding from SecureRandom, which reads /dev/urandom
                 .flatMap(user -> getUserAuthorities(user)
+                        .publishOn(Schedulers.boundedElastic())
                         .map(authorities -> {
                             String jwt = jwtSigner.createUserJwt(user, authorities);
                             return createAuthCookie(jwt);
@@ -0,0 +1,63 @@
+package com.projector.core.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.projector.core.model.DatabaseReport;
+import com.projector.core.repository.DatabaseDiagnosticsRepository;
+
+import io.r2dbc.spi.R2dbcException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Database diagnostics for operators. The report is collected through the application
+ * connection pool and shared for {@code projector.db.diagnostics.cache-ttl}, so repeated
+ * polling during an incident does not add load to the database it is meant to diagnose.
+ */
+@Slf4j
+@Service
+public class DatabaseDiagnosticsService {
+
+    private final DatabaseDiagnosticsRepository diagnosticsRepository;
+    private final int topStatements;
+    private final Duration timeout;
+    private final Mono<DatabaseReport> report;
+
+    public DatabaseDiagnosticsService(DatabaseDiagnosticsRepository diagnosticsRepository,
+            @Value("${projector.db.diagnostics.top-statements:20}") int topStatements,
+            @Value("${projector.db.diagnostics.timeout:5s}") Duration timeout,
+            @Value("${projector.db.diagnostics.cache-ttl:30s}") Duration cacheTtl) {
+        this.diagnosticsRepository = diagnosticsRepository;
+        this.topStatements = topStatements;
+        this.timeout = timeout;
+        // Concurrent callers share one collection, failures are not cached
+        this.report = Mono.defer(this::collect).cache(value -> cacheTtl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    public Mono<DatabaseReport> getReport() {
+        return report;
+    }
+
+    private Mono<DatabaseReport> collect() {
+        Mono<Optional<List<DatabaseReport.Statement>>> statements = diagnosticsRepository.findTopStatements(topStatements)
+                .collectList()
+                .map(Optional::of)
+                .onErrorResume(R2dbcException.class, error -> {
+                    log.debug("pg_stat_statements unavailable: {}", error.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+        return Mono.zip(diagnosticsRepository.findStatsReset(), statements,
+                        diagnosticsRepository.findIndexes().collectList(),
+                        diagnosticsRepository.findTables().collectList(),
+                        diagnosticsRepository.findLockWaits().collectList())
+                .map(result -> new DatabaseReport(Instant.now(), result.getT1().orElse(null), result.getT2().isPresent(),
+                        result.getT2().orElse(List.of()), result.getT3(), result.getT4(), result.getT5()))
+                .timeout(timeout);
+    }
+}
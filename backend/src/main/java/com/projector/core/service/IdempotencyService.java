@@ -0,0 +1,140 @@
+package com.projector.core.service;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.projector.core.component.JsonCodecs;
+import com.projector.core.model.IdempotencyRecord;
+import com.projector.core.repository.IdempotencyKeyRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key} and user. The key is claimed in its
+ * own transaction, so concurrent duplicates see it in flight and get 409; the request and its
+ * stored response are committed together, so later duplicates replay the response. A failed
+ * request releases the key. A key whose request died is taken over after the lock timeout.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final JsonCodecs jsonCodecs;
+
+    @Value("${projector.idempotency.lock-timeout:30s}")
+    private Duration lockTimeout;
+
+    @Value("${projector.idempotency.retention:24h}")
+    private Duration retention;
+
+    /**
+     * @param key       value of the header, {@code null} runs the action without idempotency
+     * @param operation name of the endpoint; a key cannot be reused for another operation
+     * @param request   request body; a key cannot be reused with a different body
+     */
+    public <T> Mono<T> execute(String key, Long userId, String operation, Object request,
+            Class<T> responseType, Supplier<Mono<T>> action) {
+        if (key == null) {
+            return Mono.defer(action);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new ServerWebInputException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters"));
+        }
+        return Mono.fromCallable(() -> hash(request))
+                .flatMap(requestHash -> idempotencyKeyRepository.claim(userId, key, operation, requestHash, lockTimeout)
+                        .flatMap(claimed -> claimed
+                                ? run(key, userId, action)
+                                : replay(key, userId, operation, requestHash, responseType)));
+    }
+
+    @Scheduled(cron = "${projector.idempotency.purge-cron:0 0 * * * *}")
+    public Mono<Void> purgeExpiredKeys() {
+        return idempotencyKeyRepository.purge(retention)
+                .doOnNext(count -> log.debug("Purged {} idempotency keys", count))
+                .onErrorResume(error -> {
+                    log.warn("Cannot purge idempotency keys: {}", error.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private <T> Mono<T> run(String key, Long userId, Supplier<Mono<T>> action) {
+        return Mono.defer(action)
+                .flatMap(response -> idempotencyKeyRepository.complete(userId, key, json(response)).thenReturn(response))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Idempotent request returned no response")))
+                .as(transactionalOperator::transactional)
+                .onErrorResume(error -> idempotencyKeyRepository.release(userId, key)
+                        .onErrorResume(releaseError -> {
+                            log.warn("Cannot release idempotency key: {}", releaseError.toString());
+                            return Mono.empty();
+                        })
+                        .then(Mono.error(error)));
+    }
+
+    private <T> Mono<T> replay(String key, Long userId, String operation, String requestHash, Class<T> responseType) {
+        return idempotencyKeyRepository.find(userId, key)
+                // Purged or released between the claim and this read
+                .switchIfEmpty(Mono.error(() -> inProgress()))
+                .flatMap(record -> {
+                    if (!record.getOperation().equals(operation) || !record.getRequestHash().equals(requestHash)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                                HEADER + " was already used for a different request"));
+                    }
+                    if (record.getResponse() == null) {
+                        return Mono.error(inProgress());
+                    }
+                    return decode(record, responseType);
+                });
+    }
+
+    private <T> Mono<T> decode(IdempotencyRecord record, Class<T> responseType) {
+        try {
+            return Mono.just(jsonCodecs.readerFor(responseType).readValue(record.getResponse()));
+        } catch (IOException e) {
+            return Mono.error(new IllegalStateException("Cannot read stored idempotent response", e));
+        }
+    }
+
+    private static ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "A request with this " + HEADER + " is in progress");
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = jsonCodecs.writerFor(request.getClass()).writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash idempotent request", e);
+        }
+    }
+
+    private String json(Object response) {
+        try {
+            return jsonCodecs.writerFor(response.getClass()).writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + response.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -12,7 +12,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projector.core.component.JsonCodecs;
+import com.projector.core.jfr.TokenValidationEvent;
 import com.projector.core.model.UserClaims;
 import com.projector.user.model.User;
 
@@ -26,14 +27,15 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtSigner {
 
     private static final ConcurrentHashMap<String, Jws<Claims>> SIGNATURE_CACHE = new ConcurrentHashMap<>();
-    private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private final KeyPair keyPair;
+    private final JsonCodecs jsonCodecs;
 
     @Value("${jwt.token.max-age:3600}")
     private long maxAge;
 
-    public JwtSigner() throws NoSuchAlgorithmException {
+    public JwtSigner(JsonCodecs jsonCodecs) throws NoSuchAlgorithmException {
+        this.jsonCodecs = jsonCodecs;
         this.keyPair = Jwts.SIG.RS256.keyPair().build();
         log.info("JWT key pair generated successfully");
     }
@@ -42,7 +44,7 @@ public class JwtSigner {
         UserClaims userClaims = UserClaims.builder().user(User.forCookie(user)).authorities(authorities).build();
         String subject;
         try {
-            subject = objectMapper.writerFor(UserClaims.class).writeValueAsString(userClaims);
+            subject = jsonCodecs.writerFor(UserClaims.class).writeValueAsString(userClaims);
         } catch (JsonProcessingException e) {
             log.error("Incorrect JSON auth {}", e.getMessage());
             throw new RuntimeException(e);
@@ -61,15 +63,25 @@ public class JwtSigner {
     }
 
     public Jws<Claims> validateJwt(String jwt) {
-        return SIGNATURE_CACHE.computeIfAbsent(jwt, s -> {
-            try {
-                return Jwts.parser()
-                        .verifyWith(keyPair.getPublic())
-                        .build()
-                        .parseSignedClaims(s);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to validate JWT", e);
-            }
-        });
+        TokenValidationEvent event = new TokenValidationEvent();
+        event.begin();
+        event.cached = true;
+        try {
+            Jws<Claims> claims = SIGNATURE_CACHE.computeIfAbsent(jwt, s -> {
+                event.cached = false;
+                try {
+                    return Jwts.parser()
+                            .verifyWith(keyPair.getPublic())
+                            .build()
+                            .parseSignedClaims(s);
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to validate JWT", e);
+                }
+            });
+            event.valid = true;
+            return claims;
+        } finally {
+            event.commit();
+        }
     }
 }
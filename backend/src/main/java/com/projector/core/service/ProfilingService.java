@@ -0,0 +1,158 @@
+package com.projector.core.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projector.core.model.RecordingInfo;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JFR recordings on demand: started with one of the JDK settings ({@code default}, about 1%
+ * overhead, or {@code profile}, more detail at a few percent), they stop by themselves after
+ * their duration and keep the data until closed. At most {@code projector.jfr.max-recordings}
+ * are open at once; recordings started by other means (command line, jcmd) are not listed.
+ */
+@Slf4j
+@Service
+public class ProfilingService implements DisposableBean {
+
+    private static final String DEFAULT_SETTINGS = "default";
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final int maxRecordings;
+
+    public ProfilingService(@Value("${projector.jfr.default-duration:60s}") Duration defaultDuration,
+            @Value("${projector.jfr.max-duration:30m}") Duration maxDuration,
+            @Value("${projector.jfr.max-size:250MB}") DataSize maxSize,
+            @Value("${projector.jfr.max-recordings:2}") int maxRecordings) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.maxRecordings = maxRecordings;
+    }
+
+    public List<RecordingInfo> getRecordings() {
+        return recordings.values().stream()
+                .map(ProfilingService::toInfo)
+                .sorted(Comparator.comparingLong(RecordingInfo::id))
+                .toList();
+    }
+
+    public synchronized RecordingInfo start(String settings, Duration duration, DataSize size) {
+        String settingsName = settings == null || settings.isBlank() ? DEFAULT_SETTINGS : settings;
+        Duration recordingDuration = duration == null ? defaultDuration : duration;
+        DataSize recordingSize = size == null ? maxSize : size;
+        if (recordingDuration.isNegative() || recordingDuration.isZero() || recordingDuration.compareTo(maxDuration) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "duration must be positive and at most " + maxDuration);
+        }
+        if (recordingSize.toBytes() <= 0 || recordingSize.compareTo(maxSize) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxSize must be positive and at most " + maxSize);
+        }
+        if (recordings.size() >= maxRecordings) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "At most " + maxRecordings + " recordings can be open, close one first");
+        }
+        Recording recording = new Recording(configuration(settingsName));
+        recording.setName("projector-" + settingsName);
+        recording.setToDisk(true);
+        recording.setDuration(recordingDuration);
+        recording.setMaxSize(recordingSize.toBytes());
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("JFR recording {} started with {} settings for {}", recording.getId(), settingsName, recordingDuration);
+        return toInfo(recording);
+    }
+
+    public RecordingInfo stop(long id) {
+        Recording recording = getRecording(id);
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR recording {} stopped", id);
+        }
+        return toInfo(recording);
+    }
+
+    /**
+     * Writes the data recorded so far to a temporary file, the caller deletes it.
+     */
+    public Path dump(long id) {
+        Recording recording = getRecording(id);
+        try {
+            Path file = Files.createTempFile("projector-" + id + "-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return file;
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to dump recording " + id, e);
+        }
+    }
+
+    public void close(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw notFound(id);
+        }
+        recording.close();
+        log.info("JFR recording {} closed", id);
+    }
+
+    @Override
+    public void destroy() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private Recording getRecording(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw notFound(id);
+        }
+        return recording;
+    }
+
+    /**
+     * Only the settings the JDK ships are accepted, the name is not resolved as a path.
+     */
+    private static Configuration configuration(String name) {
+        List<Configuration> configurations = Configuration.getConfigurations();
+        return configurations.stream()
+                .filter(configuration -> configuration.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown JFR settings '" + name
+                        + "', available: " + configurations.stream().map(Configuration::getName).toList()));
+    }
+
+    private static ResponseStatusException notFound(long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Recording " + id + " not found");
+    }
+
+    private static RecordingInfo toInfo(Recording recording) {
+        String settings = recording.getName().substring("projector-".length());
+        return new RecordingInfo(recording.getId(), recording.getName(), settings, recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getMaxSize(), recording.getSize());
+    }
+}
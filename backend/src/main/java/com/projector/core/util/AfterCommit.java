@@ -0,0 +1,49 @@
+package com.projector.core.util;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Defers side effects on external stores (caches, read models) until the surrounding reactive
+ * transaction has committed, so they never reflect rolled back writes.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Registers the action to run after commit, or runs it at once outside a transaction.
+     */
+    public static Mono<Void> run(Supplier<Mono<Void>> action) {
+        return register(action)
+                .flatMap(registered -> registered ? Mono.<Void>empty() : Mono.defer(action))
+                .then();
+    }
+
+    /**
+     * Registers the action to run after commit.
+     *
+     * @return whether a transaction was active, otherwise the action is dropped
+     */
+    public static Mono<Boolean> register(Supplier<Mono<Void>> action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .map(synchronization -> {
+                    synchronization.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.defer(action);
+                        }
+                    });
+                    return true;
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .defaultIfEmpty(false);
+    }
+}
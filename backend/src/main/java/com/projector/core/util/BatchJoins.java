@@ -0,0 +1,102 @@
+package com.projector.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Joins the rows of one batched query back onto the parents that requested them, for
+ * GraphQL batch mappings: every parent of the batch gets its entry, one query per relation.
+ */
+public final class BatchJoins {
+
+    private BatchJoins() {
+    }
+
+    /**
+     * Distinct non-null keys of the parents, to bind into an {@code = ANY(:ids)} query.
+     */
+    public static <P> Set<Long> keys(Collection<P> parents, Function<P, Long> key) {
+        Set<Long> keys = new LinkedHashSet<>();
+        for (P parent : parents) {
+            Long value = key.apply(parent);
+            if (value != null) {
+                keys.add(value);
+            }
+        }
+        return keys;
+    }
+
+    public static <P> Set<Long> allKeys(Collection<P> parents, Function<P, ? extends Collection<Long>> keys) {
+        Set<Long> all = new LinkedHashSet<>();
+        for (P parent : parents) {
+            Collection<Long> values = keys.apply(parent);
+            if (values != null) {
+                all.addAll(values);
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Many-to-one: each parent gets the child its foreign key points to, parents whose child is
+     * missing are left out and resolve to {@code null}.
+     */
+    public static <P, C> Map<P, C> toOne(Collection<P> parents, Function<P, Long> foreignKey,
+            Collection<C> children, Function<C, Long> childId) {
+        Map<Long, C> byId = new HashMap<>();
+        children.forEach(child -> byId.put(childId.apply(child), child));
+        Map<P, C> result = new LinkedHashMap<>();
+        for (P parent : parents) {
+            C child = byId.get(foreignKey.apply(parent));
+            if (child != null) {
+                result.put(parent, child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One-to-many: each parent gets the children whose foreign key is its id, in query order.
+     */
+    public static <P, C> Map<P, List<C>> toMany(Collection<P> parents, Function<P, Long> parentId,
+            Collection<C> children, Function<C, Long> foreignKey) {
+        Map<Long, List<C>> byParent = new HashMap<>();
+        children.forEach(child -> byParent.computeIfAbsent(foreignKey.apply(child), key -> new ArrayList<>()).add(child));
+        Map<P, List<C>> result = new LinkedHashMap<>();
+        for (P parent : parents) {
+            result.put(parent, byParent.getOrDefault(parentId.apply(parent), List.of()));
+        }
+        return result;
+    }
+
+    /**
+     * Many-to-many through an id list on the parent: children in the order of that list.
+     */
+    public static <P, C> Map<P, List<C>> toManyByIds(Collection<P> parents, Function<P, ? extends Collection<Long>> ids,
+            Collection<C> children, Function<C, Long> childId) {
+        Map<Long, C> byId = new HashMap<>();
+        children.forEach(child -> byId.put(childId.apply(child), child));
+        Map<P, List<C>> result = new LinkedHashMap<>();
+        for (P parent : parents) {
+            List<C> matched = new ArrayList<>();
+            Collection<Long> parentIds = ids.apply(parent);
+            if (parentIds != null) {
+                for (Long id : parentIds) {
+                    C child = byId.get(id);
+                    if (child != null) {
+                        matched.add(child);
+                    }
+                }
+            }
+            result.put(parent, matched);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,275 @@
+package com.projector.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Whitelist of the filterable columns of one table and the compiler of filter expressions
+ * into parameterized SQL.
+ *
+ * <p>Expressions follow a subset of RSQL: comparisons {@code field op value} joined by
+ * {@code ;} (and) and {@code ,} (or), with parentheses for grouping, e.g.
+ * {@code year==2025;quarter=in=(Q1,Q2)}. Operators: {@code ==}, {@code !=}, {@code =gt=}
+ * ({@code >}), {@code =ge=} ({@code >=}), {@code =lt=} ({@code <}), {@code =le=}
+ * ({@code <=}), {@code =in=} and {@code =out=}. Values containing reserved characters may be
+ * quoted with {@code '} or {@code "}. Values are never inlined into the SQL text.
+ */
+public final class FilterCatalog {
+
+    public static final int MAX_LENGTH = 2000;
+    public static final int MAX_ARGUMENTS = 200;
+
+    private static final Map<String, String> OPERATORS = Map.ofEntries(
+            Map.entry("==", "="),
+            Map.entry("!=", "<>"),
+            Map.entry("=gt=", ">"),
+            Map.entry(">", ">"),
+            Map.entry("=ge=", ">="),
+            Map.entry(">=", ">="),
+            Map.entry("=lt=", "<"),
+            Map.entry("<", "<"),
+            Map.entry("=le=", "<="),
+            Map.entry("<=", "<="),
+            Map.entry("=in=", "IN"),
+            Map.entry("=out=", "NOT IN"));
+
+    private final Map<String, Field> fields;
+
+    private FilterCatalog(Map<String, Field> fields) {
+        this.fields = fields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compiles a filter expression.
+     *
+     * @return {@link SqlFilter#NONE} for a blank expression
+     * @throws ServerWebInputException for syntax errors, unknown fields or invalid values
+     */
+    public SqlFilter compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return SqlFilter.NONE;
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new ServerWebInputException("Filter is longer than " + MAX_LENGTH + " characters");
+        }
+        return new Parser(expression).parse();
+    }
+
+    private record Field(String name, String column, Function<String, Object> converter) {
+
+        Object convert(String value) {
+            try {
+                return converter.apply(value);
+            } catch (IllegalArgumentException e) {
+                throw new ServerWebInputException("Invalid value for " + name + ": " + value);
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder longField(String name, String column) {
+            fields.put(name, new Field(name, column, Long::valueOf));
+            return this;
+        }
+
+        public Builder stringField(String name, String column) {
+            fields.put(name, new Field(name, column, value -> value));
+            return this;
+        }
+
+        /**
+         * Enum values are stored by name, the value is checked against the enum constants.
+         */
+        public <E extends Enum<E>> Builder enumField(String name, String column, Class<E> type) {
+            fields.put(name, new Field(name, column, value -> Enum.valueOf(type, value).name()));
+            return this;
+        }
+
+        public FilterCatalog build() {
+            return new FilterCatalog(Collections.unmodifiableMap(new LinkedHashMap<>(fields)));
+        }
+    }
+
+    /**
+     * Recursive descent over the expression; bind markers are numbered in order of appearance.
+     */
+    private final class Parser {
+
+        private final String input;
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private int pos;
+        private int arguments;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        private SqlFilter parse() {
+            String condition = parseOr();
+            skipWhitespace();
+            if (pos < input.length()) {
+                throw error("Unexpected '" + input.charAt(pos) + "'");
+            }
+            return new SqlFilter(condition, Collections.unmodifiableMap(parameters));
+        }
+
+        private String parseOr() {
+            List<String> terms = new ArrayList<>();
+            terms.add(parseAnd());
+            while (accept(',')) {
+                terms.add(parseAnd());
+            }
+            return terms.size() == 1 ? terms.get(0) : "(" + String.join(" OR ", terms) + ")";
+        }
+
+        private String parseAnd() {
+            List<String> terms = new ArrayList<>();
+            terms.add(parseTerm());
+            while (accept(';')) {
+                terms.add(parseTerm());
+            }
+            return terms.size() == 1 ? terms.get(0) : String.join(" AND ", terms);
+        }
+
+        private String parseTerm() {
+            if (accept('(')) {
+                // parseOr already parenthesizes a disjunction, a single term needs no group
+                String inner = parseOr();
+                expect(')');
+                return inner;
+            }
+            return parseComparison();
+        }
+
+        private String parseComparison() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length() && Character.isLetterOrDigit(input.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Field name expected");
+            }
+            String name = input.substring(start, pos);
+            Field field = fields.get(name);
+            if (field == null) {
+                throw new ServerWebInputException("Unknown filter field: " + name);
+            }
+
+            String operator = OPERATORS.get(readOperator());
+            if (operator.endsWith("IN")) {
+                expect('(');
+                List<Object> values = new ArrayList<>();
+                do {
+                    values.add(field.convert(readValue()));
+                } while (accept(','));
+                expect(')');
+                return field.column() + " " + operator + " (:" + bindParameter(values) + ")";
+            }
+            return field.column() + " " + operator + " :" + bindParameter(field.convert(readValue()));
+        }
+
+        private String readOperator() {
+            skipWhitespace();
+            for (String candidate : new String[] { "==", "!=", ">=", "<=" }) {
+                if (input.startsWith(candidate, pos)) {
+                    pos += candidate.length();
+                    return candidate;
+                }
+            }
+            if (pos < input.length() && (input.charAt(pos) == '>' || input.charAt(pos) == '<')) {
+                return String.valueOf(input.charAt(pos++));
+            }
+            if (pos < input.length() && input.charAt(pos) == '=') {
+                int end = input.indexOf('=', pos + 1);
+                if (end > pos) {
+                    String candidate = input.substring(pos, end + 1);
+                    if (OPERATORS.containsKey(candidate)) {
+                        pos = end + 1;
+                        return candidate;
+                    }
+                }
+            }
+            throw error("Unknown operator");
+        }
+
+        private String readValue() {
+            skipWhitespace();
+            if (++arguments > MAX_ARGUMENTS) {
+                throw new ServerWebInputException("Filter has more than " + MAX_ARGUMENTS + " values");
+            }
+            if (pos < input.length() && (input.charAt(pos) == '\'' || input.charAt(pos) == '"')) {
+                char quote = input.charAt(pos++);
+                StringBuilder value = new StringBuilder();
+                while (pos < input.length() && input.charAt(pos) != quote) {
+                    char c = input.charAt(pos++);
+                    if (c == '\\' && pos < input.length()) {
+                        c = input.charAt(pos++);
+                    }
+                    value.append(c);
+                }
+                expect(quote);
+                return value.toString();
+            }
+            int start = pos;
+            while (pos < input.length() && !isReserved(input.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Value expected");
+            }
+            return input.substring(start, pos);
+        }
+
+        private String bindParameter(Object value) {
+            String name = "f" + parameters.size();
+            parameters.put(name, value);
+            return name;
+        }
+
+        private boolean accept(char c) {
+            skipWhitespace();
+            if (pos < input.length() && input.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw error("'" + c + "' expected");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private boolean isReserved(char c) {
+            return Character.isWhitespace(c) || "'\"();,=!<>".indexOf(c) >= 0;
+        }
+
+        private ServerWebInputException error(String message) {
+            return new ServerWebInputException("Invalid filter at position " + pos + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.projector.core.util;
+
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * List request against one table: projection, filter and keyset page ({@code id > after},
+ * ordered by id). Without {@code after} and {@code limit} the whole result is returned
+ * in table order, as before pagination existed.
+ */
+public record ListQuery<T>(RowProjection<T> projection, SqlFilter filter, Long after, Integer limit) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public ListQuery {
+        if (filter == null) {
+            filter = SqlFilter.NONE;
+        }
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new ServerWebInputException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public static <T> ListQuery<T> of(RowProjection<T> projection) {
+        return new ListQuery<>(projection, SqlFilter.NONE, null, null);
+    }
+
+    public boolean isPaged() {
+        return after != null || limit != null;
+    }
+
+    public String toSql(String table) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(projection.selectList())
+                .append(" FROM ")
+                .append(table);
+        String where = filter.isEmpty() ? null : filter.condition();
+        if (after != null) {
+            where = where == null ? "id > :after" : where + " AND id > :after";
+        }
+        if (where != null) {
+            sql.append(" WHERE ").append(where);
+        }
+        if (isPaged()) {
+            sql.append(" ORDER BY id");
+        }
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+        }
+        return sql.toString();
+    }
+
+    public GenericExecuteSpec bind(GenericExecuteSpec spec) {
+        spec = filter.bind(spec);
+        if (after != null) {
+            spec = spec.bind("after", after);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec;
+    }
+}
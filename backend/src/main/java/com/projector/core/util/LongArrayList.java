@@ -0,0 +1,78 @@
+package com.projector.core.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Immutable {@link java.util.List} view over a primitive {@code long[]}.
+ * Row mappers use it for BIGINT[] columns so that ids stay unboxed in memory.
+ */
+public final class LongArrayList extends AbstractList<Long> implements RandomAccess {
+
+    private static final LongArrayList EMPTY = new LongArrayList(new long[0]);
+
+    private final long[] values;
+
+    private LongArrayList(long[] values) {
+        this.values = values;
+    }
+
+    public static LongArrayList empty() {
+        return EMPTY;
+    }
+
+    public static LongArrayList wrap(long[] values) {
+        if (values == null || values.length == 0) {
+            return EMPTY;
+        }
+        return new LongArrayList(values);
+    }
+
+    public static LongArrayList fromBoxed(Long[] boxed) {
+        if (boxed == null || boxed.length == 0) {
+            return EMPTY;
+        }
+        long[] values = new long[boxed.length];
+        int size = 0;
+        for (Long value : boxed) {
+            // BIGINT[] may contain NULL elements, they carry no id
+            if (value != null) {
+                values[size++] = value;
+            }
+        }
+        return new LongArrayList(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+
+    public long getLong(int index) {
+        return values[index];
+    }
+
+    public long[] toLongArray() {
+        return values.clone();
+    }
+
+    @Override
+    public Long get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Long)) {
+            return false;
+        }
+        long value = (Long) o;
+        for (long v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package com.projector.core.util;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A response written with only the properties of a sparse projection, so fields that were
+ * not selected are absent rather than {@code null}. With the full projection the value is
+ * written as is, selected fields that are {@code null} are written as {@code null}.
+ */
+@JsonSerialize(using = Projected.Serializer.class)
+public record Projected<T>(T value, Set<String> fields) {
+
+    public static <T> Projected<T> of(T value, RowProjection<?> projection) {
+        return new Projected<>(value, projection.isSparse() ? projection.fields() : null);
+    }
+
+    static final class Serializer extends StdSerializer<Projected<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Serializer() {
+            super((Class<Projected<?>>) (Class) Projected.class);
+        }
+
+        @Override
+        public void serialize(Projected<?> projected, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            Object value = projected.value();
+            JsonSerializer<Object> serializer = provider.findValueSerializer(value.getClass());
+            if (projected.fields() == null) {
+                serializer.serialize(value, generator, provider);
+                return;
+            }
+            generator.writeStartObject(value);
+            Iterator<PropertyWriter> properties = serializer.properties();
+            while (properties.hasNext()) {
+                PropertyWriter property = properties.next();
+                if (projected.fields().contains(property.getName())) {
+                    try {
+                        property.serializeAsField(value, generator, provider);
+                    } catch (IOException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IOException("Failed to write " + property.getName(), e);
+                    }
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.projector.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Whitelist of the selectable columns of one entity and the projections built from it.
+ * Backs the {@code fields} and {@code view} parameters of list endpoints, so that only
+ * requested columns are read from the database.
+ */
+public final class ProjectionCatalog<T> {
+
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+
+    private static final String ID_FIELD = "id";
+
+    private final Supplier<T> factory;
+    private final Map<String, RowProjection.Column<T>> columns;
+    private final RowProjection<T> full;
+    private final RowProjection<T> summary;
+    private final Map<Set<String>, RowProjection<T>> cache = new ConcurrentHashMap<>();
+
+    private ProjectionCatalog(Supplier<T> factory, Map<String, RowProjection.Column<T>> columns, Set<String> summaryFields) {
+        this.factory = factory;
+        this.columns = columns;
+        this.full = new RowProjection<>(factory, List.copyOf(columns.values()), false);
+        this.summary = project(summaryFields);
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    public RowProjection<T> full() {
+        return full;
+    }
+
+    public RowProjection<T> summary() {
+        return summary;
+    }
+
+    /**
+     * Resolves the projection for a request. An explicit {@code fields} list wins over
+     * {@code view}; {@code id} is always selected.
+     *
+     * @throws ServerWebInputException for unknown fields or views
+     */
+    public RowProjection<T> select(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> requested = new LinkedHashSet<>();
+            for (String field : fields.split(",")) {
+                String trimmed = field.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (!columns.containsKey(trimmed)) {
+                    throw new ServerWebInputException("Unknown field: " + trimmed);
+                }
+                requested.add(trimmed);
+            }
+            return cache.computeIfAbsent(Set.copyOf(requested), this::project);
+        }
+
+        if (view == null || view.isBlank() || VIEW_FULL.equals(view.toLowerCase(Locale.ROOT))) {
+            return full;
+        }
+        if (VIEW_SUMMARY.equals(view.toLowerCase(Locale.ROOT))) {
+            return summary;
+        }
+        throw new ServerWebInputException("Unknown view: " + view);
+    }
+
+    private RowProjection<T> project(Set<String> fields) {
+        // Keep declaration order so the SQL text is stable for the same field set
+        List<RowProjection.Column<T>> selected = new ArrayList<>();
+        for (RowProjection.Column<T> column : columns.values()) {
+            if (ID_FIELD.equals(column.field()) || fields.contains(column.field())) {
+                selected.add(column);
+            }
+        }
+        return new RowProjection<>(factory, selected, true);
+    }
+
+    public static final class Builder<T> {
+
+        private final Supplier<T> factory;
+        private final Map<String, RowProjection.Column<T>> columns = new LinkedHashMap<>();
+        private final Set<String> summaryFields = new LinkedHashSet<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        public Builder<T> column(String field, String expression, RowProjection.ColumnReader<T> reader) {
+            columns.put(field, new RowProjection.Column<>(field, expression, reader));
+            return this;
+        }
+
+        public Builder<T> summary(String... fields) {
+            summaryFields.addAll(List.of(fields));
+            return this;
+        }
+
+        public ProjectionCatalog<T> build() {
+            if (!columns.containsKey(ID_FIELD)) {
+                throw new IllegalStateException("Projection catalog requires an id column");
+            }
+            return new ProjectionCatalog<>(
+                    factory, Collections.unmodifiableMap(new LinkedHashMap<>(columns)), Set.copyOf(summaryFields));
+        }
+    }
+}
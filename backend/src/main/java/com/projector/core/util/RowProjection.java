@@ -0,0 +1,72 @@
+package com.projector.core.util;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+/**
+ * A fixed list of columns selected from a table together with the positional mapper
+ * that reads them into an entity. Columns that are not selected stay {@code null}.
+ */
+public final class RowProjection<T> implements BiFunction<Row, RowMetadata, T> {
+
+    @FunctionalInterface
+    public interface ColumnReader<T> {
+
+        void read(Row row, int index, T target);
+    }
+
+    public record Column<T>(String field, String expression, ColumnReader<T> reader) {
+    }
+
+    private final Supplier<T> factory;
+    private final List<Column<T>> columns;
+    private final Set<String> fields;
+    private final String selectList;
+    private final boolean sparse;
+
+    RowProjection(Supplier<T> factory, List<Column<T>> columns, boolean sparse) {
+        this.factory = factory;
+        this.columns = List.copyOf(columns);
+        this.fields = Set.copyOf(columns.stream().map(Column::field).toList());
+        this.selectList = columns.stream().map(Column::expression).collect(Collectors.joining(", "));
+        this.sparse = sparse;
+    }
+
+    /**
+     * Comma-separated column expressions for the {@code SELECT} clause, in mapping order.
+     */
+    public String selectList() {
+        return selectList;
+    }
+
+    public List<Column<T>> columns() {
+        return columns;
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Whether the projection was requested with {@code fields} or a view other than the full one,
+     * so responses should carry only its fields.
+     */
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    @Override
+    public T apply(Row row, RowMetadata metadata) {
+        T target = factory.get();
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).reader().read(row, i, target);
+        }
+        return target;
+    }
+}
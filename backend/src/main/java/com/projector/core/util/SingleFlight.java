@@ -0,0 +1,43 @@
+package com.projector.core.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load is in flight, callers for that key
+ * subscribe to it instead of starting their own, and all of them receive its value or error.
+ *
+ * <p>A caller that cancels only detaches itself; the load is cancelled when no caller is left.
+ * Callers arriving after a load finished start a new one, nothing is cached. The load runs with
+ * the subscriber context of the caller that started it, so it must not depend on a transaction.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight> flights = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> flights.computeIfAbsent(key, k -> new Flight(k, loader)).shared);
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private final class Flight {
+
+        private final Mono<V> shared;
+
+        private Flight(K key, Function<K, Mono<V>> loader) {
+            this.shared = Mono.defer(() -> loader.apply(key))
+                    // Removed before the result reaches the callers, so later calls start afresh
+                    .doOnTerminate(() -> flights.remove(key, this))
+                    .doOnCancel(() -> flights.remove(key, this))
+                    .flux()
+                    .publish()
+                    .refCount()
+                    .singleOrEmpty();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.projector.core.util;
+
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+/**
+ * Compiled filter expression: a SQL condition over whitelisted columns and the values
+ * bound to its named parameters.
+ */
+public record SqlFilter(String condition, Map<String, Object> parameters) {
+
+    public static final SqlFilter NONE = new SqlFilter(null, Map.of());
+
+    public boolean isEmpty() {
+        return condition == null;
+    }
+
+    public GenericExecuteSpec bind(GenericExecuteSpec spec) {
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,71 @@
+package com.projector.dataimport.component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.projector.dataimport.model.ImportJob;
+import com.projector.dataimport.service.ImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs an import from a file and exits when started with {@code --import-file=<path>}:
+ * <ul>
+ * <li>{@code --import-source} source system name, required for a new job;</li>
+ * <li>{@code --import-format} {@code csv} or {@code ndjson}, by default from the file extension;</li>
+ * <li>{@code --import-author-id} user the imported entities are authored by, default 1;</li>
+ * <li>{@code --import-job-id} job to resume instead of creating one.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportCommandLineRunner implements ApplicationRunner {
+
+    private final ImportService importService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (option(args, "import-file") == null) {
+            return;
+        }
+        int exitCode = importFile(args);
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    /**
+     * Runs the import the options describe.
+     *
+     * @return the exit code, 0 when the job completed and 1 when it failed or the options are invalid
+     */
+    public int importFile(ApplicationArguments args) {
+        String file = option(args, "import-file");
+        try {
+            String jobId = option(args, "import-job-id");
+            String authorId = option(args, "import-author-id");
+            ImportJob job = importService.importFile(Path.of(file), option(args, "import-format"),
+                            jobId != null ? Long.valueOf(jobId) : null,
+                            option(args, "import-source"),
+                            authorId != null ? Long.valueOf(authorId) : 1L)
+                    .block();
+            log.info("Import of {} finished as job {} with status {}", file, job.getId(), job.getStatus());
+            return 0;
+        } catch (RuntimeException e) {
+            log.error("Import of {} failed", file, e);
+            return 1;
+        }
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
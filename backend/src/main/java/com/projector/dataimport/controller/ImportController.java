@@ -0,0 +1,131 @@
+package com.projector.dataimport.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projector.core.config.Constants;
+import com.projector.dataimport.model.ImportError;
+import com.projector.dataimport.model.ImportJob;
+import com.projector.dataimport.model.ImportJobRequest;
+import com.projector.dataimport.model.ImportRecord;
+import com.projector.dataimport.service.ImportService;
+import com.projector.dataimport.util.CsvImportParser;
+import com.projector.user.model.User;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ApiResponses({
+        @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/api/imports", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
+public class ImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String IMPORT_AUTHORITIES = "hasAuthority('ROADMAP_EDIT') and hasAuthority('FEATURE_EDIT')"
+            + " and hasAuthority('TASK_EDIT') and hasAuthority('FA_EDIT')";
+
+    private final ImportService importService;
+
+    @Operation(summary = "Create an import job", description = "Create a job to load records into; imported entities are authored by the current user")
+    @ApiResponse(responseCode = "200", description = "Job created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ImportJob.class)))
+    @PostMapping
+    @PreAuthorize(IMPORT_AUTHORITIES)
+    public Mono<ResponseEntity<ImportJob>> createJob(@RequestBody ImportJobRequest request, @AuthenticationPrincipal User user) {
+        return importService
+                .createJob(request.getSource(), user.getId())
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get an import job", description = "Retrieve the status and progress of an import job")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Import job ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "200", description = "Job found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ImportJob.class)))
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @GetMapping("/{id}")
+    @PreAuthorize(IMPORT_AUTHORITIES)
+    public Mono<ResponseEntity<ImportJob>> getJob(@PathVariable Long id) {
+        return statusOf(importService.getJob(id));
+    }
+
+    @Operation(summary = "Load records", description = "Stream records into a loading job as a JSON array, NDJSON or CSV with a header row. "
+            + "Records are committed in batches; after an interruption send the same stream again, records already loaded are skipped")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Import job ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "200", description = "Records loaded", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ImportJob.class)))
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Job is no longer loading")
+    @PostMapping(value = "/{id}/records", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize(IMPORT_AUTHORITIES)
+    public Mono<ResponseEntity<ImportJob>> loadRecords(@PathVariable Long id, @RequestBody Flux<ImportRecord> records) {
+        return statusOf(importService.load(id, records));
+    }
+
+    @Operation(summary = "Load records from CSV", description = "Same as loading records, with a CSV body whose header row names the record properties")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Import job ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "200", description = "Records loaded", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ImportJob.class)))
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Job is no longer loading")
+    @PostMapping(value = "/{id}/records", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize(IMPORT_AUTHORITIES)
+    public Mono<ResponseEntity<ImportJob>> loadCsvRecords(@PathVariable Long id, @RequestBody Flux<String> lines) {
+        return statusOf(importService.load(id, CsvImportParser.parse(lines)));
+    }
+
+    @Operation(summary = "Merge an import job", description = "Validate the loaded records and merge them into roadmaps, features, tasks and functional areas "
+            + "in the background; poll the job for progress. A failed merge can be started again and continues where it stopped")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Import job ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "202", description = "Merge started", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ImportJob.class)))
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Job is being merged or completed")
+    @PostMapping("/{id}/merge")
+    @PreAuthorize(IMPORT_AUTHORITIES)
+    public Mono<ResponseEntity<ImportJob>> mergeJob(@PathVariable Long id) {
+        return importService
+                .startMerge(id)
+                .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job))
+                .onErrorResume(ResponseStatusException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).build()));
+    }
+
+    @Operation(summary = "Get rejected records", description = "Retrieve the records of an import job rejected by validation, in upload order")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Import job ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of records to return (1-10000)", schema = @Schema(type = "integer", format = "int32", example = "100"))
+    @ApiResponse(responseCode = "200", description = "Rejected records", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = ImportError.class))))
+    @GetMapping("/{id}/errors")
+    @PreAuthorize(IMPORT_AUTHORITIES)
+    public Flux<ImportError> getErrors(@PathVariable Long id, @RequestParam(required = false) Integer limit) {
+        return importService.getErrors(id, limit);
+    }
+
+    private static Mono<ResponseEntity<ImportJob>> statusOf(Mono<ImportJob> job) {
+        return job
+                .map(ResponseEntity::ok)
+                .onErrorResume(ResponseStatusException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).build()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.projector.dataimport.model;
+
+/**
+ * Types of imported records, in merge order: every type only references the ones before it.
+ */
+public enum ImportEntity {
+    FUNCTIONAL_AREA,
+    ROADMAP,
+    FEATURE,
+    TASK
+}
@@ -0,0 +1,25 @@
+package com.projector.dataimport.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Imported record rejected by validation")
+public class ImportError {
+
+    @Schema(description = "Position of the record in the upload, starting at 0", example = "42")
+    Long line;
+
+    @Schema(description = "Entity type", example = "TASK")
+    String type;
+
+    @Schema(description = "ID in the source system", example = "PROJ-123")
+    String externalId;
+
+    @Schema(description = "Why the record was rejected", example = "Feature PROJ-100 not found")
+    String error;
+}
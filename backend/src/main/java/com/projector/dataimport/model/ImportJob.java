@@ -0,0 +1,48 @@
+package com.projector.dataimport.model;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Import job and its progress")
+public class ImportJob {
+
+    @Schema(description = "Unique ID of import job", example = "1")
+    Long id;
+
+    @Schema(description = "Source system or project; external IDs are unique within a source", example = "jira:PROJ")
+    String source;
+
+    @Schema(description = "Job status", example = "LOADING")
+    ImportStatus status;
+
+    @Schema(description = "Last entity type merged", example = "FEATURE")
+    ImportEntity phase;
+
+    @Schema(description = "Records stored so far; a resumed upload skips this many records", example = "120000")
+    Long recordsLoaded;
+
+    @Schema(description = "Entities created or updated by the merge", example = "119500")
+    Long recordsMerged;
+
+    @Schema(description = "Records rejected by validation", example = "500")
+    Long recordsRejected;
+
+    @Schema(description = "Why the job failed", example = "duplicate key value violates unique constraint")
+    String error;
+
+    @Schema(description = "User ID that becomes the author of imported entities", example = "1")
+    Long authorId;
+
+    @Schema(description = "Job creation date", example = "2024-01-01T00:00:00")
+    LocalDateTime createDate;
+
+    @Schema(description = "Job last update date", example = "2024-01-01T00:05:00")
+    LocalDateTime updateDate;
+}
@@ -0,0 +1,16 @@
+package com.projector.dataimport.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "New import job")
+public class ImportJobRequest {
+
+    @Schema(description = "Name of the source system; external IDs are unique per source", example = "jira:PROJ")
+    private String source;
+}
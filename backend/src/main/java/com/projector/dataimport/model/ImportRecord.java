@@ -0,0 +1,63 @@
+package com.projector.dataimport.model;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One imported entity; which fields apply depends on {@code type}. References between
+ * records use the external IDs of the source system.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Imported roadmap, feature, task or functional area")
+public class ImportRecord {
+
+    @Schema(description = "Entity type", example = "TASK", allowableValues = {"FUNCTIONAL_AREA", "ROADMAP", "FEATURE", "TASK"})
+    private String type;
+
+    @Schema(description = "ID in the source system", example = "PROJ-123")
+    private String externalId;
+
+    @Schema(description = "Functional area name", example = "User Management")
+    private String name;
+
+    @Schema(description = "Roadmap project name", example = "Projector")
+    private String projectName;
+
+    @Schema(description = "Roadmap mission", example = "Plan the product")
+    private String mission;
+
+    @Schema(description = "Feature or task summary", example = "Implement login")
+    private String summary;
+
+    @Schema(description = "Description", example = "Detailed description")
+    private String description;
+
+    @Schema(description = "Feature year (2000-2500)", example = "2024")
+    private Long year;
+
+    @Schema(description = "Feature quarter", example = "Q1")
+    private String quarter;
+
+    @Schema(description = "Feature sprint", example = "1")
+    private Long sprint;
+
+    @Schema(description = "Feature release", example = "v1.0.0")
+    private String release;
+
+    @Schema(description = "External ID of the feature of a task", example = "PROJ-100")
+    private String featureExternalId;
+
+    @Schema(description = "External ID of the roadmap of a task", example = "PROJ")
+    private String roadmapExternalId;
+
+    @Schema(description = "External IDs of the functional areas of a feature", example = "[\"auth\"]")
+    private List<String> functionalAreaExternalIds;
+}
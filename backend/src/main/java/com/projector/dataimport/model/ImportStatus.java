@@ -0,0 +1,8 @@
+package com.projector.dataimport.model;
+
+public enum ImportStatus {
+    LOADING,
+    MERGING,
+    COMPLETED,
+    FAILED
+}
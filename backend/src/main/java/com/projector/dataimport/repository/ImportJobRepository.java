@@ -0,0 +1,118 @@
+package com.projector.dataimport.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.dataimport.model.ImportEntity;
+import com.projector.dataimport.model.ImportJob;
+import com.projector.dataimport.model.ImportStatus;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ImportJobRepository {
+
+    private static final String COLUMNS = "id, source, status, phase, records_loaded, records_merged, records_rejected,"
+            + " error, author_id, create_date, update_date";
+
+    private static final String INSERT = "INSERT INTO import_jobs (source, status, author_id, create_date, update_date)"
+            + " VALUES (:source, 'LOADING', :authorId, NOW(), NOW()) RETURNING " + COLUMNS;
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM import_jobs WHERE id = :id";
+    private static final String ADD_LOADED = "UPDATE import_jobs SET records_loaded = records_loaded + :count, update_date = NOW()"
+            + " WHERE id = :id AND status = 'LOADING'";
+    // A job left MERGING by a node that died is taken over once it has not progressed for a while
+    private static final String START_MERGE = "UPDATE import_jobs SET status = 'MERGING', error = NULL, update_date = NOW()"
+            + " WHERE id = :id AND (status IN ('LOADING', 'FAILED') OR (status = 'MERGING' AND update_date < NOW() - :staleAfterMillis * INTERVAL '1 millisecond'))"
+            + " RETURNING " + COLUMNS;
+    private static final String FINISH_PHASE = "UPDATE import_jobs SET phase = :phase, records_merged = records_merged + :merged,"
+            + " records_rejected = records_rejected + :rejected, update_date = NOW() WHERE id = :id";
+    private static final String COMPLETE = "UPDATE import_jobs SET status = 'COMPLETED', update_date = NOW() WHERE id = :id";
+    private static final String FAIL = "UPDATE import_jobs SET status = 'FAILED', error = :error, update_date = NOW() WHERE id = :id";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<ImportJob> create(String source, Long authorId) {
+        return databaseClient.sql(INSERT)
+                .bind("source", source)
+                .bind("authorId", authorId)
+                .map(ImportJobRepository::toJob)
+                .one();
+    }
+
+    public Mono<ImportJob> findById(Long id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map(ImportJobRepository::toJob)
+                .one();
+    }
+
+    /**
+     * @return whether the job is still loading and the count was added
+     */
+    public Mono<Boolean> addLoaded(Long id, long count) {
+        return databaseClient.sql(ADD_LOADED)
+                .bind("id", id)
+                .bind("count", count)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    /**
+     * Moves the job to MERGING unless it is completed or another merge is running.
+     *
+     * @param staleAfter how long a merge may go without progress before it is considered dead
+     */
+    public Mono<ImportJob> startMerge(Long id, Duration staleAfter) {
+        return databaseClient.sql(START_MERGE)
+                .bind("id", id)
+                .bind("staleAfterMillis", staleAfter.toMillis())
+                .map(ImportJobRepository::toJob)
+                .one();
+    }
+
+    public Mono<Void> finishPhase(Long id, ImportEntity phase, long merged, long rejected) {
+        return databaseClient.sql(FINISH_PHASE)
+                .bind("id", id)
+                .bind("phase", phase.name())
+                .bind("merged", merged)
+                .bind("rejected", rejected)
+                .then();
+    }
+
+    public Mono<Void> complete(Long id) {
+        return databaseClient.sql(COMPLETE)
+                .bind("id", id)
+                .then();
+    }
+
+    public Mono<Void> fail(Long id, String error) {
+        return databaseClient.sql(FAIL)
+                .bind("id", id)
+                .bind("error", error)
+                .then();
+    }
+
+    private static ImportJob toJob(Readable row) {
+        String phase = row.get("phase", String.class);
+        return ImportJob.builder()
+                .id(row.get("id", Long.class))
+                .source(row.get("source", String.class))
+                .status(ImportStatus.valueOf(row.get("status", String.class)))
+                .phase(phase != null ? ImportEntity.valueOf(phase) : null)
+                .recordsLoaded(row.get("records_loaded", Long.class))
+                .recordsMerged(row.get("records_merged", Long.class))
+                .recordsRejected(row.get("records_rejected", Long.class))
+                .error(row.get("error", String.class))
+                .authorId(row.get("author_id", Long.class))
+                .createDate(row.get("create_date", LocalDateTime.class))
+                .updateDate(row.get("update_date", LocalDateTime.class))
+                .build();
+    }
+}
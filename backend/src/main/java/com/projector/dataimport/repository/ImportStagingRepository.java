@@ -0,0 +1,367 @@
+package com.projector.dataimport.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.dataimport.model.ImportEntity;
+import com.projector.dataimport.model.ImportError;
+import com.projector.dataimport.model.ImportRecord;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Staging side of an import: records are streamed into {@code import_records} with
+ * {@code COPY FROM STDIN}, validated and merged into the entity tables with set-based
+ * statements, one entity type at a time.
+ *
+ * <p>Only the latest record of each external ID is merged. New external IDs get their entity
+ * ID from the table sequence before the merge, so updates and inserts are both joins on
+ * {@code import_id_map}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportStagingRepository {
+
+    public static final String ID_SEPARATOR = "\u001F";
+
+    private static final String COPY = "COPY import_records (job_id, line, type, external_id, name, project_name, mission,"
+            + " summary, description, year, quarter, sprint, release, feature_external_id, roadmap_external_id,"
+            + " functional_area_external_ids) FROM STDIN";
+    // Rows sent to the server per COPY data message
+    private static final int ROWS_PER_MESSAGE = 1000;
+
+    private static final String REJECT_UNKNOWN_TYPES = """
+            UPDATE import_records SET error = 'Unknown type ' || COALESCE(type, 'null')
+            WHERE job_id = :jobId AND error IS NULL
+              AND (type IS NULL OR type NOT IN ('FUNCTIONAL_AREA', 'ROADMAP', 'FEATURE', 'TASK'))
+            """;
+
+    private static final String MISSING_EXTERNAL_ID = "WHEN r.external_id IS NULL OR r.external_id = '' THEN 'externalId is required' ";
+    private static final String NO_EXTERNAL_ID = "r.external_id IS NULL OR r.external_id = ''";
+
+    private static final String MAPPED_FUNCTIONAL_AREA = "SELECT 1 FROM import_id_map m JOIN functional_areas fa ON fa.id = m.entity_id"
+            + " WHERE m.source = :source AND m.entity = 'FUNCTIONAL_AREA' AND m.external_id = x";
+    private static final String UNMAPPED_FUNCTIONAL_AREAS = "unnest(string_to_array(r.functional_area_external_ids, E'\\x1F')) x"
+            + " WHERE NOT EXISTS (" + MAPPED_FUNCTIONAL_AREA + ")";
+    private static final String MAPPED_FEATURE = "SELECT 1 FROM import_id_map m JOIN features f ON f.id = m.entity_id"
+            + " WHERE m.source = :source AND m.entity = 'FEATURE' AND m.external_id = r.feature_external_id";
+    private static final String MAPPED_ROADMAP = "SELECT 1 FROM import_id_map m JOIN roadmaps rm ON rm.id = m.entity_id"
+            + " WHERE m.source = :source AND m.entity = 'ROADMAP' AND m.external_id = r.roadmap_external_id";
+
+    // The name is unique: it may not belong to another area than the mapped one, nor to an earlier record of the job
+    private static final String NAME_TAKEN = "EXISTS (SELECT 1 FROM import_id_map m JOIN functional_areas fa"
+            + " ON fa.name = r.name AND fa.id <> m.entity_id"
+            + " WHERE m.source = :source AND m.entity = 'FUNCTIONAL_AREA' AND m.external_id = r.external_id)";
+    private static final String EARLIER_SAME_NAME = "SELECT d.external_id FROM import_records d"
+            + " WHERE d.job_id = r.job_id AND d.type = 'FUNCTIONAL_AREA' AND d.error IS NULL AND d.name = r.name"
+            + " AND d.external_id <> r.external_id AND d.line < r.line";
+
+    private static final String VALIDATE = "UPDATE import_records r SET error = CASE %s END"
+            + " WHERE r.job_id = :jobId AND r.type = '%s' AND r.error IS NULL AND (%s)";
+
+    private static final Map<ImportEntity, String> VALIDATIONS = Map.of(
+            ImportEntity.FUNCTIONAL_AREA, VALIDATE.formatted(
+                    MISSING_EXTERNAL_ID
+                            + "WHEN r.name IS NULL OR r.name = '' THEN 'name is required' "
+                            + "WHEN " + NAME_TAKEN + " THEN 'Functional area name ' || r.name || ' is already taken' "
+                            + "ELSE 'Functional area name ' || r.name || ' is already used by '"
+                            + " || (" + EARLIER_SAME_NAME + " ORDER BY d.line LIMIT 1)",
+                    ImportEntity.FUNCTIONAL_AREA,
+                    NO_EXTERNAL_ID + " OR r.name IS NULL OR r.name = '' OR " + NAME_TAKEN
+                            + " OR EXISTS (" + EARLIER_SAME_NAME + ")"),
+            ImportEntity.ROADMAP, VALIDATE.formatted(
+                    MISSING_EXTERNAL_ID + "ELSE 'projectName is required'",
+                    ImportEntity.ROADMAP,
+                    NO_EXTERNAL_ID + " OR r.project_name IS NULL OR r.project_name = ''"),
+            ImportEntity.FEATURE, VALIDATE.formatted(
+                    MISSING_EXTERNAL_ID
+                            + "WHEN r.year IS NULL OR r.year < 2000 OR r.year > 2500 THEN 'year must be between 2000 and 2500' "
+                            + "WHEN r.quarter IS NULL OR r.quarter NOT IN ('Q1', 'Q2', 'Q3', 'Q4') THEN 'quarter must be Q1, Q2, Q3 or Q4' "
+                            + "WHEN r.functional_area_external_ids IS NULL OR r.functional_area_external_ids = ''"
+                            + " THEN 'At least one functional area is required' "
+                            + "ELSE 'Functional area ' || (SELECT x FROM " + UNMAPPED_FUNCTIONAL_AREAS + " LIMIT 1) || ' not found'",
+                    ImportEntity.FEATURE,
+                    NO_EXTERNAL_ID + " OR r.year IS NULL OR r.year < 2000 OR r.year > 2500"
+                            + " OR r.quarter IS NULL OR r.quarter NOT IN ('Q1', 'Q2', 'Q3', 'Q4')"
+                            + " OR r.functional_area_external_ids IS NULL OR r.functional_area_external_ids = ''"
+                            + " OR EXISTS (SELECT 1 FROM " + UNMAPPED_FUNCTIONAL_AREAS + ")"),
+            ImportEntity.TASK, VALIDATE.formatted(
+                    MISSING_EXTERNAL_ID
+                            + "WHEN NOT EXISTS (" + MAPPED_FEATURE + ")"
+                            + " THEN 'Feature ' || COALESCE(r.feature_external_id, 'null') || ' not found' "
+                            + "ELSE 'Roadmap ' || COALESCE(r.roadmap_external_id, 'null') || ' not found'",
+                    ImportEntity.TASK,
+                    NO_EXTERNAL_ID + " OR NOT EXISTS (" + MAPPED_FEATURE + ") OR NOT EXISTS (" + MAPPED_ROADMAP + ")"));
+
+    // Latest valid record per external ID
+    private static final String LATEST = "(SELECT DISTINCT ON (external_id) * FROM import_records"
+            + " WHERE job_id = :jobId AND type = '%s' AND error IS NULL ORDER BY external_id, line DESC) r";
+    private static final String MAPPED = " JOIN import_id_map m ON m.source = :source AND m.entity = '%s' AND m.external_id = r.external_id";
+
+    private static final String MAP_NEW_IDS = "INSERT INTO import_id_map (source, entity, external_id, entity_id)"
+            + " SELECT :source, '%1$s', r.external_id, %2$s FROM " + LATEST
+            + " WHERE NOT EXISTS (SELECT 1 FROM import_id_map m"
+            + " WHERE m.source = :source AND m.entity = '%1$s' AND m.external_id = r.external_id)"
+            + " ON CONFLICT (source, entity, external_id) DO NOTHING";
+    private static final String NEXT_ID = "nextval(pg_get_serial_sequence('%s', 'id'))";
+    // Functional areas are matched by name first, the name is unique; new records with the same name share one id
+    private static final String MAP_NEW_FUNCTIONAL_AREA_IDS = "WITH unmapped AS (SELECT r.external_id, r.name FROM "
+            + LATEST.formatted(ImportEntity.FUNCTIONAL_AREA)
+            + " WHERE NOT EXISTS (SELECT 1 FROM import_id_map m"
+            + " WHERE m.source = :source AND m.entity = 'FUNCTIONAL_AREA' AND m.external_id = r.external_id)),"
+            + " names AS MATERIALIZED (SELECT n.name, COALESCE((SELECT fa.id FROM functional_areas fa WHERE fa.name = n.name), "
+            + NEXT_ID.formatted("functional_areas") + ") AS id FROM (SELECT DISTINCT name FROM unmapped) n)"
+            + " INSERT INTO import_id_map (source, entity, external_id, entity_id)"
+            + " SELECT :source, 'FUNCTIONAL_AREA', u.external_id, names.id FROM unmapped u JOIN names ON names.name = u.name"
+            + " ON CONFLICT (source, entity, external_id) DO NOTHING";
+
+    private static final String FUNCTIONAL_AREA_IDS = "ARRAY(SELECT fm.entity_id"
+            + " FROM unnest(string_to_array(r.functional_area_external_ids, E'\\x1F')) WITH ORDINALITY AS x(external_id, position)"
+            + " JOIN import_id_map fm ON fm.source = :source AND fm.entity = 'FUNCTIONAL_AREA' AND fm.external_id = x.external_id"
+            + " ORDER BY x.position)";
+    private static final String TASK_REFERENCES = " JOIN import_id_map fm ON fm.source = :source AND fm.entity = 'FEATURE'"
+            + " AND fm.external_id = r.feature_external_id"
+            + " JOIN import_id_map rm ON rm.source = :source AND rm.entity = 'ROADMAP' AND rm.external_id = r.roadmap_external_id";
+
+    private static final Map<ImportEntity, List<String>> MERGES = Map.of(
+            ImportEntity.FUNCTIONAL_AREA, merge(ImportEntity.FUNCTIONAL_AREA, "functional_areas",
+                    MAP_NEW_FUNCTIONAL_AREA_IDS,
+                    "name = r.name, description = r.description, update_date = NOW()",
+                    "",
+                    "(id, name, description, create_date, update_date)",
+                    "m.entity_id, r.name, r.description, NOW(), NOW()",
+                    " ON CONFLICT (name) DO NOTHING"),
+            ImportEntity.ROADMAP, merge(ImportEntity.ROADMAP, "roadmaps",
+                    MAP_NEW_IDS.formatted(ImportEntity.ROADMAP, NEXT_ID.formatted("roadmaps")),
+                    "project_name = r.project_name, mission = r.mission, description = r.description, update_date = NOW()",
+                    "",
+                    "(id, project_name, mission, description, create_date, update_date, author_id)",
+                    "m.entity_id, r.project_name, r.mission, r.description, NOW(), NOW(), :authorId",
+                    ""),
+            ImportEntity.FEATURE, merge(ImportEntity.FEATURE, "features",
+                    MAP_NEW_IDS.formatted(ImportEntity.FEATURE, NEXT_ID.formatted("features")),
+                    "year = r.year, quarter = r.quarter, sprint = r.sprint, release = r.release, summary = r.summary,"
+                            + " description = r.description, functional_area_ids = " + FUNCTIONAL_AREA_IDS
+                            + ", update_date = NOW()",
+                    "",
+                    "(id, year, quarter, sprint, release, summary, description, functional_area_ids, create_date,"
+                            + " update_date, author_id)",
+                    "m.entity_id, r.year, r.quarter, r.sprint, r.release, r.summary, r.description, "
+                            + FUNCTIONAL_AREA_IDS + ", NOW(), NOW(), :authorId",
+                    ""),
+            ImportEntity.TASK, merge(ImportEntity.TASK, "tasks",
+                    MAP_NEW_IDS.formatted(ImportEntity.TASK, NEXT_ID.formatted("tasks")),
+                    "feature_id = fm.entity_id, roadmap_id = rm.entity_id, summary = r.summary, description = r.description,"
+                            + " update_date = NOW()",
+                    TASK_REFERENCES,
+                    "(id, feature_id, roadmap_id, summary, description, create_date, update_date, author_id)",
+                    "m.entity_id, fm.entity_id, rm.entity_id, r.summary, r.description, NOW(), NOW(), :authorId",
+                    ""));
+
+    // Roadmaps of the imported roadmaps, of the tasks of imported features and of imported tasks
+    private static final String AFFECTED_ROADMAPS = """
+            SELECT m.entity_id AS roadmap_id FROM import_id_map m
+            WHERE m.source = :source AND m.entity = 'ROADMAP'
+              AND m.external_id IN (SELECT external_id FROM import_records WHERE job_id = :jobId AND type = 'ROADMAP')
+            UNION
+            SELECT t.roadmap_id FROM tasks t
+            JOIN import_id_map m ON m.entity_id = t.feature_id AND m.source = :source AND m.entity = 'FEATURE'
+            WHERE m.external_id IN (SELECT external_id FROM import_records WHERE job_id = :jobId AND type = 'FEATURE')
+            UNION
+            SELECT t.roadmap_id FROM tasks t
+            JOIN import_id_map m ON m.entity_id = t.id AND m.source = :source AND m.entity = 'TASK'
+            WHERE m.external_id IN (SELECT external_id FROM import_records WHERE job_id = :jobId AND type = 'TASK')
+            """;
+    private static final String SELECT_ERRORS = """
+            SELECT line, type, external_id, error FROM import_records
+            WHERE job_id = :jobId AND error IS NOT NULL
+            ORDER BY line
+            LIMIT :limit
+            """;
+    private static final String DELETE_MERGED = "DELETE FROM import_records WHERE job_id = :jobId AND error IS NULL";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Appends the records to the job, numbering them from {@code firstLine}.
+     *
+     * @return the number of rows copied
+     */
+    public Mono<Long> copyIn(Long jobId, long firstLine, List<ImportRecord> records) {
+        Flux<ByteBuf> data = Flux.range(0, (records.size() + ROWS_PER_MESSAGE - 1) / ROWS_PER_MESSAGE)
+                .map(chunk -> {
+                    int from = chunk * ROWS_PER_MESSAGE;
+                    int to = Math.min(from + ROWS_PER_MESSAGE, records.size());
+                    StringBuilder rows = new StringBuilder((to - from) * 256);
+                    for (int i = from; i < to; i++) {
+                        appendRow(rows, jobId, firstLine + i, records.get(i));
+                    }
+                    return Unpooled.wrappedBuffer(rows.toString().getBytes(StandardCharsets.UTF_8));
+                });
+        return databaseClient.inConnection(connection -> postgres(connection).copyIn(COPY, data));
+    }
+
+    /**
+     * Marks records of an unknown type as rejected.
+     *
+     * @return the number of rejected records
+     */
+    public Mono<Long> rejectUnknownTypes(Long jobId) {
+        return databaseClient.sql(REJECT_UNKNOWN_TYPES)
+                .bind("jobId", jobId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Marks invalid records of the type as rejected. References are checked against entities
+     * already merged, so the types must be validated in {@link ImportEntity} order.
+     *
+     * @return the number of rejected records
+     */
+    public Mono<Long> validate(Long jobId, String source, ImportEntity entity) {
+        return databaseClient.sql(VALIDATIONS.get(entity))
+                .bind("jobId", jobId)
+                .bind("source", source)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Upserts the valid records of the type into its table.
+     *
+     * @return the number of entities updated or inserted
+     */
+    public Mono<Long> merge(Long jobId, String source, Long authorId, ImportEntity entity) {
+        List<String> statements = MERGES.get(entity);
+        return Flux.fromIterable(statements)
+                .concatMap(sql -> {
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                            .bind("jobId", jobId)
+                            .bind("source", source);
+                    if (sql.contains(":authorId")) {
+                        spec = spec.bind("authorId", authorId);
+                    }
+                    return spec.fetch().rowsUpdated();
+                })
+                // The first statement only maps external IDs
+                .skip(1)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Roadmaps whose documents the job changes. Before the task merge this returns the roadmaps
+     * the imported tasks are still in, after it the ones they moved to.
+     */
+    public Flux<Long> findAffectedRoadmapIds(Long jobId, String source) {
+        return databaseClient.sql(AFFECTED_ROADMAPS)
+                .bind("jobId", jobId)
+                .bind("source", source)
+                .map(row -> row.get("roadmap_id", Long.class))
+                .all();
+    }
+
+    public Flux<ImportError> findErrors(Long jobId, int limit) {
+        return databaseClient.sql(SELECT_ERRORS)
+                .bind("jobId", jobId)
+                .bind("limit", limit)
+                .map(row -> ImportError.builder()
+                        .line(row.get("line", Long.class))
+                        .type(row.get("type", String.class))
+                        .externalId(row.get("external_id", String.class))
+                        .error(row.get("error", String.class))
+                        .build())
+                .all();
+    }
+
+    /**
+     * Drops the merged records of a completed job; rejected ones are kept for the error report.
+     */
+    public Mono<Long> deleteMerged(Long jobId) {
+        return databaseClient.sql(DELETE_MERGED)
+                .bind("jobId", jobId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Statements of one merge step: map new external IDs, update mapped entities, insert the rest.
+     */
+    private static List<String> merge(ImportEntity entity, String table, String mapNewIds, String assignments,
+            String references, String insertColumns, String insertValues, String onConflict) {
+        String latest = LATEST.formatted(entity) + MAPPED.formatted(entity) + references;
+        return List.of(
+                mapNewIds,
+                "UPDATE " + table + " t SET " + assignments + " FROM " + latest + " WHERE t.id = m.entity_id",
+                "INSERT INTO " + table + " " + insertColumns + " SELECT " + insertValues + " FROM " + latest
+                        + " WHERE NOT EXISTS (SELECT 1 FROM " + table + " t WHERE t.id = m.entity_id)" + onConflict);
+    }
+
+    private static void appendRow(StringBuilder rows, Long jobId, long line, ImportRecord record) {
+        rows.append(jobId).append('\t').append(line);
+        appendField(rows, record.getType());
+        appendField(rows, record.getExternalId());
+        appendField(rows, record.getName());
+        appendField(rows, record.getProjectName());
+        appendField(rows, record.getMission());
+        appendField(rows, record.getSummary());
+        appendField(rows, record.getDescription());
+        appendField(rows, record.getYear());
+        appendField(rows, record.getQuarter());
+        appendField(rows, record.getSprint());
+        appendField(rows, record.getRelease());
+        appendField(rows, record.getFeatureExternalId());
+        appendField(rows, record.getRoadmapExternalId());
+        List<String> functionalAreas = record.getFunctionalAreaExternalIds();
+        appendField(rows, functionalAreas == null ? null : String.join(ID_SEPARATOR, functionalAreas));
+        rows.append('\n');
+    }
+
+    /**
+     * Appends a column in COPY text format: {@code \N} for null, backslash escapes for the
+     * delimiter, line breaks and the backslash itself.
+     */
+    private static void appendField(StringBuilder rows, Object value) {
+        rows.append('\t');
+        if (value == null) {
+            rows.append("\\N");
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+    }
+
+    /**
+     * The driver connection under the pool and transaction proxies, COPY is not part of the SPI.
+     */
+    private static PostgresqlConnection postgres(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgres) {
+            return postgres;
+        }
+        throw new IllegalStateException("COPY requires a PostgreSQL connection, got " + connection.getClass().getName());
+    }
+}
@@ -0,0 +1,243 @@
+package com.projector.dataimport.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.cache.EntityCache;
+import com.projector.core.component.JsonCodecs;
+import com.projector.dataimport.model.ImportEntity;
+import com.projector.dataimport.model.ImportError;
+import com.projector.dataimport.model.ImportJob;
+import com.projector.dataimport.model.ImportRecord;
+import com.projector.dataimport.model.ImportStatus;
+import com.projector.dataimport.repository.ImportJobRepository;
+import com.projector.dataimport.repository.ImportStagingRepository;
+import com.projector.dataimport.util.CsvImportParser;
+import com.projector.feature.model.Feature;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.service.RoadmapDocumentService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Imports roadmaps, features, tasks and functional areas in two steps. Loading streams the
+ * records into the staging table with COPY, one transaction per batch; an interrupted upload
+ * is resumed by sending the same stream again, the records already loaded are skipped.
+ * Merging then validates and upserts one entity type per transaction, in {@link ImportEntity}
+ * order, and a failed or interrupted merge continues after the last completed type.
+ *
+ * <p>The merge bypasses the per-entity write paths: caches and roadmap documents are dropped
+ * and live subscribers are told to resync once it completes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+
+    private static final int DEFAULT_ERROR_LIMIT = 100;
+    private static final int MAX_ERROR_LIMIT = 10000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportStagingRepository stagingRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final EntityCache<FunctionalArea> functionalAreaCache;
+    private final EntityCache<Roadmap> roadmapCache;
+    private final EntityCache<Feature> featureCache;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
+    private final JsonCodecs jsonCodecs;
+
+    @Value("${projector.import.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${projector.import.merge-timeout:30m}")
+    private Duration mergeTimeout;
+
+    public Mono<ImportJob> createJob(String source, Long authorId) {
+        if (source == null || source.isBlank()) {
+            return Mono.error(new ServerWebInputException("Import source is required"));
+        }
+        return jobRepository.create(source.trim(), authorId)
+                .doOnNext(job -> log.info("Import job {} created for source {}", job.getId(), job.getSource()));
+    }
+
+    public Mono<ImportJob> getJob(Long id) {
+        return jobRepository.findById(id)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found")));
+    }
+
+    public Flux<ImportError> getErrors(Long id, Integer limit) {
+        int errorLimit = limit == null ? DEFAULT_ERROR_LIMIT : Math.max(1, Math.min(limit, MAX_ERROR_LIMIT));
+        return getJob(id).flatMapMany(job -> stagingRepository.findErrors(job.getId(), errorLimit));
+    }
+
+    /**
+     * Appends the records to a loading job, skipping as many as the job already has.
+     */
+    public Mono<ImportJob> load(Long jobId, Flux<ImportRecord> records) {
+        return getJob(jobId).flatMap(job -> {
+            if (job.getStatus() != ImportStatus.LOADING) {
+                return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Import job is " + job.getStatus()));
+            }
+            long loaded = job.getRecordsLoaded();
+            return records.skip(loaded)
+                    .buffer(batchSize)
+                    .index()
+                    .concatMap(batch -> loadBatch(jobId, loaded + batch.getT1() * batchSize, batch.getT2()), 1)
+                    .then(getJob(jobId));
+        });
+    }
+
+    /**
+     * Claims the job for merging and merges it in the background.
+     */
+    public Mono<ImportJob> startMerge(Long jobId) {
+        return claim(jobId).doOnNext(job -> merge(job).subscribe(
+                completed -> {
+                },
+                error -> log.debug("Import job {} merge ended with an error", jobId)));
+    }
+
+    /**
+     * Claims the job for merging and completes when the merge does.
+     */
+    public Mono<ImportJob> merge(Long jobId) {
+        return claim(jobId).flatMap(this::merge);
+    }
+
+    /**
+     * Loads a file into a new job, or into {@code jobId} to resume it, and merges the job.
+     * A job that is no longer loading is only merged.
+     *
+     * @param format {@code csv} or {@code ndjson}, {@code null} to choose by the file extension
+     */
+    public Mono<ImportJob> importFile(Path path, String format, Long jobId, String source, Long authorId) {
+        if (!Files.isReadable(path)) {
+            return Mono.error(new IllegalArgumentException("Cannot read " + path));
+        }
+        Mono<ImportJob> job = jobId != null ? getJob(jobId) : createJob(source, authorId);
+        Flux<ImportRecord> records = readFile(path, format);
+        return job.flatMap(existing -> {
+                    if (existing.getStatus() != ImportStatus.LOADING) {
+                        return Mono.just(existing);
+                    }
+                    log.info("Loading {} into import job {}", path, existing.getId());
+                    return load(existing.getId(), records);
+                })
+                .flatMap(loaded -> merge(loaded.getId()));
+    }
+
+    /**
+     * Reads records from a CSV or NDJSON file.
+     *
+     * @param format {@code csv} or {@code ndjson}, {@code null} for CSV when the file name ends with {@code .csv}
+     */
+    public Flux<ImportRecord> readFile(Path path, String format) {
+        Flux<String> lines = StringDecoder.allMimeTypes()
+                .decode(DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE),
+                        ResolvableType.forClass(String.class), null, null);
+        String resolved = format != null ? format : path.getFileName().toString().endsWith(".csv") ? "csv" : "ndjson";
+        return switch (resolved) {
+            case "csv" -> CsvImportParser.parse(lines);
+            case "ndjson" -> parseNdjson(lines);
+            default -> Flux.error(new IllegalArgumentException("Unknown import format " + resolved));
+        };
+    }
+
+    /**
+     * Reads records from an NDJSON stream, one JSON object per line.
+     */
+    public Flux<ImportRecord> parseNdjson(Flux<String> lines) {
+        return lines.filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return jsonCodecs.readerFor(ImportRecord.class).<ImportRecord>readValue(line);
+                    } catch (IOException e) {
+                        throw new ServerWebInputException("Invalid import record: " + e.getMessage());
+                    }
+                });
+    }
+
+    private Mono<Long> loadBatch(Long jobId, long firstLine, List<ImportRecord> batch) {
+        return stagingRepository.copyIn(jobId, firstLine, batch)
+                .flatMap(copied -> jobRepository.addLoaded(jobId, copied))
+                .flatMap(loading -> loading
+                        ? Mono.just(firstLine + batch.size())
+                        : Mono.<Long>error(new ResponseStatusException(HttpStatus.CONFLICT, "Import job is no longer loading")))
+                .as(transactionalOperator::transactional)
+                .doOnNext(total -> log.debug("Import job {}: {} records loaded", jobId, total));
+    }
+
+    private Mono<ImportJob> claim(Long jobId) {
+        return jobRepository.startMerge(jobId, mergeTimeout)
+                .switchIfEmpty(Mono.defer(() -> getJob(jobId).flatMap(job -> Mono.error(
+                        new ResponseStatusException(HttpStatus.CONFLICT, "Import job is " + job.getStatus())))));
+    }
+
+    private Mono<ImportJob> merge(ImportJob job) {
+        List<ImportEntity> phases = Arrays.stream(ImportEntity.values())
+                .filter(phase -> job.getPhase() == null || phase.ordinal() > job.getPhase().ordinal())
+                .toList();
+        log.info("Import job {}: merging {} records of source {}", job.getId(), job.getRecordsLoaded(), job.getSource());
+        return Flux.fromIterable(phases)
+                .concatMap(phase -> mergePhase(job, phase).as(transactionalOperator::transactional))
+                .then(complete(job))
+                .onErrorResume(error -> {
+                    log.warn("Import job {} failed: {}", job.getId(), error.toString());
+                    return jobRepository.fail(job.getId(), String.valueOf(error.getMessage())).then(Mono.error(error));
+                })
+                .then(getJob(job.getId()))
+                .doOnNext(completed -> log.info("Import job {} completed: {} merged, {} rejected",
+                        completed.getId(), completed.getRecordsMerged(), completed.getRecordsRejected()));
+    }
+
+    private Mono<Void> mergePhase(ImportJob job, ImportEntity phase) {
+        Mono<Long> unknownTypes = phase.ordinal() == 0 ? stagingRepository.rejectUnknownTypes(job.getId()) : Mono.just(0L);
+        // Tasks may move to other roadmaps, the documents they leave are dropped as well
+        Mono<Void> previousRoadmaps = phase == ImportEntity.TASK ? dropRoadmapDocuments(job) : Mono.empty();
+        return unknownTypes
+                .flatMap(unknown -> stagingRepository.validate(job.getId(), job.getSource(), phase)
+                        .map(invalid -> unknown + invalid))
+                .flatMap(rejected -> previousRoadmaps
+                        .then(stagingRepository.merge(job.getId(), job.getSource(), job.getAuthorId(), phase))
+                        .flatMap(merged -> jobRepository.finishPhase(job.getId(), phase, merged, rejected)
+                                .doOnSuccess(ignored -> log.info("Import job {}: {} {} merged, {} rejected",
+                                        job.getId(), merged, phase, rejected))));
+    }
+
+    private Mono<Void> complete(ImportJob job) {
+        return dropRoadmapDocuments(job)
+                .then(stagingRepository.deleteMerged(job.getId()))
+                .then(jobRepository.complete(job.getId()))
+                .then(changeNotifier.resync())
+                .as(transactionalOperator::transactional)
+                .then(Mono.when(functionalAreaCache.evictAll(), roadmapCache.evictAll(), featureCache.evictAll()));
+    }
+
+    private Mono<Void> dropRoadmapDocuments(ImportJob job) {
+        return stagingRepository.findAffectedRoadmapIds(job.getId(), job.getSource())
+                .collectList()
+                .flatMap(roadmapDocumentService::onBulkChange);
+    }
+}
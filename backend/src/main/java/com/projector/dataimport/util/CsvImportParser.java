@@ -0,0 +1,141 @@
+package com.projector.dataimport.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.dataimport.model.ImportRecord;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads import records from CSV lines as they arrive. The first row names the columns after
+ * the {@link ImportRecord} properties, in any order; quoted fields may contain commas, doubled
+ * quotes and line breaks. {@code functionalAreaExternalIds} are separated by {@code ;} and
+ * empty fields are null.
+ */
+public final class CsvImportParser {
+
+    private static final String LIST_SEPARATOR = ";";
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private List<String> header;
+    private boolean quoted;
+    private long row;
+
+    private CsvImportParser() {
+    }
+
+    /**
+     * @param lines input lines without their line breaks
+     */
+    public static Flux<ImportRecord> parse(Flux<String> lines) {
+        return Flux.defer(() -> {
+            CsvImportParser parser = new CsvImportParser();
+            return lines.concatMapIterable(line -> parser.accept(line).stream().toList())
+                    .concatWith(Mono.fromRunnable(parser::finish));
+        });
+    }
+
+    private Optional<ImportRecord> accept(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            field.append('\n');
+            return Optional.empty();
+        }
+        fields.add(field.toString());
+        field.setLength(0);
+        List<String> values = List.copyOf(fields);
+        fields.clear();
+        row++;
+        if (header == null) {
+            // Spreadsheet exports often start with a byte order mark
+            header = values.stream().map(column -> column.replace("\uFEFF", "").trim()).toList();
+            header.forEach(CsvImportParser::checkColumn);
+            return Optional.empty();
+        }
+        if (values.size() == 1 && values.get(0).isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(toRecord(values));
+    }
+
+    private void finish() {
+        if (quoted) {
+            throw new ServerWebInputException("Row " + (row + 1) + ": quoted field is not closed");
+        }
+    }
+
+    private ImportRecord toRecord(List<String> values) {
+        if (values.size() > header.size()) {
+            throw new ServerWebInputException("Row " + row + ": " + values.size() + " fields, header has " + header.size());
+        }
+        ImportRecord record = new ImportRecord();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            String column = header.get(i);
+            switch (column) {
+                case "type" -> record.setType(value);
+                case "externalId" -> record.setExternalId(value);
+                case "name" -> record.setName(value);
+                case "projectName" -> record.setProjectName(value);
+                case "mission" -> record.setMission(value);
+                case "summary" -> record.setSummary(value);
+                case "description" -> record.setDescription(value);
+                case "year" -> record.setYear(number(column, value));
+                case "quarter" -> record.setQuarter(value);
+                case "sprint" -> record.setSprint(number(column, value));
+                case "release" -> record.setRelease(value);
+                case "featureExternalId" -> record.setFeatureExternalId(value);
+                case "roadmapExternalId" -> record.setRoadmapExternalId(value);
+                case "functionalAreaExternalIds" -> record.setFunctionalAreaExternalIds(value == null ? null
+                        : List.of(value.split(LIST_SEPARATOR)).stream().map(String::trim).filter(id -> !id.isEmpty()).toList());
+                default -> throw new IllegalStateException("Unchecked column " + column);
+            }
+        }
+        return record;
+    }
+
+    private Long number(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Row " + row + ": " + column + " is not a number");
+        }
+    }
+
+    private static void checkColumn(String column) {
+        switch (column) {
+            case "type", "externalId", "name", "projectName", "mission", "summary", "description", "year", "quarter",
+                    "sprint", "release", "featureExternalId", "roadmapExternalId", "functionalAreaExternalIds" -> {
+            }
+            default -> throw new ServerWebInputException("Unknown CSV column: " + column);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.projector.export.controller;
+
+import java.util.Map;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ResourceHttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.projector.export.model.ExportFormat;
+import com.projector.export.model.ExportResult;
+import com.projector.export.service.ExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@ApiResponses({
+        @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+    private static final ResolvableType RESOURCE_TYPE = ResolvableType.forClass(Resource.class);
+
+    // Handles Range requests and writes files with zero-copy transfer where the server supports it
+    private final ResourceHttpMessageWriter resourceWriter = new ResourceHttpMessageWriter();
+
+    private final ExportService exportService;
+
+    @Operation(summary = "Export tasks", description = "Download all tasks matching the filter as CSV or JSON Lines, optionally gzip-compressed; unchanged data is served from the export cache")
+    @Parameter(in = ParameterIn.QUERY, name = "format", description = "File format: csv (default) or jsonl", schema = @Schema(type = "string", allowableValues = {"csv", "jsonl"}))
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated fields to export, id is always included", schema = @Schema(type = "string", example = "summary,updateDate"))
+    @Parameter(in = ParameterIn.QUERY, name = "view", description = "Built-in projection: full (default) or summary", schema = @Schema(type = "string", allowableValues = {"full", "summary"}))
+    @Parameter(in = ParameterIn.QUERY, name = "filter", description = "Filter expression, as on GET /api/tasks", schema = @Schema(type = "string", example = "featureId==1;authorId=in=(1,2)"))
+    @Parameter(in = ParameterIn.QUERY, name = "gzip", description = "Compress the file with gzip", schema = @Schema(type = "boolean", example = "false"))
+    @Parameter(in = ParameterIn.HEADER, name = "Range", description = "Byte range of a cached export", schema = @Schema(type = "string", example = "bytes=0-1023"))
+    @ApiResponse(responseCode = "200", description = "Export file", content = @Content(mediaType = "text/csv"))
+    @ApiResponse(responseCode = "206", description = "Requested range of a cached export")
+    @ApiResponse(responseCode = "304", description = "Cached export not modified since If-None-Match")
+    @GetMapping("/tasks")
+    @PreAuthorize("hasAuthority('TASK_VIEW')")
+    public Mono<Void> exportTasks(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String filter,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            return exportService.exportTasks(fields, view, filter, exportFormat, gzip)
+                    .flatMap(result -> download("tasks", exportFormat, gzip, result, exchange));
+        });
+    }
+
+    @Operation(summary = "Export features", description = "Download all features matching the filter as CSV or JSON Lines, optionally gzip-compressed; unchanged data is served from the export cache")
+    @Parameter(in = ParameterIn.QUERY, name = "format", description = "File format: csv (default) or jsonl", schema = @Schema(type = "string", allowableValues = {"csv", "jsonl"}))
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated fields to export, id is always included", schema = @Schema(type = "string", example = "summary,year,quarter"))
+    @Parameter(in = ParameterIn.QUERY, name = "view", description = "Built-in projection: full (default) or summary", schema = @Schema(type = "string", allowableValues = {"full", "summary"}))
+    @Parameter(in = ParameterIn.QUERY, name = "filter", description = "Filter expression, as on GET /api/features", schema = @Schema(type = "string", example = "year==2024;quarter=in=(Q1,Q2)"))
+    @Parameter(in = ParameterIn.QUERY, name = "gzip", description = "Compress the file with gzip", schema = @Schema(type = "boolean", example = "false"))
+    @Parameter(in = ParameterIn.HEADER, name = "Range", description = "Byte range of a cached export", schema = @Schema(type = "string", example = "bytes=0-1023"))
+    @ApiResponse(responseCode = "200", description = "Export file", content = @Content(mediaType = "text/csv"))
+    @ApiResponse(responseCode = "206", description = "Requested range of a cached export")
+    @ApiResponse(responseCode = "304", description = "Cached export not modified since If-None-Match")
+    @GetMapping("/features")
+    @PreAuthorize("hasAuthority('FEATURE_VIEW')")
+    public Mono<Void> exportFeatures(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String filter,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            return exportService.exportFeatures(fields, view, filter, exportFormat, gzip)
+                    .flatMap(result -> download("features", exportFormat, gzip, result, exchange));
+        });
+    }
+
+    @Operation(summary = "Export roadmaps", description = "Download all roadmaps as CSV or JSON Lines, optionally gzip-compressed; unchanged data is served from the export cache")
+    @Parameter(in = ParameterIn.QUERY, name = "format", description = "File format: csv (default) or jsonl", schema = @Schema(type = "string", allowableValues = {"csv", "jsonl"}))
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated fields to export, id is always included", schema = @Schema(type = "string", example = "projectName,mission"))
+    @Parameter(in = ParameterIn.QUERY, name = "view", description = "Built-in projection: full (default) or summary", schema = @Schema(type = "string", allowableValues = {"full", "summary"}))
+    @Parameter(in = ParameterIn.QUERY, name = "gzip", description = "Compress the file with gzip", schema = @Schema(type = "boolean", example = "false"))
+    @Parameter(in = ParameterIn.HEADER, name = "Range", description = "Byte range of a cached export", schema = @Schema(type = "string", example = "bytes=0-1023"))
+    @ApiResponse(responseCode = "200", description = "Export file", content = @Content(mediaType = "text/csv"))
+    @ApiResponse(responseCode = "206", description = "Requested range of a cached export")
+    @ApiResponse(responseCode = "304", description = "Cached export not modified since If-None-Match")
+    @GetMapping("/roadmaps")
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
+    public Mono<Void> exportRoadmaps(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            return exportService.exportRoadmaps(fields, view, exportFormat, gzip)
+                    .flatMap(result -> download("roadmaps", exportFormat, gzip, result, exchange));
+        });
+    }
+
+    private Mono<Void> download(String name, ExportFormat format, boolean gzip, ExportResult result,
+            ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        MediaType contentType = MediaType.parseMediaType(gzip ? GZIP_CONTENT_TYPE : format.contentType());
+        String fileName = name + "." + format.extension() + (gzip ? ".gz" : "");
+        response.getHeaders().setContentDisposition(ContentDisposition.attachment().filename(fileName).build());
+        if (!result.isCached()) {
+            response.getHeaders().setContentType(contentType);
+            return response.writeWith(result.stream().map(response.bufferFactory()::wrap));
+        }
+        // The key changes with the data, the file name tells the variants of one key apart
+        String etag = "\"" + result.file().getFileName() + "\"";
+        response.getHeaders().setCacheControl(CacheControl.noCache().cachePrivate());
+        if (exchange.checkNotModified(etag)) {
+            return response.setComplete();
+        }
+        return resourceWriter.write(Mono.just(new FileSystemResource(result.file())), RESOURCE_TYPE, RESOURCE_TYPE,
+                contentType, exchange.getRequest(), response, Map.of());
+    }
+}
@@ -0,0 +1,46 @@
+package com.projector.export.model;
+
+import java.util.Locale;
+
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * File format of an export, chosen by the {@code format} parameter.
+ */
+public enum ExportFormat {
+
+    CSV("csv", "text/csv;charset=UTF-8"),
+    JSONL("jsonl", "application/x-ndjson");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * @return CSV when the parameter is absent
+     * @throws ServerWebInputException for unknown formats
+     */
+    public static ExportFormat fromParameter(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        for (ExportFormat value : values()) {
+            if (value.extension.equals(format.trim().toLowerCase(Locale.ROOT))) {
+                return value;
+            }
+        }
+        throw new ServerWebInputException("Unknown export format: " + format);
+    }
+}
@@ -0,0 +1,27 @@
+package com.projector.export.model;
+
+import java.nio.file.Path;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * An export served either from a cached file or streamed from the database.
+ *
+ * @param file cached file, {@code null} when streamed
+ * @param key content key of the cached file, usable as an entity tag
+ * @param stream encoded chunks when not cached
+ */
+public record ExportResult(Path file, String key, Flux<byte[]> stream) {
+
+    public static ExportResult file(Path file, String key) {
+        return new ExportResult(file, key, null);
+    }
+
+    public static ExportResult streaming(Flux<byte[]> stream) {
+        return new ExportResult(null, null, stream);
+    }
+
+    public boolean isCached() {
+        return file != null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.projector.export.model;
+
+/**
+ * Change position of an exported table: the newest transaction that wrote a row of it, the
+ * newest delete of any entity and the tombstone purge horizon, together with the oldest
+ * transaction still running.
+ */
+public record ExportWatermark(long tableSeq, long tombstoneSeq, long horizon, long xmin) {
+
+    /**
+     * Whether every transaction that could still change the table has a newer id, so any later
+     * change moves the watermark. Otherwise a transaction older than the newest change may
+     * commit without moving it and the content cannot be keyed by it.
+     */
+    public boolean isStable() {
+        return xmin > Math.max(tableSeq, tombstoneSeq);
+    }
+}
@@ -0,0 +1,252 @@
+package com.projector.export.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import com.projector.export.model.ExportFormat;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Generated exports on local disk, named by content key: {@code <key>.<format>} and its
+ * gzip variant {@code <key>.<format>.gz}, written together in one pass. Files are written
+ * under a temporary name and renamed when complete, so readers never see a partial file.
+ *
+ * <p>When the directory grows over {@code projector.export.cache.max-size} the least
+ * recently served files are deleted; serving a file touches its modification time. Files
+ * stored or found within {@code projector.export.cache.eviction-grace} are kept even over the
+ * limit, so a file handed to a response is not deleted before the response opens it.
+ * File I/O runs on the bounded elastic scheduler.
+ */
+@Slf4j
+@Repository
+public class ExportFileStore {
+
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Value("${projector.export.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${projector.export.cache.dir:${java.io.tmpdir}/projector-exports}")
+    private Path directory;
+
+    @Value("${projector.export.cache.max-size:2GB}")
+    private DataSize maxSize;
+
+    @Value("${projector.export.cache.eviction-grace:1m}")
+    private Duration evictionGrace;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Deletes files left half-written by a previous run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteTemporaryFiles() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX)).forEach(ExportFileStore::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Cannot clean export cache {}: {}", directory, e.toString());
+        }
+    }
+
+    /**
+     * @return the file if it is cached, marked as recently used
+     */
+    public Mono<Path> find(String key, ExportFormat format, boolean gzip) {
+        return Mono.fromCallable(() -> {
+                    Path file = path(key, format, gzip);
+                    try {
+                        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                        return file;
+                    } catch (NoSuchFileException e) {
+                        return null;
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Writes the chunks as the plain and the gzip file of the key. Nothing is stored if the
+     * chunks fail or the subscription is cancelled.
+     */
+    public Mono<Void> store(String key, ExportFormat format, Flux<byte[]> chunks) {
+        return Mono.using(
+                        () -> new PendingExport(path(key, format, false), path(key, format, true)),
+                        pending -> chunks
+                                // Writes lag the database by at most two chunks
+                                .publishOn(Schedulers.boundedElastic(), 2)
+                                .doOnNext(pending::write)
+                                .then(Mono.fromRunnable(() -> {
+                                    pending.commit();
+                                    evict();
+                                })),
+                        PendingExport::close)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Path path(String key, ExportFormat format, boolean gzip) {
+        return directory.resolve(key + "." + format.extension() + (gzip ? GZIP_SUFFIX : ""));
+    }
+
+    /**
+     * Deletes the least recently used files until the directory fits the size limit.
+     */
+    private synchronized void evict() {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(file -> !file.getFileName().toString().endsWith(TEMP_SUFFIX)).forEach(files::add);
+        } catch (IOException e) {
+            log.warn("Cannot list export cache {}: {}", directory, e.toString());
+            return;
+        }
+        long total = 0;
+        List<CachedFile> cached = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try {
+                CachedFile entry = new CachedFile(file, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+                cached.add(entry);
+                total += entry.size();
+            } catch (IOException e) {
+                // Deleted meanwhile
+            }
+        }
+        if (total <= maxSize.toBytes()) {
+            return;
+        }
+        cached.sort(Comparator.comparingLong(CachedFile::lastUsed));
+        long protectedSince = System.currentTimeMillis() - evictionGrace.toMillis();
+        for (CachedFile entry : cached) {
+            if (total <= maxSize.toBytes() || entry.lastUsed() >= protectedSince) {
+                // Under the limit, or every remaining file was used within the grace window
+                break;
+            }
+            // Once opened, a file being served stays readable until the download ends
+            deleteQuietly(entry.path());
+            total -= entry.size();
+            log.debug("Evicted export {} ({} bytes)", entry.path().getFileName(), entry.size());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete export file {}: {}", file, e.toString());
+        }
+    }
+
+    private record CachedFile(Path path, long size, long lastUsed) {
+    }
+
+    private static final class PendingExport implements AutoCloseable {
+
+        private final Path plain;
+        private final Path gzip;
+        private final Path plainTemp;
+        private final Path gzipTemp;
+        private final OutputStream plainOutput;
+        private final OutputStream gzipOutput;
+        private boolean committed;
+
+        private PendingExport(Path plain, Path gzip) throws IOException {
+            Files.createDirectories(plain.getParent());
+            String suffix = "." + UUID.randomUUID() + TEMP_SUFFIX;
+            this.plain = plain;
+            this.gzip = gzip;
+            this.plainTemp = plain.resolveSibling(plain.getFileName() + suffix);
+            this.gzipTemp = gzip.resolveSibling(gzip.getFileName() + suffix);
+            OutputStream plainStream = Files.newOutputStream(plainTemp);
+            OutputStream gzipStream = null;
+            try {
+                gzipStream = Files.newOutputStream(gzipTemp);
+                this.gzipOutput = new GZIPOutputStream(gzipStream, 64 * 1024);
+            } catch (IOException | RuntimeException e) {
+                // Not handed to Mono.using yet, so close() would never run
+                closeQuietly(plainStream);
+                closeQuietly(gzipStream);
+                deleteQuietly(plainTemp);
+                deleteQuietly(gzipTemp);
+                throw e;
+            }
+            this.plainOutput = new BufferedOutputStream(plainStream);
+        }
+
+        private static void closeQuietly(OutputStream output) {
+            if (output == null) {
+                return;
+            }
+            try {
+                output.close();
+            } catch (IOException e) {
+                // Discarded anyway
+            }
+        }
+
+        private void write(byte[] chunk) {
+            try {
+                plainOutput.write(chunk);
+                gzipOutput.write(chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void commit() {
+            try {
+                plainOutput.close();
+                gzipOutput.close();
+                Files.move(gzipTemp, gzip, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(plainTemp, plain, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                plainOutput.close();
+                gzipOutput.close();
+            } catch (IOException e) {
+                // Discarded anyway
+            }
+            deleteQuietly(plainTemp);
+            deleteQuietly(gzipTemp);
+        }
+    }
+}
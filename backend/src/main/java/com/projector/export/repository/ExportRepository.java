@@ -0,0 +1,37 @@
+package com.projector.export.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.export.model.ExportWatermark;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    // Each max() is answered from the change_seq index
+    private static final String SELECT_WATERMARK = """
+            SELECT (SELECT COALESCE(MAX(change_seq), 0) FROM %s) AS table_seq,
+                   (SELECT COALESCE(MAX(change_seq), 0) FROM tombstones) AS tombstone_seq,
+                   (SELECT change_seq FROM sync_horizon WHERE id = 1) AS horizon,
+                   txid_snapshot_xmin(txid_current_snapshot()) AS xmin
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @param table one of the exported tables, not user input
+     */
+    public Mono<ExportWatermark> findWatermark(String table) {
+        return databaseClient.sql(SELECT_WATERMARK.formatted(table))
+                .map(row -> new ExportWatermark(
+                        row.get("table_seq", Long.class),
+                        row.get("tombstone_seq", Long.class),
+                        row.get("horizon", Long.class),
+                        row.get("xmin", Long.class)))
+                .one();
+    }
+}
@@ -0,0 +1,277 @@
+package com.projector.export.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.projector.core.component.JsonCodecs;
+import com.projector.core.util.ListQuery;
+import com.projector.core.util.RowProjection;
+import com.projector.core.util.SingleFlight;
+import com.projector.export.model.ExportFormat;
+import com.projector.export.model.ExportResult;
+import com.projector.export.model.ExportWatermark;
+import com.projector.export.repository.ExportFileStore;
+import com.projector.export.repository.ExportRepository;
+import com.projector.export.util.StreamingGzip;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.feature.repository.FeatureRowMapper;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.model.RoadmapResponse;
+import com.projector.roadmap.repository.RoadmapReadRepository;
+import com.projector.roadmap.repository.RoadmapRowMapper;
+import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+import com.projector.task.repository.TaskReadRepository;
+import com.projector.task.repository.TaskRowMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exports whole tables as CSV or JSON Lines. Rows are read from a database portal
+ * {@code projector.export.fetch-size} at a time and encoded into one chunk per fetch, so
+ * memory does not grow with the export. Every export reads one snapshot in a read-only
+ * transaction.
+ *
+ * <p>Exports are keyed by the watermark of their table and stored on disk on first request,
+ * later requests for the same key are served from the file without touching the rows. While
+ * the watermark is not stable, or with the file cache disabled, the export is streamed to the
+ * client and a disconnect cancels the query.
+ *
+ * <p>Projection and filter parameters are those of the list endpoints and are validated
+ * before anything is read, so errors are reported as a status and not as a cut-off body.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final TransactionDefinition SNAPSHOT = snapshot();
+    // Multi-valued fields, as in the import CSV
+    private static final String LIST_SEPARATOR = ";";
+
+    private final TaskReadRepository taskReadRepository;
+    private final FeatureReadRepository featureReadRepository;
+    private final RoadmapReadRepository roadmapReadRepository;
+    private final ExportRepository exportRepository;
+    private final ExportFileStore fileStore;
+    private final ReactiveTransactionManager transactionManager;
+    private final JsonCodecs jsonCodecs;
+    private final SingleFlight<String, Void> generations = new SingleFlight<>();
+
+    @Value("${projector.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * @throws org.springframework.web.server.ServerWebInputException for invalid parameters
+     */
+    public Mono<ExportResult> exportTasks(String fields, String view, String filter, ExportFormat format, boolean gzip) {
+        ListQuery<Task> query = new ListQuery<>(
+                TaskRowMapper.PROJECTIONS.select(fields, view), TaskRowMapper.FILTERS.compile(filter), null, null);
+        return export(new Source<>("tasks", TaskReadRepository.TABLE, signature(query, TaskReadRepository.TABLE),
+                taskReadRepository.stream(query, fetchSize).map(TaskResponse::from), TaskResponse.class,
+                query.projection()), format, gzip);
+    }
+
+    public Mono<ExportResult> exportFeatures(String fields, String view, String filter, ExportFormat format, boolean gzip) {
+        ListQuery<Feature> query = new ListQuery<>(
+                FeatureRowMapper.PROJECTIONS.select(fields, view), FeatureRowMapper.FILTERS.compile(filter), null, null);
+        return export(new Source<>("features", FeatureReadRepository.TABLE, signature(query, FeatureReadRepository.TABLE),
+                featureReadRepository.stream(query, fetchSize).map(FeatureResponse::from), FeatureResponse.class,
+                query.projection()), format, gzip);
+    }
+
+    public Mono<ExportResult> exportRoadmaps(String fields, String view, ExportFormat format, boolean gzip) {
+        RowProjection<Roadmap> projection = RoadmapRowMapper.PROJECTIONS.select(fields, view);
+        return export(new Source<>("roadmaps", RoadmapReadRepository.TABLE, projection.selectList(),
+                roadmapReadRepository.stream(projection, fetchSize).map(RoadmapResponse::from), RoadmapResponse.class,
+                projection), format, gzip);
+    }
+
+    /**
+     * Rows of one export and what identifies them apart from the table watermark.
+     */
+    private record Source<T, R>(String name, String table, String signature, Flux<R> rows, Class<R> type,
+            RowProjection<T> projection) {
+    }
+
+    private <T, R> Mono<ExportResult> export(Source<T, R> source, ExportFormat format, boolean gzip) {
+        if (!fileStore.isEnabled()) {
+            return Mono.just(ExportResult.streaming(stream(source, format, gzip)));
+        }
+        return exportRepository.findWatermark(source.table())
+                .flatMap(watermark -> {
+                    if (!watermark.isStable()) {
+                        log.debug("Watermark of {} is not stable, streaming the export", source.table());
+                        return Mono.just(ExportResult.streaming(stream(source, format, gzip)));
+                    }
+                    String key = key(source, watermark);
+                    return fileStore.find(key, format, gzip)
+                            .switchIfEmpty(Mono.defer(() -> generations
+                                    .execute(key + "." + format.extension(), ignored -> generate(source, format, key))
+                                    .then(fileStore.find(key, format, gzip))))
+                            .map(file -> ExportResult.file(file, key))
+                            // The table changed while the file was being generated
+                            .switchIfEmpty(Mono.fromSupplier(() -> ExportResult.streaming(stream(source, format, gzip))));
+                });
+    }
+
+    private <T, R> Flux<byte[]> stream(Source<T, R> source, ExportFormat format, boolean gzip) {
+        Flux<byte[]> chunks = encode(source, format).as(TransactionalOperator.create(transactionManager, SNAPSHOT)::transactional);
+        return (gzip ? gzip(chunks) : chunks)
+                .doOnCancel(() -> log.debug("Export of {} cancelled by the client", source.name()));
+    }
+
+    /**
+     * Writes the export file if the snapshot it is read from still has the watermark of the key.
+     */
+    private <T, R> Mono<Void> generate(Source<T, R> source, ExportFormat format, String key) {
+        long started = System.nanoTime();
+        return exportRepository.findWatermark(source.table())
+                .filter(watermark -> watermark.isStable() && key.equals(key(source, watermark)))
+                .flatMap(watermark -> fileStore.store(key, format, encode(source, format))
+                        .doOnSuccess(ignored -> log.info("Export of {} cached as {} in {} ms", source.name(), key,
+                                (System.nanoTime() - started) / 1_000_000)))
+                .as(TransactionalOperator.create(transactionManager, SNAPSHOT)::transactional);
+    }
+
+    private <T, R> Flux<byte[]> encode(Source<T, R> source, ExportFormat format) {
+        List<String> columns = source.projection().columns().stream().map(RowProjection.Column::field).toList();
+        Function<List<R>, byte[]> encoder = format == ExportFormat.CSV
+                ? batch -> csvRows(batch, columns)
+                : batch -> jsonLines(batch, jsonCodecs.writerFor(source.type()));
+        Flux<byte[]> chunks = source.rows().buffer(fetchSize).map(encoder);
+        return format == ExportFormat.CSV ? chunks.startWith(csvHeader(columns)) : chunks;
+    }
+
+    private static String signature(ListQuery<?> query, String table) {
+        // Parameter names are numbered in expression order, so equal filters give equal text
+        StringBuilder signature = new StringBuilder(query.toSql(table));
+        new TreeMap<>(query.filter().parameters()).forEach((name, value) ->
+                signature.append('\n').append(name).append('=').append(Arrays.deepToString(new Object[] {value})));
+        return signature.toString();
+    }
+
+    private static String key(Source<?, ?> source, ExportWatermark watermark) {
+        String content = source.table() + "\n" + source.signature() + "\n" + watermark.tableSeq() + ":"
+                + watermark.tombstoneSeq() + ":" + watermark.horizon();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return source.name() + "-" + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Flux<byte[]> gzip(Flux<byte[]> chunks) {
+        return Flux.using(StreamingGzip::new,
+                gzip -> chunks.map(gzip::compress).concatWith(Mono.fromCallable(gzip::finish)),
+                StreamingGzip::close);
+    }
+
+    private static byte[] csvHeader(List<String> columns) {
+        StringBuilder header = new StringBuilder();
+        for (String column : columns) {
+            appendCsvField(header, column);
+        }
+        return endCsvLine(header).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private <R> byte[] csvRows(List<R> batch, List<String> columns) {
+        StringBuilder lines = new StringBuilder(batch.size() * 128);
+        for (R row : batch) {
+            JsonNode node = jsonCodecs.objectMapper().valueToTree(row);
+            int lineStart = lines.length();
+            for (String column : columns) {
+                appendCsvField(lines, csvValue(node.get(column)));
+            }
+            endCsvLine(lines, lineStart);
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <R> byte[] jsonLines(List<R> batch, ObjectWriter writer) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(batch.size() * 256);
+        try {
+            for (R row : batch) {
+                writer.writeValue(lines, row);
+                lines.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines.toByteArray();
+    }
+
+    private static String csvValue(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return "";
+        }
+        if (value.isArray()) {
+            StringBuilder joined = new StringBuilder();
+            for (JsonNode element : value) {
+                if (!joined.isEmpty()) {
+                    joined.append(LIST_SEPARATOR);
+                }
+                joined.append(element.asText());
+            }
+            return joined.toString();
+        }
+        return value.asText();
+    }
+
+    /**
+     * Appends a field and its trailing comma; quoted if it contains a delimiter, a quote or a line break.
+     */
+    private static void appendCsvField(StringBuilder line, String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (quote) {
+            line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        } else {
+            line.append(value);
+        }
+        line.append(',');
+    }
+
+    private static String endCsvLine(StringBuilder line) {
+        endCsvLine(line, 0);
+        return line.toString();
+    }
+
+    private static void endCsvLine(StringBuilder lines, int lineStart) {
+        if (lines.length() > lineStart) {
+            lines.setLength(lines.length() - 1);
+        }
+        lines.append("\r\n");
+    }
+
+    private static TransactionDefinition snapshot() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return definition;
+    }
+}
@@ -0,0 +1,63 @@
+package com.projector.export.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip over a sequence of chunks: every chunk is compressed and flushed on its own, so the
+ * output can be sent while the input is still being produced. One instance per stream;
+ * {@link #close()} releases the native deflater if the stream ends early.
+ */
+public final class StreamingGzip implements AutoCloseable {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final GZIPOutputStream gzip;
+
+    public StreamingGzip() {
+        try {
+            // Sync flush emits everything written so far at each flush
+            gzip = new GZIPOutputStream(output, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] compress(byte[] chunk) {
+        try {
+            gzip.write(chunk);
+            gzip.flush();
+            return drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the remaining output and the gzip trailer
+     */
+    public byte[] finish() {
+        try {
+            gzip.finish();
+            return drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            gzip.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] drain() {
+        byte[] bytes = output.toByteArray();
+        output.reset();
+        return bytes;
+    }
+}
@@ -3,17 +3,28 @@ package com.projector.feature.controller;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.projector.core.config.Constants;
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.service.IdempotencyService;
+import com.projector.core.util.Projected;
 import com.projector.feature.model.Feature;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.feature.service.FeatureBulkService;
 import com.projector.feature.service.FeatureService;
+import com.projector.user.model.User;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,54 +44,113 @@ import reactor.core.publisher.Mono;
 })
 @RestController
 @RequiredArgsConstructor
-@RequestMapping(value = "/api/features", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/features", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class FeatureController {
 
     private final FeatureService featureService;
+    private final FeatureBulkService featureBulkService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Get all features", description = "Retrieve a list of all features")
-    @ApiResponse(responseCode = "200", description = "List of features", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Feature.class))))
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated fields to return, id is always included", schema = @Schema(type = "string", example = "summary,updateDate"))
+    @Parameter(in = ParameterIn.QUERY, name = "view", description = "Built-in projection: full (default) or summary", schema = @Schema(type = "string", allowableValues = {"full", "summary"}))
+    @Parameter(in = ParameterIn.QUERY, name = "filter", description = "Filter expression: comparisons joined by ';' (and) and ',' (or), operators ==, !=, =gt=, =ge=, =lt=, =le=, =in=, =out=", schema = @Schema(type = "string", example = "year==2025;quarter=in=(Q1,Q2)"))
+    @Parameter(in = ParameterIn.QUERY, name = "after", description = "Return only features with id greater than this, ordered by id", schema = @Schema(type = "integer", format = "int64"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of features to return (1-1000)", schema = @Schema(type = "integer", format = "int32", example = "100"))
+    @ApiResponse(responseCode = "200", description = "List of features", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = FeatureResponse.class))))
     @GetMapping
     @PreAuthorize("hasAuthority('FEATURE_VIEW')")
-    public Flux<Feature> getAllFeatures() {
-        return featureService.getAllFeatures();
+    public Flux<Projected<FeatureResponse>> getAllFeatures(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return Mono.fromCallable(() -> featureService.getProjection(fields, view))
+                .flatMapMany(projection -> featureService.getAllFeatures(projection, filter, after, limit)
+                        .map(feature -> Projected.of(FeatureResponse.from(feature), projection)));
     }
 
     @Operation(summary = "Get feature by ID", description = "Retrieve a specific feature by its ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Feature ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "Feature found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Feature.class)))
+    @ApiResponse(responseCode = "200", description = "Feature found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeatureResponse.class)))
     @ApiResponse(responseCode = "404", description = "Feature not found")
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('FEATURE_VIEW')")
-    public Mono<ResponseEntity<Feature>> getFeatureById(@PathVariable Long id) {
+    public Mono<ResponseEntity<FeatureResponse>> getFeatureById(@PathVariable Long id) {
         return featureService
                 .getFeatureById(id)
+                .map(FeatureResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> Mono.just(ResponseEntity.notFound().build()));
     }
 
     @Operation(summary = "Create a new feature", description = "Create a new feature with specified details")
-    @ApiResponse(responseCode = "200", description = "Feature created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Feature.class)))
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.HEADER, description = "Unique key of the request; a retry with the same key returns the original response instead of creating a duplicate", schema = @Schema(type = "string", example = "3f2b6c1e-6f1d-4a57-9a39-2f5d3c8e7b10"))
+    @ApiResponse(responseCode = "200", description = "Feature created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeatureResponse.class)))
     @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
     @PostMapping
     @PreAuthorize("hasAuthority('FEATURE_EDIT')")
-    public Mono<ResponseEntity<Feature>> createFeature(@RequestBody Feature feature) {
-        return featureService
-                .createFeature(feature)
+    public Mono<ResponseEntity<FeatureResponse>> createFeature(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody Feature feature,
+            @AuthenticationPrincipal User user) {
+        return idempotencyService
+                .execute(idempotencyKey, user.getId(), "feature.create", feature, FeatureResponse.class,
+                        () -> featureService.createFeature(feature).map(FeatureResponse::from))
                 .map(ResponseEntity::ok)
+                .onErrorResume(ResponseStatusException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).<FeatureResponse>build()))
                 .onErrorResume(error -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
+    @Operation(summary = "Create features in bulk", description = "Create many features from a JSON array or an NDJSON stream. "
+            + "Items are written in chunks, each in its own transaction; the response has one result per item in request order")
+    @ApiResponse(responseCode = "200", description = "Result of every item", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))))
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('FEATURE_EDIT')")
+    public Flux<BulkItemResult<FeatureResponse>> createFeatures(@RequestBody Flux<Feature> features) {
+        return featureBulkService.createFeatures(features);
+    }
+
+    @Operation(summary = "Update features in bulk", description = "Update many features by their IDs from a JSON array or an NDJSON stream. "
+            + "Items are written in chunks, each in its own transaction; the response has one result per item in request order")
+    @ApiResponse(responseCode = "200", description = "Result of every item", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))))
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('FEATURE_EDIT')")
+    public Flux<BulkItemResult<FeatureResponse>> updateFeatures(@RequestBody Flux<Feature> features) {
+        return featureBulkService.updateFeatures(features);
+    }
+
+    @Operation(summary = "Delete features in bulk", description = "Delete many features by the IDs in a JSON array or an NDJSON stream. "
+            + "Items are deleted in chunks, each in its own transaction; the response has one result per item in request order")
+    @ApiResponse(responseCode = "200", description = "Result of every item", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))))
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('FEATURE_EDIT')")
+    public Flux<BulkItemResult<FeatureResponse>> deleteFeatures(@RequestBody Flux<Long> ids) {
+        return featureBulkService.deleteFeatures(ids);
+    }
+
     @Operation(summary = "Update an existing feature", description = "Update feature information by ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Feature ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "Feature updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Feature.class)))
+    @ApiResponse(responseCode = "200", description = "Feature updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeatureResponse.class)))
     @ApiResponse(responseCode = "404", description = "Feature not found")
     @ApiResponse(responseCode = "400", description = "Invalid input")
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('FEATURE_EDIT')")
-    public Mono<ResponseEntity<Feature>> updateFeature(@PathVariable Long id, @RequestBody Feature feature) {
+    public Mono<ResponseEntity<FeatureResponse>> updateFeature(@PathVariable Long id, @RequestBody Feature feature) {
         return featureService
                 .updateFeature(id, feature)
+                .map(FeatureResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> {
                     if (error.getMessage().contains("not found")) {
@@ -0,0 +1,76 @@
+package com.projector.feature.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.core.util.BatchJoins;
+import com.projector.feature.model.Feature;
+import com.projector.feature.service.FeatureService;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.functionalarea.service.FunctionalAreaService;
+import com.projector.task.model.Task;
+import com.projector.task.service.TaskService;
+import com.projector.user.model.User;
+import com.projector.user.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@RequiredArgsConstructor
+public class FeatureGraphQlController {
+
+    private final FeatureService featureService;
+    private final FunctionalAreaService functionalAreaService;
+    private final TaskService taskService;
+    private final UserService userService;
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('FEATURE_VIEW')")
+    public Flux<Feature> features(@Argument String filter, @Argument Long after, @Argument Integer limit) {
+        return featureService.getAllFeatures(featureService.getProjection(null, null), filter, after, limit);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('FEATURE_VIEW')")
+    public Mono<Feature> feature(@Argument Long id) {
+        return featureService
+                .getFeatureById(id)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.empty());
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public Mono<Map<Feature, User>> author(List<Feature> features) {
+        return userService
+                .getUsersByIds(BatchJoins.keys(features, Feature::getAuthorId))
+                .collectList()
+                .map(users -> BatchJoins.toOne(features, Feature::getAuthorId, users, User::getId));
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('FA_VIEW')")
+    public Mono<Map<Feature, List<FunctionalArea>>> functionalAreas(List<Feature> features) {
+        return functionalAreaService
+                .getFunctionalAreasByIds(BatchJoins.allKeys(features, Feature::getFunctionalAreaIds))
+                .collectList()
+                .map(areas -> BatchJoins.toManyByIds(features, Feature::getFunctionalAreaIds, areas, FunctionalArea::getId));
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('TASK_VIEW')")
+    public Mono<Map<Feature, List<Task>>> tasks(List<Feature> features) {
+        return taskService
+                .getTasksByFeatureIds(BatchJoins.keys(features, Feature::getId))
+                .collectList()
+                .map(tasks -> BatchJoins.toMany(features, Feature::getId, tasks, Task::getFeatureId));
+    }
+}
@@ -0,0 +1,64 @@
+package com.projector.feature.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Feature returned by the API")
+public class FeatureResponse {
+
+    @Schema(description = "Unique ID of feature", example = "1")
+    Long id;
+
+    @Schema(description = "Year (2000-2500)", example = "2024")
+    Long year;
+
+    @Schema(description = "Quarter (Q1, Q2, Q3, Q4)", example = "Q1")
+    Quarter quarter;
+
+    @Schema(description = "Feature creation date", example = "2024-01-01T00:00:00")
+    LocalDateTime createDate;
+
+    @Schema(description = "Feature last update date", example = "2024-01-02T00:00:00")
+    LocalDateTime updateDate;
+
+    @Schema(description = "Author user ID", example = "1")
+    Long authorId;
+
+    @Schema(description = "Sprint number", example = "1")
+    Long sprint;
+
+    @Schema(description = "Release name", example = "v1.0.0")
+    String release;
+
+    @Schema(description = "Feature summary", example = "User authentication feature")
+    String summary;
+
+    @Schema(description = "Feature description", example = "Detailed description of the feature")
+    String description;
+
+    @Schema(description = "Functional area IDs", example = "[1, 2, 3]")
+    List<Long> functionalAreaIds;
+
+    public static FeatureResponse from(Feature feature) {
+        return new FeatureResponse(
+                feature.getId(),
+                feature.getYear(),
+                feature.getQuarter(),
+                feature.getCreateDate(),
+                feature.getUpdateDate(),
+                feature.getAuthorId(),
+                feature.getSprint(),
+                feature.getRelease(),
+                feature.getSummary(),
+                feature.getDescription(),
+                feature.getFunctionalAreaIds());
+    }
+}
@@ -0,0 +1,116 @@
+package com.projector.feature.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.feature.model.Feature;
+
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes of many features as one batched statement per chunk ({@link Statement#add()}),
+ * sent in one round trip. {@code unnest} is not used because it would flatten the
+ * {@code functional_area_ids} arrays.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeatureBulkRepository {
+
+    private static final String INSERT = "INSERT INTO " + FeatureReadRepository.TABLE
+            + " (id, year, quarter, sprint, release, summary, description, create_date, update_date, author_id, functional_area_ids)"
+            + " VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11)";
+    private static final String UPDATE = "UPDATE " + FeatureReadRepository.TABLE
+            + " SET year = $2, quarter = $3, sprint = $4, release = $5, summary = $6, description = $7,"
+            + " create_date = $8, update_date = $9, author_id = $10, functional_area_ids = $11 WHERE id = $1";
+    private static final String SELECT_FOR_UPDATE = "SELECT " + FeatureRowMapper.INSTANCE.selectList()
+            + " FROM " + FeatureReadRepository.TABLE + " WHERE id = ANY(:ids) ORDER BY id FOR UPDATE";
+    private static final String DELETE = "DELETE FROM " + FeatureReadRepository.TABLE
+            + " WHERE id = ANY(:ids) RETURNING id";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts features whose ids were reserved beforehand.
+     */
+    public Mono<Void> insertAll(List<Feature> features) {
+        return write(INSERT, features);
+    }
+
+    public Mono<Void> updateAll(List<Feature> features) {
+        return write(UPDATE, features);
+    }
+
+    /**
+     * Locks the existing features among {@code ids}; the lock also keeps new tasks from
+     * referencing them until the transaction ends.
+     */
+    public Flux<Feature> findAllByIdForUpdate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_FOR_UPDATE)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(FeatureRowMapper.INSTANCE)
+                .all();
+    }
+
+    /**
+     * @return ids of the deleted features
+     */
+    public Flux<Long> deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(DELETE)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map((row, metadata) -> row.get(0, Long.class))
+                .all();
+    }
+
+    private Mono<Void> write(String sql, List<Feature> features) {
+        if (features.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(sql);
+                    for (int i = 0; i < features.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        bind(statement, features.get(i));
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .then();
+    }
+
+    private static void bind(Statement statement, Feature feature) {
+        statement.bind(0, feature.getId());
+        statement.bind(1, feature.getYear());
+        statement.bind(2, feature.getQuarter().name());
+        bindNullable(statement, 3, feature.getSprint(), Long.class);
+        bindNullable(statement, 4, feature.getRelease(), String.class);
+        bindNullable(statement, 5, feature.getSummary(), String.class);
+        bindNullable(statement, 6, feature.getDescription(), String.class);
+        statement.bind(7, feature.getCreateDate());
+        bindNullable(statement, 8, feature.getUpdateDate(), LocalDateTime.class);
+        statement.bind(9, feature.getAuthorId());
+        statement.bind(10, feature.getFunctionalAreaIds().toArray(Long[]::new));
+    }
+
+    private static void bindNullable(Statement statement, int index, Object value, Class<?> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
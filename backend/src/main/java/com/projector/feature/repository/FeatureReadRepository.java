@@ -0,0 +1,78 @@
+package com.projector.feature.repository;
+
+import java.util.Collection;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.core.util.ListQuery;
+import com.projector.feature.model.Feature;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class FeatureReadRepository {
+
+    public static final String TABLE = "features";
+
+    private static final String SELECT_BY_ID =
+            "SELECT " + FeatureRowMapper.INSTANCE.selectList() + " FROM " + TABLE + " WHERE id = :id";
+    private static final String SELECT_BY_IDS =
+            "SELECT " + FeatureRowMapper.INSTANCE.selectList() + " FROM " + TABLE + " WHERE id = ANY(:ids) ORDER BY id";
+    private static final String SELECT_BY_ROADMAP_ID = "SELECT " + FeatureRowMapper.INSTANCE.selectList() + " FROM " + TABLE
+            + " WHERE id IN (SELECT feature_id FROM tasks WHERE roadmap_id = :roadmapId) ORDER BY id";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Feature> findAll() {
+        return findAll(ListQuery.of(FeatureRowMapper.INSTANCE));
+    }
+
+    public Flux<Feature> findAll(ListQuery<Feature> query) {
+        return query.bind(databaseClient.sql(query.toSql(TABLE)))
+                .map(query.projection())
+                .all();
+    }
+
+    /**
+     * Like {@link #findAll(ListQuery)}, but reads the rows through a portal {@code fetchSize}
+     * at a time as they are requested, so the result is never held in memory. Cancelling
+     * stops the query. Must run in a transaction, the portal does not outlive it.
+     */
+    public Flux<Feature> stream(ListQuery<Feature> query, int fetchSize) {
+        return query.bind(databaseClient.sql(query.toSql(TABLE)))
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(query.projection())
+                .all();
+    }
+
+    public Mono<Feature> findById(Long id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map(FeatureRowMapper.INSTANCE)
+                .one();
+    }
+
+    public Flux<Feature> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_BY_IDS)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(FeatureRowMapper.INSTANCE)
+                .all();
+    }
+
+    /**
+     * Features referenced by the tasks of a roadmap, in one query.
+     */
+    public Flux<Feature> findByRoadmapId(Long roadmapId) {
+        return databaseClient.sql(SELECT_BY_ROADMAP_ID)
+                .bind("roadmapId", roadmapId)
+                .map(FeatureRowMapper.INSTANCE)
+                .all();
+    }
+}
@@ -0,0 +1,52 @@
+package com.projector.feature.repository;
+
+import java.time.LocalDateTime;
+
+import com.projector.core.util.FilterCatalog;
+import com.projector.core.util.LongArrayList;
+import com.projector.core.util.ProjectionCatalog;
+import com.projector.core.util.RowProjection;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+
+/**
+ * Selectable columns of {@code features} and their positional mappers to {@link Feature},
+ * bypassing the reflective entity converter on hot read paths, and the filterable columns,
+ * all backed by indexes except {@code sprint} and {@code release}.
+ * {@code functional_area_ids} is kept as a primitive {@code long[]}.
+ */
+public final class FeatureRowMapper {
+
+    public static final ProjectionCatalog<Feature> PROJECTIONS = ProjectionCatalog.builder(Feature::new)
+            .column("id", "id", (row, i, feature) -> feature.setId(row.get(i, Long.class)))
+            .column("year", "year", (row, i, feature) -> feature.setYear(row.get(i, Long.class)))
+            .column("quarter", "quarter", (row, i, feature) -> {
+                String quarter = row.get(i, String.class);
+                feature.setQuarter(quarter != null ? Quarter.valueOf(quarter) : null);
+            })
+            .column("createDate", "create_date", (row, i, feature) -> feature.setCreateDate(row.get(i, LocalDateTime.class)))
+            .column("updateDate", "update_date", (row, i, feature) -> feature.setUpdateDate(row.get(i, LocalDateTime.class)))
+            .column("authorId", "author_id", (row, i, feature) -> feature.setAuthorId(row.get(i, Long.class)))
+            .column("sprint", "sprint", (row, i, feature) -> feature.setSprint(row.get(i, Long.class)))
+            .column("release", "release", (row, i, feature) -> feature.setRelease(row.get(i, String.class)))
+            .column("summary", "summary", (row, i, feature) -> feature.setSummary(row.get(i, String.class)))
+            .column("description", "description", (row, i, feature) -> feature.setDescription(row.get(i, String.class)))
+            .column("functionalAreaIds", "functional_area_ids",
+                    (row, i, feature) -> feature.setFunctionalAreaIds(LongArrayList.fromBoxed(row.get(i, Long[].class))))
+            .summary("year", "quarter", "updateDate", "authorId", "sprint", "release", "summary", "functionalAreaIds")
+            .build();
+
+    public static final RowProjection<Feature> INSTANCE = PROJECTIONS.full();
+
+    public static final FilterCatalog FILTERS = FilterCatalog.builder()
+            .longField("id", "id")
+            .longField("year", "year")
+            .enumField("quarter", "quarter", Quarter.class)
+            .longField("sprint", "sprint")
+            .stringField("release", "release")
+            .longField("authorId", "author_id")
+            .build();
+
+    private FeatureRowMapper() {
+    }
+}
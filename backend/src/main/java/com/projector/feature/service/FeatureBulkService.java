@@ -0,0 +1,214 @@
+package com.projector.feature.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.projector.change.model.ChangeAction;
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.cache.EntityCache;
+import com.projector.core.component.BulkExecutor;
+import com.projector.core.component.BulkExecutor.Item;
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.model.BulkItemStatus;
+import com.projector.core.repository.ReferenceRepository;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.feature.repository.FeatureBulkRepository;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.roadmap.service.RoadmapDocumentService;
+import com.projector.task.repository.TaskReadRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates, updates and deletes many features per statement. Each chunk checks its authors
+ * and functional areas with one query per table and is written as one batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeatureBulkService {
+
+    private final BulkExecutor bulkExecutor;
+    private final FeatureBulkRepository featureBulkRepository;
+    private final TaskReadRepository taskReadRepository;
+    private final ReferenceRepository referenceRepository;
+    private final EntityCache<Feature> featureCache;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
+
+    public Flux<BulkItemResult<FeatureResponse>> createFeatures(Flux<Feature> features) {
+        return bulkExecutor.execute(features, this::createChunk);
+    }
+
+    public Flux<BulkItemResult<FeatureResponse>> updateFeatures(Flux<Feature> features) {
+        return bulkExecutor.execute(features, this::updateChunk);
+    }
+
+    public Flux<BulkItemResult<FeatureResponse>> deleteFeatures(Flux<Long> ids) {
+        return bulkExecutor.execute(ids, this::deleteChunk);
+    }
+
+    private Mono<List<BulkItemResult<FeatureResponse>>> createChunk(List<Item<Feature>> chunk) {
+        List<BulkItemResult<FeatureResponse>> results = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+        return validate(chunk, false, results)
+                .flatMap(valid -> referenceRepository.nextIds(FeatureReadRepository.TABLE, valid.size())
+                        .flatMap(ids -> {
+                            List<Feature> created = new ArrayList<>(valid.size());
+                            for (int i = 0; i < valid.size(); i++) {
+                                Feature feature = valid.get(i).value();
+                                feature.setId(ids.get(i));
+                                feature.setCreateDate(now);
+                                feature.setUpdateDate(now);
+                                created.add(feature);
+                                results.add(BulkItemResult.ok(valid.get(i).index(), feature.getId(), FeatureResponse.from(feature)));
+                            }
+                            return featureBulkRepository.insertAll(created)
+                                    .then(changeNotifier.featuresChanged(ChangeAction.CREATED, ids(created), Map.of()));
+                        }))
+                .thenReturn(results);
+    }
+
+    private Mono<List<BulkItemResult<FeatureResponse>>> updateChunk(List<Item<Feature>> chunk) {
+        List<BulkItemResult<FeatureResponse>> results = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+        return validate(chunk, true, results)
+                .flatMap(valid -> featureBulkRepository
+                        .findAllByIdForUpdate(valid.stream().map(item -> item.value().getId()).toList())
+                        .collectMap(Feature::getId)
+                        .flatMap(existing -> {
+                            List<Feature> updated = new ArrayList<>(valid.size());
+                            for (Item<Feature> item : valid) {
+                                Feature feature = item.value();
+                                Feature existingFeature = existing.get(feature.getId());
+                                if (existingFeature == null) {
+                                    results.add(BulkItemResult.failed(item.index(), feature.getId(), BulkItemStatus.NOT_FOUND, "Feature not found"));
+                                    continue;
+                                }
+                                feature.setCreateDate(existingFeature.getCreateDate());
+                                feature.setUpdateDate(now);
+                                updated.add(feature);
+                                results.add(BulkItemResult.ok(item.index(), feature.getId(), FeatureResponse.from(feature)));
+                            }
+                            List<Long> ids = ids(updated);
+                            return featureBulkRepository.updateAll(updated)
+                                    .then(taskReadRepository.findRoadmapIdsByFeatureIds(ids))
+                                    .flatMap(roadmapIdsByFeature -> featureCache.evict(ids)
+                                            .then(roadmapDocumentService.onBulkChange(roadmapIds(roadmapIdsByFeature)))
+                                            .then(changeNotifier.featuresChanged(ChangeAction.UPDATED, ids, roadmapIdsByFeature)));
+                        }))
+                .thenReturn(results);
+    }
+
+    private Mono<List<BulkItemResult<FeatureResponse>>> deleteChunk(List<Item<Long>> chunk) {
+        List<BulkItemResult<FeatureResponse>> results = new ArrayList<>(chunk.size());
+        List<Item<Long>> unique = new ArrayList<>(chunk.size());
+        Set<Long> seen = new HashSet<>();
+        for (Item<Long> item : chunk) {
+            if (seen.add(item.value())) {
+                unique.add(item);
+            } else {
+                results.add(BulkItemResult.failed(item.index(), item.value(), BulkItemStatus.INVALID, "Duplicate feature ID in the request"));
+            }
+        }
+        return featureBulkRepository.findAllByIdForUpdate(seen)
+                .map(Feature::getId)
+                .collectList()
+                .flatMap(existing -> taskReadRepository.findRoadmapIdsByFeatureIds(existing)
+                        .flatMap(withTasks -> {
+                            List<Long> deletable = new ArrayList<>(existing.size());
+                            for (Item<Long> item : unique) {
+                                Long id = item.value();
+                                if (!existing.contains(id)) {
+                                    results.add(BulkItemResult.failed(item.index(), id, BulkItemStatus.NOT_FOUND, "Feature not found"));
+                                } else if (withTasks.containsKey(id)) {
+                                    results.add(BulkItemResult.failed(item.index(), id, BulkItemStatus.INVALID, "Feature has tasks"));
+                                } else {
+                                    deletable.add(id);
+                                    results.add(BulkItemResult.ok(item.index(), id, null));
+                                }
+                            }
+                            return featureBulkRepository.deleteAllById(deletable)
+                                    .then(featureCache.evict(deletable))
+                                    .then(changeNotifier.featuresChanged(ChangeAction.DELETED, deletable, Map.of()));
+                        }))
+                .thenReturn(results);
+    }
+
+    /**
+     * Reports invalid items in {@code results}.
+     *
+     * @return the items that can be written
+     */
+    private Mono<List<Item<Feature>>> validate(List<Item<Feature>> chunk, boolean update,
+            List<BulkItemResult<FeatureResponse>> results) {
+        List<Item<Feature>> complete = new ArrayList<>(chunk.size());
+        Set<Long> ids = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        Set<Long> functionalAreaIds = new HashSet<>();
+        for (Item<Feature> item : chunk) {
+            Feature feature = item.value();
+            String error = FeatureService.findValidationError(feature);
+            if (error == null && update && feature.getId() == null) {
+                error = "Feature ID is required";
+            } else if (error == null && update && !ids.add(feature.getId())) {
+                error = "Duplicate feature ID in the request";
+            }
+            if (error != null) {
+                results.add(BulkItemResult.failed(item.index(), feature.getId(), BulkItemStatus.INVALID, error));
+                continue;
+            }
+            if (!update) {
+                feature.setId(null);
+            }
+            complete.add(item);
+            authorIds.add(feature.getAuthorId());
+            functionalAreaIds.addAll(feature.getFunctionalAreaIds());
+        }
+        return Mono.zip(
+                        referenceRepository.findExistingIds("users", authorIds),
+                        referenceRepository.findExistingIds("functional_areas", functionalAreaIds))
+                .map(existing -> {
+                    List<Item<Feature>> valid = new ArrayList<>(complete.size());
+                    for (Item<Feature> item : complete) {
+                        Feature feature = item.value();
+                        String error = null;
+                        if (!existing.getT1().contains(feature.getAuthorId())) {
+                            error = "User with ID " + feature.getAuthorId() + " not found";
+                        } else {
+                            for (Long faId : feature.getFunctionalAreaIds()) {
+                                if (!existing.getT2().contains(faId)) {
+                                    error = "Functional area with ID " + faId + " not found";
+                                    break;
+                                }
+                            }
+                        }
+                        if (error != null) {
+                            results.add(BulkItemResult.failed(item.index(), feature.getId(), BulkItemStatus.INVALID, error));
+                        } else {
+                            valid.add(item);
+                        }
+                    }
+                    return valid;
+                });
+    }
+
+    private static List<Long> ids(List<Feature> features) {
+        return features.stream().map(Feature::getId).toList();
+    }
+
+    private static Set<Long> roadmapIds(Map<Long, Collection<Long>> roadmapIdsByFeature) {
+        Set<Long> roadmapIds = new HashSet<>();
+        roadmapIdsByFeature.values().forEach(roadmapIds::addAll);
+        return roadmapIds;
+    }
+}
@@ -1,14 +1,23 @@
 package com.projector.feature.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.change.model.ChangeAction;
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.cache.EntityCache;
+import com.projector.core.util.ListQuery;
+import com.projector.core.util.RowProjection;
 import com.projector.feature.model.Feature;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.feature.repository.FeatureRowMapper;
 import com.projector.feature.repository.FeatureRepository;
 import com.projector.functionalarea.repository.FunctionalAreaRepository;
+import com.projector.roadmap.service.RoadmapDocumentService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,18 +30,47 @@ import reactor.core.publisher.Mono;
 public class FeatureService {
 
     private final FeatureRepository featureRepository;
+    private final FeatureReadRepository featureReadRepository;
     private final FunctionalAreaRepository functionalAreaRepository;
+    private final EntityCache<Feature> featureCache;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
 
     public Flux<Feature> getAllFeatures() {
-        return featureRepository.findAll();
+        return featureReadRepository.findAll();
+    }
+
+    /**
+     * Resolves the columns of the requested fields or view.
+     *
+     * @throws ServerWebInputException for unknown fields or views
+     */
+    public RowProjection<Feature> getProjection(String fields, String view) {
+        return FeatureRowMapper.PROJECTIONS.select(fields, view);
+    }
+
+    /**
+     * Lists features reading only the columns of the projection, optionally filtered and paged by id.
+     */
+    public Flux<Feature> getAllFeatures(RowProjection<Feature> projection, String filter, Long after, Integer limit) {
+        return Mono.fromCallable(() -> new ListQuery<>(
+                        projection,
+                        FeatureRowMapper.FILTERS.compile(filter),
+                        after,
+                        limit))
+                .flatMapMany(featureReadRepository::findAll);
     }
 
     public Mono<Feature> getFeatureById(Long id) {
-        return featureRepository
-                .findById(id)
+        return featureCache
+                .get(id, featureReadRepository::findById)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Feature not found")));
     }
 
+    public Flux<Feature> getFeaturesByIds(Collection<Long> ids) {
+        return featureReadRepository.findAllById(ids);
+    }
+
     @Transactional
     public Mono<Feature> createFeature(Feature feature) {
         return validateFeature(feature)
@@ -42,7 +80,9 @@ public class FeatureService {
                     feature.setCreateDate(now);
                     feature.setUpdateDate(now);
                     return featureRepository.save(feature);
-                });
+                })
+                .flatMap(savedFeature -> changeNotifier.featureChanged(ChangeAction.CREATED, savedFeature.getId())
+                        .thenReturn(savedFeature));
     }
 
     @Transactional
@@ -55,7 +95,11 @@ public class FeatureService {
                     feature.setCreateDate(existingFeature.getCreateDate());
                     feature.setUpdateDate(LocalDateTime.now());
                     return featureRepository.save(feature);
-                });
+                })
+                .flatMap(savedFeature -> featureCache.evict(id)
+                        .then(roadmapDocumentService.onFeatureSaved(savedFeature))
+                        .then(changeNotifier.featureChanged(ChangeAction.UPDATED, id))
+                        .thenReturn(savedFeature));
     }
 
     @Transactional
@@ -64,36 +108,50 @@ public class FeatureService {
                 .findById(id)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Feature not found")))
                 .flatMap(feature -> featureRepository.deleteById(id))
-                .then();
+                .then(featureCache.evict(id))
+                .then(changeNotifier.featureChanged(ChangeAction.DELETED, id));
     }
 
     private Mono<Boolean> validateFeature(Feature feature) {
+        String error = findValidationError(feature);
+        if (error != null) {
+            return Mono.error(new ServerWebInputException(error));
+        }
+
+        // Validate that all functional area IDs exist
+        return Flux.fromIterable(feature.getFunctionalAreaIds())
+                .flatMap(faId -> functionalAreaRepository.findById(faId)
+                        .switchIfEmpty(Mono.error(new ServerWebInputException("Functional area with ID " + faId + " not found"))))
+                .then(Mono.just(true));
+    }
+
+    /**
+     * @return why the feature cannot be saved, {@code null} if its fields are valid; the
+     * functional areas are only checked to be present, not to exist
+     */
+    static String findValidationError(Feature feature) {
         if (feature.getYear() == null) {
-            return Mono.error(new ServerWebInputException("Feature year is required"));
+            return "Feature year is required";
         }
 
         if (feature.getYear() < 2000 || feature.getYear() > 2500) {
-            return Mono.error(new ServerWebInputException("Feature year must be between 2000 and 2500"));
+            return "Feature year must be between 2000 and 2500";
         }
 
         if (feature.getQuarter() == null) {
-            return Mono.error(new ServerWebInputException("Feature quarter is required"));
+            return "Feature quarter is required";
         }
 
         if (feature.getAuthorId() == null) {
-            return Mono.error(new ServerWebInputException("Feature author is required"));
+            return "Feature author is required";
         }
 
         // Validate functional area IDs
         if (feature.getFunctionalAreaIds() == null || feature.getFunctionalAreaIds().isEmpty()) {
-            return Mono.error(new ServerWebInputException("At least one functional area is required"));
+            return "At least one functional area is required";
         }
 
-        // Validate that all functional area IDs exist
-        return Flux.fromIterable(feature.getFunctionalAreaIds())
-                .flatMap(faId -> functionalAreaRepository.findById(faId)
-                        .switchIfEmpty(Mono.error(new ServerWebInputException("Functional area with ID " + faId + " not found"))))
-                .then(Mono.just(true));
+        return null;
     }
 }
 
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projector.core.config.Constants;
 import com.projector.functionalarea.model.FunctionalArea;
 import com.projector.functionalarea.service.FunctionalAreaService;
 
@@ -34,7 +35,12 @@ import reactor.core.publisher.Mono;
 })
 @RestController
 @RequiredArgsConstructor
-@RequestMapping(value = "/api/functional-areas", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/functional-areas", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class FunctionalAreaController {
 
     private final FunctionalAreaService functionalAreaService;
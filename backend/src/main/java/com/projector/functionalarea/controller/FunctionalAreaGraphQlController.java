@@ -0,0 +1,35 @@
+package com.projector.functionalarea.controller;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.functionalarea.service.FunctionalAreaService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@RequiredArgsConstructor
+public class FunctionalAreaGraphQlController {
+
+    private final FunctionalAreaService functionalAreaService;
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('FA_VIEW')")
+    public Flux<FunctionalArea> functionalAreas() {
+        return functionalAreaService.getAllFunctionalAreas();
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('FA_VIEW')")
+    public Mono<FunctionalArea> functionalArea(@Argument Long id) {
+        return functionalAreaService
+                .getFunctionalAreaById(id)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.empty());
+    }
+}
@@ -2,16 +2,21 @@ package com.projector.functionalarea.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.change.model.ChangeAction;
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.cache.EntityCache;
 import com.projector.feature.model.Feature;
 import com.projector.feature.repository.FeatureRepository;
 import com.projector.functionalarea.model.FunctionalArea;
 import com.projector.functionalarea.repository.FunctionalAreaRepository;
+import com.projector.roadmap.service.RoadmapDocumentService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,17 +30,25 @@ public class FunctionalAreaService {
 
     private final FunctionalAreaRepository functionalAreaRepository;
     private final FeatureRepository featureRepository;
+    private final EntityCache<FunctionalArea> functionalAreaCache;
+    private final EntityCache<Feature> featureCache;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
 
     public Flux<FunctionalArea> getAllFunctionalAreas() {
         return functionalAreaRepository.findAll();
     }
 
     public Mono<FunctionalArea> getFunctionalAreaById(Long id) {
-        return functionalAreaRepository
-                .findById(id)
+        return functionalAreaCache
+                .get(id, functionalAreaRepository::findById)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Functional area not found")));
     }
 
+    public Flux<FunctionalArea> getFunctionalAreasByIds(Collection<Long> ids) {
+        return functionalAreaRepository.findAllById(ids);
+    }
+
     @Transactional
     public Mono<FunctionalArea> createFunctionalArea(FunctionalArea functionalArea) {
         return validateFunctionalArea(functionalArea)
@@ -45,7 +58,9 @@ public class FunctionalAreaService {
                     functionalArea.setCreateDate(now);
                     functionalArea.setUpdateDate(now);
                     return functionalAreaRepository.save(functionalArea);
-                });
+                })
+                .flatMap(savedFa -> changeNotifier.functionalAreaChanged(ChangeAction.CREATED, savedFa.getId())
+                        .thenReturn(savedFa));
     }
 
     @Transactional
@@ -58,7 +73,10 @@ public class FunctionalAreaService {
                     functionalArea.setCreateDate(existingFa.getCreateDate());
                     functionalArea.setUpdateDate(LocalDateTime.now());
                     return functionalAreaRepository.save(functionalArea);
-                });
+                })
+                .flatMap(savedFa -> functionalAreaCache.evict(id)
+                        .then(changeNotifier.functionalAreaChanged(ChangeAction.UPDATED, id))
+                        .thenReturn(savedFa));
     }
 
     @Transactional
@@ -104,7 +122,11 @@ public class FunctionalAreaService {
                                 
                                 feature.setFunctionalAreaIds(faIds);
                                 feature.setUpdateDate(LocalDateTime.now());
-                                updateMonos.add(featureRepository.save(feature));
+                                updateMonos.add(featureRepository.save(feature)
+                                        .flatMap(savedFeature -> featureCache.evict(savedFeature.getId())
+                                                .then(roadmapDocumentService.onFeatureSaved(savedFeature))
+                                                .then(changeNotifier.featureChanged(ChangeAction.UPDATED, savedFeature.getId()))
+                                                .thenReturn(savedFeature)));
                             }
 
                             // Update all features, then delete the FA
@@ -112,7 +134,8 @@ public class FunctionalAreaService {
                                     .then(functionalAreaRepository.deleteById(id));
                         })
                 )
-                .then();
+                .then(functionalAreaCache.evict(id))
+                .then(changeNotifier.functionalAreaChanged(ChangeAction.DELETED, id));
     }
 
     public Mono<Long> getFeaturesUsingFunctionalArea(Long id) {
@@ -3,18 +3,30 @@ package com.projector.roadmap.controller;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.core.config.Constants;
+import com.projector.core.service.IdempotencyService;
+import com.projector.core.util.Projected;
 import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.model.RoadmapDocument;
+import com.projector.roadmap.model.RoadmapResponse;
+import com.projector.roadmap.model.RoadmapTree;
+import com.projector.roadmap.service.RoadmapDocumentService;
 import com.projector.roadmap.service.RoadmapService;
+import com.projector.user.model.User;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -36,60 +48,119 @@ import reactor.core.publisher.Mono;
 @Slf4j
 @RestController
 @RequiredArgsConstructor
-@RequestMapping(value = "/api/roadmaps", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/roadmaps", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class RoadmapController {
 
     private final RoadmapService roadmapService;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Get all roadmaps", description = "Retrieve a list of all roadmaps")
-    @ApiResponse(responseCode = "200", description = "List of roadmaps", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Roadmap.class))))
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated fields to return, id is always included", schema = @Schema(type = "string", example = "summary,updateDate"))
+    @Parameter(in = ParameterIn.QUERY, name = "view", description = "Built-in projection: full (default) or summary", schema = @Schema(type = "string", allowableValues = {"full", "summary"}))
+    @ApiResponse(responseCode = "200", description = "List of roadmaps", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = RoadmapResponse.class))))
     @GetMapping
     @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
-    public Flux<Roadmap> getAllRoadmaps() {
-        return roadmapService.getAllRoadmaps();
+    public Flux<Projected<RoadmapResponse>> getAllRoadmaps(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+        return Mono.fromCallable(() -> roadmapService.getProjection(fields, view))
+                .flatMapMany(projection -> roadmapService.getAllRoadmaps(projection)
+                        .map(roadmap -> Projected.of(RoadmapResponse.from(roadmap), projection)));
     }
 
     @Operation(summary = "Get roadmap by ID", description = "Retrieve a specific roadmap by its ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Roadmap ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "Roadmap found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Roadmap.class)))
+    @ApiResponse(responseCode = "200", description = "Roadmap found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RoadmapResponse.class)))
     @ApiResponse(responseCode = "404", description = "Roadmap not found")
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
-    public Mono<ResponseEntity<Roadmap>> getRoadmapById(@PathVariable Long id) {
+    public Mono<ResponseEntity<RoadmapResponse>> getRoadmapById(@PathVariable Long id) {
         return roadmapService
                 .getRoadmapById(id)
+                .map(RoadmapResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> Mono.just(ResponseEntity.notFound().build()));
     }
 
+    @Operation(summary = "Get roadmap tree", description = "Retrieve the roadmap with its participants and its tasks grouped by feature, loaded in a fixed number of queries")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Roadmap ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "200", description = "Roadmap tree", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RoadmapTree.class)))
+    @ApiResponse(responseCode = "404", description = "Roadmap not found")
+    @GetMapping("/{id}/tree")
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW') and hasAuthority('FEATURE_VIEW') and hasAuthority('TASK_VIEW')")
+    public Mono<ResponseEntity<RoadmapTree>> getRoadmapTree(@PathVariable Long id) {
+        return roadmapService
+                .getRoadmapTree(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    @Operation(summary = "Get roadmap document", description = "Retrieve the roadmap with its participants, tasks and their features from the read model")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Roadmap ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "200", description = "Roadmap document", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RoadmapDocument.class)))
+    @ApiResponse(responseCode = "404", description = "Roadmap not found")
+    @GetMapping("/{id}/document")
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW') and hasAuthority('FEATURE_VIEW') and hasAuthority('TASK_VIEW')")
+    public Mono<ResponseEntity<RoadmapDocument>> getRoadmapDocument(@PathVariable Long id) {
+        return roadmapDocumentService
+                .getDocument(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    @Operation(summary = "Rebuild roadmap document", description = "Rebuild the read model document of a roadmap from the database")
+    @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Roadmap ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
+    @ApiResponse(responseCode = "200", description = "Rebuilt roadmap document", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RoadmapDocument.class)))
+    @ApiResponse(responseCode = "404", description = "Roadmap not found")
+    @PostMapping("/{id}/document/rebuild")
+    @PreAuthorize("hasAuthority('ROADMAP_EDIT')")
+    public Mono<ResponseEntity<RoadmapDocument>> rebuildRoadmapDocument(@PathVariable Long id) {
+        return roadmapDocumentService
+                .rebuild(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
     @Operation(summary = "Create a new roadmap", description = "Create a new roadmap with specified details")
-    @ApiResponse(responseCode = "200", description = "Roadmap created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Roadmap.class)))
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.HEADER, description = "Unique key of the request; a retry with the same key returns the original response instead of creating a duplicate", schema = @Schema(type = "string", example = "3f2b6c1e-6f1d-4a57-9a39-2f5d3c8e7b10"))
+    @ApiResponse(responseCode = "200", description = "Roadmap created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RoadmapResponse.class)))
     @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
     @PostMapping
     @PreAuthorize("hasAuthority('ROADMAP_EDIT')")
-    public Mono<ResponseEntity<Roadmap>> createRoadmap(@RequestBody Roadmap roadmap) {
-        return roadmapService
-                .createRoadmap(roadmap)
+    public Mono<ResponseEntity<RoadmapResponse>> createRoadmap(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody Roadmap roadmap,
+            @AuthenticationPrincipal User user) {
+        return idempotencyService
+                .execute(idempotencyKey, user.getId(), "roadmap.create", roadmap, RoadmapResponse.class,
+                        () -> roadmapService.createRoadmap(roadmap).map(RoadmapResponse::from))
                 .map(ResponseEntity::ok)
+                .onErrorResume(ResponseStatusException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).<RoadmapResponse>build()))
                 .onErrorResume(error -> {
                     log.error("Error creating roadmap: {}", error.getMessage(), error);
-                    if (error instanceof ServerWebInputException) {
-                        return Mono.just(ResponseEntity.badRequest().build());
-                    }
                     return Mono.just(ResponseEntity.badRequest().build());
                 });
     }
 
     @Operation(summary = "Update an existing roadmap", description = "Update roadmap information by ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Roadmap ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "Roadmap updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Roadmap.class)))
+    @ApiResponse(responseCode = "200", description = "Roadmap updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RoadmapResponse.class)))
     @ApiResponse(responseCode = "404", description = "Roadmap not found")
     @ApiResponse(responseCode = "400", description = "Invalid input")
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROADMAP_EDIT')")
-    public Mono<ResponseEntity<Roadmap>> updateRoadmap(@PathVariable Long id, @RequestBody Roadmap roadmap) {
+    public Mono<ResponseEntity<RoadmapResponse>> updateRoadmap(@PathVariable Long id, @RequestBody Roadmap roadmap) {
         return roadmapService
                 .updateRoadmap(id, roadmap)
+                .map(RoadmapResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> {
                     if (error.getMessage().contains("not found")) {
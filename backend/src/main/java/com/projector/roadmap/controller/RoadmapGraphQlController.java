@@ -0,0 +1,73 @@
+package com.projector.roadmap.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.core.util.BatchJoins;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.service.RoadmapService;
+import com.projector.task.model.Task;
+import com.projector.task.service.TaskService;
+import com.projector.user.model.User;
+import com.projector.user.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@RequiredArgsConstructor
+public class RoadmapGraphQlController {
+
+    private final RoadmapService roadmapService;
+    private final TaskService taskService;
+    private final UserService userService;
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
+    public Flux<Roadmap> roadmaps() {
+        return roadmapService.getAllRoadmaps();
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
+    public Mono<Roadmap> roadmap(@Argument Long id) {
+        return roadmapService
+                .getRoadmapById(id)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.empty());
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public Mono<Map<Roadmap, User>> author(List<Roadmap> roadmaps) {
+        return userService
+                .getUsersByIds(BatchJoins.keys(roadmaps, Roadmap::getAuthorId))
+                .collectList()
+                .map(users -> BatchJoins.toOne(roadmaps, Roadmap::getAuthorId, users, User::getId));
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public Mono<Map<Roadmap, List<User>>> participants(List<Roadmap> roadmaps) {
+        return userService
+                .getUsersByIds(BatchJoins.allKeys(roadmaps, Roadmap::getParticipantIds))
+                .collectList()
+                .map(users -> BatchJoins.toManyByIds(roadmaps, Roadmap::getParticipantIds, users, User::getId));
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('TASK_VIEW')")
+    public Mono<Map<Roadmap, List<Task>>> tasks(List<Roadmap> roadmaps) {
+        return taskService
+                .getTasksByRoadmapIds(BatchJoins.keys(roadmaps, Roadmap::getId))
+                .collectList()
+                .map(tasks -> BatchJoins.toMany(roadmaps, Roadmap::getId, tasks, Task::getRoadmapId));
+    }
+}
@@ -0,0 +1,28 @@
+package com.projector.roadmap.model;
+
+import java.util.List;
+
+import com.projector.feature.model.FeatureResponse;
+import com.projector.task.model.TaskResponse;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Roadmap with its participants, tasks and the features of those tasks")
+public class RoadmapDocument {
+
+    @Schema(description = "Roadmap, participants are listed in participantIds")
+    RoadmapResponse roadmap;
+
+    @ArraySchema(schema = @Schema(implementation = FeatureResponse.class, description = "Features referenced by the tasks, ordered by ID"))
+    List<FeatureResponse> features;
+
+    @ArraySchema(schema = @Schema(implementation = TaskResponse.class, description = "Tasks of the roadmap, ordered by ID"))
+    List<TaskResponse> tasks;
+}
@@ -0,0 +1,52 @@
+package com.projector.roadmap.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Roadmap returned by the API")
+public class RoadmapResponse {
+
+    @Schema(description = "Unique ID of roadmap", example = "1")
+    Long id;
+
+    @Schema(description = "Roadmap project name", example = "My Roadmap")
+    String projectName;
+
+    @Schema(description = "Roadmap creation date", example = "2024-01-01T00:00:00")
+    LocalDateTime createDate;
+
+    @Schema(description = "Roadmap last update date", example = "2024-01-02T00:00:00")
+    LocalDateTime updateDate;
+
+    @Schema(description = "Author user ID", example = "1")
+    Long authorId;
+
+    @Schema(description = "Roadmap mission", example = "To build amazing software")
+    String mission;
+
+    @Schema(description = "Roadmap description", example = "Detailed roadmap description")
+    String description;
+
+    @Schema(description = "List of participant user IDs", example = "[1, 2, 3]")
+    List<Long> participantIds;
+
+    public static RoadmapResponse from(Roadmap roadmap) {
+        return new RoadmapResponse(
+                roadmap.getId(),
+                roadmap.getProjectName(),
+                roadmap.getCreateDate(),
+                roadmap.getUpdateDate(),
+                roadmap.getAuthorId(),
+                roadmap.getMission(),
+                roadmap.getDescription(),
+                roadmap.getParticipantIds());
+    }
+}
@@ -0,0 +1,38 @@
+package com.projector.roadmap.model;
+
+import java.util.List;
+
+import com.projector.feature.model.FeatureResponse;
+import com.projector.task.model.TaskResponse;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Roadmap with its tasks grouped by feature")
+public class RoadmapTree {
+
+    @Schema(description = "Roadmap, participants are listed in participantIds")
+    RoadmapResponse roadmap;
+
+    @ArraySchema(schema = @Schema(implementation = FeatureNode.class, description = "Features of the roadmap tasks, ordered by ID"))
+    List<FeatureNode> features;
+
+    @Value
+    @Builder
+    @Jacksonized
+    @Schema(description = "Feature with the roadmap tasks that belong to it")
+    public static class FeatureNode {
+
+        @Schema(description = "Feature")
+        FeatureResponse feature;
+
+        @ArraySchema(schema = @Schema(implementation = TaskResponse.class, description = "Tasks of the feature in this roadmap, ordered by ID"))
+        List<TaskResponse> tasks;
+    }
+}
@@ -0,0 +1,137 @@
+package com.projector.roadmap.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Roadmap documents in Redis: one hash per roadmap with the fields {@code roadmap},
+ * {@code feature:<id>} and {@code task:<id>}, each holding the JSON of the response DTO.
+ *
+ * <p>Every incremental change bumps a per-roadmap stamp. A full document is only stored if the
+ * stamp did not move while it was built, and incremental changes are only applied to an
+ * existing document, so a build racing with a write never stores a stale snapshot.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoadmapDocumentRepository {
+
+    public static final String ROADMAP_FIELD = "roadmap";
+    public static final String FEATURE_FIELD_PREFIX = "feature:";
+    public static final String TASK_FIELD_PREFIX = "task:";
+
+    // The hash tag keeps a document and its stamp in one slot for the scripts on Redis Cluster
+    private static final String KEY_PREFIX = "projector:roadmap-doc:{";
+    private static final String STAMP_TTL_SECONDS = String.valueOf(Duration.ofDays(2).toSeconds());
+
+    private static final RedisScript<Long> PUT = RedisScript.of("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                for i = 2, #ARGV, 2 do
+                    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+                end
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> REMOVE = RedisScript.of("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('HDEL', KEYS[1], ARGV[2])
+            """, Long.class);
+
+    private static final RedisScript<Long> DELETE = RedisScript.of("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private static final RedisScript<Long> STORE = RedisScript.of("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            for i = 3, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public Mono<Map<String, String>> find(Long roadmapId) {
+        return redisTemplate.<String, String>opsForHash()
+                .entries(key(roadmapId))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    public Mono<Boolean> exists(Long roadmapId) {
+        return redisTemplate.hasKey(key(roadmapId));
+    }
+
+    public Mono<String> stamp(Long roadmapId) {
+        return redisTemplate.opsForValue()
+                .get(stampKey(roadmapId))
+                .defaultIfEmpty("0");
+    }
+
+    /**
+     * Replaces the document if no change was recorded since {@code expectedStamp} was read.
+     */
+    public Mono<Boolean> store(Long roadmapId, String expectedStamp, Map<String, String> fields, Duration ttl) {
+        List<String> args = new ArrayList<>(2 + fields.size() * 2);
+        args.add(expectedStamp);
+        args.add(String.valueOf(ttl.toSeconds()));
+        fields.forEach((field, json) -> {
+            args.add(field);
+            args.add(json);
+        });
+        return redisTemplate.execute(STORE, keys(roadmapId), args)
+                .next()
+                .map(stored -> stored == 1L);
+    }
+
+    /**
+     * Sets fields of an existing document; a missing document is left to be built on read.
+     */
+    public Mono<Void> put(Long roadmapId, Map<String, String> fields) {
+        List<String> args = new ArrayList<>(1 + fields.size() * 2);
+        args.add(STAMP_TTL_SECONDS);
+        fields.forEach((field, json) -> {
+            args.add(field);
+            args.add(json);
+        });
+        return redisTemplate.execute(PUT, keys(roadmapId), args).then();
+    }
+
+    public Mono<Void> remove(Long roadmapId, String field) {
+        return redisTemplate.execute(REMOVE, keys(roadmapId), List.of(STAMP_TTL_SECONDS, field)).then();
+    }
+
+    public Mono<Void> delete(Long roadmapId) {
+        return redisTemplate.execute(DELETE, keys(roadmapId), List.of(STAMP_TTL_SECONDS)).then();
+    }
+
+    private static List<String> keys(Long roadmapId) {
+        return List.of(key(roadmapId), stampKey(roadmapId));
+    }
+
+    private static String key(Long roadmapId) {
+        return KEY_PREFIX + roadmapId + "}";
+    }
+
+    private static String stampKey(Long roadmapId) {
+        return KEY_PREFIX + roadmapId + "}:stamp";
+    }
+}
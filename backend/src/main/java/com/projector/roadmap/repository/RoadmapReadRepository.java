@@ -0,0 +1,66 @@
+package com.projector.roadmap.repository;
+
+import java.util.Collection;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.core.util.RowProjection;
+import com.projector.roadmap.model.Roadmap;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class RoadmapReadRepository {
+
+    public static final String TABLE = "roadmaps";
+
+    private static final String FROM = " FROM " + TABLE + " r";
+    private static final String SELECT_BY_ID =
+            "SELECT " + RoadmapRowMapper.INSTANCE.selectList() + FROM + " WHERE r.id = :id";
+    private static final String SELECT_BY_IDS =
+            "SELECT " + RoadmapRowMapper.INSTANCE.selectList() + FROM + " WHERE r.id = ANY(:ids) ORDER BY r.id";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Roadmap> findAll() {
+        return findAll(RoadmapRowMapper.INSTANCE);
+    }
+
+    public Flux<Roadmap> findAll(RowProjection<Roadmap> projection) {
+        return databaseClient.sql("SELECT " + projection.selectList() + FROM)
+                .map(projection)
+                .all();
+    }
+
+    /**
+     * Like {@link #findAll(RowProjection)}, but reads the rows through a portal
+     * {@code fetchSize} at a time as they are requested. Must run in a transaction.
+     */
+    public Flux<Roadmap> stream(RowProjection<Roadmap> projection, int fetchSize) {
+        return databaseClient.sql("SELECT " + projection.selectList() + FROM)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(projection)
+                .all();
+    }
+
+    public Mono<Roadmap> findById(Long id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map(RoadmapRowMapper.INSTANCE)
+                .one();
+    }
+
+    public Flux<Roadmap> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_BY_IDS)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(RoadmapRowMapper.INSTANCE)
+                .all();
+    }
+}
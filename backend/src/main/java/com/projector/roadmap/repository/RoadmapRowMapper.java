@@ -0,0 +1,35 @@
+package com.projector.roadmap.repository;
+
+import java.time.LocalDateTime;
+
+import com.projector.core.util.LongArrayList;
+import com.projector.core.util.ProjectionCatalog;
+import com.projector.core.util.RowProjection;
+import com.projector.roadmap.model.Roadmap;
+
+/**
+ * Selectable columns of {@code roadmaps r} and their positional mappers to {@link Roadmap},
+ * bypassing the reflective entity converter on hot read paths.
+ * Participants are aggregated into the same row, so no extra query per roadmap is needed.
+ */
+public final class RoadmapRowMapper {
+
+    public static final ProjectionCatalog<Roadmap> PROJECTIONS = ProjectionCatalog.builder(Roadmap::new)
+            .column("id", "r.id", (row, i, roadmap) -> roadmap.setId(row.get(i, Long.class)))
+            .column("projectName", "r.project_name", (row, i, roadmap) -> roadmap.setProjectName(row.get(i, String.class)))
+            .column("createDate", "r.create_date", (row, i, roadmap) -> roadmap.setCreateDate(row.get(i, LocalDateTime.class)))
+            .column("updateDate", "r.update_date", (row, i, roadmap) -> roadmap.setUpdateDate(row.get(i, LocalDateTime.class)))
+            .column("authorId", "r.author_id", (row, i, roadmap) -> roadmap.setAuthorId(row.get(i, Long.class)))
+            .column("mission", "r.mission", (row, i, roadmap) -> roadmap.setMission(row.get(i, String.class)))
+            .column("description", "r.description", (row, i, roadmap) -> roadmap.setDescription(row.get(i, String.class)))
+            .column("participantIds",
+                    "ARRAY(SELECT ru.user_id FROM roadmap_users ru WHERE ru.roadmap_id = r.id ORDER BY ru.id) AS participant_ids",
+                    (row, i, roadmap) -> roadmap.setParticipantIds(LongArrayList.fromBoxed(row.get(i, Long[].class))))
+            .summary("projectName", "updateDate", "authorId")
+            .build();
+
+    public static final RowProjection<Roadmap> INSTANCE = PROJECTIONS.full();
+
+    private RoadmapRowMapper() {
+    }
+}
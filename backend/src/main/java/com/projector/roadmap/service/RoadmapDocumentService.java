@@ -0,0 +1,268 @@
+package com.projector.roadmap.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.projector.core.component.JsonCodecs;
+import com.projector.core.util.AfterCommit;
+import com.projector.core.util.SingleFlight;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.model.RoadmapDocument;
+import com.projector.roadmap.model.RoadmapResponse;
+import com.projector.roadmap.repository.RoadmapDocumentRepository;
+import com.projector.roadmap.repository.RoadmapReadRepository;
+import com.projector.roadmap.repository.RoadmapRowMapper;
+import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+import com.projector.task.repository.TaskReadRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read model of the roadmap screen: the roadmap with its participants, tasks and their
+ * features, kept as a Redis document and served with one key lookup.
+ *
+ * <p>Write paths of roadmaps, features and tasks report their changes here; the changes are
+ * applied to existing documents after the transaction commits. Missing documents are built
+ * from Postgres on first read. If Redis is unavailable the document is assembled from Postgres
+ * on every read, and a failed update leaves the document to its TTL and the rebuild job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoadmapDocumentService {
+
+    private final RoadmapDocumentRepository documentRepository;
+    private final RoadmapReadRepository roadmapReadRepository;
+    private final TaskReadRepository taskReadRepository;
+    private final FeatureReadRepository featureReadRepository;
+    private final JsonCodecs jsonCodecs;
+    private final SingleFlight<Long, RoadmapDocument> builds = new SingleFlight<>();
+
+    @Value("${projector.roadmap-document.ttl:1h}")
+    private Duration ttl;
+
+    @Value("${projector.roadmap-document.redis-timeout:500ms}")
+    private Duration redisTimeout;
+
+    public Mono<RoadmapDocument> getDocument(Long roadmapId) {
+        return documentRepository.find(roadmapId)
+                .timeout(redisTimeout)
+                .onErrorResume(error -> {
+                    log.warn("Roadmap document {} unavailable in Redis: {}", roadmapId, error.toString());
+                    return Mono.just(Map.of());
+                })
+                .flatMap(fields -> {
+                    RoadmapDocument document = fields.isEmpty() ? null : assemble(roadmapId, fields);
+                    return document != null ? Mono.just(document) : rebuild(roadmapId);
+                });
+    }
+
+    /**
+     * Builds the document from Postgres and stores it unless a change raced with the build.
+     */
+    public Mono<RoadmapDocument> rebuild(Long roadmapId) {
+        return builds.execute(roadmapId, id -> documentRepository.stamp(id)
+                .timeout(redisTimeout)
+                .onErrorResume(error -> Mono.just(""))
+                .flatMap(stamp -> load(id).flatMap(document -> stamp.isEmpty()
+                        ? Mono.just(document)
+                        : documentRepository.store(id, stamp, toFields(document), ttl)
+                                .timeout(redisTimeout)
+                                .doOnNext(stored -> {
+                                    if (!stored) {
+                                        log.debug("Roadmap document {} changed while building, not stored", id);
+                                    }
+                                })
+                                .onErrorResume(error -> redisFailed("store", id, error))
+                                .thenReturn(document))));
+    }
+
+    /**
+     * Repairs drift of the stored documents: every roadmap that has a document gets it rebuilt.
+     */
+    @Scheduled(cron = "${projector.roadmap-document.rebuild-cron:0 0 3 * * *}")
+    public Mono<Void> rebuildAll() {
+        return roadmapReadRepository.findAll(RoadmapRowMapper.PROJECTIONS.select("id", null))
+                .map(Roadmap::getId)
+                .filterWhen(id -> documentRepository.exists(id).onErrorReturn(false))
+                .flatMap(id -> rebuild(id).onErrorResume(error -> {
+                    log.warn("Cannot rebuild roadmap document {}: {}", id, error.toString());
+                    return Mono.empty();
+                }), 4)
+                .count()
+                .doOnNext(count -> log.info("Rebuilt {} roadmap documents", count))
+                .then();
+    }
+
+    public Mono<Void> onRoadmapSaved(Roadmap roadmap) {
+        Long roadmapId = roadmap.getId();
+        Map<String, String> fields = Map.of(RoadmapDocumentRepository.ROADMAP_FIELD, json(RoadmapResponse.from(roadmap)));
+        return AfterCommit.run(() -> put(roadmapId, fields));
+    }
+
+    public Mono<Void> onRoadmapDeleted(Long roadmapId) {
+        return AfterCommit.run(() -> apply("delete", roadmapId, documentRepository.delete(roadmapId)));
+    }
+
+    /**
+     * @param previousRoadmapId roadmap of the task before the change, {@code null} for new tasks
+     */
+    public Mono<Void> onTaskSaved(Task task, Long previousRoadmapId) {
+        TaskResponse snapshot = TaskResponse.from(task);
+        // The feature is written along with the task in case it is new to this roadmap
+        return featureReadRepository.findById(snapshot.getFeatureId())
+                .map(feature -> {
+                    Map<String, String> fields = new LinkedHashMap<>();
+                    fields.put(taskField(snapshot.getId()), json(snapshot));
+                    fields.put(featureField(feature.getId()), json(FeatureResponse.from(feature)));
+                    return fields;
+                })
+                .flatMap(fields -> AfterCommit.run(() -> {
+                    Mono<Void> moved = previousRoadmapId != null && !previousRoadmapId.equals(snapshot.getRoadmapId())
+                            ? apply("remove", previousRoadmapId,
+                                    documentRepository.remove(previousRoadmapId, taskField(snapshot.getId())))
+                            : Mono.empty();
+                    return moved.then(put(snapshot.getRoadmapId(), fields));
+                }));
+    }
+
+    public Mono<Void> onTaskDeleted(Task task) {
+        Long roadmapId = task.getRoadmapId();
+        String field = taskField(task.getId());
+        return AfterCommit.run(() -> apply("remove", roadmapId, documentRepository.remove(roadmapId, field)));
+    }
+
+    public Mono<Void> onFeatureSaved(Feature feature) {
+        Map<String, String> fields = Map.of(featureField(feature.getId()), json(FeatureResponse.from(feature)));
+        return taskReadRepository.findRoadmapIdsByFeatureId(feature.getId())
+                .collectList()
+                .flatMap(roadmapIds -> AfterCommit.run(() -> Flux.fromIterable(roadmapIds)
+                        .flatMap(roadmapId -> put(roadmapId, fields))
+                        .then()));
+    }
+
+    /**
+     * Drops the documents of roadmaps changed by a bulk write; they are rebuilt on the next read.
+     */
+    public Mono<Void> onBulkChange(Collection<Long> roadmapIds) {
+        Set<Long> ids = Set.copyOf(roadmapIds);
+        return AfterCommit.run(() -> Flux.fromIterable(ids)
+                .flatMap(roadmapId -> apply("delete", roadmapId, documentRepository.delete(roadmapId)))
+                .then());
+    }
+
+    private Mono<RoadmapDocument> load(Long roadmapId) {
+        return roadmapReadRepository.findById(roadmapId)
+                .switchIfEmpty(Mono.error(new ServerWebInputException("Roadmap not found")))
+                .zipWith(taskReadRepository.findByRoadmapId(roadmapId).collectList())
+                .flatMap(roadmapAndTasks -> {
+                    List<Task> tasks = roadmapAndTasks.getT2();
+                    Set<Long> featureIds = new HashSet<>();
+                    tasks.forEach(task -> featureIds.add(task.getFeatureId()));
+                    return featureReadRepository.findAllById(featureIds)
+                            .map(FeatureResponse::from)
+                            .collectList()
+                            .map(features -> RoadmapDocument.builder()
+                                    .roadmap(RoadmapResponse.from(roadmapAndTasks.getT1()))
+                                    .features(features)
+                                    .tasks(tasks.stream().map(TaskResponse::from).toList())
+                                    .build());
+                });
+    }
+
+    /**
+     * @return the document, or {@code null} if the stored fields are incomplete or unreadable
+     */
+    private RoadmapDocument assemble(Long roadmapId, Map<String, String> fields) {
+        try {
+            String roadmapJson = fields.get(RoadmapDocumentRepository.ROADMAP_FIELD);
+            if (roadmapJson == null) {
+                return null;
+            }
+            List<TaskResponse> tasks = new ArrayList<>();
+            Map<Long, FeatureResponse> features = new LinkedHashMap<>();
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                if (field.getKey().startsWith(RoadmapDocumentRepository.TASK_FIELD_PREFIX)) {
+                    tasks.add(jsonCodecs.readerFor(TaskResponse.class).readValue(field.getValue()));
+                } else if (field.getKey().startsWith(RoadmapDocumentRepository.FEATURE_FIELD_PREFIX)) {
+                    FeatureResponse feature = jsonCodecs.readerFor(FeatureResponse.class).readValue(field.getValue());
+                    features.put(feature.getId(), feature);
+                }
+            }
+            tasks.sort(Comparator.comparing(TaskResponse::getId));
+            // Features whose last task moved away stay in the hash until the next rebuild
+            Set<Long> referenced = new HashSet<>();
+            tasks.forEach(task -> referenced.add(task.getFeatureId()));
+            List<FeatureResponse> referencedFeatures = features.values().stream()
+                    .filter(feature -> referenced.contains(feature.getId()))
+                    .sorted(Comparator.comparing(FeatureResponse::getId))
+                    .toList();
+            return RoadmapDocument.builder()
+                    .roadmap(jsonCodecs.readerFor(RoadmapResponse.class).readValue(roadmapJson))
+                    .features(referencedFeatures)
+                    .tasks(tasks)
+                    .build();
+        } catch (IOException e) {
+            log.warn("Cannot read roadmap document {}, rebuilding: {}", roadmapId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, String> toFields(RoadmapDocument document) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(RoadmapDocumentRepository.ROADMAP_FIELD, json(document.getRoadmap()));
+        document.getFeatures().forEach(feature -> fields.put(featureField(feature.getId()), json(feature)));
+        document.getTasks().forEach(task -> fields.put(taskField(task.getId()), json(task)));
+        return fields;
+    }
+
+    private Mono<Void> put(Long roadmapId, Map<String, String> fields) {
+        return apply("update", roadmapId, documentRepository.put(roadmapId, fields));
+    }
+
+    private Mono<Void> apply(String operation, Long roadmapId, Mono<Void> change) {
+        return change.timeout(redisTimeout).onErrorResume(error -> redisFailed(operation, roadmapId, error));
+    }
+
+    private <T> Mono<T> redisFailed(String operation, Long roadmapId, Throwable error) {
+        log.warn("Cannot {} roadmap document {}: {}", operation, roadmapId, error.toString());
+        return Mono.empty();
+    }
+
+    private String json(Object value) {
+        try {
+            return jsonCodecs.writerFor(value.getClass()).writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String taskField(Long taskId) {
+        return RoadmapDocumentRepository.TASK_FIELD_PREFIX + taskId;
+    }
+
+    private static String featureField(Long featureId) {
+        return RoadmapDocumentRepository.FEATURE_FIELD_PREFIX + featureId;
+    }
+}
@@ -1,16 +1,32 @@
 package com.projector.roadmap.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.change.model.ChangeAction;
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.cache.EntityCache;
+import com.projector.core.util.RowProjection;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.feature.repository.FeatureReadRepository;
 import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.model.RoadmapResponse;
+import com.projector.roadmap.model.RoadmapTree;
 import com.projector.roadmap.model.RoadmapUser;
+import com.projector.roadmap.repository.RoadmapReadRepository;
+import com.projector.roadmap.repository.RoadmapRowMapper;
 import com.projector.roadmap.repository.RoadmapRepository;
 import com.projector.roadmap.repository.RoadmapUserRepository;
+import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+import com.projector.task.repository.TaskReadRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,18 +39,70 @@ import reactor.core.publisher.Mono;
 public class RoadmapService {
 
     private final RoadmapRepository roadmapRepository;
+    private final RoadmapReadRepository roadmapReadRepository;
     private final RoadmapUserRepository roadmapUserRepository;
+    private final TaskReadRepository taskReadRepository;
+    private final FeatureReadRepository featureReadRepository;
+    private final EntityCache<Roadmap> roadmapCache;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
 
     public Flux<Roadmap> getAllRoadmaps() {
-        return roadmapRepository.findAll()
-                .flatMap(this::loadParticipants);
+        return roadmapReadRepository.findAll();
+    }
+
+    /**
+     * Resolves the columns of the requested fields or view.
+     *
+     * @throws ServerWebInputException for unknown fields or views
+     */
+    public RowProjection<Roadmap> getProjection(String fields, String view) {
+        return RoadmapRowMapper.PROJECTIONS.select(fields, view);
+    }
+
+    /**
+     * Lists roadmaps reading only the columns of the projection.
+     */
+    public Flux<Roadmap> getAllRoadmaps(RowProjection<Roadmap> projection) {
+        return roadmapReadRepository.findAll(projection);
     }
 
     public Mono<Roadmap> getRoadmapById(Long id) {
-        return roadmapRepository
-                .findById(id)
-                .switchIfEmpty(Mono.error(new ServerWebInputException("Roadmap not found")))
-                .flatMap(this::loadParticipants);
+        return roadmapCache
+                .get(id, roadmapReadRepository::findById)
+                .switchIfEmpty(Mono.error(new ServerWebInputException("Roadmap not found")));
+    }
+
+    public Flux<Roadmap> getRoadmapsByIds(Collection<Long> ids) {
+        return roadmapReadRepository.findAllById(ids);
+    }
+
+    /**
+     * Loads the roadmap with its participants, its tasks and their features in three queries
+     * that run concurrently, whatever the size of the roadmap, and groups the tasks by feature.
+     */
+    public Mono<RoadmapTree> getRoadmapTree(Long id) {
+        return Mono.zip(
+                        roadmapReadRepository.findById(id)
+                                .switchIfEmpty(Mono.error(new ServerWebInputException("Roadmap not found"))),
+                        taskReadRepository.findByRoadmapId(id).collectList(),
+                        featureReadRepository.findByRoadmapId(id).collectList())
+                .map(loaded -> {
+                    Map<Long, List<TaskResponse>> tasksByFeature = loaded.getT2().stream()
+                            .collect(Collectors.groupingBy(Task::getFeatureId,
+                                    Collectors.mapping(TaskResponse::from, Collectors.toList())));
+                    // A task added between the queries may reference a feature not loaded, it is left out
+                    List<RoadmapTree.FeatureNode> features = loaded.getT3().stream()
+                            .map(feature -> RoadmapTree.FeatureNode.builder()
+                                    .feature(FeatureResponse.from(feature))
+                                    .tasks(tasksByFeature.getOrDefault(feature.getId(), List.of()))
+                                    .build())
+                            .toList();
+                    return RoadmapTree.builder()
+                            .roadmap(RoadmapResponse.from(loaded.getT1()))
+                            .features(features)
+                            .build();
+                });
     }
 
     @Transactional
@@ -54,7 +122,9 @@ public class RoadmapService {
                     }
                     return Mono.just(savedRoadmap);
                 })
-                .flatMap(this::loadParticipants);
+                .flatMap(this::loadParticipants)
+                .flatMap(savedRoadmap -> changeNotifier.roadmapChanged(ChangeAction.CREATED, savedRoadmap.getId())
+                        .thenReturn(savedRoadmap));
     }
 
     @Transactional
@@ -76,7 +146,11 @@ public class RoadmapService {
                     }
                     return Mono.just(updatedRoadmap);
                 })
-                .flatMap(this::loadParticipants);
+                .flatMap(updatedRoadmap -> roadmapCache.evict(id).thenReturn(updatedRoadmap))
+                .flatMap(this::loadParticipants)
+                .flatMap(updatedRoadmap -> roadmapDocumentService.onRoadmapSaved(updatedRoadmap)
+                        .then(changeNotifier.roadmapChanged(ChangeAction.UPDATED, id))
+                        .thenReturn(updatedRoadmap));
     }
 
     @Transactional
@@ -86,7 +160,9 @@ public class RoadmapService {
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Roadmap not found")))
                 .flatMap(roadmap -> deleteRoadmapParticipants(id)
                         .then(roadmapRepository.deleteById(id)))
-                .then();
+                .then(roadmapCache.evict(id))
+                .then(roadmapDocumentService.onRoadmapDeleted(id))
+                .then(changeNotifier.roadmapChanged(ChangeAction.DELETED, id));
     }
 
     private Mono<Boolean> validateRoadmap(Roadmap roadmap) {
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projector.core.config.Constants;
 import com.projector.role.model.Role;
 import com.projector.role.service.RoleService;
 
@@ -35,7 +36,12 @@ import reactor.core.publisher.Mono;
 })
 @RestController
 @RequiredArgsConstructor
-@RequestMapping(value = "/api/roles", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/roles", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class RoleController {
 
     private final RoleService roleService;
@@ -17,7 +17,8 @@ public enum Authority {
     TASK_VIEW("TASK_VIEW"),
     TASK_EDIT("TASK_EDIT"),
     FA_VIEW("FA_VIEW"),
-    FA_EDIT("FA_EDIT");
+    FA_EDIT("FA_EDIT"),
+    MONITORING_VIEW("MONITORING_VIEW");
 
     private final String name;
 
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.core.cache.EntityCache;
 import com.projector.role.model.Authority;
 import com.projector.role.model.Role;
 import com.projector.role.repository.RoleRepository;
@@ -26,14 +27,15 @@ public class RoleService {
     private static final Pattern VALIDATION_PATTERN = Pattern.compile("^(?:\\p{L}|[_-]|\\d|\\s(?!\\s))+$");
 
     private final RoleRepository roleRepository;
+    private final EntityCache<Role> roleCache;
 
     public Flux<Role> getAllRoles() {
         return roleRepository.findAll().map(this::loadAuthoritiesFromString);
     }
 
     public Mono<Role> getRoleById(Long id) {
-        return roleRepository
-                .findById(id)
+        return roleCache
+                .get(id, roleRepository::findById)
                 .map(this::loadAuthoritiesFromString)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Role not found")));
     }
@@ -85,7 +87,8 @@ public class RoleService {
                         }))
                         .flatMap(roleToSave -> roleRepository
                                 .save(roleToSave)
-                                .map(this::loadAuthoritiesFromString)));
+                                .map(this::loadAuthoritiesFromString)))
+                .flatMap(savedRole -> roleCache.evict(id).thenReturn(savedRole));
     }
 
     @Transactional
@@ -97,7 +100,8 @@ public class RoleService {
                         return Mono.error(new ServerWebInputException("Role not found"));
                     }
                     return roleRepository.deleteCascadeById(id).then();
-                });
+                })
+                .then(roleCache.evict(id));
     }
 
     public Mono<Role> updateAuthorities(Long id, Set<String> authorities) {
@@ -111,7 +115,8 @@ public class RoleService {
                         }))
                         .flatMap(roleToSave -> roleRepository
                                 .save(roleToSave)
-                                .map(this::loadAuthoritiesFromString)));
+                                .map(this::loadAuthoritiesFromString)))
+                .flatMap(savedRole -> roleCache.evict(id).thenReturn(savedRole));
     }
 
     private Mono<Boolean> validateRole(Role role) {
@@ -147,7 +152,8 @@ public class RoleService {
                 Authority.FEATURE_VIEW.getName(),
                 Authority.FEATURE_EDIT.getName(),
                 Authority.TASK_VIEW.getName(),
-                Authority.TASK_EDIT.getName());
+                Authority.TASK_EDIT.getName(),
+                Authority.MONITORING_VIEW.getName());
 
         return Flux.fromIterable(authorities)
                 .filter(auth -> !validAuthorityNames.contains(auth))
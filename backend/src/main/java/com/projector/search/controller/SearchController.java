@@ -0,0 +1,62 @@
+package com.projector.search.controller;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projector.change.model.ChangeEntity;
+import com.projector.core.config.Constants;
+import com.projector.search.model.SearchHit;
+import com.projector.search.service.SearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@ApiResponses({
+        @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/api/search", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Operation(summary = "Search", description = "Full-text search in roadmaps, features and tasks the user may view, best matches first. "
+            + "The query supports words, \"quoted phrases\", or and -excluded words")
+    @Parameter(in = ParameterIn.QUERY, name = "q", required = true, description = "Search query", schema = @Schema(type = "string", example = "payment -legacy"))
+    @Parameter(in = ParameterIn.QUERY, name = "types", description = "Comma-separated entity types to search, all by default", schema = @Schema(type = "string", example = "TASK,FEATURE"))
+    @Parameter(in = ParameterIn.QUERY, name = "offset", description = "Number of hits to skip (0-1000)", schema = @Schema(type = "integer", format = "int32", example = "0"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of hits to return (1-100, default 20)", schema = @Schema(type = "integer", format = "int32", example = "20"))
+    @ApiResponse(responseCode = "200", description = "Ranked hits", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = SearchHit.class))))
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public Flux<SearchHit> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<ChangeEntity> types,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        return searchService.search(q, types, offset, limit, authentication.getAuthorities());
+    }
+}
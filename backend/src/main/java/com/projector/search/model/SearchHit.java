@@ -0,0 +1,31 @@
+package com.projector.search.model;
+
+import com.projector.change.model.ChangeEntity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+@Schema(description = "Entity matching a search query")
+public class SearchHit {
+
+    @Schema(description = "Entity type", example = "TASK")
+    ChangeEntity entity;
+
+    @Schema(description = "ID of the entity", example = "42")
+    Long id;
+
+    @Schema(description = "Summary of a task or feature, project name of a roadmap", example = "Payment gateway")
+    String title;
+
+    @Schema(description = "HTML-escaped fragments of the text with matches wrapped in <mark>",
+            example = "Integrate the <mark>payment</mark> provider")
+    String headline;
+
+    @Schema(description = "Relevance, higher is better; matches in the title rank above matches in the description", example = "0.6")
+    Float rank;
+}
@@ -0,0 +1,98 @@
+package com.projector.search.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.change.model.ChangeEntity;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.roadmap.repository.RoadmapReadRepository;
+import com.projector.search.model.SearchHit;
+import com.projector.task.repository.TaskReadRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Ranked full-text search over the {@code search_vector} columns maintained by triggers
+ * (see V005__full_text_search.sql).
+ *
+ * <p>The {@code simple} configuration does no stemming, so the last word of the query matches as
+ * a prefix: "задач" finds both "задача" and "задачи", and a word being typed already matches.
+ * A negated last word stays exact, so {@code -draft} does not exclude "drafted".
+ *
+ * <p>Every entity type contributes its best {@code offset + limit} matches from its GIN index;
+ * the page is cut from their union, and only the rows of the page are read again for the
+ * headline, which is the expensive part of the query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    public static final String HIGHLIGHT_START = "\u0002";
+    public static final String HIGHLIGHT_STOP = "\u0003";
+
+    // Appends :* to the final lexeme of the query text, unless it is negated
+    private static final String TSQUERY =
+            "regexp_replace(websearch_to_tsquery('simple', :query)::text, '(?<!!)(''(?:[^'']|'''')*'')$', '\\1:*')::tsquery";
+    // Normalization 32 maps the rank to rank / (rank + 1), comparable across entity types
+    private static final String MATCHES = """
+            (SELECT '%1$s' AS entity, id, ts_rank_cd(search_vector, %2$s, 32) AS rank FROM %3$s
+            WHERE search_vector @@ %2$s ORDER BY rank DESC, id LIMIT :window)""";
+    private static final String SEARCH = """
+            WITH hits AS (%s),
+            page AS (SELECT entity, id, rank FROM hits ORDER BY rank DESC, entity, id LIMIT :limit OFFSET :offset)
+            SELECT p.entity, p.id, p.rank, d.title, ts_headline('simple', d.body, %s, :headlineOptions) AS headline
+            FROM page p
+            JOIN LATERAL (%s) d ON TRUE
+            ORDER BY p.rank DESC, p.entity, p.id
+            """;
+    private static final String HEADLINE_OPTIONS = "StartSel=\"" + HIGHLIGHT_START + "\", StopSel=\"" + HIGHLIGHT_STOP
+            + "\", MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    private static final Map<ChangeEntity, String> TABLES = Map.of(
+            ChangeEntity.TASK, TaskReadRepository.TABLE,
+            ChangeEntity.FEATURE, FeatureReadRepository.TABLE,
+            ChangeEntity.ROADMAP, RoadmapReadRepository.TABLE);
+    private static final Map<ChangeEntity, String> DOCUMENTS = Map.of(
+            ChangeEntity.TASK, "SELECT summary AS title, concat_ws(' ', summary, description) AS body FROM "
+                    + TaskReadRepository.TABLE + " WHERE p.entity = 'TASK' AND id = p.id",
+            ChangeEntity.FEATURE, "SELECT summary AS title, concat_ws(' ', summary, description) AS body FROM "
+                    + FeatureReadRepository.TABLE + " WHERE p.entity = 'FEATURE' AND id = p.id",
+            ChangeEntity.ROADMAP, "SELECT project_name AS title, concat_ws(' ', project_name, mission, description) AS body FROM "
+                    + RoadmapReadRepository.TABLE + " WHERE p.entity = 'ROADMAP' AND id = p.id");
+
+    public static final Set<ChangeEntity> SEARCHABLE = TABLES.keySet();
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @param entities non-empty subset of {@link #SEARCHABLE}
+     * @return hits with the raw headline, matches wrapped in {@link #HIGHLIGHT_START} and {@link #HIGHLIGHT_STOP}
+     */
+    public Flux<SearchHit> search(String query, Set<ChangeEntity> entities, int offset, int limit) {
+        String matches = entities.stream().sorted()
+                .map(entity -> MATCHES.formatted(entity.name(), TSQUERY, TABLES.get(entity)))
+                .collect(Collectors.joining(" UNION ALL "));
+        String documents = entities.stream().sorted()
+                .map(DOCUMENTS::get)
+                .collect(Collectors.joining(" UNION ALL "));
+        return databaseClient.sql(SEARCH.formatted(matches, TSQUERY, documents))
+                .bind("query", query)
+                .bind("window", offset + limit)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .bind("headlineOptions", HEADLINE_OPTIONS)
+                .map((row, metadata) -> SearchHit.builder()
+                        .entity(ChangeEntity.valueOf(row.get("entity", String.class)))
+                        .id(row.get("id", Long.class))
+                        .title(row.get("title", String.class))
+                        .headline(row.get("headline", String.class))
+                        .rank(row.get("rank", Float.class))
+                        .build())
+                .all();
+    }
+}
@@ -0,0 +1,87 @@
+package com.projector.search.service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.HtmlUtils;
+
+import com.projector.change.model.ChangeEntity;
+import com.projector.search.model.SearchHit;
+import com.projector.search.repository.SearchRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Full-text search across roadmaps, features and tasks. Only entity types the caller may
+ * view are searched. Queries use the web search syntax of PostgreSQL: words, "phrases",
+ * {@code or} and {@code -excluded}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    public static final int MAX_QUERY_LENGTH = 200;
+    public static final int MAX_LIMIT = 100;
+    public static final int DEFAULT_LIMIT = 20;
+    // Ranking deeper pages costs more than anyone reads
+    public static final int MAX_OFFSET = 1000;
+
+    private final SearchRepository searchRepository;
+
+    /**
+     * @param types entity types to search, {@code null} or empty for all the caller may view
+     */
+    public Flux<SearchHit> search(String query, List<ChangeEntity> types, Integer offset, Integer limit,
+            Collection<? extends GrantedAuthority> authorities) {
+        if (query == null || query.isBlank()) {
+            return Flux.error(new ServerWebInputException("Query must not be empty"));
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            return Flux.error(new ServerWebInputException("Query must not be longer than " + MAX_QUERY_LENGTH + " characters"));
+        }
+        int from = offset == null ? 0 : offset;
+        if (from < 0 || from > MAX_OFFSET) {
+            return Flux.error(new ServerWebInputException("Offset must be between 0 and " + MAX_OFFSET));
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            return Flux.error(new ServerWebInputException("Limit must be between 1 and " + MAX_LIMIT));
+        }
+        Set<ChangeEntity> requested = types == null || types.isEmpty()
+                ? SearchRepository.SEARCHABLE
+                : EnumSet.copyOf(types);
+        if (!SearchRepository.SEARCHABLE.containsAll(requested)) {
+            return Flux.error(new ServerWebInputException("Searchable types are " + SearchRepository.SEARCHABLE));
+        }
+        Set<String> granted = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        Set<ChangeEntity> entities = requested.stream()
+                .filter(entity -> granted.contains(entity.getViewAuthority()))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ChangeEntity.class)));
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        return searchRepository.search(query.strip(), entities, from, size)
+                .map(hit -> hit.toBuilder().headline(highlight(hit.getHeadline())).build());
+    }
+
+    /**
+     * Escapes the stored text, so the only markup left in the headline is the highlighting.
+     */
+    private static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(SearchRepository.HIGHLIGHT_START, "<mark>")
+                .replace(SearchRepository.HIGHLIGHT_STOP, "</mark>");
+    }
+}
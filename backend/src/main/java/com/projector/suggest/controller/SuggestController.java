@@ -0,0 +1,81 @@
+package com.projector.suggest.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projector.core.config.Constants;
+import com.projector.suggest.model.SuggestEntity;
+import com.projector.suggest.model.Suggestion;
+import com.projector.suggest.service.SuggestService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@ApiResponses({
+        @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/api/suggest", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @Operation(summary = "Suggest users", description = "Users whose email contains or resembles the text, emails starting with it first")
+    @Parameter(in = ParameterIn.QUERY, name = "q", required = true, description = "Text typed so far", schema = @Schema(type = "string", example = "adm"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of suggestions (1-50, default 10)", schema = @Schema(type = "integer", format = "int32", example = "10"))
+    @ApiResponse(responseCode = "200", description = "Suggestions", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Suggestion.class))))
+    @GetMapping("/users")
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public Flux<Suggestion> suggestUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return suggest(SuggestEntity.USER, q, limit);
+    }
+
+    @Operation(summary = "Suggest roadmaps", description = "Roadmaps whose project name contains or resembles the text, names starting with it first")
+    @Parameter(in = ParameterIn.QUERY, name = "q", required = true, description = "Text typed so far", schema = @Schema(type = "string", example = "proj"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of suggestions (1-50, default 10)", schema = @Schema(type = "integer", format = "int32", example = "10"))
+    @ApiResponse(responseCode = "200", description = "Suggestions", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Suggestion.class))))
+    @GetMapping("/roadmaps")
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
+    public Flux<Suggestion> suggestRoadmaps(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return suggest(SuggestEntity.ROADMAP, q, limit);
+    }
+
+    @Operation(summary = "Suggest functional areas", description = "Functional areas whose name contains or resembles the text, names starting with it first")
+    @Parameter(in = ParameterIn.QUERY, name = "q", required = true, description = "Text typed so far", schema = @Schema(type = "string", example = "pay"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of suggestions (1-50, default 10)", schema = @Schema(type = "integer", format = "int32", example = "10"))
+    @ApiResponse(responseCode = "200", description = "Suggestions", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Suggestion.class))))
+    @GetMapping("/functional-areas")
+    @PreAuthorize("hasAuthority('FA_VIEW')")
+    public Flux<Suggestion> suggestFunctionalAreas(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return suggest(SuggestEntity.FUNCTIONAL_AREA, q, limit);
+    }
+
+    private Flux<Suggestion> suggest(SuggestEntity entity, String text, Integer limit) {
+        return suggestService.suggest(entity, text, limit).flatMapIterable(suggestions -> suggestions);
+    }
+}
@@ -0,0 +1,26 @@
+package com.projector.suggest.model;
+
+/**
+ * Entity types offered by autocomplete, with the column matched against the typed text.
+ */
+public enum SuggestEntity {
+    USER("users", "email"),
+    ROADMAP("roadmaps", "project_name"),
+    FUNCTIONAL_AREA("functional_areas", "name");
+
+    private final String table;
+    private final String column;
+
+    SuggestEntity(String table, String column) {
+        this.table = table;
+        this.column = column;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,19 @@
+package com.projector.suggest.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Autocomplete suggestion")
+public class Suggestion {
+
+    @Schema(description = "ID of the entity", example = "1")
+    Long id;
+
+    @Schema(description = "Email of a user, project name of a roadmap or name of a functional area", example = "admin")
+    String label;
+}
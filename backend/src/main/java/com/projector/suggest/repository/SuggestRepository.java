@@ -0,0 +1,47 @@
+package com.projector.suggest.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.suggest.model.SuggestEntity;
+import com.projector.suggest.model.Suggestion;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Autocomplete over the trigram indexes of V006__autocomplete.sql. Labels containing the
+ * text are found with {@code ILIKE}, misspelt ones with the similarity operator; labels
+ * starting with the text come first, then the most similar ones.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SuggestRepository {
+
+    private static final String SUGGEST = """
+            SELECT id, %2$s AS label FROM %1$s
+            WHERE %2$s ILIKE :contains OR %2$s %% :text
+            ORDER BY %2$s NOT ILIKE :prefix, similarity(%2$s, :text) DESC, %2$s, id
+            LIMIT :limit
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Suggestion> suggest(SuggestEntity entity, String text, int limit) {
+        String literal = escapeLike(text);
+        return databaseClient.sql(SUGGEST.formatted(entity.getTable(), entity.getColumn()))
+                .bind("contains", "%" + literal + "%")
+                .bind("prefix", literal + "%")
+                .bind("text", text)
+                .bind("limit", limit)
+                .map((row, metadata) -> Suggestion.builder()
+                        .id(row.get("id", Long.class))
+                        .label(row.get("label", String.class))
+                        .build())
+                .all();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
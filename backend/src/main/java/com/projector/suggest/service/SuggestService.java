@@ -0,0 +1,87 @@
+package com.projector.suggest.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projector.core.util.SingleFlight;
+import com.projector.suggest.model.SuggestEntity;
+import com.projector.suggest.model.Suggestion;
+import com.projector.suggest.repository.SuggestRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Autocomplete for pickers: the best matching users, roadmaps or functional areas for the
+ * text typed so far.
+ *
+ * <p>Short texts match the most rows and are typed by everyone, so their results are kept in
+ * a small cache on this node for {@code projector.suggest.cache.ttl}; a new or renamed entity
+ * may be missing from them for that long. Longer texts are selective enough for the index.
+ */
+@Service
+public class SuggestService {
+
+    public static final int MAX_TEXT_LENGTH = 100;
+    public static final int MAX_LIMIT = 50;
+    public static final int DEFAULT_LIMIT = 10;
+
+    private record Key(SuggestEntity entity, String text, int limit) {
+    }
+
+    private final SuggestRepository suggestRepository;
+    private final Cache<Key, List<Suggestion>> prefixCache;
+    private final SingleFlight<Key, List<Suggestion>> loads = new SingleFlight<>();
+    private final int cachedPrefixLength;
+
+    public SuggestService(SuggestRepository suggestRepository, MeterRegistry meterRegistry,
+            @Value("${projector.suggest.cache.max-size:1000}") long cacheMaxSize,
+            @Value("${projector.suggest.cache.ttl:30s}") Duration cacheTtl,
+            @Value("${projector.suggest.cache.prefix-length:3}") int cachedPrefixLength) {
+        this.suggestRepository = suggestRepository;
+        this.cachedPrefixLength = cachedPrefixLength;
+        this.prefixCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, prefixCache, "suggest");
+    }
+
+    public Mono<List<Suggestion>> suggest(SuggestEntity entity, String text, Integer limit) {
+        String normalized = text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return Mono.error(new ServerWebInputException("Text must not be empty"));
+        }
+        if (normalized.length() > MAX_TEXT_LENGTH) {
+            return Mono.error(new ServerWebInputException("Text must not be longer than " + MAX_TEXT_LENGTH + " characters"));
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            return Mono.error(new ServerWebInputException("Limit must be between 1 and " + MAX_LIMIT));
+        }
+        Key key = new Key(entity, normalized, size);
+        if (normalized.length() > cachedPrefixLength) {
+            return load(key);
+        }
+        return Mono.defer(() -> {
+            List<Suggestion> cached = prefixCache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return loads.execute(key, k -> load(k).doOnNext(suggestions -> prefixCache.put(k, suggestions)));
+        });
+    }
+
+    private Mono<List<Suggestion>> load(Key key) {
+        return suggestRepository.suggest(key.entity(), key.text(), key.limit()).collectList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.projector.sync.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projector.core.config.Constants;
+import com.projector.sync.model.SyncResponse;
+import com.projector.sync.service.SyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@ApiResponses({
+        @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/api/sync", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Operation(summary = "Get changes since a watermark", description = "Retrieve roadmaps, features, tasks, functional areas and users created or updated since the watermark, "
+            + "and the ids of deleted ones. Pass the returned watermark as since in the next request; entities may be returned more than once")
+    @Parameter(in = ParameterIn.QUERY, name = "since", description = "Watermark of the previous sync; omit for a full sync", schema = @Schema(type = "integer", format = "int64", example = "1234"))
+    @ApiResponse(responseCode = "200", description = "Changes", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SyncResponse.class)))
+    @ApiResponse(responseCode = "410", description = "Watermark is too old, a full sync is required")
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<SyncResponse>> getChanges(
+            @RequestParam(required = false) Long since,
+            Authentication authentication) {
+        return syncService
+                .getChangesSince(since, authentication.getAuthorities())
+                .map(ResponseEntity::ok)
+                .onErrorResume(ResponseStatusException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).build()));
+    }
+}
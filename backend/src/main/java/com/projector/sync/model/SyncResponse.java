@@ -0,0 +1,43 @@
+package com.projector.sync.model;
+
+import java.util.List;
+
+import com.projector.feature.model.FeatureResponse;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.RoadmapResponse;
+import com.projector.task.model.TaskResponse;
+import com.projector.user.model.UserResponse;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Entities changed or deleted since a watermark; sections the user may not view are empty")
+public class SyncResponse {
+
+    @Schema(description = "Watermark to pass as since in the next request", example = "1234")
+    Long watermark;
+
+    @ArraySchema(schema = @Schema(implementation = RoadmapResponse.class, description = "Created or updated roadmaps"))
+    List<RoadmapResponse> roadmaps;
+
+    @ArraySchema(schema = @Schema(implementation = FeatureResponse.class, description = "Created or updated features"))
+    List<FeatureResponse> features;
+
+    @ArraySchema(schema = @Schema(implementation = TaskResponse.class, description = "Created or updated tasks"))
+    List<TaskResponse> tasks;
+
+    @ArraySchema(schema = @Schema(implementation = FunctionalArea.class, description = "Created or updated functional areas"))
+    List<FunctionalArea> functionalAreas;
+
+    @ArraySchema(schema = @Schema(implementation = UserResponse.class, description = "Created or updated users"))
+    List<UserResponse> users;
+
+    @ArraySchema(schema = @Schema(implementation = Tombstone.class, description = "Deleted entities"))
+    List<Tombstone> deleted;
+}
@@ -0,0 +1,21 @@
+package com.projector.sync.model;
+
+import com.projector.change.model.ChangeEntity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Deleted entity")
+public class Tombstone {
+
+    @Schema(description = "Entity type", example = "TASK")
+    ChangeEntity entity;
+
+    @Schema(description = "ID of the deleted entity", example = "42")
+    Long id;
+}
@@ -0,0 +1,129 @@
+package com.projector.sync.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.change.model.ChangeEntity;
+import com.projector.feature.model.Feature;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.feature.repository.FeatureRowMapper;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.repository.RoadmapRowMapper;
+import com.projector.sync.model.Tombstone;
+import com.projector.task.model.Task;
+import com.projector.task.repository.TaskReadRepository;
+import com.projector.task.repository.TaskRowMapper;
+import com.projector.user.model.User;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rows changed since a watermark, using the {@code change_seq} columns and the
+ * {@code tombstones} table maintained by triggers (see V002__change_tracking.sql).
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncRepository {
+
+    private static final String SINCE = " WHERE change_seq >= :since ORDER BY change_seq, id";
+
+    private static final String SELECT_WATERMARK = "SELECT txid_snapshot_xmin(txid_current_snapshot())";
+    private static final String SELECT_HORIZON = "SELECT change_seq FROM sync_horizon WHERE id = 1";
+    private static final String SELECT_ROADMAPS = "SELECT " + RoadmapRowMapper.INSTANCE.selectList()
+            + " FROM roadmaps r WHERE r.change_seq >= :since ORDER BY r.change_seq, r.id";
+    private static final String SELECT_FEATURES = "SELECT " + FeatureRowMapper.INSTANCE.selectList()
+            + " FROM " + FeatureReadRepository.TABLE + SINCE;
+    private static final String SELECT_TASKS = "SELECT " + TaskRowMapper.INSTANCE.selectList()
+            + " FROM " + TaskReadRepository.TABLE + SINCE;
+    private static final String SELECT_TOMBSTONES = "SELECT entity, entity_id FROM tombstones" + SINCE;
+    private static final String PURGE_TOMBSTONES = """
+            WITH purged AS (DELETE FROM tombstones WHERE deleted_at < :cutoff RETURNING change_seq)
+            UPDATE sync_horizon SET change_seq = GREATEST(change_seq, (SELECT COALESCE(MAX(change_seq), 0) FROM purged))
+            WHERE id = 1
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcEntityTemplate entityTemplate;
+
+    /**
+     * Oldest transaction still running in the current snapshot: every change that is not
+     * visible yet will have a {@code change_seq} at or above it.
+     */
+    public Mono<Long> watermark() {
+        return databaseClient.sql(SELECT_WATERMARK)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Highest {@code change_seq} of a purged tombstone; older watermarks cannot be served.
+     */
+    public Mono<Long> horizon() {
+        return databaseClient.sql(SELECT_HORIZON)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    public Flux<Roadmap> findRoadmapsSince(long since) {
+        return databaseClient.sql(SELECT_ROADMAPS)
+                .bind("since", since)
+                .map(RoadmapRowMapper.INSTANCE)
+                .all();
+    }
+
+    public Flux<Feature> findFeaturesSince(long since) {
+        return databaseClient.sql(SELECT_FEATURES)
+                .bind("since", since)
+                .map(FeatureRowMapper.INSTANCE)
+                .all();
+    }
+
+    public Flux<Task> findTasksSince(long since) {
+        return databaseClient.sql(SELECT_TASKS)
+                .bind("since", since)
+                .map(TaskRowMapper.INSTANCE)
+                .all();
+    }
+
+    public Flux<FunctionalArea> findFunctionalAreasSince(long since) {
+        return entityTemplate.select(changedSince(since), FunctionalArea.class);
+    }
+
+    public Flux<User> findUsersSince(long since) {
+        return entityTemplate.select(changedSince(since), User.class);
+    }
+
+    public Flux<Tombstone> findTombstonesSince(long since) {
+        return databaseClient.sql(SELECT_TOMBSTONES)
+                .bind("since", since)
+                .map((row, metadata) -> Tombstone.builder()
+                        .entity(ChangeEntity.valueOf(row.get("entity", String.class)))
+                        .id(row.get("entity_id", Long.class))
+                        .build())
+                .all();
+    }
+
+    /**
+     * Deletes tombstones older than the cutoff and moves the horizon past them.
+     */
+    public Mono<Void> purgeTombstones(LocalDateTime cutoff) {
+        return databaseClient.sql(PURGE_TOMBSTONES)
+                .bind("cutoff", cutoff)
+                .then();
+    }
+
+    private static Query changedSince(long since) {
+        return Query.query(Criteria.where("change_seq").greaterThanOrEquals(since))
+                .sort(Sort.by("change_seq", "id"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.projector.sync.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.change.model.ChangeEntity;
+import com.projector.feature.model.FeatureResponse;
+import com.projector.roadmap.model.RoadmapResponse;
+import com.projector.sync.model.SyncResponse;
+import com.projector.sync.repository.SyncRepository;
+import com.projector.task.model.TaskResponse;
+import com.projector.user.model.UserResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Delta sync: everything created, updated or deleted since a watermark returned by a previous
+ * sync. Rows carry the id of the transaction that last wrote them and the watermark is the
+ * oldest transaction still running when the snapshot was taken, so a change committed after
+ * one sync is always picked up by the next, whatever order the transactions committed in.
+ * A change may be returned twice; clients apply the result as upserts and deletes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private final SyncRepository syncRepository;
+
+    @Value("${projector.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    /**
+     * @param since watermark of the previous sync, {@code null} or 0 for a full sync
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Mono<SyncResponse> getChangesSince(Long since, Collection<? extends GrantedAuthority> authorities) {
+        if (since != null && since < 0) {
+            return Mono.error(new ServerWebInputException("Watermark must not be negative"));
+        }
+        long from = since == null ? 0 : since;
+        Set<String> granted = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        // The watermark is read first, it fixes the snapshot of the whole transaction
+        return syncRepository.watermark()
+                .zipWith(syncRepository.horizon())
+                .flatMap(watermarkAndHorizon -> {
+                    if (from > 0 && from <= watermarkAndHorizon.getT2()) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.GONE,
+                                "Watermark is older than the retained deletions, a full sync is required"));
+                    }
+                    return Mono.zip(
+                            section(granted, ChangeEntity.ROADMAP, syncRepository.findRoadmapsSince(from).map(RoadmapResponse::from)),
+                            section(granted, ChangeEntity.FEATURE, syncRepository.findFeaturesSince(from).map(FeatureResponse::from)),
+                            section(granted, ChangeEntity.TASK, syncRepository.findTasksSince(from).map(TaskResponse::from)),
+                            section(granted, ChangeEntity.FUNCTIONAL_AREA, syncRepository.findFunctionalAreasSince(from)),
+                            section(granted, ChangeEntity.USER, syncRepository.findUsersSince(from).map(UserResponse::from)),
+                            syncRepository.findTombstonesSince(from)
+                                    .filter(tombstone -> granted.contains(tombstone.getEntity().getViewAuthority()))
+                                    .collectList())
+                            .map(sections -> SyncResponse.builder()
+                                    .watermark(watermarkAndHorizon.getT1())
+                                    .roadmaps(sections.getT1())
+                                    .features(sections.getT2())
+                                    .tasks(sections.getT3())
+                                    .functionalAreas(sections.getT4())
+                                    .users(sections.getT5())
+                                    .deleted(sections.getT6())
+                                    .build());
+                });
+    }
+
+    /**
+     * Drops tombstones past the retention; clients with an older watermark get 410 and resync.
+     */
+    @Scheduled(cron = "${projector.sync.tombstone-purge-cron:0 30 3 * * *}")
+    public Mono<Void> purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        return syncRepository.purgeTombstones(cutoff)
+                .doOnSuccess(ignored -> log.info("Purged tombstones older than {}", cutoff))
+                .onErrorResume(error -> {
+                    log.warn("Cannot purge tombstones: {}", error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private static <T> Mono<List<T>> section(Set<String> granted, ChangeEntity entity, Flux<T> changes) {
+        return granted.contains(entity.getViewAuthority()) ? changes.collectList() : Mono.just(List.of());
+    }
+}
@@ -3,17 +3,28 @@ package com.projector.task.controller;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.projector.core.config.Constants;
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.service.IdempotencyService;
+import com.projector.core.util.Projected;
 import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+import com.projector.task.service.TaskBulkService;
 import com.projector.task.service.TaskService;
+import com.projector.user.model.User;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,54 +44,113 @@ import reactor.core.publisher.Mono;
 })
 @RestController
 @RequiredArgsConstructor
-@RequestMapping(value = "/api/tasks", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/tasks", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Get all tasks", description = "Retrieve a list of all tasks")
-    @ApiResponse(responseCode = "200", description = "List of tasks", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Task.class))))
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated fields to return, id is always included", schema = @Schema(type = "string", example = "summary,updateDate"))
+    @Parameter(in = ParameterIn.QUERY, name = "view", description = "Built-in projection: full (default) or summary", schema = @Schema(type = "string", allowableValues = {"full", "summary"}))
+    @Parameter(in = ParameterIn.QUERY, name = "filter", description = "Filter expression: comparisons joined by ';' (and) and ',' (or), operators ==, !=, =gt=, =ge=, =lt=, =le=, =in=, =out=", schema = @Schema(type = "string", example = "featureId==1;authorId=in=(1,2)"))
+    @Parameter(in = ParameterIn.QUERY, name = "after", description = "Return only tasks with id greater than this, ordered by id", schema = @Schema(type = "integer", format = "int64"))
+    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Maximum number of tasks to return (1-1000)", schema = @Schema(type = "integer", format = "int32", example = "100"))
+    @ApiResponse(responseCode = "200", description = "List of tasks", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))))
     @GetMapping
     @PreAuthorize("hasAuthority('TASK_VIEW')")
-    public Flux<Task> getAllTasks() {
-        return taskService.getAllTasks();
+    public Flux<Projected<TaskResponse>> getAllTasks(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return Mono.fromCallable(() -> taskService.getProjection(fields, view))
+                .flatMapMany(projection -> taskService.getAllTasks(projection, filter, after, limit)
+                        .map(task -> Projected.of(TaskResponse.from(task), projection)));
     }
 
     @Operation(summary = "Get task by ID", description = "Retrieve a specific task by its ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Task ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "Task found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Task.class)))
+    @ApiResponse(responseCode = "200", description = "Task found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskResponse.class)))
     @ApiResponse(responseCode = "404", description = "Task not found")
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('TASK_VIEW')")
-    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable Long id) {
+    public Mono<ResponseEntity<TaskResponse>> getTaskById(@PathVariable Long id) {
         return taskService
                 .getTaskById(id)
+                .map(TaskResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> Mono.just(ResponseEntity.notFound().build()));
     }
 
     @Operation(summary = "Create a new task", description = "Create a new task with specified details")
-    @ApiResponse(responseCode = "200", description = "Task created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Task.class)))
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.HEADER, description = "Unique key of the request; a retry with the same key returns the original response instead of creating a duplicate", schema = @Schema(type = "string", example = "3f2b6c1e-6f1d-4a57-9a39-2f5d3c8e7b10"))
+    @ApiResponse(responseCode = "200", description = "Task created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskResponse.class)))
     @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
     @PostMapping
     @PreAuthorize("hasAuthority('TASK_EDIT')")
-    public Mono<ResponseEntity<Task>> createTask(@RequestBody Task task) {
-        return taskService
-                .createTask(task)
+    public Mono<ResponseEntity<TaskResponse>> createTask(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody Task task,
+            @AuthenticationPrincipal User user) {
+        return idempotencyService
+                .execute(idempotencyKey, user.getId(), "task.create", task, TaskResponse.class,
+                        () -> taskService.createTask(task).map(TaskResponse::from))
                 .map(ResponseEntity::ok)
+                .onErrorResume(ResponseStatusException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).<TaskResponse>build()))
                 .onErrorResume(error -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
+    @Operation(summary = "Create tasks in bulk", description = "Create many tasks from a JSON array or an NDJSON stream. "
+            + "Items are written in chunks, each in its own transaction; the response has one result per item in request order")
+    @ApiResponse(responseCode = "200", description = "Result of every item", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))))
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('TASK_EDIT')")
+    public Flux<BulkItemResult<TaskResponse>> createTasks(@RequestBody Flux<Task> tasks) {
+        return taskBulkService.createTasks(tasks);
+    }
+
+    @Operation(summary = "Update tasks in bulk", description = "Update many tasks by their IDs from a JSON array or an NDJSON stream. "
+            + "Items are written in chunks, each in its own transaction; the response has one result per item in request order")
+    @ApiResponse(responseCode = "200", description = "Result of every item", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))))
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('TASK_EDIT')")
+    public Flux<BulkItemResult<TaskResponse>> updateTasks(@RequestBody Flux<Task> tasks) {
+        return taskBulkService.updateTasks(tasks);
+    }
+
+    @Operation(summary = "Delete tasks in bulk", description = "Delete many tasks by the IDs in a JSON array or an NDJSON stream. "
+            + "Items are deleted in chunks, each in its own transaction; the response has one result per item in request order")
+    @ApiResponse(responseCode = "200", description = "Result of every item", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkItemResult.class))))
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('TASK_EDIT')")
+    public Flux<BulkItemResult<TaskResponse>> deleteTasks(@RequestBody Flux<Long> ids) {
+        return taskBulkService.deleteTasks(ids);
+    }
+
     @Operation(summary = "Update an existing task", description = "Update task information by ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "Task ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "Task updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Task.class)))
+    @ApiResponse(responseCode = "200", description = "Task updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskResponse.class)))
     @ApiResponse(responseCode = "404", description = "Task not found")
     @ApiResponse(responseCode = "400", description = "Invalid input")
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('TASK_EDIT')")
-    public Mono<ResponseEntity<Task>> updateTask(@PathVariable Long id, @RequestBody Task task) {
+    public Mono<ResponseEntity<TaskResponse>> updateTask(@PathVariable Long id, @RequestBody Task task) {
         return taskService
                 .updateTask(id, task)
+                .map(TaskResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> {
                     if (error.getMessage().contains("not found")) {
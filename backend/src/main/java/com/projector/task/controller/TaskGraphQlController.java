@@ -0,0 +1,76 @@
+package com.projector.task.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.projector.core.util.BatchJoins;
+import com.projector.feature.model.Feature;
+import com.projector.feature.service.FeatureService;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.service.RoadmapService;
+import com.projector.task.model.Task;
+import com.projector.task.service.TaskService;
+import com.projector.user.model.User;
+import com.projector.user.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@RequiredArgsConstructor
+public class TaskGraphQlController {
+
+    private final TaskService taskService;
+    private final FeatureService featureService;
+    private final RoadmapService roadmapService;
+    private final UserService userService;
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('TASK_VIEW')")
+    public Flux<Task> tasks(@Argument String filter, @Argument Long after, @Argument Integer limit) {
+        return taskService.getAllTasks(taskService.getProjection(null, null), filter, after, limit);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('TASK_VIEW')")
+    public Mono<Task> task(@Argument Long id) {
+        return taskService
+                .getTaskById(id)
+                .onErrorResume(ServerWebInputException.class, error -> Mono.empty());
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public Mono<Map<Task, User>> author(List<Task> tasks) {
+        return userService
+                .getUsersByIds(BatchJoins.keys(tasks, Task::getAuthorId))
+                .collectList()
+                .map(users -> BatchJoins.toOne(tasks, Task::getAuthorId, users, User::getId));
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('FEATURE_VIEW')")
+    public Mono<Map<Task, Feature>> feature(List<Task> tasks) {
+        return featureService
+                .getFeaturesByIds(BatchJoins.keys(tasks, Task::getFeatureId))
+                .collectList()
+                .map(features -> BatchJoins.toOne(tasks, Task::getFeatureId, features, Feature::getId));
+    }
+
+    @BatchMapping
+    @PreAuthorize("hasAuthority('ROADMAP_VIEW')")
+    public Mono<Map<Task, Roadmap>> roadmap(List<Task> tasks) {
+        return roadmapService
+                .getRoadmapsByIds(BatchJoins.keys(tasks, Task::getRoadmapId))
+                .collectList()
+                .map(roadmaps -> BatchJoins.toOne(tasks, Task::getRoadmapId, roadmaps, Roadmap::getId));
+    }
+}
@@ -0,0 +1,51 @@
+package com.projector.task.model;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "Task returned by the API")
+public class TaskResponse {
+
+    @Schema(description = "Unique ID of task", example = "1")
+    Long id;
+
+    @Schema(description = "Feature ID this task belongs to", example = "1")
+    Long featureId;
+
+    @Schema(description = "Roadmap ID this task belongs to", example = "1")
+    Long roadmapId;
+
+    @Schema(description = "Task summary", example = "Implement user authentication")
+    String summary;
+
+    @Schema(description = "Task description", example = "Detailed description of the task")
+    String description;
+
+    @Schema(description = "Task creation date", example = "2024-01-01T00:00:00")
+    LocalDateTime createDate;
+
+    @Schema(description = "Task last update date", example = "2024-01-02T00:00:00")
+    LocalDateTime updateDate;
+
+    @Schema(description = "Author user ID", example = "1")
+    Long authorId;
+
+    public static TaskResponse from(Task task) {
+        return new TaskResponse(
+                task.getId(),
+                task.getFeatureId(),
+                task.getRoadmapId(),
+                task.getSummary(),
+                task.getDescription(),
+                task.getCreateDate(),
+                task.getUpdateDate(),
+                task.getAuthorId());
+    }
+}
@@ -0,0 +1,111 @@
+package com.projector.task.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.task.model.Task;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Set-based writes of many tasks: one statement per chunk, the rows passed as parallel
+ * arrays and expanded with {@code unnest}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskBulkRepository {
+
+    private static final String UNNEST = """
+            unnest(:ids::bigint[], :featureIds::bigint[], :roadmapIds::bigint[], :summaries::varchar[],
+                   :descriptions::text[], :authorIds::bigint[])
+                AS u(id, feature_id, roadmap_id, summary, description, author_id)
+            """;
+    private static final String INSERT = """
+            INSERT INTO tasks (id, feature_id, roadmap_id, summary, description, create_date, update_date, author_id)
+            SELECT u.id, u.feature_id, u.roadmap_id, u.summary, u.description, :now, :now, u.author_id
+            """ + "FROM " + UNNEST;
+    private static final String UPDATE = """
+            UPDATE tasks t SET feature_id = u.feature_id, roadmap_id = u.roadmap_id, summary = u.summary,
+                description = u.description, update_date = :now, author_id = u.author_id
+            """ + "FROM " + UNNEST + "WHERE t.id = u.id";
+    private static final String SELECT_FOR_UPDATE = "SELECT " + TaskRowMapper.INSTANCE.selectList()
+            + " FROM " + TaskReadRepository.TABLE + " WHERE id = ANY(:ids) ORDER BY id FOR UPDATE";
+    private static final String DELETE = "DELETE FROM " + TaskReadRepository.TABLE
+            + " WHERE id = ANY(:ids) RETURNING " + TaskRowMapper.INSTANCE.selectList();
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts tasks whose ids were reserved beforehand.
+     */
+    public Mono<Void> insertAll(List<Task> tasks, LocalDateTime now) {
+        return write(INSERT, tasks, now);
+    }
+
+    public Mono<Void> updateAll(List<Task> tasks, LocalDateTime now) {
+        return write(UPDATE, tasks, now);
+    }
+
+    /**
+     * Locks the existing tasks among {@code ids} for an update or delete in this transaction.
+     */
+    public Flux<Task> findAllByIdForUpdate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_FOR_UPDATE)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(TaskRowMapper.INSTANCE)
+                .all();
+    }
+
+    /**
+     * @return the deleted tasks
+     */
+    public Flux<Task> deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(DELETE)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(TaskRowMapper.INSTANCE)
+                .all();
+    }
+
+    private Mono<Void> write(String sql, List<Task> tasks, LocalDateTime now) {
+        if (tasks.isEmpty()) {
+            return Mono.empty();
+        }
+        int size = tasks.size();
+        Long[] ids = new Long[size];
+        Long[] featureIds = new Long[size];
+        Long[] roadmapIds = new Long[size];
+        String[] summaries = new String[size];
+        String[] descriptions = new String[size];
+        Long[] authorIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.get(i);
+            ids[i] = task.getId();
+            featureIds[i] = task.getFeatureId();
+            roadmapIds[i] = task.getRoadmapId();
+            summaries[i] = task.getSummary();
+            descriptions[i] = task.getDescription();
+            authorIds[i] = task.getAuthorId();
+        }
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .bind("featureIds", featureIds)
+                .bind("roadmapIds", roadmapIds)
+                .bind("summaries", summaries)
+                .bind("descriptions", descriptions)
+                .bind("authorIds", authorIds)
+                .bind("now", now)
+                .then();
+    }
+}
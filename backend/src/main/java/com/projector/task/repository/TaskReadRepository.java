@@ -0,0 +1,111 @@
+package com.projector.task.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.projector.core.util.ListQuery;
+import com.projector.task.model.Task;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class TaskReadRepository {
+
+    public static final String TABLE = "tasks";
+
+    private static final String SELECT_BY_ID =
+            "SELECT " + TaskRowMapper.INSTANCE.selectList() + " FROM " + TABLE + " WHERE id = :id";
+    private static final String SELECT_BY_ROADMAP_ID =
+            "SELECT " + TaskRowMapper.INSTANCE.selectList() + " FROM " + TABLE + " WHERE roadmap_id = :roadmapId ORDER BY id";
+    private static final String SELECT_BY_ROADMAP_IDS =
+            "SELECT " + TaskRowMapper.INSTANCE.selectList() + " FROM " + TABLE + " WHERE roadmap_id = ANY(:roadmapIds) ORDER BY id";
+    private static final String SELECT_BY_FEATURE_IDS =
+            "SELECT " + TaskRowMapper.INSTANCE.selectList() + " FROM " + TABLE + " WHERE feature_id = ANY(:featureIds) ORDER BY id";
+    private static final String SELECT_ROADMAP_IDS_BY_FEATURE_ID =
+            "SELECT DISTINCT roadmap_id FROM " + TABLE + " WHERE feature_id = :featureId";
+    private static final String SELECT_ROADMAP_IDS_BY_FEATURE_IDS =
+            "SELECT DISTINCT feature_id, roadmap_id FROM " + TABLE + " WHERE feature_id = ANY(:featureIds)";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Task> findAll() {
+        return findAll(ListQuery.of(TaskRowMapper.INSTANCE));
+    }
+
+    public Flux<Task> findAll(ListQuery<Task> query) {
+        return query.bind(databaseClient.sql(query.toSql(TABLE)))
+                .map(query.projection())
+                .all();
+    }
+
+    /**
+     * Like {@link #findAll(ListQuery)}, but reads the rows through a portal {@code fetchSize}
+     * at a time as they are requested, so the result is never held in memory. Cancelling
+     * stops the query. Must run in a transaction, the portal does not outlive it.
+     */
+    public Flux<Task> stream(ListQuery<Task> query, int fetchSize) {
+        return query.bind(databaseClient.sql(query.toSql(TABLE)))
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(query.projection())
+                .all();
+    }
+
+    public Mono<Task> findById(Long id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map(TaskRowMapper.INSTANCE)
+                .one();
+    }
+
+    public Flux<Task> findByRoadmapId(Long roadmapId) {
+        return databaseClient.sql(SELECT_BY_ROADMAP_ID)
+                .bind("roadmapId", roadmapId)
+                .map(TaskRowMapper.INSTANCE)
+                .all();
+    }
+
+    public Flux<Task> findByRoadmapIds(Collection<Long> roadmapIds) {
+        return findByIds(SELECT_BY_ROADMAP_IDS, "roadmapIds", roadmapIds);
+    }
+
+    public Flux<Task> findByFeatureIds(Collection<Long> featureIds) {
+        return findByIds(SELECT_BY_FEATURE_IDS, "featureIds", featureIds);
+    }
+
+    public Flux<Long> findRoadmapIdsByFeatureId(Long featureId) {
+        return databaseClient.sql(SELECT_ROADMAP_IDS_BY_FEATURE_ID)
+                .bind("featureId", featureId)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .all();
+    }
+
+    /**
+     * @return roadmap ids by feature id, features without tasks are absent
+     */
+    public Mono<Map<Long, Collection<Long>>> findRoadmapIdsByFeatureIds(Collection<Long> featureIds) {
+        if (featureIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql(SELECT_ROADMAP_IDS_BY_FEATURE_IDS)
+                .bind("featureIds", featureIds.toArray(Long[]::new))
+                .map((row, metadata) -> Map.entry(row.get(0, Long.class), row.get(1, Long.class)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Flux<Task> findByIds(String sql, String name, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(sql)
+                .bind(name, ids.toArray(Long[]::new))
+                .map(TaskRowMapper.INSTANCE)
+                .all();
+    }
+}
@@ -0,0 +1,40 @@
+package com.projector.task.repository;
+
+import java.time.LocalDateTime;
+
+import com.projector.core.util.FilterCatalog;
+import com.projector.core.util.ProjectionCatalog;
+import com.projector.core.util.RowProjection;
+import com.projector.task.model.Task;
+
+/**
+ * Selectable columns of {@code tasks} and their positional mappers to {@link Task},
+ * bypassing the reflective entity converter on hot read paths, and the filterable columns,
+ * each backed by an index.
+ */
+public final class TaskRowMapper {
+
+    public static final ProjectionCatalog<Task> PROJECTIONS = ProjectionCatalog.builder(Task::new)
+            .column("id", "id", (row, i, task) -> task.setId(row.get(i, Long.class)))
+            .column("featureId", "feature_id", (row, i, task) -> task.setFeatureId(row.get(i, Long.class)))
+            .column("roadmapId", "roadmap_id", (row, i, task) -> task.setRoadmapId(row.get(i, Long.class)))
+            .column("summary", "summary", (row, i, task) -> task.setSummary(row.get(i, String.class)))
+            .column("description", "description", (row, i, task) -> task.setDescription(row.get(i, String.class)))
+            .column("createDate", "create_date", (row, i, task) -> task.setCreateDate(row.get(i, LocalDateTime.class)))
+            .column("updateDate", "update_date", (row, i, task) -> task.setUpdateDate(row.get(i, LocalDateTime.class)))
+            .column("authorId", "author_id", (row, i, task) -> task.setAuthorId(row.get(i, Long.class)))
+            .summary("featureId", "roadmapId", "summary", "updateDate", "authorId")
+            .build();
+
+    public static final RowProjection<Task> INSTANCE = PROJECTIONS.full();
+
+    public static final FilterCatalog FILTERS = FilterCatalog.builder()
+            .longField("id", "id")
+            .longField("featureId", "feature_id")
+            .longField("roadmapId", "roadmap_id")
+            .longField("authorId", "author_id")
+            .build();
+
+    private TaskRowMapper() {
+    }
+}
@@ -0,0 +1,198 @@
+package com.projector.task.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.projector.change.model.ChangeAction;
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.component.BulkExecutor;
+import com.projector.core.component.BulkExecutor.Item;
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.model.BulkItemStatus;
+import com.projector.core.repository.ReferenceRepository;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.roadmap.service.RoadmapDocumentService;
+import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+import com.projector.task.repository.TaskBulkRepository;
+import com.projector.task.repository.TaskReadRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates, updates and deletes many tasks per statement. Each chunk checks its referenced
+ * features, roadmaps and authors with one query per table and is written in one statement;
+ * the roadmap documents of the touched roadmaps are dropped instead of patched per task.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskBulkService {
+
+    private final BulkExecutor bulkExecutor;
+    private final TaskBulkRepository taskBulkRepository;
+    private final ReferenceRepository referenceRepository;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
+
+    public Flux<BulkItemResult<TaskResponse>> createTasks(Flux<Task> tasks) {
+        return bulkExecutor.execute(tasks, this::createChunk);
+    }
+
+    public Flux<BulkItemResult<TaskResponse>> updateTasks(Flux<Task> tasks) {
+        return bulkExecutor.execute(tasks, this::updateChunk);
+    }
+
+    public Flux<BulkItemResult<TaskResponse>> deleteTasks(Flux<Long> ids) {
+        return bulkExecutor.execute(ids, this::deleteChunk);
+    }
+
+    private Mono<List<BulkItemResult<TaskResponse>>> createChunk(List<Item<Task>> chunk) {
+        List<BulkItemResult<TaskResponse>> results = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+        return validate(chunk, false, results)
+                .flatMap(valid -> referenceRepository.nextIds(TaskReadRepository.TABLE, valid.size())
+                        .flatMap(ids -> {
+                            List<Task> created = new ArrayList<>(valid.size());
+                            for (int i = 0; i < valid.size(); i++) {
+                                Task task = valid.get(i).value();
+                                task.setId(ids.get(i));
+                                task.setCreateDate(now);
+                                task.setUpdateDate(now);
+                                created.add(task);
+                                results.add(BulkItemResult.ok(valid.get(i).index(), task.getId(), TaskResponse.from(task)));
+                            }
+                            return taskBulkRepository.insertAll(created, now)
+                                    .then(afterWrite(ChangeAction.CREATED, created, Map.of()));
+                        }))
+                .thenReturn(results);
+    }
+
+    private Mono<List<BulkItemResult<TaskResponse>>> updateChunk(List<Item<Task>> chunk) {
+        List<BulkItemResult<TaskResponse>> results = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+        return validate(chunk, true, results)
+                .flatMap(valid -> taskBulkRepository
+                        .findAllByIdForUpdate(valid.stream().map(item -> item.value().getId()).toList())
+                        .collectMap(Task::getId)
+                        .flatMap(existing -> {
+                            List<Task> updated = new ArrayList<>(valid.size());
+                            Map<Long, Long> previousRoadmapIds = new HashMap<>();
+                            for (Item<Task> item : valid) {
+                                Task task = item.value();
+                                Task existingTask = existing.get(task.getId());
+                                if (existingTask == null) {
+                                    results.add(BulkItemResult.failed(item.index(), task.getId(), BulkItemStatus.NOT_FOUND, "Task not found"));
+                                    continue;
+                                }
+                                task.setCreateDate(existingTask.getCreateDate());
+                                task.setUpdateDate(now);
+                                previousRoadmapIds.put(task.getId(), existingTask.getRoadmapId());
+                                updated.add(task);
+                                results.add(BulkItemResult.ok(item.index(), task.getId(), TaskResponse.from(task)));
+                            }
+                            return taskBulkRepository.updateAll(updated, now)
+                                    .then(afterWrite(ChangeAction.UPDATED, updated, previousRoadmapIds));
+                        }))
+                .thenReturn(results);
+    }
+
+    private Mono<List<BulkItemResult<TaskResponse>>> deleteChunk(List<Item<Long>> chunk) {
+        List<BulkItemResult<TaskResponse>> results = new ArrayList<>(chunk.size());
+        List<Item<Long>> unique = new ArrayList<>(chunk.size());
+        Set<Long> seen = new HashSet<>();
+        for (Item<Long> item : chunk) {
+            if (seen.add(item.value())) {
+                unique.add(item);
+            } else {
+                results.add(BulkItemResult.failed(item.index(), item.value(), BulkItemStatus.INVALID, "Duplicate task ID in the request"));
+            }
+        }
+        return taskBulkRepository.deleteAllById(seen)
+                .collectMap(Task::getId)
+                .flatMap(deleted -> {
+                    for (Item<Long> item : unique) {
+                        results.add(deleted.containsKey(item.value())
+                                ? BulkItemResult.ok(item.index(), item.value(), null)
+                                : BulkItemResult.failed(item.index(), item.value(), BulkItemStatus.NOT_FOUND, "Task not found"));
+                    }
+                    return afterWrite(ChangeAction.DELETED, List.copyOf(deleted.values()), Map.of());
+                })
+                .thenReturn(results);
+    }
+
+    /**
+     * Reports invalid items in {@code results}.
+     *
+     * @return the items that can be written
+     */
+    private Mono<List<Item<Task>>> validate(List<Item<Task>> chunk, boolean update, List<BulkItemResult<TaskResponse>> results) {
+        List<Item<Task>> complete = new ArrayList<>(chunk.size());
+        Set<Long> ids = new HashSet<>();
+        Set<Long> featureIds = new HashSet<>();
+        Set<Long> roadmapIds = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        for (Item<Task> item : chunk) {
+            Task task = item.value();
+            String error = TaskService.findValidationError(task);
+            if (error == null && update && task.getId() == null) {
+                error = "Task ID is required";
+            } else if (error == null && update && !ids.add(task.getId())) {
+                error = "Duplicate task ID in the request";
+            }
+            if (error != null) {
+                results.add(BulkItemResult.failed(item.index(), task.getId(), BulkItemStatus.INVALID, error));
+                continue;
+            }
+            if (!update) {
+                task.setId(null);
+            }
+            complete.add(item);
+            featureIds.add(task.getFeatureId());
+            roadmapIds.add(task.getRoadmapId());
+            authorIds.add(task.getAuthorId());
+        }
+        return Mono.zip(
+                        referenceRepository.findExistingIds(FeatureReadRepository.TABLE, featureIds),
+                        referenceRepository.findExistingIds("roadmaps", roadmapIds),
+                        referenceRepository.findExistingIds("users", authorIds))
+                .map(existing -> {
+                    List<Item<Task>> valid = new ArrayList<>(complete.size());
+                    for (Item<Task> item : complete) {
+                        Task task = item.value();
+                        String error = null;
+                        if (!existing.getT1().contains(task.getFeatureId())) {
+                            error = "Feature with ID " + task.getFeatureId() + " not found";
+                        } else if (!existing.getT2().contains(task.getRoadmapId())) {
+                            error = "Roadmap with ID " + task.getRoadmapId() + " not found";
+                        } else if (!existing.getT3().contains(task.getAuthorId())) {
+                            error = "User with ID " + task.getAuthorId() + " not found";
+                        }
+                        if (error != null) {
+                            results.add(BulkItemResult.failed(item.index(), task.getId(), BulkItemStatus.INVALID, error));
+                        } else {
+                            valid.add(item);
+                        }
+                    }
+                    return valid;
+                });
+    }
+
+    private Mono<Void> afterWrite(ChangeAction action, List<Task> tasks, Map<Long, Long> previousRoadmapIds) {
+        if (tasks.isEmpty()) {
+            return Mono.empty();
+        }
+        Set<Long> roadmapIds = new HashSet<>(previousRoadmapIds.values());
+        tasks.forEach(task -> roadmapIds.add(task.getRoadmapId()));
+        return roadmapDocumentService.onBulkChange(roadmapIds)
+                .then(changeNotifier.tasksChanged(action, tasks, previousRoadmapIds));
+    }
+}
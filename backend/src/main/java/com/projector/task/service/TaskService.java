@@ -1,12 +1,21 @@
 package com.projector.task.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.change.model.ChangeAction;
+import com.projector.change.service.ChangeNotifier;
+import com.projector.core.util.ListQuery;
+import com.projector.core.util.RowProjection;
+import com.projector.core.util.SingleFlight;
+import com.projector.roadmap.service.RoadmapDocumentService;
 import com.projector.task.model.Task;
+import com.projector.task.repository.TaskReadRepository;
+import com.projector.task.repository.TaskRowMapper;
 import com.projector.task.repository.TaskRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -20,17 +29,50 @@ import reactor.core.publisher.Mono;
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskReadRepository taskReadRepository;
+    private final RoadmapDocumentService roadmapDocumentService;
+    private final ChangeNotifier changeNotifier;
+    private final SingleFlight<Long, Task> taskLoads = new SingleFlight<>();
 
     public Flux<Task> getAllTasks() {
-        return taskRepository.findAll();
+        return taskReadRepository.findAll();
+    }
+
+    /**
+     * Resolves the columns of the requested fields or view.
+     *
+     * @throws ServerWebInputException for unknown fields or views
+     */
+    public RowProjection<Task> getProjection(String fields, String view) {
+        return TaskRowMapper.PROJECTIONS.select(fields, view);
+    }
+
+    /**
+     * Lists tasks reading only the columns of the projection, optionally filtered and paged by id.
+     */
+    public Flux<Task> getAllTasks(RowProjection<Task> projection, String filter, Long after, Integer limit) {
+        return Mono.fromCallable(() -> new ListQuery<>(
+                        projection,
+                        TaskRowMapper.FILTERS.compile(filter),
+                        after,
+                        limit))
+                .flatMapMany(taskReadRepository::findAll);
     }
 
     public Mono<Task> getTaskById(Long id) {
-        return taskRepository
-                .findById(id)
+        return taskLoads
+                .execute(id, taskReadRepository::findById)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Task not found")));
     }
 
+    public Flux<Task> getTasksByRoadmapIds(Collection<Long> roadmapIds) {
+        return taskReadRepository.findByRoadmapIds(roadmapIds);
+    }
+
+    public Flux<Task> getTasksByFeatureIds(Collection<Long> featureIds) {
+        return taskReadRepository.findByFeatureIds(featureIds);
+    }
+
     @Transactional
     public Mono<Task> createTask(Task task) {
         return validateTask(task)
@@ -40,7 +82,10 @@ public class TaskService {
                     task.setCreateDate(now);
                     task.setUpdateDate(now);
                     return taskRepository.save(task);
-                });
+                })
+                .flatMap(savedTask -> roadmapDocumentService.onTaskSaved(savedTask, null)
+                        .then(changeNotifier.taskChanged(ChangeAction.CREATED, savedTask, null))
+                        .thenReturn(savedTask));
     }
 
     @Transactional
@@ -52,7 +97,11 @@ public class TaskService {
                     task.setId(id);
                     task.setCreateDate(existingTask.getCreateDate());
                     task.setUpdateDate(LocalDateTime.now());
-                    return taskRepository.save(task);
+                    return taskRepository.save(task)
+                            .flatMap(updatedTask -> roadmapDocumentService
+                                    .onTaskSaved(updatedTask, existingTask.getRoadmapId())
+                                    .then(changeNotifier.taskChanged(ChangeAction.UPDATED, updatedTask, existingTask.getRoadmapId()))
+                                    .thenReturn(updatedTask));
                 });
     }
 
@@ -61,23 +110,33 @@ public class TaskService {
         return taskRepository
                 .findById(id)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("Task not found")))
-                .flatMap(task -> taskRepository.deleteById(id))
+                .flatMap(task -> taskRepository.deleteById(id)
+                        .then(roadmapDocumentService.onTaskDeleted(task))
+                        .then(changeNotifier.taskChanged(ChangeAction.DELETED, task, null)))
                 .then();
     }
 
     private Mono<Boolean> validateTask(Task task) {
+        String error = findValidationError(task);
+        return error != null ? Mono.error(new ServerWebInputException(error)) : Mono.just(true);
+    }
+
+    /**
+     * @return why the task cannot be saved, {@code null} if its required fields are set
+     */
+    static String findValidationError(Task task) {
         if (task.getFeatureId() == null) {
-            return Mono.error(new ServerWebInputException("Task feature ID is required"));
+            return "Task feature ID is required";
         }
 
         if (task.getRoadmapId() == null) {
-            return Mono.error(new ServerWebInputException("Task roadmap ID is required"));
+            return "Task roadmap ID is required";
         }
 
         if (task.getAuthorId() == null) {
-            return Mono.error(new ServerWebInputException("Task author is required"));
+            return "Task author is required";
         }
 
-        return Mono.just(true);
+        return null;
     }
 }
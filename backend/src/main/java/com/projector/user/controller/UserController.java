@@ -12,7 +12,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projector.core.config.Constants;
 import com.projector.user.model.User;
+import com.projector.user.model.UserResponse;
 import com.projector.user.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,67 +37,76 @@ import reactor.core.publisher.Mono;
 @Slf4j
 @RestController
 @RequiredArgsConstructor
-@RequestMapping(value = "/api/users", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api/users", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        Constants.APPLICATION_SMILE_VALUE,
+        Constants.APPLICATION_MSGPACK_VALUE
+})
 public class UserController {
 
     private final UserService userService;
 
     @Operation(summary = "Get all users", description = "Retrieve a list of all active users")
-    @ApiResponse(responseCode = "200", description = "List of users", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = User.class))))
+    @ApiResponse(responseCode = "200", description = "List of users", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = UserResponse.class))))
     @GetMapping
     @PreAuthorize("hasAuthority('USER_VIEW')")
-    public Flux<User> getAllUsers() {
-        return userService.getAllUsers();
+    public Flux<UserResponse> getAllUsers() {
+        return userService.getAllUsers().map(UserResponse::from);
     }
 
     @Operation(summary = "Get user by ID", description = "Retrieve a specific user by its ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "User ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "User found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = User.class)))
+    @ApiResponse(responseCode = "200", description = "User found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = UserResponse.class)))
     @ApiResponse(responseCode = "404", description = "User not found")
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('USER_VIEW')")
-    public Mono<ResponseEntity<User>> getUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<UserResponse>> getUserById(@PathVariable Long id) {
         return userService
                 .getUserById(id)
+                .map(UserResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> Mono.just(ResponseEntity.notFound().build()));
     }
 
     @Operation(summary = "Get user by email", description = "Retrieve a specific user by email address")
     @Parameter(in = ParameterIn.PATH, name = "email", required = true, description = "User email", schema = @Schema(type = "string", example = "user@example.com"))
-    @ApiResponse(responseCode = "200", description = "User found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = User.class)))
+    @ApiResponse(responseCode = "200", description = "User found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = UserResponse.class)))
     @ApiResponse(responseCode = "404", description = "User not found")
     @GetMapping("/email/{email}")
     @PreAuthorize("hasAuthority('USER_VIEW')")
-    public Mono<ResponseEntity<User>> getUserByEmail(@PathVariable String email) {
+    public Mono<ResponseEntity<UserResponse>> getUserByEmail(@PathVariable String email) {
         return userService
                 .getUserByEmail(email)
+                .map(UserResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> Mono.just(ResponseEntity.notFound().build()));
     }
 
     @Operation(summary = "Create a new user", description = "Create a new user with specified email and password")
-    @ApiResponse(responseCode = "200", description = "User created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = User.class)))
+    @ApiResponse(responseCode = "200", description = "User created", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = UserResponse.class)))
     @ApiResponse(responseCode = "400", description = "Invalid input or user email already exists")
     @PostMapping
     @PreAuthorize("hasAuthority('USER_EDIT')")
-    public Mono<ResponseEntity<User>> createUser(@RequestBody User user) {
+    public Mono<ResponseEntity<UserResponse>> createUser(@RequestBody User user) {
         return userService
                 .createUser(user)
+                .map(UserResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
     @Operation(summary = "Update an existing user", description = "Update user information by ID")
     @Parameter(in = ParameterIn.PATH, name = "id", required = true, description = "User ID", schema = @Schema(type = "integer", format = "int64", example = "1"))
-    @ApiResponse(responseCode = "200", description = "User updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = User.class)))
+    @ApiResponse(responseCode = "200", description = "User updated", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = UserResponse.class)))
     @ApiResponse(responseCode = "404", description = "User not found")
     @ApiResponse(responseCode = "400", description = "Invalid input")
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('USER_EDIT')")
-    public Mono<ResponseEntity<User>> updateUser(@PathVariable Long id, @RequestBody User user) {
+    public Mono<ResponseEntity<UserResponse>> updateUser(@PathVariable Long id, @RequestBody User user) {
         return userService
                 .updateUser(id, user)
+                .map(UserResponse::from)
                 .map(ResponseEntity::ok)
                 .onErrorResume(error -> {
                     log.error("Error updating user {}: {}", id, error.getMessage(), error);
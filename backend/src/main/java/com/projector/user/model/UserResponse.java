@@ -0,0 +1,28 @@
+package com.projector.user.model;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@Schema(description = "User returned by the API")
+public class UserResponse {
+
+    @Schema(description = "Unique ID of user", example = "1")
+    Long id;
+
+    @Schema(description = "User email address", example = "user@example.com")
+    String email;
+
+    @Schema(description = "List of role IDs assigned to the user", example = "[1, 2]")
+    List<Long> roleIds;
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getEmail(), user.getRoleIds());
+    }
+}
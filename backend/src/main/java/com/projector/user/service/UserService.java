@@ -3,6 +3,7 @@ package com.projector.user.service;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerWebInputException;
 
+import com.projector.core.cache.EntityCache;
 import com.projector.user.model.User;
 import com.projector.user.repository.UserRepository;
 import com.projector.user.repository.UserRoleRepository;
@@ -29,17 +31,22 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
+    private final EntityCache<User> userCache;
 
     public Flux<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     public Mono<User> getUserById(Long id) {
-        return userRepository
-                .findById(id)
+        return userCache
+                .get(id, userRepository::findById)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("User not found")));
     }
 
+    public Flux<User> getUsersByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     public Mono<User> getUserByEmail(String email) {
         return userRepository
                 .findByEmail(email)
@@ -115,7 +122,8 @@ public class UserService {
                                 }
                                 return Mono.just(updatedUser);
                             });
-                });
+                })
+                .flatMap(updatedUser -> userCache.evict(id).thenReturn(updatedUser));
     }
 
     @Transactional
@@ -123,7 +131,8 @@ public class UserService {
         return userRepository
                 .findById(id)
                 .switchIfEmpty(Mono.error(new ServerWebInputException("User not found")))
-                .flatMap(user -> userRepository.deleteById(id).then());
+                .flatMap(user -> userRepository.deleteById(id).then())
+                .then(userCache.evict(id));
     }
 
     public Mono<User> getUser(String email, String password) {
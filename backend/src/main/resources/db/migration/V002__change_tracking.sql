@@ -0,0 +1,72 @@
+-- Change tracking for delta sync (GET /api/sync?since=<watermark>).
+-- change_seq holds the 64-bit id of the transaction that last wrote the row (txid_current()).
+-- Transaction ids grow monotonically, and the oldest transaction still running
+-- (txid_snapshot_xmin) bounds every change not yet visible, so a client that asks for
+-- change_seq >= its last watermark never misses a change committed out of order.
+
+CREATE OR REPLACE FUNCTION set_change_seq() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := txid_current();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    entity VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS idx_tombstones_change_seq ON tombstones(change_seq);
+CREATE INDEX IF NOT EXISTS idx_tombstones_deleted_at ON tombstones(deleted_at);
+
+-- Watermarks below the horizon may have lost tombstones to the purge and need a full resync
+CREATE TABLE IF NOT EXISTS sync_horizon (
+    id INT PRIMARY KEY CHECK (id = 1),
+    change_seq BIGINT NOT NULL
+);
+INSERT INTO sync_horizon (id, change_seq) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+-- TG_ARGV[0] is the entity name reported to clients
+CREATE OR REPLACE FUNCTION record_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO tombstones (entity, entity_id, change_seq) VALUES (TG_ARGV[0], OLD.id, txid_current());
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE roadmaps ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_roadmaps_change_seq ON roadmaps(change_seq);
+CREATE TRIGGER trg_roadmaps_change_seq BEFORE INSERT OR UPDATE ON roadmaps
+    FOR EACH ROW EXECUTE FUNCTION set_change_seq();
+CREATE TRIGGER trg_roadmaps_tombstone AFTER DELETE ON roadmaps
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('ROADMAP');
+
+ALTER TABLE features ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_features_change_seq ON features(change_seq);
+CREATE TRIGGER trg_features_change_seq BEFORE INSERT OR UPDATE ON features
+    FOR EACH ROW EXECUTE FUNCTION set_change_seq();
+CREATE TRIGGER trg_features_tombstone AFTER DELETE ON features
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('FEATURE');
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_tasks_change_seq ON tasks(change_seq);
+CREATE TRIGGER trg_tasks_change_seq BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION set_change_seq();
+CREATE TRIGGER trg_tasks_tombstone AFTER DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('TASK');
+
+ALTER TABLE functional_areas ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_functional_areas_change_seq ON functional_areas(change_seq);
+CREATE TRIGGER trg_functional_areas_change_seq BEFORE INSERT OR UPDATE ON functional_areas
+    FOR EACH ROW EXECUTE FUNCTION set_change_seq();
+CREATE TRIGGER trg_functional_areas_tombstone AFTER DELETE ON functional_areas
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('FUNCTIONAL_AREA');
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_users_change_seq ON users(change_seq);
+CREATE TRIGGER trg_users_change_seq BEFORE INSERT OR UPDATE ON users
+    FOR EACH ROW EXECUTE FUNCTION set_change_seq();
+CREATE TRIGGER trg_users_tombstone AFTER DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('USER');
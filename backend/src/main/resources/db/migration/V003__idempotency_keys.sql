@@ -0,0 +1,17 @@
+-- Idempotency-Key support for create endpoints.
+-- A row is claimed before the request runs (locked_until marks it in flight) and completed
+-- with the response in the same transaction as the create, so a retried key either replays
+-- the stored response or finds the original request still in progress.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    operation VARCHAR(64) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response TEXT,
+    locked_until TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    completed_at TIMESTAMP,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys(created_at);
@@ -0,0 +1,51 @@
+-- Bulk import of roadmaps, features, tasks and functional areas from other systems.
+-- Records are streamed with COPY into import_records, then merged set-based into the
+-- entity tables. import_id_map remembers which entity an external id became, per source,
+-- so re-running an import (or importing the same project again) updates instead of duplicating.
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(255) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    phase VARCHAR(32),
+    records_loaded BIGINT NOT NULL DEFAULT 0,
+    records_merged BIGINT NOT NULL DEFAULT 0,
+    records_rejected BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    author_id BIGINT NOT NULL,
+    create_date TIMESTAMP NOT NULL,
+    update_date TIMESTAMP NOT NULL,
+    FOREIGN KEY (author_id) REFERENCES users(id)
+);
+
+-- line is the position of the record in the uploaded stream; an upload resumes after the
+-- last committed batch. functional_area_external_ids is separated by U+001F.
+CREATE TABLE IF NOT EXISTS import_records (
+    job_id BIGINT NOT NULL REFERENCES import_jobs(id) ON DELETE CASCADE,
+    line BIGINT NOT NULL,
+    type VARCHAR(32),
+    external_id VARCHAR(255),
+    name VARCHAR(255),
+    project_name VARCHAR(255),
+    mission TEXT,
+    summary VARCHAR(255),
+    description TEXT,
+    year BIGINT,
+    quarter VARCHAR(2),
+    sprint BIGINT,
+    release VARCHAR(255),
+    feature_external_id VARCHAR(255),
+    roadmap_external_id VARCHAR(255),
+    functional_area_external_ids TEXT,
+    error TEXT,
+    PRIMARY KEY (job_id, line)
+);
+CREATE INDEX IF NOT EXISTS idx_import_records_job_type ON import_records(job_id, type, external_id);
+
+CREATE TABLE IF NOT EXISTS import_id_map (
+    source VARCHAR(255) NOT NULL,
+    entity VARCHAR(32) NOT NULL,
+    external_id VARCHAR(255) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    PRIMARY KEY (source, entity, external_id)
+);
@@ -0,0 +1,52 @@
+-- Full-text search (GET /api/search).
+-- search_vector holds the weighted lexemes of the text columns: the title with weight A,
+-- the body with B (and C for the roadmap description). The 'simple' configuration does no
+-- stemming or stop-word removal, it indexes Russian and English text alike; prefix queries
+-- cover word endings. Triggers recompute the vector only when one of its columns changes.
+
+CREATE OR REPLACE FUNCTION set_task_search_vector() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.summary IS DISTINCT FROM OLD.summary
+            OR NEW.description IS DISTINCT FROM OLD.description THEN
+        NEW.search_vector := setweight(to_tsvector('simple', COALESCE(NEW.summary, '')), 'A')
+                || setweight(to_tsvector('simple', COALESCE(NEW.description, '')), 'B');
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION set_roadmap_search_vector() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.project_name IS DISTINCT FROM OLD.project_name
+            OR NEW.mission IS DISTINCT FROM OLD.mission
+            OR NEW.description IS DISTINCT FROM OLD.description THEN
+        NEW.search_vector := setweight(to_tsvector('simple', COALESCE(NEW.project_name, '')), 'A')
+                || setweight(to_tsvector('simple', COALESCE(NEW.mission, '')), 'B')
+                || setweight(to_tsvector('simple', COALESCE(NEW.description, '')), 'C');
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector;
+UPDATE tasks SET search_vector = setweight(to_tsvector('simple', COALESCE(summary, '')), 'A')
+        || setweight(to_tsvector('simple', COALESCE(description, '')), 'B');
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+CREATE TRIGGER trg_tasks_search_vector BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION set_task_search_vector();
+
+-- Features have the same text columns as tasks
+ALTER TABLE features ADD COLUMN IF NOT EXISTS search_vector tsvector;
+UPDATE features SET search_vector = setweight(to_tsvector('simple', COALESCE(summary, '')), 'A')
+        || setweight(to_tsvector('simple', COALESCE(description, '')), 'B');
+CREATE INDEX IF NOT EXISTS idx_features_search_vector ON features USING GIN (search_vector);
+CREATE TRIGGER trg_features_search_vector BEFORE INSERT OR UPDATE ON features
+    FOR EACH ROW EXECUTE FUNCTION set_task_search_vector();
+
+ALTER TABLE roadmaps ADD COLUMN IF NOT EXISTS search_vector tsvector;
+UPDATE roadmaps SET search_vector = setweight(to_tsvector('simple', COALESCE(project_name, '')), 'A')
+        || setweight(to_tsvector('simple', COALESCE(mission, '')), 'B')
+        || setweight(to_tsvector('simple', COALESCE(description, '')), 'C');
+CREATE INDEX IF NOT EXISTS idx_roadmaps_search_vector ON roadmaps USING GIN (search_vector);
+CREATE TRIGGER trg_roadmaps_search_vector BEFORE INSERT OR UPDATE ON roadmaps
+    FOR EACH ROW EXECUTE FUNCTION set_roadmap_search_vector();
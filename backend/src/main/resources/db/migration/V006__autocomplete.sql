@@ -0,0 +1,10 @@
+-- Autocomplete (GET /api/suggest/*).
+-- Trigram indexes serve ILIKE '%text%' and the similarity operator %, so a prefix, a part
+-- of a word or a misspelling is found without reading the whole table. Trigrams are
+-- case-insensitive, the plain columns are indexed.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING GIN (email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_roadmaps_project_name_trgm ON roadmaps USING GIN (project_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_functional_areas_name_trgm ON functional_areas USING GIN (name gin_trgm_ops);
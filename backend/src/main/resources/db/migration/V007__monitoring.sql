@@ -0,0 +1,13 @@
+-- Database diagnostics (/actuator/database, /actuator/queries) require MONITORING_VIEW.
+UPDATE roles SET authorities = authorities || ',MONITORING_VIEW'
+WHERE name = 'SUPERADMIN' AND ',' || authorities || ',' NOT LIKE '%,MONITORING_VIEW,%';
+
+-- Top statements need the library in shared_preload_libraries as well; without the privilege
+-- to create the extension the report simply leaves them out.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_stat_statements;
+EXCEPTION WHEN insufficient_privilege THEN
+    RAISE NOTICE 'pg_stat_statements not installed: %', SQLERRM;
+END;
+$$;
@@ -0,0 +1,60 @@
+package com.projector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Оборачивает ConnectionFactory приложения в r2dbc-proxy и запоминает выполненные SQL запросы,
+ * чтобы тесты могли проверять количество запросов к БД.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCounter implements BeanPostProcessor, ProxyExecutionListener {
+
+    private final Queue<String> queries = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ConnectionFactory connectionFactory) {
+            return ProxyConnectionFactory.builder(connectionFactory).listener(this).build();
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        execInfo.getQueries().stream()
+                .map(QueryInfo::getQuery)
+                .forEach(queries::add);
+    }
+
+    public void reset() {
+        queries.clear();
+    }
+
+    /**
+     * Запросы, выполненные после последнего {@link #reset()}, содержащие хотя бы один из фрагментов SQL.
+     */
+    public List<String> queries(String... fragments) {
+        List<String> matching = new ArrayList<>();
+        for (String query : queries) {
+            for (String fragment : fragments) {
+                if (query.contains(fragment)) {
+                    matching.add(query);
+                    break;
+                }
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,67 @@
+package com.projector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Запоминает завершенные span-ы приложения, чтобы тесты могли проверять трассировку
+ * без внешнего коллектора.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SpanCollector {
+
+    private static final int MAX_SPANS = 10_000;
+
+    private final Queue<SpanData> spans = new ConcurrentLinkedQueue<>();
+
+    @Bean
+    public SpanProcessor collectingSpanProcessor() {
+        return new SpanProcessor() {
+            @Override
+            public void onStart(Context parentContext, ReadWriteSpan span) {
+            }
+
+            @Override
+            public boolean isStartRequired() {
+                return false;
+            }
+
+            @Override
+            public void onEnd(ReadableSpan span) {
+                spans.add(span.toSpanData());
+                while (spans.size() > MAX_SPANS) {
+                    spans.poll();
+                }
+            }
+
+            @Override
+            public boolean isEndRequired() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Завершенные span-ы трассы {@code traceId}.
+     */
+    public List<SpanData> spans(String traceId) {
+        List<SpanData> matching = new ArrayList<>();
+        for (SpanData span : spans) {
+            if (span.getTraceId().equals(traceId)) {
+                matching.add(span);
+            }
+        }
+        return matching;
+    }
+}
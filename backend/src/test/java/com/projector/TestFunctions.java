@@ -5,19 +5,27 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import com.projector.core.component.BlockingCallDetector;
 import com.projector.core.model.UserCredentials;
 import com.projector.feature.model.Feature;
 import com.projector.feature.model.Quarter;
@@ -26,12 +34,15 @@ import com.projector.roadmap.model.Roadmap;
 import com.projector.task.model.Task;
 import com.projector.user.model.User;
 
+import reactor.core.publisher.Flux;
+
 /**
  * Переиспользуемые функции для E2E тестов.
  * Использует Testcontainers для создания изолированной PostgreSQL БД.
  */
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import({ QueryCounter.class, SpanCollector.class })
 public abstract class TestFunctions {
 
     @Container
@@ -40,13 +51,31 @@ public abstract class TestFunctions {
             .withDatabaseName("projector_test")
             .withUsername("projector")
             .withPassword("projector")
+            .withCommand("postgres", "-c", "shared_preload_libraries=pg_stat_statements")
             .withReuse(false);
 
+    static {
+        // Блокирующие вызовы в потоках event loop пишутся в лог со стеком, с -Pblockhound=fail роняют запрос
+        BlockingCallDetector.install(Boolean.getBoolean("projector.blockhound.fail"));
+    }
+
     @LocalServerPort
     protected int port;
 
     protected WebTestClient webTestClient;
 
+    @Autowired
+    protected DatabaseClient databaseClient;
+
+    @Autowired
+    protected ReactiveTransactionManager transactionManager;
+
+    @Autowired
+    protected QueryCounter queryCounter;
+
+    @Autowired
+    protected SpanCollector spanCollector;
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.r2dbc.url", () -> String.format(
@@ -65,6 +94,7 @@ public abstract class TestFunctions {
         registry.add("spring.flyway.password", postgres::getPassword);
         registry.add("spring.data.redis.host", () -> "localhost");
         registry.add("spring.data.redis.port", () -> 6380);
+        registry.add("management.tracing.sampling.probability", () -> 1.0);
     }
 
     protected void initWebTestClient() {
@@ -144,6 +174,24 @@ public abstract class TestFunctions {
         return null;
     }
 
+    /**
+     * Возвращает план запроса (EXPLAIN) с отключенным seq scan, чтобы на маленьких
+     * тестовых таблицах было видно, может ли запрос использовать индекс.
+     */
+    protected String explainWithoutSeqScan(String sql, Map<String, Object> params) {
+        GenericExecuteSpec explain = databaseClient.sql("EXPLAIN " + sql);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            explain = explain.bind(param.getKey(), param.getValue());
+        }
+        Flux<String> plan = databaseClient.sql("SET LOCAL enable_seqscan = off")
+                .then()
+                .thenMany(explain.map(row -> row.get(0, String.class)).all());
+        return String.join("\n", TransactionalOperator.create(transactionManager)
+                .transactional(plan)
+                .collectList()
+                .block());
+    }
+
     // ========== Функции для создания тестовых данных ==========
 
     /**
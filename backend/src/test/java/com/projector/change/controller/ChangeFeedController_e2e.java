@@ -0,0 +1,366 @@
+package com.projector.change.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+
+import com.projector.TestFunctions;
+import com.projector.change.model.ChangeAction;
+import com.projector.change.model.ChangeEntity;
+import com.projector.change.model.ChangeEvent;
+import com.projector.change.service.ChangeFeedService;
+import com.projector.core.component.JsonCodecs;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.role.model.Role;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.task.model.Task;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * E2E тесты для ленты изменений (SSE /api/changes и WebSocket /ws/changes).
+ * Проверяет доставку событий после коммита, фильтрацию по roadmap и правам, переполнение буфера клиента.
+ */
+@DirtiesContext
+@TestPropertySource(properties = "projector.changes.buffer-size=" + ChangeFeedController_e2e.BUFFER_SIZE)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ChangeFeedController_e2e extends TestFunctions {
+
+    static final int BUFFER_SIZE = 4;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private JsonCodecs jsonCodecs;
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+    }
+
+    @Test
+    @Order(1)
+    public void testStreamChanges_FilteredByRoadmap() throws InterruptedException {
+        // Given - два roadmap и фича для задач
+        Long watchedRoadmapId = createRoadmap("Watched Roadmap");
+        Long otherRoadmapId = createRoadmap("Other Roadmap");
+        Long featureId = createFeature();
+
+        // Подписываемся на изменения первого roadmap
+        BlockingQueue<ServerSentEvent<ChangeEvent>> received = new LinkedBlockingQueue<>();
+        Disposable subscription = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/changes?roadmapId=" + watchedRoadmapId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<ChangeEvent>>() {
+                })
+                .getResponseBody()
+                .subscribe(received::add);
+        try {
+            ServerSentEvent<ChangeEvent> ready = received.poll(10, TimeUnit.SECONDS);
+            assert ready != null && "ready".equals(ready.event()) : "Stream did not start: " + ready;
+
+            // When - задача в другом roadmap, затем в отслеживаемом
+            createTask(featureId, otherRoadmapId, "Unwatched Task");
+            Task watchedTask = createTask(featureId, watchedRoadmapId, "Watched Task");
+
+            // Then - приходит только событие отслеживаемого roadmap
+            ChangeEvent change = nextChange(received);
+            assert change != null : "No change received";
+            assert change.getEntity() == ChangeEntity.TASK;
+            assert change.getAction() == ChangeAction.CREATED;
+            assert change.getId().equals(watchedTask.getId()) : "Unexpected change: " + change;
+            assert change.getRoadmapIds().equals(List.of(watchedRoadmapId));
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void testWebSocketChanges_FilteredByRoadmap() throws InterruptedException {
+        // Given - два roadmap, фича и подписка по WebSocket на первый roadmap
+        Long watchedRoadmapId = createRoadmap("WebSocket Watched Roadmap");
+        Long otherRoadmapId = createRoadmap("WebSocket Other Roadmap");
+        Long featureId = createFeature();
+
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, "X-Auth=" + authToken);
+        Disposable session = new ReactorNettyWebSocketClient()
+                .execute(URI.create("ws://localhost:" + port + "/ws/changes?roadmapId=" + watchedRoadmapId), headers,
+                        webSocketSession -> webSocketSession.receive()
+                                .map(WebSocketMessage::getPayloadAsText)
+                                .doOnNext(received::add)
+                                .then())
+                .subscribe();
+        try {
+            // У WebSocket нет события ready: создаем задачи, пока подписка не начнет получать их
+            List<Long> watchedTaskIds = new ArrayList<>();
+            ChangeEvent first = null;
+            for (int attempt = 0; attempt < 20 && first == null; attempt++) {
+                watchedTaskIds.add(createTask(featureId, watchedRoadmapId, "WebSocket Warmup Task").getId());
+                first = nextWebSocketChange(received, 1);
+            }
+            assert first != null : "WebSocket stream did not start";
+            assert watchedTaskIds.contains(first.getId()) : "Unexpected change: " + first;
+
+            // When - задача в другом roadmap, затем в отслеживаемом
+            createTask(featureId, otherRoadmapId, "WebSocket Unwatched Task");
+            Task watchedTask = createTask(featureId, watchedRoadmapId, "WebSocket Watched Task");
+
+            // Then - сообщение JSON только об отслеживаемом roadmap
+            ChangeEvent change = nextWebSocketChange(received, 10);
+            assert change != null : "No change received";
+            assert change.getEntity() == ChangeEntity.TASK;
+            assert change.getAction() == ChangeAction.CREATED;
+            assert change.getId().equals(watchedTask.getId()) : "Unexpected change: " + change;
+            assert change.getRoadmapIds().equals(List.of(watchedRoadmapId));
+        } finally {
+            session.dispose();
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void testStreamChanges_FilteredByAuthority() throws InterruptedException {
+        // Given - пользователь с правом только на roadmap
+        Role role = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRole(null, "CHANGE_FEED_ROADMAP_VIEWER", Set.of("ROADMAP_VIEW")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Role.class)
+                .returnResult()
+                .getResponseBody();
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestUserWithRoles(null, "change-feed-viewer@example.com", "password123", List.of(role.getId())))
+                .exchange()
+                .expectStatus().isOk();
+        String viewerToken = loginAndGetToken("change-feed-viewer@example.com", "password123");
+        Long roadmapId = createRoadmap("Authority Roadmap");
+
+        BlockingQueue<ServerSentEvent<ChangeEvent>> received = new LinkedBlockingQueue<>();
+        Disposable subscription = webTestClientWithAuth(viewerToken)
+                .get()
+                .uri("/api/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<ChangeEvent>>() {
+                })
+                .getResponseBody()
+                .subscribe(received::add);
+        try {
+            ServerSentEvent<ChangeEvent> ready = received.poll(10, TimeUnit.SECONDS);
+            assert ready != null && "ready".equals(ready.event()) : "Stream did not start: " + ready;
+
+            // When - фича и задача без прав TASK_VIEW и FEATURE_VIEW, затем roadmap
+            Long featureId = createFeature();
+            createTask(featureId, roadmapId, "Hidden Task");
+            Long visibleRoadmapId = createRoadmap("Visible Roadmap");
+
+            // Then - первым приходит изменение roadmap, фича и задача отфильтрованы
+            ChangeEvent change = nextChange(received);
+            assert change != null : "No change received";
+            assert change.getEntity() == ChangeEntity.ROADMAP : "Unexpected change: " + change;
+            assert change.getId().equals(visibleRoadmapId);
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void testSubscribe_OverflowEndsWithResync() throws InterruptedException {
+        // Given - клиент, который не забирает события, и обычный клиент
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROADMAP_VIEW");
+        BlockingQueue<ChangeEvent> slowReceived = new LinkedBlockingQueue<>();
+        CountDownLatch slowCompleted = new CountDownLatch(1);
+        BaseSubscriber<ChangeEvent> slowClient = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // Ничего не запрашиваем, события копятся в буфере
+            }
+
+            @Override
+            protected void hookOnNext(ChangeEvent event) {
+                slowReceived.add(event);
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                slowCompleted.countDown();
+            }
+        };
+        changeFeedService.subscribe(Set.of(), authorities).subscribe(slowClient);
+        BlockingQueue<ChangeEvent> received = new LinkedBlockingQueue<>();
+        Disposable fastClient = changeFeedService.subscribe(Set.of(), authorities).subscribe(received::add);
+        try {
+            // When - событий больше, чем помещается в буфер
+            List<Long> roadmapIds = new ArrayList<>();
+            for (int i = 0; i <= BUFFER_SIZE; i++) {
+                roadmapIds.add(createRoadmap("Overflow Roadmap " + i));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!roadmapIds.isEmpty() && System.nanoTime() < deadline) {
+                ChangeEvent event = received.poll(1, TimeUnit.SECONDS);
+                if (event != null && event.getAction() == ChangeAction.CREATED) {
+                    roadmapIds.remove(event.getId());
+                }
+            }
+            assert roadmapIds.isEmpty() : "Changes not delivered: " + roadmapIds;
+            slowClient.requestUnbounded();
+
+            // Then - медленный клиент получает RESYNC и его поток завершается, обычный продолжает работать
+            assert slowCompleted.await(10, TimeUnit.SECONDS) : "Slow client stream did not complete";
+            List<ChangeEvent> slowEvents = new ArrayList<>(slowReceived);
+            assert !slowEvents.isEmpty();
+            assert slowEvents.get(slowEvents.size() - 1).getAction() == ChangeAction.RESYNC : slowEvents;
+            assert slowEvents.size() <= BUFFER_SIZE + 1 : slowEvents;
+            assert !fastClient.isDisposed();
+        } finally {
+            fastClient.dispose();
+            slowClient.dispose();
+        }
+    }
+
+    @Test
+    @Order(5)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .get()
+                .uri("/api/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private ChangeEvent nextChange(BlockingQueue<ServerSentEvent<ChangeEvent>> received) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ServerSentEvent<ChangeEvent> event = received.poll(1, TimeUnit.SECONDS);
+            // Пропускаем heartbeat и resync, интересуют только изменения
+            if (event != null && "change".equals(event.event())) {
+                return event.data();
+            }
+        }
+        return null;
+    }
+
+    private ChangeEvent nextWebSocketChange(BlockingQueue<String> received, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            String message = received.poll(100, TimeUnit.MILLISECONDS);
+            if (message == null) {
+                continue;
+            }
+            ChangeEvent event;
+            try {
+                event = jsonCodecs.readerFor(ChangeEvent.class).readValue(message);
+            } catch (IOException e) {
+                throw new AssertionError("Invalid change message: " + message, e);
+            }
+            // Пропускаем resync, интересуют только изменения
+            if (event.getAction() != ChangeAction.RESYNC) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private Long createRoadmap(String name) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, name, 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+    }
+
+    private Long createFeature() {
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("ChangeFeed_FA_" + System.currentTimeMillis())
+                        .description("FA for change feed")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q1, 1L,
+                        "Change Feed Feature", "Description", List.of(fa.getId())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+    }
+
+    private Task createTask(Long featureId, Long roadmapId, String summary) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, summary, "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,187 @@
+package com.projector.core.cache;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import com.projector.TestFunctions;
+import com.projector.core.component.JsonCodecs;
+import com.projector.functionalarea.model.FunctionalArea;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * E2E тесты для кэша сущностей (EntityCache, EntityCacheManager).
+ * Узлы кэша создаются в тесте поверх Redis из testcontainers: инвалидация между узлами через pub/sub,
+ * чтение из PostgreSQL при недоступном Redis и чтения, пересекающиеся с вытеснением.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EntityCache_e2e extends TestFunctions {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @Autowired
+    private JsonCodecs jsonCodecs;
+
+    private final List<EntityCacheManager> nodes = new ArrayList<>();
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        nodes.forEach(EntityCacheManager::destroy);
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+        nodes.clear();
+        connectionFactories.clear();
+    }
+
+    @Test
+    @Order(1)
+    public void testEvict_InvalidatesOtherNode() throws InterruptedException {
+        // Given - два узла с общим Redis, второй закэшировал версию 1
+        ReactiveStringRedisTemplate redisTemplate = redisTemplate(redis.getHost(), redis.getMappedPort(6379));
+        EntityCache<FunctionalArea> firstCache = node(redisTemplate, new SimpleMeterRegistry())
+                .create("cross-node", FunctionalArea.class);
+        EntityCache<FunctionalArea> secondCache = node(redisTemplate(redis.getHost(), redis.getMappedPort(6379)),
+                new SimpleMeterRegistry())
+                .create("cross-node", FunctionalArea.class);
+        nodes.forEach(EntityCacheManager::subscribe);
+        awaitSubscribers(redisTemplate, 2);
+        assert "v1".equals(secondCache.get(1L, id -> Mono.just(area(id, "v1"))).block(TIMEOUT).getName());
+
+        // When - первый узел вытесняет запись
+        firstCache.evict(1L).block(TIMEOUT);
+
+        // Then - второй узел сбрасывает L1 по сообщению и читает новую версию
+        String name = null;
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!"v2".equals(name) && System.nanoTime() < deadline) {
+            name = secondCache.get(1L, id -> Mono.just(area(id, "v2"))).block(TIMEOUT).getName();
+            Thread.sleep(50);
+        }
+        assert "v2".equals(name) : "Second node still serves " + name;
+    }
+
+    @Test
+    @Order(2)
+    public void testGet_RedisUnavailable() throws IOException {
+        // Given - Redis на закрытом порту
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EntityCacheManager node = node(redisTemplate("localhost", closedPort()), meterRegistry);
+        EntityCache<FunctionalArea> cache = node.create("offline", FunctionalArea.class);
+
+        // When - читаем две записи, затем первую еще раз
+        FunctionalArea first = cache.get(1L, id -> Mono.just(area(id, "first"))).block(TIMEOUT);
+        FunctionalArea second = cache.get(2L, id -> Mono.just(area(id, "second"))).block(TIMEOUT);
+        FunctionalArea cached = cache.get(1L, id -> Mono.error(new AssertionError("L1 expected"))).block(TIMEOUT);
+
+        // Then - чтения идут в загрузчик, Redis отключается после первой ошибки, L1 продолжает работать
+        assert "first".equals(first.getName());
+        assert "second".equals(second.getName());
+        assert "first".equals(cached.getName());
+        assert meterRegistry.get("projector.cache.redis.errors").counter().count() == 1;
+        assert requests(meterRegistry, "offline", "miss") == 2;
+        assert requests(meterRegistry, "offline", "l1_hit") == 1;
+    }
+
+    @Test
+    @Order(3)
+    public void testGet_OverlappingEvictionNotCached() throws Exception {
+        // Given - загрузка записи, которая ждет сигнала
+        ReactiveStringRedisTemplate redisTemplate = redisTemplate(redis.getHost(), redis.getMappedPort(6379));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EntityCache<FunctionalArea> cache = node(redisTemplate, meterRegistry).create("overlap", FunctionalArea.class);
+        Sinks.One<FunctionalArea> slowLoad = Sinks.one();
+        CountDownLatch loading = new CountDownLatch(1);
+        CompletableFuture<FunctionalArea> read = cache.get(1L, id -> {
+            loading.countDown();
+            return slowLoad.asMono();
+        }).toFuture();
+        assert loading.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS) : "Loader not called";
+
+        // When - запись вытесняется, пока загрузка идет, затем загрузка возвращает старую версию
+        cache.evict(1L).block(TIMEOUT);
+        slowLoad.tryEmitValue(area(1L, "stale"));
+
+        // Then - старая версия отдана читателю, но не попала ни в L1, ни в Redis
+        assert "stale".equals(read.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).getName());
+        assert !redisTemplate.hasKey(EntityCacheManager.key("overlap", 1L)).block(TIMEOUT);
+        assert "fresh".equals(cache.get(1L, id -> Mono.just(area(id, "fresh"))).block(TIMEOUT).getName());
+        assert requests(meterRegistry, "overlap", "miss") == 2;
+        assert requests(meterRegistry, "overlap", "l1_hit") == 0;
+    }
+
+    private EntityCacheManager node(ReactiveStringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        EntityCacheManager node = new EntityCacheManager(redisTemplate, jsonCodecs, meterRegistry);
+        ReflectionTestUtils.setField(node, "enabled", true);
+        ReflectionTestUtils.setField(node, "localMaxSize", 100L);
+        ReflectionTestUtils.setField(node, "localTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(node, "redisTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(node, "redisTimeout", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(node, "redisRetryAfter", Duration.ofSeconds(30));
+        nodes.add(node);
+        return node;
+    }
+
+    private ReactiveStringRedisTemplate redisTemplate(String host, int port) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(host, port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        connectionFactories.add(connectionFactory);
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * Ждет, пока узлы подпишутся на канал инвалидации: PUBLISH возвращает число получателей.
+     */
+    private void awaitSubscribers(ReactiveStringRedisTemplate redisTemplate, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            // Сообщение без имени кэша и id узлы игнорируют
+            Long receivers = redisTemplate.convertAndSend(EntityCacheManager.CHANNEL, "ping").block(TIMEOUT);
+            if (receivers != null && receivers >= expected) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Cache nodes did not subscribe");
+    }
+
+    private static double requests(MeterRegistry meterRegistry, String cache, String result) {
+        return meterRegistry.get("projector.cache.requests").tag("cache", cache).tag("result", result).counter().count();
+    }
+
+    private static FunctionalArea area(Long id, String name) {
+        return FunctionalArea.builder().id(id).name(name).build();
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
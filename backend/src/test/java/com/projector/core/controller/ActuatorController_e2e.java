@@ -0,0 +1,356 @@
+package com.projector.core.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+
+import com.projector.TestFunctions;
+import com.projector.core.model.DatabaseReport;
+import com.projector.core.model.QueryStatistics;
+import com.projector.core.model.RecordingInfo;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * E2E тесты для endpoint-ов actuator.
+ * Проверяет метрики сервисов, репозиториев, БД и event loop в формате Prometheus, статистику
+ * запросов, диагностику БД и записи JFR.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ActuatorController_e2e extends TestFunctions {
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+    }
+
+    @Test
+    @Order(1)
+    public void testPrometheus_OperationTimers() {
+        // Given - вызов, проходящий через сервис и репозиторий
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/functional-areas")
+                .exchange()
+                .expectStatus().isOk();
+
+        // When - Prometheus забирает метрики с токеном мониторинга
+        String metrics = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - таймеры с гистограммой по слоям, классам и методам
+        assert metrics.contains("projector_operation_seconds_bucket{") : metrics;
+        assert metrics.matches("(?s).*projector_operation_seconds_count\\{[^}]*class=\"FunctionalAreaService\""
+                + "[^}]*layer=\"service\"[^}]*outcome=\"SUCCESS\".*");
+        assert metrics.matches("(?s).*projector_operation_seconds_count\\{[^}]*class=\"FunctionalAreaRepository\""
+                + "[^}]*layer=\"repository\".*");
+        assert metrics.contains("quantile=\"0.99\"");
+    }
+
+    @Test
+    @Order(2)
+    public void testPrometheus_DatabaseMetrics() {
+        // When
+        String metrics = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - пул соединений, ожидание соединения и время запросов
+        assert metrics.contains("r2dbc_pool_acquired_connections") : metrics;
+        assert metrics.contains("projector_db_connection_acquire_seconds_count{");
+        assert metrics.matches("(?s).*projector_db_query_seconds_count\\{[^}]*type=\"SELECT\".*");
+    }
+
+    @Test
+    @Order(3)
+    public void testQueries_TopByTotalTime() {
+        // Given - начинаем измерение заново и выполняем запрос
+        webTestClientWithAuth(authToken)
+                .delete()
+                .uri("/actuator/queries")
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks?filter=id=in=(1,2,3)")
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        List<QueryStatistics> top = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/queries?limit=50")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(QueryStatistics.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - запрос задач есть в списке, список параметров свернут, сортировка по суммарному времени
+        QueryStatistics tasks = top.stream()
+                .filter(statistics -> statistics.sql().contains("FROM tasks"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(top));
+        assert tasks.sql().contains("$n, ...") : tasks.sql();
+        assert tasks.calls() >= 1;
+        for (int i = 1; i < top.size(); i++) {
+            assert top.get(i - 1).totalMillis() >= top.get(i).totalMillis();
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void testDatabase_Report() {
+        // Given - запрос, проходящий по индексу idx_features_year
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features?filter=year==2025")
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        DatabaseReport report = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/database")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DatabaseReport.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - статистика запросов, индексов, таблиц и ожиданий блокировок
+        assert report != null;
+        assert report.statementsAvailable();
+        assert !report.topStatements().isEmpty();
+        for (int i = 1; i < report.topStatements().size(); i++) {
+            assert report.topStatements().get(i - 1).totalMillis() >= report.topStatements().get(i).totalMillis();
+        }
+        assert report.indexes().stream().anyMatch(index -> index.index().equals("idx_features_year"));
+        // Первичный ключ не предлагается к удалению, даже если не использовался
+        assert report.indexes().stream()
+                .filter(index -> index.index().equals("users_pkey"))
+                .noneMatch(DatabaseReport.Index::unused);
+        DatabaseReport.Table tasks = report.tables().stream()
+                .filter(table -> table.table().equals("tasks"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(report.tables()));
+        assert tasks.deadTupleRatio() >= 0 && tasks.deadTupleRatio() <= 1;
+        assert report.lockWaits() != null;
+    }
+
+    @Test
+    @Order(5)
+    public void testDatabase_RequiresMonitoringAuthority() {
+        // Given - пользователь без роли
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                            "email": "monitoring-denied@example.com",
+                            "password": "password123"
+                        }
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+        String userToken = loginAndGetToken("monitoring-denied@example.com", "password123");
+
+        // When & Then - метрики, диагностика БД и профилирование доступны только с правом MONITORING_VIEW
+        webTestClientWithAuth(userToken)
+                .get()
+                .uri("/actuator/database")
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClientWithAuth(userToken)
+                .get()
+                .uri("/actuator/queries")
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClientWithAuth(userToken)
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClientWithAuth(userToken)
+                .post()
+                .uri("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @Order(6)
+    public void testMetrics_RequireAuthentication() {
+        // When & Then - endpoint-ы actuator, кроме health и info, требуют токен
+        webTestClient
+                .get()
+                .uri("/actuator/metrics")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient
+                .get()
+                .uri("/actuator/queries")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient
+                .get()
+                .uri("/actuator/database")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient
+                .get()
+                .uri("/actuator/jfr")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @Order(7)
+    public void testPrometheus_EventLoopLag() {
+        // When
+        String metrics = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - задержка каждого event loop сервера
+        assert metrics.matches("(?s).*projector_event_loop_lag_seconds\\{thread=\"reactor-http-[^\"]+\"}.*") : metrics;
+        assert metrics.contains("projector_event_loop_lag_max_seconds{");
+    }
+
+    @Test
+    @Order(8)
+    public void testJfr_RecordingWithDomainEvents() throws IOException {
+        // Given - запись JFR с настройками profile
+        RecordingInfo recording = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                            "settings": "profile",
+                            "duration": "5m"
+                        }
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RecordingInfo.class)
+                .returnResult()
+                .getResponseBody();
+        assert recording != null;
+        assert "RUNNING".equals(recording.state());
+        assert "profile".equals(recording.settings());
+
+        // When - вход, запрос через сервис и репозиторий, остановка и выгрузка записи
+        loginAndGetToken("admin", "admin");
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks")
+                .exchange()
+                .expectStatus().isOk();
+        RecordingInfo stopped = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/actuator/jfr/{id}", recording.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RecordingInfo.class)
+                .returnResult()
+                .getResponseBody();
+        byte[] data = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/jfr/{id}", recording.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - события предметной области в файле .jfr
+        assert "STOPPED".equals(stopped.state());
+        Path file = Files.createTempFile("actuator-test-", ".jfr");
+        List<RecordedEvent> events;
+        try {
+            Files.write(file, data);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+        assert events.stream().anyMatch(event -> event.getEventType().getName().equals("com.projector.Login")
+                && event.getBoolean("success"));
+        assert events.stream().anyMatch(event -> event.getEventType().getName().equals("com.projector.TokenValidation")
+                && event.getBoolean("valid"));
+        assert events.stream().anyMatch(event -> event.getEventType().getName().equals("com.projector.Operation")
+                && "TaskService".equals(event.getString("className"))
+                && "getAllTasks".equals(event.getString("method")));
+        assert events.stream().anyMatch(event -> event.getEventType().getName().equals("com.projector.Query")
+                && "tasks".equals(event.getString("table")));
+
+        // Запись удаляется
+        webTestClientWithAuth(authToken)
+                .delete()
+                .uri("/actuator/jfr/{id}", recording.id())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/jfr/{id}", recording.id())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(9)
+    public void testJfr_InvalidSettings() {
+        // When & Then - неизвестные настройки и слишком долгая запись отклоняются
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"settings\": \"unknown\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"duration\": \"24h\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,108 @@
+package com.projector.core.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.projector.TestFunctions;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * E2E тесты трассировки.
+ * Проверяет, что запрос дает одну трассу из span-ов HTTP, Spring Security, сервисов,
+ * репозиториев и SQL запросов, связанных через контекст Reactor.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Tracing_e2e extends TestFunctions {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+    }
+
+    @Test
+    @Order(1)
+    public void testTrace_RequestToQueries() throws InterruptedException {
+        // Given - входящий запрос продолжает трассу клиента (W3C traceparent, sampled)
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks")
+                .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01")
+                .exchange()
+                .expectStatus().isOk();
+
+        // When - span-ы завершаются после отправки ответа
+        List<SpanData> spans = awaitSpans(TRACE_ID, span -> span.getName().startsWith("http get"));
+
+        // Then - HTTP, проверка токена, авторизация, сервис и SQL в одной трассе
+        List<String> names = spans.stream().map(SpanData::getName).toList();
+        assert names.stream().anyMatch(name -> name.startsWith("http get")) : names;
+        assert names.stream().anyMatch(name -> name.startsWith("security filterchain")) : names;
+        assert names.stream().anyMatch(name -> name.startsWith("authenticate")) : names;
+        assert names.stream().anyMatch(name -> name.startsWith("authorize")) : names;
+        assert names.contains("TaskService.getAllTasks") : names;
+
+        // SQL запрос вложен в вызов сервиса
+        Map<String, SpanData> byId = spans.stream()
+                .collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+        SpanData query = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.CLIENT)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(names));
+        boolean underService = false;
+        for (SpanData span = query; span != null; span = byId.get(span.getParentSpanId())) {
+            underService |= span.getName().equals("TaskService.getAllTasks");
+        }
+        assert underService : names;
+    }
+
+    @Test
+    @Order(2)
+    public void testTrace_NotSampled() throws InterruptedException {
+        // Given - клиент не записывает трассу
+        String traceId = "0af7651916cd43dd8448eb211c80319c";
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks")
+                .header("traceparent", "00-" + traceId + "-b7ad6b7169203331-00")
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        Thread.sleep(500);
+
+        // Then - решение клиента о выборке соблюдается
+        assert spanCollector.spans(traceId).isEmpty();
+    }
+
+    /**
+     * Ждет span, завершающий трассу, и возвращает все span-ы трассы.
+     */
+    private List<SpanData> awaitSpans(String traceId, Predicate<SpanData> last)
+            throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            List<SpanData> spans = spanCollector.spans(traceId);
+            if (spans.stream().anyMatch(last)) {
+                return spans;
+            }
+            Thread.sleep(100);
+        }
+        return spanCollector.spans(traceId);
+    }
+}
@@ -0,0 +1,156 @@
+package com.projector.dataimport.component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import com.projector.TestFunctions;
+import com.projector.dataimport.model.ImportJob;
+import com.projector.dataimport.model.ImportRecord;
+import com.projector.dataimport.model.ImportStatus;
+import com.projector.dataimport.service.ImportService;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * E2E тесты для импорта из файла (--import-file).
+ * Проверяет разбор параметров, выбор формата по расширению, продолжение задания и код завершения.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ImportCommandLineRunner_e2e extends TestFunctions {
+
+    private static final String SOURCE = "cli:" + System.currentTimeMillis();
+
+    @Autowired
+    private ImportCommandLineRunner importCommandLineRunner;
+
+    @Autowired
+    private ImportService importService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Order(1)
+    public void testImportFile_CsvByExtension() throws IOException {
+        // Given - CSV-файл с roadmap и функциональной областью
+        Path file = Files.writeString(directory.resolve("records.csv"), """
+                type,externalId,name,projectName,mission
+                FUNCTIONAL_AREA,fa-1,Cli_FA_%s,,
+                ROADMAP,RM-1,,Cli Csv Roadmap,Mission
+                """.formatted(SOURCE));
+
+        // When
+        int exitCode = importFile("--import-file=" + file, "--import-source=" + SOURCE);
+
+        // Then - файл разобран как CSV, обе записи слиты
+        assert exitCode == 0;
+        assert "Cli Csv Roadmap".equals(column("roadmaps", "project_name", mappedId("ROADMAP", "RM-1")));
+        assert ("Cli_FA_" + SOURCE).equals(column("functional_areas", "name", mappedId("FUNCTIONAL_AREA", "fa-1")));
+    }
+
+    @Test
+    @Order(2)
+    public void testImportFile_NdjsonByDefaultAndAuthor() throws IOException {
+        // Given - файл без расширения .csv читается как NDJSON
+        Path file = Files.writeString(directory.resolve("records.jsonl"), """
+                {"type":"ROADMAP","externalId":"RM-2","projectName":"Cli Ndjson Roadmap"}
+
+                {"type":"ROADMAP","externalId":"RM-1","projectName":"Cli Renamed Roadmap"}
+                """);
+
+        // When
+        int exitCode = importFile("--import-file=" + file, "--import-source=" + SOURCE, "--import-author-id=1");
+
+        // Then - новая запись создана, существующая обновлена
+        assert exitCode == 0;
+        assert "Cli Ndjson Roadmap".equals(column("roadmaps", "project_name", mappedId("ROADMAP", "RM-2")));
+        assert "Cli Renamed Roadmap".equals(column("roadmaps", "project_name", mappedId("ROADMAP", "RM-1")));
+    }
+
+    @Test
+    @Order(3)
+    public void testImportFile_ExplicitFormat() throws IOException {
+        // Given - CSV в файле с расширением .txt
+        Path file = Files.writeString(directory.resolve("records.txt"), """
+                type,externalId,projectName
+                ROADMAP,RM-3,Cli Txt Roadmap
+                """);
+
+        // When
+        int exitCode = importFile("--import-file=" + file, "--import-source=" + SOURCE, "--import-format=csv");
+
+        // Then
+        assert exitCode == 0;
+        assert "Cli Txt Roadmap".equals(column("roadmaps", "project_name", mappedId("ROADMAP", "RM-3")));
+    }
+
+    @Test
+    @Order(4)
+    public void testImportFile_ResumesJob() throws IOException {
+        // Given - задание, в которое уже загружена первая запись файла
+        Path file = Files.writeString(directory.resolve("resume.jsonl"), """
+                {"type":"ROADMAP","externalId":"RM-4","projectName":"Cli Resumed Roadmap 1"}
+                {"type":"ROADMAP","externalId":"RM-5","projectName":"Cli Resumed Roadmap 2"}
+                """);
+        ImportJob job = importService.createJob(SOURCE, 1L).block();
+        importService.load(job.getId(), Flux.just(ImportRecord.builder()
+                        .type("ROADMAP").externalId("RM-4").projectName("Cli Resumed Roadmap 1").build()))
+                .block();
+
+        // When - запускаем тот же файл с --import-job-id
+        int exitCode = importFile("--import-file=" + file, "--import-job-id=" + job.getId());
+
+        // Then - загружена только недостающая запись, задание завершено
+        assert exitCode == 0;
+        ImportJob completed = importService.getJob(job.getId()).block();
+        assert completed.getStatus() == ImportStatus.COMPLETED : completed.getError();
+        assert completed.getRecordsLoaded() == 2;
+        assert completed.getRecordsMerged() == 2;
+        assert "Cli Resumed Roadmap 2".equals(column("roadmaps", "project_name", mappedId("ROADMAP", "RM-5")));
+    }
+
+    @Test
+    @Order(5)
+    public void testImportFile_FailureExitCode() throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("invalid.jsonl"), "{\"type\":\"ROADMAP\",\"externalId\":\"RM-6\"}\n");
+
+        // When & Then - отсутствующий файл, неизвестный формат, нет источника, некорректный id задания
+        assert importFile("--import-file=" + directory.resolve("missing.csv"), "--import-source=" + SOURCE) == 1;
+        assert importFile("--import-file=" + file, "--import-source=" + SOURCE, "--import-format=xml") == 1;
+        assert importFile("--import-file=" + file) == 1;
+        assert importFile("--import-file=" + file, "--import-job-id=abc") == 1;
+        assert importFile("--import-file=" + file, "--import-job-id=999999") == 1;
+    }
+
+    private int importFile(String... args) {
+        return importCommandLineRunner.importFile(new DefaultApplicationArguments(args));
+    }
+
+    private Long mappedId(String entity, String externalId) {
+        return databaseClient.sql("SELECT entity_id FROM import_id_map WHERE source = :source AND entity = :entity AND external_id = :externalId")
+                .bind("source", SOURCE)
+                .bind("entity", entity)
+                .bind("externalId", externalId)
+                .map(row -> row.get("entity_id", Long.class))
+                .one()
+                .block();
+    }
+
+    private String column(String table, String column, Long id) {
+        return databaseClient.sql("SELECT " + column + " FROM " + table + " WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(column, String.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,344 @@
+package com.projector.dataimport.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+
+import com.projector.TestFunctions;
+import com.projector.dataimport.model.ImportError;
+import com.projector.dataimport.model.ImportJob;
+import com.projector.dataimport.model.ImportJobRequest;
+import com.projector.dataimport.model.ImportRecord;
+import com.projector.dataimport.model.ImportStatus;
+import com.projector.feature.model.Feature;
+import com.projector.task.model.Task;
+
+/**
+ * E2E тесты для импорта (/api/imports).
+ * Проверяет загрузку через COPY, слияние, отклоненные записи и повторный импорт.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ImportController_e2e extends TestFunctions {
+
+    private static final String SOURCE = "e2e:" + System.currentTimeMillis();
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+    }
+
+    @Test
+    @Order(1)
+    public void testImport_LoadsAndMergesRecords() {
+        // Given - задание и записи всех типов, одна задача ссылается на несуществующую фичу
+        ImportJob job = createJob();
+        List<ImportRecord> records = List.of(
+                ImportRecord.builder().type("FUNCTIONAL_AREA").externalId("fa-1").name("Import_FA_" + SOURCE).build(),
+                ImportRecord.builder().type("ROADMAP").externalId("RM").projectName("Import Roadmap").mission("Mission").build(),
+                ImportRecord.builder().type("FEATURE").externalId("F-1").year(2024L).quarter("Q2")
+                        .summary("Import Feature").functionalAreaExternalIds(List.of("fa-1")).build(),
+                ImportRecord.builder().type("TASK").externalId("T-1").featureExternalId("F-1").roadmapExternalId("RM")
+                        .summary("Import Task").description("Line 1\nLine 2\twith tab \\ and backslash").build(),
+                ImportRecord.builder().type("TASK").externalId("T-2").featureExternalId("F-missing").roadmapExternalId("RM")
+                        .summary("Orphan Task").build(),
+                ImportRecord.builder().type("EPIC").externalId("E-1").build());
+
+        // When - загружаем NDJSON и запускаем слияние
+        ImportJob loaded = loadRecords(job.getId(), records);
+        assert loaded.getStatus() == ImportStatus.LOADING;
+        assert loaded.getRecordsLoaded() == records.size();
+        ImportJob merged = mergeAndWait(job.getId());
+
+        // Then - валидные записи перенесены, невалидные отклонены с причиной
+        assert merged.getStatus() == ImportStatus.COMPLETED : merged.getError();
+        assert merged.getRecordsMerged() == 4;
+        assert merged.getRecordsRejected() == 2;
+
+        List<ImportError> errors = getErrors(job.getId());
+        assert errors.size() == 2;
+        assert errors.stream().anyMatch(e -> "T-2".equals(e.getExternalId()) && e.getError().contains("F-missing"));
+        assert errors.stream().anyMatch(e -> "EPIC".equals(e.getType()) && e.getError().startsWith("Unknown type"));
+
+        Task task = getTask(mappedId("TASK", "T-1"));
+        assert "Import Task".equals(task.getSummary());
+        assert "Line 1\nLine 2\twith tab \\ and backslash".equals(task.getDescription());
+        assert task.getFeatureId().equals(mappedId("FEATURE", "F-1"));
+        assert task.getRoadmapId().equals(mappedId("ROADMAP", "RM"));
+        assert task.getAuthorId() == 1L;
+
+        Feature feature = getFeature(task.getFeatureId());
+        assert feature.getFunctionalAreaIds().equals(List.of(mappedId("FUNCTIONAL_AREA", "fa-1")));
+    }
+
+    @Test
+    @Order(2)
+    public void testImport_ReimportUpdatesInsteadOfDuplicating() {
+        // Given - задача уже импортирована из этого источника
+        Long taskId = mappedId("TASK", "T-1");
+
+        // When - импортируем ее снова с новым описанием, последняя запись с тем же id побеждает
+        ImportJob job = createJob();
+        loadRecords(job.getId(), List.of(
+                ImportRecord.builder().type("TASK").externalId("T-1").featureExternalId("F-1").roadmapExternalId("RM")
+                        .summary("Stale Summary").build(),
+                ImportRecord.builder().type("TASK").externalId("T-1").featureExternalId("F-1").roadmapExternalId("RM")
+                        .summary("Reimported Task").build()));
+        ImportJob merged = mergeAndWait(job.getId());
+
+        // Then - та же задача обновлена
+        assert merged.getStatus() == ImportStatus.COMPLETED : merged.getError();
+        assert merged.getRecordsMerged() == 1;
+        assert mappedId("TASK", "T-1").equals(taskId);
+        assert "Reimported Task".equals(getTask(taskId).getSummary());
+    }
+
+    @Test
+    @Order(3)
+    public void testImport_Csv() {
+        // Given - CSV с заголовком, многострочным полем в кавычках и списком функциональных областей
+        ImportJob job = createJob();
+        String csv = """
+                type,externalId,summary,description,year,quarter,featureExternalId,roadmapExternalId,functionalAreaExternalIds
+                FEATURE,F-2,Csv Feature,"Multi
+                line, ""quoted""\",2025,Q3,,,fa-1
+                TASK,T-3,Csv Task,,,,F-2,RM,
+                """;
+
+        // When - загружаем CSV и запускаем слияние
+        ImportJob loaded = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/imports/" + job.getId() + "/records")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ImportJob.class)
+                .returnResult()
+                .getResponseBody();
+        assert loaded.getRecordsLoaded() == 2;
+        ImportJob merged = mergeAndWait(job.getId());
+
+        // Then - фича и задача созданы
+        assert merged.getStatus() == ImportStatus.COMPLETED : merged.getError();
+        Feature feature = getFeature(mappedId("FEATURE", "F-2"));
+        assert "Multi\nline, \"quoted\"".equals(feature.getDescription());
+        assert feature.getYear() == 2025L;
+        assert getTask(mappedId("TASK", "T-3")).getFeatureId().equals(feature.getId());
+    }
+
+    @Test
+    @Order(4)
+    public void testImport_CompletedJobRejectsRecordsAndMerge() {
+        // Given - завершенное задание
+        ImportJob job = createJob();
+        loadRecords(job.getId(), List.of());
+        mergeAndWait(job.getId());
+
+        // When & Then - загрузка и повторное слияние возвращают 409
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/imports/" + job.getId() + "/records")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/imports/" + job.getId() + "/merge")
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @Order(5)
+    public void testImport_JobNotFound() {
+        // When & Then - несуществующее задание
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/imports/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(6)
+    public void testImport_RenameToTakenFunctionalAreaNameRejected() {
+        // Given - две функциональные области из этого источника
+        ImportJob first = createJob();
+        loadRecords(first.getId(), List.of(
+                ImportRecord.builder().type("FUNCTIONAL_AREA").externalId("fa-2").name("Import_FA2_" + SOURCE).build()));
+        assert mergeAndWait(first.getId()).getStatus() == ImportStatus.COMPLETED;
+
+        // When - переименовываем fa-1 в имя fa-2, фича ссылается на fa-1
+        ImportJob job = createJob();
+        loadRecords(job.getId(), List.of(
+                ImportRecord.builder().type("FUNCTIONAL_AREA").externalId("fa-1").name("Import_FA2_" + SOURCE).build(),
+                ImportRecord.builder().type("FEATURE").externalId("F-3").year(2024L).quarter("Q1")
+                        .summary("Feature After Rename").functionalAreaExternalIds(List.of("fa-1")).build()));
+        ImportJob merged = mergeAndWait(job.getId());
+
+        // Then - отклонена только запись с занятым именем, остальное слито
+        assert merged.getStatus() == ImportStatus.COMPLETED : merged.getError();
+        assert merged.getRecordsMerged() == 1;
+        assert merged.getRecordsRejected() == 1;
+        List<ImportError> errors = getErrors(job.getId());
+        assert errors.size() == 1;
+        assert "fa-1".equals(errors.get(0).getExternalId());
+        assert errors.get(0).getError().contains("already taken") : errors.get(0).getError();
+        assert ("Import_FA_" + SOURCE).equals(functionalAreaName(mappedId("FUNCTIONAL_AREA", "fa-1")));
+        assert getFeature(mappedId("FEATURE", "F-3")).getFunctionalAreaIds().equals(List.of(mappedId("FUNCTIONAL_AREA", "fa-1")));
+    }
+
+    @Test
+    @Order(7)
+    public void testImport_DuplicateFunctionalAreaNameInJobRejected() {
+        // Given - две новые области с одинаковым именем, фича ссылается на вторую
+        ImportJob job = createJob();
+        loadRecords(job.getId(), List.of(
+                ImportRecord.builder().type("FUNCTIONAL_AREA").externalId("fa-3").name("Import_Dup_" + SOURCE).build(),
+                ImportRecord.builder().type("FUNCTIONAL_AREA").externalId("fa-4").name("Import_Dup_" + SOURCE).build(),
+                ImportRecord.builder().type("FEATURE").externalId("F-4").year(2024L).quarter("Q1")
+                        .summary("Feature Of Duplicate").functionalAreaExternalIds(List.of("fa-4")).build()));
+
+        // When
+        ImportJob merged = mergeAndWait(job.getId());
+
+        // Then - первая запись создает область, вторая отклонена с причиной и не оставляет висящего id
+        assert merged.getStatus() == ImportStatus.COMPLETED : merged.getError();
+        assert merged.getRecordsMerged() == 1;
+        assert merged.getRecordsRejected() == 2;
+        List<ImportError> errors = getErrors(job.getId());
+        assert errors.stream().anyMatch(e -> "fa-4".equals(e.getExternalId()) && e.getError().contains("already used by fa-3"));
+        assert errors.stream().anyMatch(e -> "F-4".equals(e.getExternalId()) && e.getError().contains("fa-4 not found"));
+        assert ("Import_Dup_" + SOURCE).equals(functionalAreaName(mappedId("FUNCTIONAL_AREA", "fa-3")));
+        assert mappedId("FUNCTIONAL_AREA", "fa-4") == null;
+    }
+
+    @Test
+    @Order(8)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .post()
+                .uri("/api/imports")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ImportJobRequest(SOURCE))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private ImportJob createJob() {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/imports")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ImportJobRequest(SOURCE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ImportJob.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private ImportJob loadRecords(Long jobId, List<ImportRecord> records) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/imports/" + jobId + "/records")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(records)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ImportJob.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private ImportJob mergeAndWait(Long jobId) {
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/imports/" + jobId + "/merge")
+                .exchange()
+                .expectStatus().isAccepted();
+        // Слияние идет в фоне, ждем завершения
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ImportJob job = webTestClientWithAuth(authToken)
+                    .get()
+                    .uri("/api/imports/" + jobId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ImportJob.class)
+                    .returnResult()
+                    .getResponseBody();
+            if (job.getStatus() == ImportStatus.COMPLETED || job.getStatus() == ImportStatus.FAILED) {
+                return job;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+
+    private List<ImportError> getErrors(Long jobId) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/imports/" + jobId + "/errors")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ImportError.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Long mappedId(String entity, String externalId) {
+        return databaseClient.sql("SELECT entity_id FROM import_id_map WHERE source = :source AND entity = :entity AND external_id = :externalId")
+                .bind("source", SOURCE)
+                .bind("entity", entity)
+                .bind("externalId", externalId)
+                .map(row -> row.get("entity_id", Long.class))
+                .one()
+                .block();
+    }
+
+    private String functionalAreaName(Long id) {
+        return databaseClient.sql("SELECT name FROM functional_areas WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("name", String.class))
+                .one()
+                .block();
+    }
+
+    private Task getTask(Long id) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Feature getFeature(Long id) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,304 @@
+package com.projector.export.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projector.TestFunctions;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.task.model.Task;
+
+/**
+ * E2E тесты для экспорта (GET /api/export/*).
+ * Проверяет CSV, JSON Lines, gzip, фильтры списочных endpoint-ов и кэш файлов выгрузки.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ExportController_e2e extends TestFunctions {
+
+    private static Long featureId;
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+        if (featureId == null) {
+            // Задачи одной фичи, одна с запятой, кавычками и переводом строки в описании
+            Roadmap roadmap = createRoadmap();
+            featureId = createFeature();
+            createTask(featureId, roadmap.getId(), "Export Task 1", "Plain");
+            createTask(featureId, roadmap.getId(), "Export Task 2", "Comma, \"quoted\"\nnext line");
+        }
+    }
+
+    @Test
+    @Order(1)
+    public void testExport_TasksCsv() {
+        // When - экспортируем задачи фичи в CSV с выбранными полями
+        String csv = new String(export("/api/export/tasks?fields=summary,description&filter=featureId==" + featureId),
+                StandardCharsets.UTF_8);
+
+        // Then - заголовок из полей проекции и экранированные значения
+        String[] lines = csv.split("\r\n");
+        assert "id,summary,description".equals(lines[0]);
+        assert csv.contains(",Export Task 1,Plain\r\n");
+        assert csv.contains(",Export Task 2,\"Comma, \"\"quoted\"\"\nnext line\"\r\n");
+        assert lines.length == 3;
+    }
+
+    @Test
+    @Order(2)
+    public void testExport_TasksJsonLines() throws IOException {
+        // When - экспортируем задачи фичи в JSON Lines
+        String jsonl = new String(export("/api/export/tasks?format=jsonl&filter=featureId==" + featureId),
+                StandardCharsets.UTF_8);
+
+        // Then - по одному объекту на строку
+        List<String> lines = jsonl.lines().toList();
+        assert lines.size() == 2;
+        ObjectMapper mapper = new ObjectMapper();
+        for (String line : lines) {
+            JsonNode task = mapper.readTree(line);
+            assert task.get("featureId").asLong() == featureId;
+            assert task.get("summary").asText().startsWith("Export Task");
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void testExport_Gzip() throws IOException {
+        // When - экспортируем фичи со сжатием
+        byte[] compressed = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/export/features?gzip=true&filter=id==" + featureId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/gzip")
+                .expectHeader().valueMatches("Content-Disposition", ".*features\\.csv\\.gz.*")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - распакованный файл содержит заголовок и одну фичу
+        String csv;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\r\n");
+        assert lines.length == 2;
+        assert lines[0].startsWith("id,year,quarter");
+        assert lines[1].startsWith(featureId + ",2024,Q1");
+    }
+
+    @Test
+    @Order(4)
+    public void testExport_Roadmaps() {
+        // When & Then - roadmap экспортируются с выбранными полями
+        String csv = new String(export("/api/export/roadmaps?fields=projectName"), StandardCharsets.UTF_8);
+        assert csv.startsWith("id,projectName\r\n");
+        assert csv.contains(",Export Roadmap\r\n");
+    }
+
+    @Test
+    @Order(5)
+    public void testExport_CachedFile() {
+        String uri = "/api/export/tasks?fields=summary&filter=featureId==" + featureId;
+
+        // When - запрашиваем одну и ту же выгрузку дважды
+        EntityExchangeResult<byte[]> first = webTestClientWithAuth(authToken).get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult();
+        EntityExchangeResult<byte[]> second = webTestClientWithAuth(authToken).get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult();
+
+        // Then - второй ответ отдан из того же файла
+        String etag = first.getResponseHeaders().getETag();
+        assert etag != null;
+        assert etag.equals(second.getResponseHeaders().getETag());
+        assert Arrays.equals(first.getResponseBody(), second.getResponseBody());
+
+        // Then - сжатый вариант имеет свой ETag
+        String gzipEtag = webTestClientWithAuth(authToken).get().uri(uri + "&gzip=true").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/gzip")
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+        assert gzipEtag != null && !gzipEtag.equals(etag);
+    }
+
+    @Test
+    @Order(6)
+    public void testExport_Range() {
+        String uri = "/api/export/tasks?fields=summary&filter=featureId==" + featureId;
+        byte[] full = export(uri);
+
+        // When - запрашиваем первые 10 байт
+        byte[] part = webTestClientWithAuth(authToken)
+                .get()
+                .uri(uri)
+                .header("Range", "bytes=0-9")
+                .exchange()
+                .expectStatus().isEqualTo(206)
+                .expectHeader().valueEquals("Content-Range", "bytes 0-9/" + full.length)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - получен начальный фрагмент файла
+        assert Arrays.equals(part, Arrays.copyOf(full, 10));
+    }
+
+    @Test
+    @Order(7)
+    public void testExport_NotModified() {
+        String uri = "/api/export/tasks?fields=summary&filter=featureId==" + featureId;
+        String etag = webTestClientWithAuth(authToken).get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        // When & Then - с If-None-Match файл не передается
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri(uri)
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @Order(8)
+    public void testExport_ChangedData() {
+        String uri = "/api/export/tasks?fields=summary&filter=featureId==" + featureId;
+        String etag = webTestClientWithAuth(authToken).get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        // Given - добавляем задачу после первой выгрузки
+        Roadmap roadmap = createRoadmap();
+        createTask(featureId, roadmap.getId(), "Export Task 3", "Added");
+
+        // When - повторяем выгрузку
+        EntityExchangeResult<byte[]> result = webTestClientWithAuth(authToken).get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult();
+
+        // Then - новый файл с новой задачей
+        assert !etag.equals(result.getResponseHeaders().getETag());
+        assert new String(result.getResponseBody(), StandardCharsets.UTF_8).contains(",Export Task 3\r\n");
+    }
+
+    @Test
+    @Order(9)
+    public void testExport_InvalidParameters() {
+        // When & Then - неизвестное поле, фильтр или формат возвращают 400 до начала выгрузки
+        for (String uri : List.of("/api/export/tasks?fields=unknown", "/api/export/tasks?filter=summary==x",
+                "/api/export/features?format=xml")) {
+            webTestClientWithAuth(authToken)
+                    .get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Test
+    @Order(10)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .get()
+                .uri("/api/export/tasks")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private byte[] export(String uri) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Roadmap createRoadmap() {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, "Export Roadmap", 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Long createFeature() {
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("Export_FA_" + System.currentTimeMillis())
+                        .description("FA for export")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q1, 1L,
+                        "Export Feature", "Description", List.of(fa.getId())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+    }
+
+    private void createTask(Long featureId, Long roadmapId, String summary, String description) {
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, summary, description))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class);
+    }
+}
@@ -1,16 +1,30 @@
 package com.projector.feature.controller;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.projector.TestFunctions;
+import com.projector.core.config.Constants;
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.model.BulkItemStatus;
+import com.projector.core.util.ListQuery;
+import com.projector.core.util.SqlFilter;
 import com.projector.feature.model.Feature;
+import com.projector.feature.model.FeatureResponse;
 import com.projector.feature.model.Quarter;
+import com.projector.feature.repository.FeatureReadRepository;
+import com.projector.feature.repository.FeatureRowMapper;
 
 /**
  * E2E тесты для FeatureController.
@@ -300,5 +314,342 @@ public class FeatureController_e2e extends TestFunctions {
                     assert feature.getFunctionalAreaIds().contains(createdFa.getId());
                 });
     }
-}
 
+    @Test
+    @Order(13)
+    public void testGetFeatureById_Smile() throws Exception {
+        // Given
+        Feature featureToCreate = createTestFeature(null, 2025L, Quarter.Q2, 1L,
+                "Smile feature", "Description");
+        Feature createdFeature = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(featureToCreate)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody();
+
+        // When
+        byte[] body = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features/" + createdFeature.getId())
+                .accept(MediaType.parseMediaType(Constants.APPLICATION_SMILE_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(Constants.APPLICATION_SMILE_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        JsonNode feature = new SmileMapper().readTree(body);
+        assert feature.path("id").asLong() == createdFeature.getId();
+        assert "Smile feature".equals(feature.path("summary").asText());
+        assert "Q2".equals(feature.path("quarter").asText());
+    }
+
+    @Test
+    @Order(14)
+    public void testGetAllFeatures_DefaultsToJson() {
+        // When & Then - Accept */* keeps JSON as the default representation
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @Order(15)
+    public void testGetAllFeatures_Filter() {
+        // Given
+        for (Quarter quarter : new Quarter[] { Quarter.Q1, Quarter.Q2, Quarter.Q3 }) {
+            webTestClientWithAuth(authToken)
+                    .post()
+                    .uri("/api/features")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createTestFeature(null, 2031L, quarter, 1L, "Filtered " + quarter, "Description"))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/features")
+                        .queryParam("filter", "{filter}")
+                        .build("year==2031;quarter=in=(Q1,Q2)"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Feature.class)
+                .value(features -> {
+                    assert features.size() == 2;
+                    for (Feature feature : features) {
+                        assert feature.getYear() == 2031L;
+                        assert feature.getQuarter() != Quarter.Q3;
+                    }
+                });
+    }
+
+    @Test
+    @Order(16)
+    public void testGetAllFeatures_FilterPaged() {
+        // When - первая страница
+        java.util.List<Feature> firstPage = webTestClientWithAuth(authToken)
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/features")
+                        .queryParam("filter", "{filter}")
+                        .queryParam("limit", 2)
+                        .build("year==2031"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Feature.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - вторая страница продолжается после последнего id
+        assert firstPage.size() == 2;
+        assert firstPage.get(0).getId() < firstPage.get(1).getId();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/features")
+                        .queryParam("filter", "{filter}")
+                        .queryParam("after", firstPage.get(1).getId())
+                        .queryParam("limit", 2)
+                        .build("year==2031"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Feature.class)
+                .value(features -> {
+                    assert features.size() == 1;
+                    assert features.get(0).getId() > firstPage.get(1).getId();
+                });
+    }
+
+    @Test
+    @Order(17)
+    public void testGetAllFeatures_InvalidFilter() {
+        for (String filter : new String[] { "description==x", "year==abc", "quarter==Q5", "year=like=1", "(year==1" }) {
+            webTestClientWithAuth(authToken)
+                    .get()
+                    .uri(uriBuilder -> uriBuilder.path("/api/features")
+                            .queryParam("filter", "{filter}")
+                            .build(filter))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Order(18)
+    public void testFeatureFilter_UsesIndex() {
+        // Given
+        SqlFilter filter = FeatureRowMapper.FILTERS.compile("year==2025;quarter=in=(Q1,Q2)");
+        ListQuery<Feature> query = new ListQuery<>(FeatureRowMapper.INSTANCE, filter, null, null);
+
+        // When
+        String plan = explainWithoutSeqScan(query.toSql(FeatureReadRepository.TABLE), filter.parameters());
+
+        // Then
+        assert plan.contains("idx_features_year") : plan;
+    }
+
+    @Test
+    @Order(19)
+    public void testGetFeatureById_AfterUpdate() {
+        // Given - feature прочитана и попала в кэш
+        Feature createdFeature = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeature(null, 2024L, Quarter.Q1, 1L, "Cached feature", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features/" + createdFeature.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        webTestClientWithAuth(authToken)
+                .put()
+                .uri("/api/features/" + createdFeature.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeature(createdFeature.getId(), 2024L, Quarter.Q2, 1L,
+                        "Cached feature updated", "Description"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // Then - чтение по id видит изменения, а не закэшированную версию
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features/" + createdFeature.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .value(feature -> {
+                    assert feature.getSummary().equals("Cached feature updated");
+                    assert feature.getQuarter().equals(Quarter.Q2);
+                    assert feature.getCreateDate() != null;
+                });
+    }
+
+    @Test
+    @Order(20)
+    public void testFeaturesBulk_CreateUpdateDelete() {
+        // Given - две корректные feature и одна с несуществующей функциональной областью
+        Feature broken = createTestFeature(null, 2024L, Quarter.Q1, 1L, "Bulk broken", "Description");
+        broken.setFunctionalAreaIds(List.of(999999L));
+        List<Feature> features = List.of(
+                createTestFeature(null, 2024L, Quarter.Q1, 1L, "Bulk feature 1", "Description"),
+                broken,
+                createTestFeature(null, 2024L, Quarter.Q2, 1L, "Bulk feature 2", "Description"));
+
+        // When - создание
+        List<BulkItemResult<FeatureResponse>> created = bulk(HttpMethod.POST, features);
+
+        // Then
+        assert created.size() == 3;
+        assert created.get(0).getStatus() == BulkItemStatus.OK;
+        assert created.get(1).getStatus() == BulkItemStatus.INVALID;
+        assert created.get(1).getError().contains("999999") : created.get(1).getError();
+        assert created.get(2).getStatus() == BulkItemStatus.OK;
+        Long firstId = created.get(0).getId();
+        Long secondId = created.get(2).getId();
+
+        // When - обновление
+        Feature update = createTestFeature(firstId, 2025L, Quarter.Q3, 1L, "Bulk feature 1 updated", "Description");
+        List<BulkItemResult<FeatureResponse>> updated = bulk(HttpMethod.PUT, List.of(update));
+
+        // Then - чтение по id видит изменения
+        assert updated.get(0).getStatus() == BulkItemStatus.OK;
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features/" + firstId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .value(feature -> {
+                    assert feature.getSummary().equals("Bulk feature 1 updated");
+                    assert feature.getQuarter().equals(Quarter.Q3);
+                    assert feature.getCreateDate() != null;
+                });
+
+        // When - удаление
+        List<BulkItemResult<FeatureResponse>> deleted = bulk(HttpMethod.DELETE, List.of(firstId, secondId, 999999L));
+
+        // Then
+        assert deleted.get(0).getStatus() == BulkItemStatus.OK;
+        assert deleted.get(1).getStatus() == BulkItemStatus.OK;
+        assert deleted.get(2).getStatus() == BulkItemStatus.NOT_FOUND;
+    }
+
+    private List<BulkItemResult<FeatureResponse>> bulk(HttpMethod method, Object body) {
+        return webTestClientWithAuth(authToken)
+                .method(method)
+                .uri("/api/features/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<BulkItemResult<FeatureResponse>>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    @Order(21)
+    public void testGetAllFeatures_Smile() throws Exception {
+        // Given
+        Feature featureToCreate = createTestFeature(null, 2025L, Quarter.Q3, 1L,
+                "Smile list feature", "Description");
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(featureToCreate)
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        byte[] body = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/features")
+                .accept(MediaType.parseMediaType(Constants.APPLICATION_SMILE_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(Constants.APPLICATION_SMILE_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - список кодируется одним массивом Smile
+        JsonNode features = new SmileMapper().readTree(body);
+        assert features.isArray();
+        assert features.size() > 1;
+        boolean found = false;
+        for (JsonNode feature : features) {
+            found |= "Smile list feature".equals(feature.path("summary").asText());
+        }
+        assert found;
+    }
+
+    @Test
+    @Order(22)
+    public void testGetFeatureById_CacheMetrics() {
+        // Given - новая feature
+        Feature createdFeature = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeature(null, 2024L, Quarter.Q3, 1L, "Metered feature", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody();
+        double misses = cacheRequests("miss");
+        double localHits = cacheRequests("l1_hit");
+
+        // When - читаем ее дважды
+        for (int i = 0; i < 2; i++) {
+            webTestClientWithAuth(authToken)
+                    .get()
+                    .uri("/api/features/" + createdFeature.getId())
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // Then - первое чтение идет мимо кэша, второе отвечает L1
+        assert cacheRequests("miss") == misses + 1;
+        assert cacheRequests("l1_hit") == localHits + 1;
+    }
+
+    private double cacheRequests(String result) {
+        JsonNode metric = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/actuator/metrics/projector.cache.requests?tag=cache:features&tag=result:" + result)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+        return metric.get("measurements").get(0).get("value").asDouble();
+    }
+}
@@ -9,7 +9,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 
 import com.projector.TestFunctions;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.functionalarea.model.FunctionalArea;
 import com.projector.roadmap.model.Roadmap;
+import com.projector.roadmap.model.RoadmapDocument;
+import com.projector.roadmap.model.RoadmapTree;
+import com.projector.task.model.Task;
 
 /**
  * E2E тесты для RoadmapController.
@@ -221,5 +227,195 @@ public class RoadmapController_e2e extends TestFunctions {
                 .exchange()
                 .expectStatus().isUnauthorized();
     }
-}
 
+    @Test
+    @Order(10)
+    public void testGetRoadmapDocument_FollowsChanges() {
+        // Given - roadmap, фича и задача в ней
+        Roadmap roadmap = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, "Document Project", 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody();
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("RoadmapDocument_FA_" + System.currentTimeMillis())
+                        .description("FA for roadmap document")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        Feature feature = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q2, 1L,
+                        "Document Feature", "Description", java.util.List.of(fa.getId())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody();
+        Task task = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, feature.getId(), roadmap.getId(), 1L, "Document Task", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+
+        // When & Then - документ содержит roadmap, задачу и ее фичу
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/roadmaps/" + roadmap.getId() + "/document")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RoadmapDocument.class)
+                .value(document -> {
+                    assert document.getRoadmap().getId().equals(roadmap.getId());
+                    assert document.getTasks().size() == 1;
+                    assert document.getTasks().get(0).getSummary().equals("Document Task");
+                    assert document.getFeatures().size() == 1;
+                    assert document.getFeatures().get(0).getId().equals(feature.getId());
+                });
+
+        // Изменение задачи видно в документе
+        webTestClientWithAuth(authToken)
+                .put()
+                .uri("/api/tasks/" + task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(task.getId(), feature.getId(), roadmap.getId(), 1L, "Renamed Task", "Description"))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/roadmaps/" + roadmap.getId() + "/document")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RoadmapDocument.class)
+                .value(document -> {
+                    assert document.getTasks().size() == 1;
+                    assert document.getTasks().get(0).getSummary().equals("Renamed Task");
+                });
+
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/roadmaps/999/document")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(11)
+    public void testGetRoadmapTree_FixedQueryCount() {
+        // Given - маленький roadmap (1 фича, 1 задача) и большой (3 фичи, 6 задач)
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("RoadmapTree_FA_" + System.currentTimeMillis())
+                        .description("FA for roadmap tree")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        Long smallRoadmapId = createRoadmapWithTasks(fa.getId(), 1, 1);
+        Long bigRoadmapId = createRoadmapWithTasks(fa.getId(), 3, 2);
+
+        // When - запрашиваем дерево маленького roadmap
+        queryCounter.reset();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/roadmaps/" + smallRoadmapId + "/tree")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RoadmapTree.class)
+                .value(tree -> {
+                    assert tree.getRoadmap().getId().equals(smallRoadmapId);
+                    assert tree.getFeatures().size() == 1;
+                    assert tree.getFeatures().get(0).getTasks().size() == 1;
+                });
+        int smallQueries = treeQueries();
+
+        // When - запрашиваем дерево большого roadmap
+        queryCounter.reset();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/roadmaps/" + bigRoadmapId + "/tree")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RoadmapTree.class)
+                .value(tree -> {
+                    assert tree.getFeatures().size() == 3;
+                    assert tree.getFeatures().stream().allMatch(node -> node.getTasks().size() == 2);
+                });
+        int bigQueries = treeQueries();
+
+        // Then - по одному запросу на roadmap, задачи и фичи, независимо от размера
+        assert smallQueries == 3 : "Unexpected query count: " + smallQueries;
+        assert bigQueries == smallQueries : "Query count depends on roadmap size: " + bigQueries;
+
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/roadmaps/999/tree")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private int treeQueries() {
+        return queryCounter.queries("FROM roadmaps", "FROM tasks", "FROM features").size();
+    }
+
+    private Long createRoadmapWithTasks(Long faId, int featureCount, int tasksPerFeature) {
+        Roadmap roadmap = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, "Tree Project", 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody();
+        for (int f = 0; f < featureCount; f++) {
+            Feature feature = webTestClientWithAuth(authToken)
+                    .post()
+                    .uri("/api/features")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q3, 1L,
+                            "Tree Feature " + f, "Description", java.util.List.of(faId)))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(Feature.class)
+                    .returnResult()
+                    .getResponseBody();
+            for (int t = 0; t < tasksPerFeature; t++) {
+                webTestClientWithAuth(authToken)
+                        .post()
+                        .uri("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(createTestTask(null, feature.getId(), roadmap.getId(), 1L, "Tree Task " + t, "Description"))
+                        .exchange()
+                        .expectStatus().isOk();
+            }
+        }
+        return roadmap.getId();
+    }
+}
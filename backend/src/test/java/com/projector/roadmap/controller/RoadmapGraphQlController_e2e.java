@@ -0,0 +1,181 @@
+package com.projector.roadmap.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.projector.TestFunctions;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+
+/**
+ * E2E тесты для GraphQL API (/graphql).
+ * Проверяет вложенные связи, батчинг запросов к БД и ограничения глубины/сложности.
+ */
+@DirtiesContext
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class RoadmapGraphQlController_e2e extends TestFunctions {
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+    }
+
+    @Test
+    @Order(1)
+    public void testRoadmapBoard_BatchedRelations() {
+        // Given - roadmap с тремя задачами в трех разных фичах
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("GraphQl_FA_" + System.currentTimeMillis())
+                        .description("FA for GraphQL")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        Roadmap roadmap = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, "GraphQL Project", 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody();
+        for (int i = 0; i < 3; i++) {
+            Feature feature = webTestClientWithAuth(authToken)
+                    .post()
+                    .uri("/api/features")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q4, 1L,
+                            "GraphQL Feature " + i, "Description", List.of(fa.getId())))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(Feature.class)
+                    .returnResult()
+                    .getResponseBody();
+            webTestClientWithAuth(authToken)
+                    .post()
+                    .uri("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createTestTask(null, feature.getId(), roadmap.getId(), 1L, "GraphQL Task " + i, "Description"))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        String query = "{ roadmap(id: " + roadmap.getId() + ") { projectName author { email } "
+                + "tasks { summary author { email } feature { summary quarter functionalAreas { name } } } } }";
+
+        // When
+        queryCounter.reset();
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.roadmap.projectName").isEqualTo("GraphQL Project")
+                .jsonPath("$.data.roadmap.author.email").isEqualTo("admin")
+                .jsonPath("$.data.roadmap.tasks.length()").isEqualTo(3)
+                .jsonPath("$.data.roadmap.tasks[0].feature.summary").isEqualTo("GraphQL Feature 0")
+                .jsonPath("$.data.roadmap.tasks[2].feature.quarter").isEqualTo("Q4")
+                .jsonPath("$.data.roadmap.tasks[1].feature.functionalAreas[0].name").isEqualTo(fa.getName());
+
+        // Then - одна выборка фич и одна выборка функциональных областей на все задачи
+        assert queryCounter.queries("FROM features").size() == 1
+                : "Features loaded per task: " + queryCounter.queries("FROM features");
+        assert queryCounter.queries("functional_areas").size() == 1
+                : "Functional areas loaded per feature: " + queryCounter.queries("functional_areas");
+    }
+
+    @Test
+    @Order(2)
+    public void testQuery_TooDeep() {
+        // Given - вложенность больше projector.graphql.max-depth
+        String query = "{ tasks { roadmap { tasks { feature { tasks { roadmap { tasks { feature { summary } } } } } } } } }";
+
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data").doesNotExist()
+                .jsonPath("$.errors[0].message").value(message -> {
+                    assert message.toString().contains("depth") : message;
+                });
+    }
+
+    @Test
+    @Order(3)
+    public void testQuery_TooComplex() {
+        // Given - списки внутри списков превышают projector.graphql.max-complexity
+        String query = "{ roadmaps { tasks { feature { tasks { roadmap { participants { email } } } } } } }";
+
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data").doesNotExist()
+                .jsonPath("$.errors[0].message").value(message -> {
+                    assert message.toString().contains("complexity") : message;
+                });
+    }
+
+    @Test
+    @Order(4)
+    public void testInvalidFilter_BadRequest() {
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ tasks(filter: \"summary==x\") { id } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errors[0].extensions.classification").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    @Order(5)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ roadmaps { id } }"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
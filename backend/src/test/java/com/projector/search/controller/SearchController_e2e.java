@@ -0,0 +1,242 @@
+package com.projector.search.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+
+import com.projector.TestFunctions;
+import com.projector.change.model.ChangeEntity;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.search.model.SearchHit;
+import com.projector.task.model.Task;
+
+/**
+ * E2E тесты для полнотекстового поиска (GET /api/search).
+ * Проверяет ранжирование, подсветку, фильтр по типам, обновление индекса триггерами и ошибки параметров.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SearchController_e2e extends TestFunctions {
+
+    private static Long roadmapId;
+    private static Long featureId;
+    private static Long titleTaskId;
+    private static Long descriptionTaskId;
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+        if (roadmapId == null) {
+            // Слово zephyrquartz встречается в заголовке одной задачи, в описании другой и в описании фичи
+            roadmapId = createRoadmap().getId();
+            featureId = createFeature("Search Feature", "Feature about zephyrquartz");
+            titleTaskId = createTask("Zephyrquartz migration", "Plain text").getId();
+            descriptionTaskId = createTask("Other task", "Needs <script>zephyrquartz</script> later").getId();
+        }
+    }
+
+    @Test
+    @Order(1)
+    public void testSearch_RankedHits() {
+        // When
+        List<SearchHit> hits = search("/api/search?q=zephyrquartz");
+
+        // Then - совпадение в заголовке выше совпадений в описании
+        assert hits.size() == 3 : hits;
+        assert hits.get(0).getEntity() == ChangeEntity.TASK;
+        assert hits.get(0).getId().equals(titleTaskId);
+        assert hits.get(0).getTitle().equals("Zephyrquartz migration");
+        assert hits.get(0).getRank() > hits.get(1).getRank();
+        assert hits.stream().anyMatch(hit -> hit.getEntity() == ChangeEntity.FEATURE && hit.getId().equals(featureId));
+    }
+
+    @Test
+    @Order(2)
+    public void testSearch_HighlightEscapesText() {
+        // When
+        List<SearchHit> hits = search("/api/search?q=zephyrquartz&types=TASK");
+
+        // Then - совпадение выделено, разметка из текста экранирована
+        SearchHit hit = hits.stream().filter(h -> h.getId().equals(descriptionTaskId)).findFirst().orElseThrow();
+        assert hit.getHeadline().contains("<mark>zephyrquartz</mark>") : hit.getHeadline();
+        assert hit.getHeadline().contains("&lt;script&gt;") : hit.getHeadline();
+        assert !hit.getHeadline().contains("<script>");
+    }
+
+    @Test
+    @Order(3)
+    public void testSearch_TypesAndPaging() {
+        // When & Then - только фичи
+        List<SearchHit> features = search("/api/search?q=zephyrquartz&types=FEATURE");
+        assert features.size() == 1;
+        assert features.get(0).getId().equals(featureId);
+
+        // When & Then - вторая страница по одному результату
+        List<SearchHit> all = search("/api/search?q=zephyrquartz");
+        List<SearchHit> second = search("/api/search?q=zephyrquartz&offset=1&limit=1");
+        assert second.size() == 1;
+        assert second.get(0).getId().equals(all.get(1).getId());
+        assert second.get(0).getEntity() == all.get(1).getEntity();
+    }
+
+    @Test
+    @Order(4)
+    public void testSearch_QuerySyntax() {
+        // When & Then - исключение слова и фраза
+        List<SearchHit> excluded = search("/api/search?q=zephyrquartz -migration");
+        assert excluded.stream().noneMatch(hit -> hit.getId().equals(titleTaskId) && hit.getEntity() == ChangeEntity.TASK);
+        List<SearchHit> phrase = search("/api/search?q=\"zephyrquartz migration\"");
+        assert phrase.size() == 1;
+        assert phrase.get(0).getId().equals(titleTaskId);
+    }
+
+    @Test
+    @Order(5)
+    public void testSearch_UpdatedByTrigger() {
+        // Given - меняем заголовок задачи
+        Task task = createTestTask(titleTaskId, featureId, roadmapId, 1L, "Renamed to quokkaveil", "Plain text");
+        webTestClientWithAuth(authToken)
+                .put()
+                .uri("/api/tasks/{id}", titleTaskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(task)
+                .exchange()
+                .expectStatus().isOk();
+
+        // When & Then - находится по новому слову и не находится по старому
+        List<SearchHit> renamed = search("/api/search?q=quokkaveil");
+        assert renamed.size() == 1;
+        assert renamed.get(0).getId().equals(titleTaskId);
+        assert search("/api/search?q=zephyrquartz&types=TASK").stream().noneMatch(hit -> hit.getId().equals(titleTaskId));
+    }
+
+    @Test
+    @Order(6)
+    public void testSearch_UsesIndex() {
+        // When
+        String plan = explainWithoutSeqScan(
+                "SELECT id FROM tasks WHERE search_vector @@ websearch_to_tsquery('simple', :query)",
+                Map.of("query", "zephyrquartz"));
+
+        // Then
+        assert plan.contains("idx_tasks_search_vector") : plan;
+    }
+
+    @Test
+    @Order(7)
+    public void testSearch_InvalidParameters() {
+        // When & Then
+        for (String uri : List.of("/api/search", "/api/search?q=%20", "/api/search?q=x&limit=0",
+                "/api/search?q=x&limit=101", "/api/search?q=x&offset=1001", "/api/search?q=x&types=USER")) {
+            webTestClientWithAuth(authToken)
+                    .get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Test
+    @Order(8)
+    public void testSearch_LastWordMatchesPrefix() {
+        // Given - без стемминга окончания слов различаются
+        Long taskId = createTask("Согласовать квартальные задачи", "Plain text").getId();
+
+        // When & Then - последнее слово ищется как начало слова, остальные целиком
+        List<SearchHit> prefix = search("/api/search?q=квартальные задач&types=TASK");
+        assert prefix.size() == 1 : prefix;
+        assert prefix.get(0).getId().equals(taskId);
+        assert prefix.get(0).getHeadline().contains("<mark>задачи</mark>") : prefix.get(0).getHeadline();
+        assert search("/api/search?q=квартальн задачи&types=TASK").isEmpty();
+        // When & Then - исключенное последнее слово сравнивается целиком
+        assert search("/api/search?q=квартальные -задач&types=TASK").stream().anyMatch(hit -> hit.getId().equals(taskId));
+        assert search("/api/search?q=квартальные -задачи&types=TASK").isEmpty();
+    }
+
+    @Test
+    @Order(9)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .get()
+                .uri("/api/search?q=zephyrquartz")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private List<SearchHit> search(String uri) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(SearchHit.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Roadmap createRoadmap() {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, "Search Roadmap", 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Long createFeature(String summary, String description) {
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("Search_FA_" + System.currentTimeMillis())
+                        .description("FA for search")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q1, 1L, summary, description, List.of(fa.getId())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+    }
+
+    private Task createTask(String summary, String description) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, summary, description))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,156 @@
+package com.projector.suggest.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+
+import com.projector.TestFunctions;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.suggest.model.Suggestion;
+
+/**
+ * E2E тесты для автодополнения (GET /api/suggest/*).
+ * Проверяет поиск по префиксу, подстроке и с опечаткой, порядок подсказок и ошибки параметров.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SuggestController_e2e extends TestFunctions {
+
+    private static Long prefixAreaId;
+    private static Long infixAreaId;
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+        if (prefixAreaId == null) {
+            infixAreaId = createFunctionalArea("Legacy Quillmoor").getId();
+            prefixAreaId = createFunctionalArea("Quillmoor Payments").getId();
+        }
+    }
+
+    @Test
+    @Order(1)
+    public void testSuggest_PrefixFirst() {
+        // When
+        List<Suggestion> suggestions = suggest("/api/suggest/functional-areas?q=quillm");
+
+        // Then - начинающееся с текста выше содержащего его
+        assert suggestions.size() == 2 : suggestions;
+        assert suggestions.get(0).getId().equals(prefixAreaId);
+        assert suggestions.get(0).getLabel().equals("Quillmoor Payments");
+        assert suggestions.get(1).getId().equals(infixAreaId);
+    }
+
+    @Test
+    @Order(2)
+    public void testSuggest_Typo() {
+        // When & Then - опечатка находится по сходству триграмм
+        List<Suggestion> suggestions = suggest("/api/suggest/functional-areas?q=Quilmoor Paymets");
+        assert suggestions.stream().anyMatch(suggestion -> suggestion.getId().equals(prefixAreaId)) : suggestions;
+    }
+
+    @Test
+    @Order(3)
+    public void testSuggest_ShortPrefixAndLimit() {
+        // When & Then - короткий префикс из кэша и ограничение количества
+        List<Suggestion> first = suggest("/api/suggest/functional-areas?q=qu&limit=1");
+        List<Suggestion> second = suggest("/api/suggest/functional-areas?q=QU&limit=1");
+        assert first.size() == 1;
+        assert first.equals(second);
+    }
+
+    @Test
+    @Order(4)
+    public void testSuggest_UsersAndRoadmaps() {
+        // When & Then
+        assert suggest("/api/suggest/users?q=admi").stream().anyMatch(suggestion -> suggestion.getLabel().equals("admin"));
+        suggest("/api/suggest/roadmaps?q=road");
+    }
+
+    @Test
+    @Order(5)
+    public void testSuggest_LikeWildcardsAreLiteral() {
+        // When & Then - % не работает как шаблон LIKE
+        List<Suggestion> suggestions = webTestClientWithAuth(authToken)
+                .get()
+                .uri(builder -> builder.path("/api/suggest/functional-areas").queryParam("q", "{q}").build("%"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Suggestion.class)
+                .returnResult()
+                .getResponseBody();
+        assert suggestions.isEmpty() : suggestions;
+    }
+
+    @Test
+    @Order(6)
+    public void testSuggest_UsesIndex() {
+        // When
+        String plan = explainWithoutSeqScan("SELECT id FROM functional_areas WHERE name ILIKE :contains",
+                Map.of("contains", "%quillm%"));
+
+        // Then
+        assert plan.contains("idx_functional_areas_name_trgm") : plan;
+    }
+
+    @Test
+    @Order(7)
+    public void testSuggest_InvalidParameters() {
+        // When & Then
+        for (String uri : List.of("/api/suggest/users", "/api/suggest/users?q=%20", "/api/suggest/users?q=a&limit=0",
+                "/api/suggest/users?q=a&limit=51")) {
+            webTestClientWithAuth(authToken)
+                    .get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Test
+    @Order(8)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .get()
+                .uri("/api/suggest/users?q=adm")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private List<Suggestion> suggest(String uri) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Suggestion.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private FunctionalArea createFunctionalArea(String name) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name(name)
+                        .description("FA for suggest")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,169 @@
+package com.projector.sync.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.MediaType;
+
+import com.projector.TestFunctions;
+import com.projector.change.model.ChangeEntity;
+import com.projector.feature.model.Feature;
+import com.projector.feature.model.Quarter;
+import com.projector.functionalarea.model.FunctionalArea;
+import com.projector.roadmap.model.Roadmap;
+import com.projector.sync.model.SyncResponse;
+import com.projector.task.model.Task;
+
+/**
+ * E2E тесты для дельта-синхронизации (GET /api/sync).
+ * Проверяет выдачу изменений и удалений после watermark.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SyncController_e2e extends TestFunctions {
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        initWebTestClient();
+        // Логинимся как admin для получения токена
+        authToken = loginAndGetToken("admin", "admin");
+    }
+
+    @Test
+    @Order(1)
+    public void testSync_ReturnsChangesSinceWatermark() {
+        // Given - watermark полной синхронизации
+        SyncResponse full = sync(null);
+        assert full.getWatermark() != null && full.getWatermark() > 0;
+        assert full.getUsers().stream().anyMatch(user -> "admin".equals(user.getEmail()));
+
+        // When - создаем roadmap, фичу и две задачи, одну изменяем, другую удаляем
+        Roadmap roadmap = createRoadmap();
+        Long featureId = createFeature();
+        Task updated = createTask(featureId, roadmap.getId(), "Sync Task");
+        Task deleted = createTask(featureId, roadmap.getId(), "Deleted Sync Task");
+        updated.setSummary("Sync Task Updated");
+        webTestClientWithAuth(authToken)
+                .put()
+                .uri("/api/tasks/" + updated.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updated)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClientWithAuth(authToken)
+                .delete()
+                .uri("/api/tasks/" + deleted.getId())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        // Then - приходят только новые изменения и удаление
+        SyncResponse delta = sync(full.getWatermark());
+        assert delta.getWatermark() >= full.getWatermark();
+        assert delta.getRoadmaps().stream().anyMatch(r -> r.getId().equals(roadmap.getId()));
+        assert delta.getFeatures().stream().anyMatch(f -> f.getId().equals(featureId));
+        assert delta.getTasks().stream()
+                .anyMatch(t -> t.getId().equals(updated.getId()) && "Sync Task Updated".equals(t.getSummary()));
+        assert delta.getTasks().stream().noneMatch(t -> t.getId().equals(deleted.getId()));
+        assert delta.getDeleted().stream()
+                .anyMatch(t -> t.getEntity() == ChangeEntity.TASK && t.getId().equals(deleted.getId()));
+        assert delta.getUsers().stream().noneMatch(user -> "admin".equals(user.getEmail()));
+
+        // Повторный запрос с новым watermark не возвращает уже полученные изменения
+        SyncResponse next = sync(delta.getWatermark());
+        assert next.getTasks().stream().noneMatch(t -> t.getId().equals(updated.getId()));
+        assert next.getDeleted().stream().noneMatch(t -> t.getId().equals(deleted.getId()));
+    }
+
+    @Test
+    @Order(2)
+    public void testSync_NegativeWatermark() {
+        // When & Then - отрицательный watermark должен вернуть 400
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/sync?since=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Order(3)
+    public void testUnauthorizedAccess() {
+        // When & Then - без токена должен вернуть 401
+        webTestClient
+                .get()
+                .uri("/api/sync")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private SyncResponse sync(Long since) {
+        return webTestClientWithAuth(authToken)
+                .get()
+                .uri(since == null ? "/api/sync" : "/api/sync?since=" + since)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SyncResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Roadmap createRoadmap() {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/roadmaps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestRoadmap(null, "Sync Roadmap", 1L, "Mission", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Roadmap.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Long createFeature() {
+        FunctionalArea fa = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/functional-areas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FunctionalArea.builder()
+                        .name("Sync_FA_" + System.currentTimeMillis())
+                        .description("FA for sync")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FunctionalArea.class)
+                .returnResult()
+                .getResponseBody();
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestFeatureWithFa(null, 2024L, Quarter.Q1, 1L,
+                        "Sync Feature", "Description", List.of(fa.getId())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Feature.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+    }
+
+    private Task createTask(Long featureId, Long roadmapId, String summary) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, summary, "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
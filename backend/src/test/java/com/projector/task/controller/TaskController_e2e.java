@@ -1,19 +1,40 @@
 package com.projector.task.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.projector.TestFunctions;
+import com.projector.core.config.Constants;
+import com.projector.core.model.BulkItemResult;
+import com.projector.core.model.BulkItemStatus;
+import com.projector.core.util.ListQuery;
+import com.projector.core.util.SqlFilter;
 import com.projector.feature.model.Feature;
 import com.projector.feature.model.Quarter;
 import com.projector.functionalarea.model.FunctionalArea;
 import com.projector.roadmap.model.Roadmap;
 import com.projector.task.model.Task;
+import com.projector.task.model.TaskResponse;
+import com.projector.task.repository.TaskReadRepository;
+import com.projector.task.repository.TaskRowMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * E2E тесты для TaskController.
@@ -273,5 +294,463 @@ public class TaskController_e2e extends TestFunctions {
                 .exchange()
                 .expectStatus().isUnauthorized();
     }
-}
 
+    @Test
+    @Order(10)
+    public void testGetAllTasks_Cbor() throws Exception {
+        // Given
+        Task taskToCreate = createTestTask(null, featureId, roadmapId, 1L,
+                "CBOR task", "Description");
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskToCreate)
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        byte[] body = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        JsonNode tasks = new CBORMapper().readTree(body);
+        assert tasks.isArray();
+        boolean found = false;
+        for (JsonNode task : tasks) {
+            found |= "CBOR task".equals(task.path("summary").asText());
+        }
+        assert found;
+    }
+
+    @Test
+    @Order(11)
+    public void testGetAllTasks_SummaryView() {
+        // Given
+        Task taskToCreate = createTestTask(null, featureId, roadmapId, 1L,
+                "Summary view task", "Long description that the summary view skips");
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskToCreate)
+                .exchange()
+                .expectStatus().isOk();
+
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks?view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(tasks -> {
+                    assert tasks.isArray() && tasks.size() > 0;
+                    for (JsonNode task : tasks) {
+                        assert task.has("id");
+                        assert task.has("summary");
+                        assert !task.has("description");
+                    }
+                });
+    }
+
+    @Test
+    @Order(12)
+    public void testGetAllTasks_Fields() {
+        // When & Then - только запрошенные поля и id
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks?fields=summary,featureId")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(tasks -> {
+                    assert tasks.isArray() && tasks.size() > 0;
+                    for (JsonNode task : tasks) {
+                        assert task.size() == 3;
+                        assert task.has("id") && task.has("summary") && task.has("featureId");
+                    }
+                });
+    }
+
+    @Test
+    @Order(13)
+    public void testGetAllTasks_UnknownField() {
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks?fields=summary,password")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks?view=compact")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Order(14)
+    public void testGetAllTasks_FilterByFeature() {
+        // Given - setUp создает отдельную feature на каждый тест
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, "Filtered task", "Description"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // When & Then
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/tasks")
+                        .queryParam("filter", "{filter}")
+                        .build("featureId==" + featureId + ";roadmapId==" + roadmapId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class)
+                .value(tasks -> {
+                    assert tasks.size() == 1;
+                    assert tasks.get(0).getSummary().equals("Filtered task");
+                });
+    }
+
+    @Test
+    @Order(15)
+    public void testTaskFilter_UsesIndex() {
+        // Given
+        SqlFilter filter = TaskRowMapper.FILTERS.compile("featureId==" + featureId);
+        ListQuery<Task> query = new ListQuery<>(TaskRowMapper.INSTANCE, filter, null, null);
+
+        // When
+        String plan = explainWithoutSeqScan(query.toSql(TaskReadRepository.TABLE), filter.parameters());
+
+        // Then
+        assert plan.contains("idx_tasks_feature_id") : plan;
+    }
+
+    @Test
+    @Order(16)
+    public void testGetTaskById_Concurrent() {
+        // Given
+        Task createdTask = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, "Popular task", "Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+
+        // When - одновременные запросы одной задачи разделяют одну загрузку
+        List<Task> tasks = Flux.range(0, 20)
+                .flatMap(i -> Mono.fromCallable(() -> webTestClientWithAuth(authToken)
+                                .get()
+                                .uri("/api/tasks/" + createdTask.getId())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(Task.class)
+                                .returnResult()
+                                .getResponseBody())
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .block();
+
+        // Then
+        assert tasks.size() == 20;
+        for (Task task : tasks) {
+            assert task.getId().equals(createdTask.getId());
+            assert task.getSummary().equals("Popular task");
+        }
+    }
+
+    @Test
+    @Order(17)
+    public void testCreateTask_IdempotencyKeyReplaysResponse() {
+        // Given
+        String key = "task-" + System.nanoTime();
+        Task newTask = createTestTask(null, featureId, roadmapId, 1L, "Idempotent task", "Description");
+
+        // When - повтор запроса с тем же ключом
+        Task first = createTaskWithKey(key, newTask);
+        Task second = createTaskWithKey(key, newTask);
+
+        // Then - вторая задача не создается, возвращается первый ответ
+        assert first.getId().equals(second.getId());
+        assert second.getSummary().equals("Idempotent task");
+
+        // Без ключа создается новая задача
+        Task third = createTaskWithKey(null, newTask);
+        assert !third.getId().equals(first.getId());
+    }
+
+    @Test
+    @Order(18)
+    public void testCreateTask_IdempotencyKeyReusedForDifferentRequest() {
+        // Given
+        String key = "task-" + System.nanoTime();
+        createTaskWithKey(key, createTestTask(null, featureId, roadmapId, 1L, "First body", "Description"));
+
+        // When & Then - тот же ключ с другим телом должен вернуть 422
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestTask(null, featureId, roadmapId, 1L, "Second body", "Description"))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    @Order(19)
+    public void testCreateTask_IdempotencyKeyConcurrent() {
+        // Given
+        String key = "task-" + System.nanoTime();
+        Task newTask = createTestTask(null, featureId, roadmapId, 1L, "Concurrent idempotent task", "Description");
+
+        // When - одновременные запросы с одним ключом
+        List<Long> createdIds = Flux.range(0, 10)
+                .flatMap(i -> Mono.fromCallable(() -> webTestClientWithAuth(authToken)
+                                .post()
+                                .uri("/api/tasks")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(newTask)
+                                .exchange()
+                                .returnResult(Task.class))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .filter(result -> {
+                    // Дубликаты, пришедшие во время выполнения первого запроса, получают 409
+                    assert result.getStatus().value() == 200 || result.getStatus().value() == 409 : result.getStatus();
+                    return result.getStatus().value() == 200;
+                })
+                .flatMap(result -> result.getResponseBody().next())
+                .map(Task::getId)
+                .distinct()
+                .collectList()
+                .block();
+
+        // Then - создана ровно одна задача
+        assert createdIds.size() == 1 : createdIds;
+
+        // После завершения запрос с тем же ключом возвращает ту же задачу
+        assert createTaskWithKey(key, newTask).getId().equals(createdIds.get(0));
+    }
+
+    @Test
+    @Order(20)
+    public void testCreateTasksBulk_PerItemResults() {
+        // Given - 50 корректных задач и одна со ссылкой на несуществующую feature
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(createTestTask(null, featureId, roadmapId, 1L, "Bulk task " + i, "Description"));
+        }
+        tasks.add(25, createTestTask(null, 999999L, roadmapId, 1L, "Bulk task broken", "Description"));
+        queryCounter.reset();
+
+        // When
+        List<BulkItemResult<TaskResponse>> results = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tasks)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<BulkItemResult<TaskResponse>>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        // Then - результат на каждый элемент в порядке запроса, задачи вставлены одним запросом
+        assert results.size() == 51;
+        for (int i = 0; i < results.size(); i++) {
+            BulkItemResult<TaskResponse> result = results.get(i);
+            assert result.getIndex() == i;
+            if (i == 25) {
+                assert result.getStatus() == BulkItemStatus.INVALID;
+                assert result.getError().contains("999999") : result.getError();
+            } else {
+                assert result.getStatus() == BulkItemStatus.OK : result;
+                assert result.getId() != null;
+                assert result.getItem().getSummary().equals(tasks.get(i).getSummary());
+            }
+        }
+        assert queryCounter.queries("INSERT INTO tasks").size() == 1;
+        assert queryCounter.queries("FROM features WHERE id = ANY").size() == 1;
+    }
+
+    @Test
+    @Order(21)
+    public void testUpdateAndDeleteTasksBulk() {
+        // Given
+        Task first = createTaskWithKey(null, createTestTask(null, featureId, roadmapId, 1L, "Bulk update 1", "Description"));
+        Task second = createTaskWithKey(null, createTestTask(null, featureId, roadmapId, 1L, "Bulk update 2", "Description"));
+        first.setSummary("Bulk updated 1");
+        second.setSummary("Bulk updated 2");
+        Task missing = createTestTask(999999L, featureId, roadmapId, 1L, "Missing", "Description");
+
+        // When - обновление, NDJSON поток
+        List<BulkItemResult<TaskResponse>> updated = webTestClientWithAuth(authToken)
+                .put()
+                .uri("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(Flux.just(first, second, missing), Task.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<BulkItemResult<TaskResponse>>() {
+                })
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Then
+        assert updated.size() == 3;
+        assert updated.get(0).getStatus() == BulkItemStatus.OK;
+        assert updated.get(1).getItem().getSummary().equals("Bulk updated 2");
+        assert updated.get(2).getStatus() == BulkItemStatus.NOT_FOUND;
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks/" + first.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .value(task -> {
+                    assert task.getSummary().equals("Bulk updated 1");
+                    assert task.getCreateDate() != null;
+                });
+
+        // When - удаление
+        List<BulkItemResult<TaskResponse>> deleted = webTestClientWithAuth(authToken)
+                .method(HttpMethod.DELETE)
+                .uri("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(first.getId(), second.getId(), 999999L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<BulkItemResult<TaskResponse>>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assert deleted.get(0).getStatus() == BulkItemStatus.OK;
+        assert deleted.get(1).getStatus() == BulkItemStatus.OK;
+        assert deleted.get(2).getStatus() == BulkItemStatus.NOT_FOUND;
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks/" + first.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private Task createTaskWithKey(String key, Task task) {
+        return webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .headers(headers -> {
+                    if (key != null) {
+                        headers.set("Idempotency-Key", key);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(task)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    @Order(22)
+    public void testGetAllTasks_MessagePack() throws Exception {
+        // Given
+        Task taskToCreate = createTestTask(null, featureId, roadmapId, 1L,
+                "MessagePack task", "Description");
+        webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskToCreate)
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        byte[] body = webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks")
+                .accept(MediaType.parseMediaType(Constants.APPLICATION_MSGPACK_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(Constants.APPLICATION_MSGPACK_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then - список кодируется одним массивом MessagePack
+        JsonNode tasks = new ObjectMapper(new MessagePackFactory()).readTree(body);
+        assert tasks.isArray();
+        assert tasks.size() > 1;
+        boolean found = false;
+        for (JsonNode task : tasks) {
+            found |= "MessagePack task".equals(task.path("summary").asText());
+        }
+        assert found;
+    }
+
+    @Test
+    @Order(23)
+    public void testGetTasks_FullViewKeepsNullFields() {
+        // Given - задача без описания
+        Task taskToCreate = createTestTask(null, featureId, roadmapId, 1L,
+                "Null description task", null);
+        JsonNode created = webTestClientWithAuth(authToken)
+                .post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskToCreate)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+
+        // When & Then - полное представление и ответы по id содержат null поля, как раньше
+        assert created.has("description") && created.get("description").isNull();
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks/" + created.get("id").asLong())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(task -> {
+                    assert task.has("description") && task.get("description").isNull();
+                });
+        webTestClientWithAuth(authToken)
+                .get()
+                .uri("/api/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(tasks -> {
+                    for (JsonNode task : tasks) {
+                        assert task.has("description");
+                        assert task.has("updateDate");
+                    }
+                });
+    }
+}